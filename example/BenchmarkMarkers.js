@@ -0,0 +1,31 @@
+/* Copyright Airship and Contributors */
+/**
+ * Logs the markers read by the macrobenchmark module in example/android/macrobenchmark.
+ *
+ * Markers are plain log lines, so they show up in logcat under the ReactNativeJS tag:
+ *  - `UABenchmark registration <time>` when JS receives the first registration event.
+ *  - `UABenchmark push_received <runId> <latency>` when JS receives a push injected by the
+ *    benchmark, with the latency since injection in milliseconds.
+ */
+'use strict';
+
+import { UrbanAirship } from 'urbanairship-react-native'
+
+const TAG = 'UABenchmark'
+
+let registrationLogged = false
+
+UrbanAirship.addListener("registration", () => {
+  if (!registrationLogged) {
+    registrationLogged = true
+    console.log(TAG + ' registration ' + Date.now())
+  }
+});
+
+UrbanAirship.addListener("pushReceived", (notification) => {
+  const extras = notification.extras || {}
+  if (extras.benchmark_sent_at && extras.benchmark_run_id) {
+    const latency = Date.now() - parseInt(extras.benchmark_sent_at, 10)
+    console.log(TAG + ' push_received ' + extras.benchmark_run_id + ' ' + latency)
+  }
+});
@@ -0,0 +1,18 @@
+package com.urbanairship.sample;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+import com.urbanairship.messagecenter.MessageCenter;
+
+/**
+ * Shows the message center, so the macrobenchmark can drive the message center flow over adb.
+ */
+public class BenchmarkMessageCenterReceiver extends BroadcastReceiver {
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        MessageCenter.shared().showMessageCenter();
+    }
+}
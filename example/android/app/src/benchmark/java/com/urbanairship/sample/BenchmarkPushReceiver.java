@@ -0,0 +1,36 @@
+package com.urbanairship.sample;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+
+import com.urbanairship.push.PushMessage;
+import com.urbanairship.push.PushProviderBridge;
+import com.urbanairship.push.fcm.FcmPushProvider;
+
+import java.util.UUID;
+
+/**
+ * Delivers a local push through the same path as an FCM message, without FCM.
+ *
+ * The macrobenchmark sends the injection time and a run ID, which are passed to JS as push
+ * extras so the JS handler can report the end to end latency.
+ */
+public class BenchmarkPushReceiver extends BroadcastReceiver {
+
+    static final String EXTRA_SENT_AT = "benchmark_sent_at";
+    static final String EXTRA_RUN_ID = "benchmark_run_id";
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        Bundle bundle = new Bundle();
+        bundle.putString(PushMessage.EXTRA_ALERT, "Benchmark push");
+        bundle.putString(PushMessage.EXTRA_SEND_ID, UUID.randomUUID().toString());
+        bundle.putString(EXTRA_SENT_AT, intent.getStringExtra(EXTRA_SENT_AT));
+        bundle.putString(EXTRA_RUN_ID, intent.getStringExtra(EXTRA_RUN_ID));
+
+        PushProviderBridge.processPush(FcmPushProvider.class, new PushMessage(bundle))
+                          .execute(context);
+    }
+}
@@ -0,0 +1,59 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.messagecenter;
+
+import androidx.annotation.NonNull;
+
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonValue;
+import com.urbanairship.util.DateUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates inbox messages without a running inbox. Lives in the message center package to reach
+ * the package-private message factory.
+ */
+public class TestMessages {
+
+    /**
+     * Creates inbox messages shaped like a typical inbox.
+     *
+     * @param count The number of messages.
+     * @return The messages.
+     */
+    @NonNull
+    public static List<Message> create(int count) {
+        List<Message> messages = new ArrayList<>(count);
+        long sentMillis = 1589230000000L;
+        for (int i = 0; i < count; i++) {
+            String id = "message-" + i;
+            JsonValue payload = JsonMap.newBuilder()
+                                       .put("message_id", id)
+                                       .put("title", "Weekly deals #" + i)
+                                       .put("message_url", "https://example.com/api/user/messages/" + id)
+                                       .put("message_body_url", "https://example.com/api/user/messages/" + id + "/body")
+                                       .put("message_read_url", "https://example.com/api/user/messages/" + id + "/read")
+                                       .put("message_sent", DateUtils.createIso8601TimeStamp(sentMillis - i * 60000L))
+                                       .put("unread", i % 3 != 0)
+                                       .put("icons", JsonMap.newBuilder()
+                                                            .put("list_icon", "https://example.com/icons/" + i + ".png")
+                                                            .build())
+                                       .put("extra", JsonMap.newBuilder()
+                                                            .put("category", "deals")
+                                                            .put("campaign", "campaign-" + (i % 10))
+                                                            .put("priority", String.valueOf(i % 5))
+                                                            .build())
+                                       .build()
+                                       .toJsonValue();
+
+            Message message = Message.create(payload, i % 3 != 0, false);
+            if (message != null) {
+                messages.add(message);
+            }
+        }
+
+        return messages;
+    }
+}
@@ -0,0 +1,70 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.os.Bundle;
+import android.os.Debug;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+
+import java.util.Locale;
+
+/**
+ * Counts allocations per operation for a benchmark, so GC pressure regressions show up next to
+ * the timing results.
+ *
+ * Counts are global, which includes allocations made on the emitter thread, and are reported to
+ * logcat under the {@code Benchmark} tag and as an instrumentation status.
+ */
+public class AllocationRule extends TestWatcher {
+
+    private static final String TAG = "Benchmark";
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASURED_ITERATIONS = 50;
+
+    private String testName;
+
+    @Override
+    protected void starting(Description description) {
+        testName = description.getClassName() + "." + description.getMethodName();
+    }
+
+    /**
+     * Runs a block and reports its average allocation count and size.
+     *
+     * @param block The block.
+     */
+    @SuppressWarnings("deprecation")
+    public void measure(@NonNull Runnable block) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            block.run();
+        }
+
+        Runtime.getRuntime().gc();
+        Debug.resetGlobalAllocCount();
+        Debug.resetGlobalAllocSize();
+        Debug.startAllocCounting();
+        try {
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                block.run();
+            }
+        } finally {
+            Debug.stopAllocCounting();
+        }
+
+        long count = Debug.getGlobalAllocCount() / MEASURED_ITERATIONS;
+        long bytes = Debug.getGlobalAllocSize() / MEASURED_ITERATIONS;
+
+        String summary = String.format(Locale.US, "%s allocations: %d objects, %d bytes per op", testName, count, bytes);
+        Log.i(TAG, summary);
+
+        Bundle status = new Bundle();
+        status.putString(TAG, summary);
+        InstrumentationRegistry.getInstrumentation().sendStatus(2, status);
+    }
+}
@@ -0,0 +1,184 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+
+import com.urbanairship.json.JsonList;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonValue;
+import com.urbanairship.push.PushMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Realistic payloads shared by the benchmarks.
+ */
+class BenchmarkPayloads {
+
+    private static final String SEND_ID = "d1e9e6b6-7f3c-4a1e-9a53-1b0a7c6f2f1e";
+
+    /**
+     * Creates a push message whose bundle is roughly the given size, shaped like a push with
+     * Airship metadata, a deep link action and custom key/value extras.
+     *
+     * @param approximateBytes The approximate bundle size.
+     * @return The push message.
+     */
+    @NonNull
+    static PushMessage createPushMessage(int approximateBytes) {
+        Bundle bundle = new Bundle();
+        bundle.putString(PushMessage.EXTRA_ALERT, "Your order has shipped and will arrive on Thursday");
+        bundle.putString(PushMessage.EXTRA_TITLE, "Order update");
+        bundle.putString(PushMessage.EXTRA_SEND_ID, SEND_ID);
+        bundle.putString(PushMessage.EXTRA_METADATA, "eyJ2ZXJzaW9uX2lkIjoxLCJ0aW1lIjoxNTg5MjMwMDAwMDAwLCJwdXNoX2lkIjoiZDFlOWU2YjYifQ==");
+        bundle.putString(PushMessage.EXTRA_ACTIONS, JsonMap.newBuilder()
+                                                           .put("^d", "app://orders/12345")
+                                                           .put("^+t", "orders")
+                                                           .build()
+                                                           .toString());
+        bundle.putString("android.support.content.wakelockid", "1");
+
+        int size = 0;
+        for (String key : bundle.keySet()) {
+            size += key.length() + String.valueOf(bundle.get(key)).length();
+        }
+
+        for (int i = 0; size < approximateBytes; i++) {
+            String key = "custom_key_" + i;
+            String value = "custom value " + i + " with some padding to look like real data";
+            bundle.putString(key, value);
+            size += key.length() + value.length();
+        }
+
+        return new PushMessage(bundle);
+    }
+
+    /**
+     * Creates a typical action result value, such as the result of a custom action returning
+     * a small document.
+     *
+     * @return The action result value.
+     */
+    @NonNull
+    static JsonValue createActionResult() {
+        List<JsonValue> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(JsonMap.newBuilder()
+                             .put("id", "item-" + i)
+                             .put("title", "Item " + i)
+                             .put("price", 9.99 + i)
+                             .put("quantity", i)
+                             .put("available", i % 2 == 0)
+                             .put("tags", new JsonList(createTags(i)))
+                             .build()
+                             .toJsonValue());
+        }
+
+        return JsonMap.newBuilder()
+                      .put("status", "ok")
+                      .put("count", items.size())
+                      .put("items", new JsonList(items))
+                      .put("cursor", JsonMap.newBuilder()
+                                            .put("next", "c2Vjb25kIHBhZ2U=")
+                                            .put("hasMore", true)
+                                            .build())
+                      .build()
+                      .toJsonValue();
+    }
+
+    /**
+     * Creates a single map with many scalar entries, like custom event properties.
+     *
+     * @param size The number of entries.
+     * @return The payload.
+     */
+    @NonNull
+    static JsonValue createWide(int size) {
+        JsonMap.Builder builder = JsonMap.newBuilder();
+        for (int i = 0; i < size; i++) {
+            switch (i % 4) {
+                case 0:
+                    builder.put("key" + i, "value" + i);
+                    break;
+                case 1:
+                    builder.put("key" + i, i);
+                    break;
+                case 2:
+                    builder.put("key" + i, i * 1.5d);
+                    break;
+                default:
+                    builder.put("key" + i, i % 3 == 0);
+                    break;
+            }
+        }
+        return builder.build().toJsonValue();
+    }
+
+    /**
+     * Creates maps nested inside each other, like a deeply structured action result.
+     *
+     * @param depth The nesting depth.
+     * @return The payload.
+     */
+    @NonNull
+    static JsonValue createDeep(int depth) {
+        JsonValue value = JsonMap.newBuilder()
+                                 .put("leaf", new JsonList(createTags(depth)))
+                                 .build()
+                                 .toJsonValue();
+
+        for (int i = depth - 1; i >= 0; i--) {
+            value = JsonMap.newBuilder()
+                           .put("level", i)
+                           .put("name", "level" + i)
+                           .put("child", value)
+                           .build()
+                           .toJsonValue();
+        }
+        return value;
+    }
+
+    /**
+     * Creates a long list of small records, like inbox messages, wrapped in a map.
+     *
+     * @param count The number of records.
+     * @return The payload.
+     */
+    @NonNull
+    static JsonValue createLarge(int count) {
+        List<JsonValue> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            JsonMap.Builder extras = JsonMap.newBuilder();
+            for (int j = 0; j < 5; j++) {
+                extras.put("extra" + j, "value" + i + "-" + j);
+            }
+
+            records.add(JsonMap.newBuilder()
+                               .put("id", "message-" + i)
+                               .put("title", "Message " + i)
+                               .put("sentDate", 1589230000000L + i)
+                               .put("isRead", i % 2 == 0)
+                               .put("extras", extras.build())
+                               .build()
+                               .toJsonValue());
+        }
+
+        return JsonMap.newBuilder()
+                      .put("messages", new JsonList(records))
+                      .build()
+                      .toJsonValue();
+    }
+
+    @NonNull
+    private static List<JsonValue> createTags(int index) {
+        List<JsonValue> tags = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tags.add(JsonValue.wrap("tag-" + index + "-" + i));
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,52 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.facebook.soloader.SoLoader;
+import com.urbanairship.json.JsonValue;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks converting action results into native writable values.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ConversionBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Rule
+    public AllocationRule allocationRule = new AllocationRule();
+
+    @BeforeClass
+    public static void loadNativeLibraries() {
+        SoLoader.init(InstrumentationRegistry.getInstrumentation().getTargetContext(), false);
+    }
+
+    @Test
+    public void convertActionResult() {
+        final JsonValue value = BenchmarkPayloads.createActionResult();
+        Runnable block = new Runnable() {
+            @Override
+            public void run() {
+                Utils.convertJsonValue(value);
+            }
+        };
+
+        allocationRule.measure(block);
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            block.run();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.soloader.SoLoader;
+import com.urbanairship.json.JsonValue;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmarks the {@link Utils} converters in both directions against the recursive converters
+ * they replaced, on wide, deep and large payloads.
+ */
+@RunWith(Parameterized.class)
+public class ConverterBenchmark {
+
+    private static final String WIDE = "wide";
+    private static final String DEEP = "deep";
+    private static final String LARGE = "large";
+
+    @Parameterized.Parameters(name = "payload={0}")
+    public static List<Object[]> parameters() {
+        return Arrays.asList(new Object[][] { { WIDE }, { DEEP }, { LARGE } });
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Rule
+    public AllocationRule allocationRule = new AllocationRule();
+
+    private final String payload;
+
+    private JsonValue json;
+    private ReadableMap readable;
+
+    public ConverterBenchmark(String payload) {
+        this.payload = payload;
+    }
+
+    @BeforeClass
+    public static void loadNativeLibraries() {
+        SoLoader.init(InstrumentationRegistry.getInstrumentation().getTargetContext(), false);
+    }
+
+    @Before
+    public void setUp() {
+        switch (payload) {
+            case WIDE:
+                json = BenchmarkPayloads.createWide(2000);
+                break;
+            case DEEP:
+                // Shallow enough for the recursive converter to finish
+                json = BenchmarkPayloads.createDeep(500);
+                break;
+            default:
+                json = BenchmarkPayloads.createLarge(1000);
+                break;
+        }
+
+        readable = (ReadableMap) Utils.convertJsonValue(json);
+    }
+
+    @Test
+    public void convertJsonValue() {
+        measure(new Runnable() {
+            @Override
+            public void run() {
+                Utils.convertJsonValue(json);
+            }
+        });
+    }
+
+    @Test
+    public void convertJsonValueRecursive() {
+        measure(new Runnable() {
+            @Override
+            public void run() {
+                RecursiveConverter.convertJsonValue(json);
+            }
+        });
+    }
+
+    @Test
+    public void convertMap() {
+        measure(new Runnable() {
+            @Override
+            public void run() {
+                Utils.convertMap(readable);
+            }
+        });
+    }
+
+    @Test
+    public void convertMapRecursive() {
+        measure(new Runnable() {
+            @Override
+            public void run() {
+                RecursiveConverter.convertMap(readable);
+            }
+        });
+    }
+
+    private void measure(Runnable block) {
+        allocationRule.measure(block);
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            block.run();
+        }
+    }
+}
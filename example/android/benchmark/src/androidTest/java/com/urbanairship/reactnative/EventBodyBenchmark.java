@@ -0,0 +1,68 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.urbanairship.push.NotificationInfo;
+import com.urbanairship.push.PushMessage;
+import com.urbanairship.reactnative.events.NotificationResponseEvent;
+import com.urbanairship.reactnative.events.PushReceivedEvent;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks building event bodies from push bundles.
+ */
+@RunWith(AndroidJUnit4.class)
+public class EventBodyBenchmark {
+
+    private static final int BUNDLE_BYTES = 4096;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Rule
+    public AllocationRule allocationRule = new AllocationRule();
+
+    @Test
+    public void pushReceivedBody() {
+        final PushReceivedEvent event = new PushReceivedEvent(BenchmarkPayloads.createPushMessage(BUNDLE_BYTES), 1000, "tag");
+        Runnable block = new Runnable() {
+            @Override
+            public void run() {
+                event.getBody();
+            }
+        };
+
+        allocationRule.measure(block);
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            block.run();
+        }
+    }
+
+    @Test
+    public void notificationResponseBody() {
+        PushMessage message = BenchmarkPayloads.createPushMessage(BUNDLE_BYTES);
+        final NotificationResponseEvent event = new NotificationResponseEvent(new NotificationInfo(message, 1000, "tag"));
+        Runnable block = new Runnable() {
+            @Override
+            public void run() {
+                event.getBody();
+            }
+        };
+
+        allocationRule.measure(block);
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            block.run();
+        }
+    }
+}
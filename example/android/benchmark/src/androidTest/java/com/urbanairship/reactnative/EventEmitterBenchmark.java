@@ -0,0 +1,91 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.PromiseImpl;
+import com.facebook.soloader.SoLoader;
+import com.urbanairship.push.PushMessage;
+import com.urbanairship.reactnative.events.PushReceivedEvent;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Benchmarks handing events to the emitter and draining them again. No react context is attached,
+ * so events are queued as pending and drained with a pull, which covers the producer hand off,
+ * body materialization, queueing and the conversion of the drained batch.
+ */
+@RunWith(AndroidJUnit4.class)
+public class EventEmitterBenchmark {
+
+    private static final int EVENT_COUNT = 100;
+    private static final int BUNDLE_BYTES = 1024;
+    private static final List<String> NAMES = Collections.singletonList(PushReceivedEvent.PUSH_RECEIVED_EVENT);
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Rule
+    public AllocationRule allocationRule = new AllocationRule();
+
+    @BeforeClass
+    public static void loadNativeLibraries() {
+        SoLoader.init(InstrumentationRegistry.getInstrumentation().getTargetContext(), false);
+    }
+
+    @Test
+    public void enqueueAndDrain() {
+        final PushMessage message = BenchmarkPayloads.createPushMessage(BUNDLE_BYTES);
+        Runnable block = new Runnable() {
+            @Override
+            public void run() {
+                EventEmitter emitter = EventEmitter.shared();
+                for (int i = 0; i < EVENT_COUNT; i++) {
+                    emitter.sendEvent(new PushReceivedEvent(message));
+                }
+
+                final CountDownLatch latch = new CountDownLatch(1);
+                Callback callback = new Callback() {
+                    @Override
+                    public void invoke(Object... args) {
+                        latch.countDown();
+                    }
+                };
+
+                emitter.takePendingEvents(NAMES, EVENT_COUNT, new PromiseImpl(callback, callback));
+                await(latch);
+            }
+        };
+
+        allocationRule.measure(block);
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            block.run();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+}
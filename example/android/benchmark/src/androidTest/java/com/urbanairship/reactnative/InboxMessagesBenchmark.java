@@ -0,0 +1,116 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.facebook.soloader.SoLoader;
+import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonList;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonValue;
+import com.urbanairship.messagecenter.Message;
+import com.urbanairship.messagecenter.TestMessages;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmarks converting inbox messages for {@code getInboxMessages} and
+ * {@code getInboxMessagesColumnar}, and the first page of a list screen query for
+ * {@code queryInboxMessages}.
+ */
+@RunWith(Parameterized.class)
+public class InboxMessagesBenchmark {
+
+    @Parameterized.Parameters(name = "messages={0}")
+    public static List<Object[]> parameters() {
+        return Arrays.asList(new Object[][] { { 100 }, { 1000 }, { 10000 } });
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Rule
+    public AllocationRule allocationRule = new AllocationRule();
+
+    private final int messageCount;
+
+    public InboxMessagesBenchmark(int messageCount) {
+        this.messageCount = messageCount;
+    }
+
+    @BeforeClass
+    public static void loadNativeLibraries() {
+        SoLoader.init(InstrumentationRegistry.getInstrumentation().getTargetContext(), false);
+    }
+
+    @Test
+    public void createMessagesArray() {
+        final List<Message> messages = TestMessages.create(messageCount);
+        Runnable block = new Runnable() {
+            @Override
+            public void run() {
+                UrbanAirshipReactModule.createMessagesArray(messages);
+            }
+        };
+
+        allocationRule.measure(block);
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            block.run();
+        }
+    }
+
+    @Test
+    public void createMessagesColumns() {
+        final List<Message> messages = TestMessages.create(messageCount);
+        Runnable block = new Runnable() {
+            @Override
+            public void run() {
+                UrbanAirshipReactModule.createMessagesColumns(messages, null);
+            }
+        };
+
+        allocationRule.measure(block);
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            block.run();
+        }
+    }
+
+    @Test
+    public void queryFirstPage() throws JsonException {
+        final List<Message> messages = TestMessages.create(messageCount);
+        final InboxQuery query = InboxQuery.fromJson(JsonMap.newBuilder()
+                                                            .put("limit", 50)
+                                                            .put("unreadOnly", true)
+                                                            .put("fields", new JsonList(Arrays.asList(JsonValue.wrap("title"),
+                                                                    JsonValue.wrap("sentDate"), JsonValue.wrap("isRead"))))
+                                                            .build());
+        Runnable block = new Runnable() {
+            @Override
+            public void run() {
+                InboxQuery.Result result = query.apply(messages);
+                UrbanAirshipReactModule.createMessagesArray(result.messages, query.fields);
+            }
+        };
+
+        allocationRule.measure(block);
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            block.run();
+        }
+    }
+}
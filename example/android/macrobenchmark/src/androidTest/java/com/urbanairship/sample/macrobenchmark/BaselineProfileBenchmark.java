@@ -0,0 +1,94 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.sample.macrobenchmark;
+
+import android.os.SystemClock;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Compares cold startup and the first event after a cold start with and without the Baseline
+ * Profile. The profile is only packaged when the app is built with AGP 7.1 or newer.
+ */
+@RunWith(Parameterized.class)
+public class BaselineProfileBenchmark {
+
+    private static final String MODE_NONE = "none";
+    private static final String MODE_BASELINE_PROFILE = "baselineProfile";
+
+    private static final int ITERATIONS = 10;
+    private static final long SETTLE_MILLIS = 2000;
+    private static final long PUSH_TIMEOUT_MILLIS = 30000;
+
+    @Parameterized.Parameters(name = "compilation={0}")
+    public static List<Object[]> parameters() {
+        return Arrays.asList(new Object[][] { { MODE_NONE }, { MODE_BASELINE_PROFILE } });
+    }
+
+    private final String mode;
+
+    public BaselineProfileBenchmark(String mode) {
+        this.mode = mode;
+    }
+
+    @After
+    public void tearDown() {
+        Device.forceStop();
+    }
+
+    @Test
+    public void coldStartup() {
+        compile();
+
+        List<Long> results = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Device.forceStop();
+            SystemClock.sleep(SETTLE_MILLIS);
+            results.add(Device.startActivityAndWait());
+        }
+
+        Results.report("coldStartup[" + mode + "]", results);
+    }
+
+    /**
+     * Injects a push right after a cold start, so the first event goes through code that has not
+     * been JIT compiled yet.
+     */
+    @Test
+    public void firstPushLatency() {
+        compile();
+
+        List<Long> results = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Device.forceStop();
+            SystemClock.sleep(SETTLE_MILLIS);
+            Device.clearLog();
+            Device.startActivityAndWait();
+
+            String runId = "first-" + i;
+            Device.injectPush(runId, System.currentTimeMillis());
+            String marker = Device.waitForMarker("push_received " + runId, PUSH_TIMEOUT_MILLIS);
+            assertNotNull("Push " + runId + " was not received", marker);
+            results.add(Long.parseLong(marker));
+        }
+
+        Results.report("firstPushLatency[" + mode + "]", results);
+    }
+
+    private void compile() {
+        if (MODE_BASELINE_PROFILE.equals(mode)) {
+            Device.compileWithBaselineProfile();
+        } else {
+            Device.compileWithoutProfile();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.sample.macrobenchmark;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Generates the Baseline Profile for the React Native module from the example app's startup,
+ * first push and message center flows.
+ *
+ * The profile is written to the test app's external files directory. Pull it and replace
+ * {@code urbanairship-react-native/android/src/main/baseline-prof.txt} with it. Needs API 33,
+ * or a rooted device on older versions.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    private static final String TAG = "Benchmark";
+    private static final String MODULE_CLASS_PREFIX = "Lcom/urbanairship/reactnative/";
+    private static final String FILE_NAME = "baseline-prof.txt";
+
+    private static final int ITERATIONS = 3;
+    private static final long SETTLE_MILLIS = 2000;
+    private static final long PUSH_TIMEOUT_MILLIS = 30000;
+
+    @Test
+    public void generate() throws IOException {
+        Device.compileWithoutProfile();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            Device.forceStop();
+            Device.clearLog();
+
+            // Startup
+            Device.startActivityAndWait();
+
+            // First push
+            String runId = "profile-" + i;
+            Device.injectPush(runId, System.currentTimeMillis());
+            Device.waitForMarker("push_received " + runId, PUSH_TIMEOUT_MILLIS);
+
+            // Message center
+            Device.showMessageCenter();
+            SystemClock.sleep(SETTLE_MILLIS);
+        }
+
+        StringBuilder rules = new StringBuilder();
+        for (String line : Device.dumpProfile().split("\n")) {
+            if (isModuleRule(line)) {
+                rules.append(line).append('\n');
+            }
+        }
+        assertFalse("Profile has no rules for the module", rules.length() == 0);
+
+        File file = new File(InstrumentationRegistry.getInstrumentation().getContext().getExternalFilesDir(null), FILE_NAME);
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(rules.toString());
+        }
+
+        Log.i(TAG, "Baseline Profile written to " + file.getAbsolutePath());
+    }
+
+    /**
+     * Checks if a profile rule belongs to the module. Rules start with the method flags, if any,
+     * followed by the class descriptor.
+     */
+    private static boolean isModuleRule(String line) {
+        int start = line.indexOf('L');
+        return start >= 0 && start <= 3 && line.startsWith(MODULE_CLASS_PREFIX, start);
+    }
+}
@@ -0,0 +1,179 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.sample.macrobenchmark;
+
+import android.os.ParcelFileDescriptor;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives the example app with shell commands, the same way the platform tools would.
+ */
+class Device {
+
+    static final String PACKAGE_NAME = "com.urbanairship.sample";
+    private static final String ACTIVITY = PACKAGE_NAME + "/.MainActivity";
+    private static final String PUSH_RECEIVER = PACKAGE_NAME + "/.BenchmarkPushReceiver";
+    private static final String MESSAGE_CENTER_RECEIVER = PACKAGE_NAME + "/.BenchmarkMessageCenterReceiver";
+    private static final String PROFILE_INSTALLER_RECEIVER = PACKAGE_NAME + "/androidx.profileinstaller.ProfileInstallReceiver";
+    private static final String PROFILE_INSTALL_ACTION = "androidx.profileinstaller.action.INSTALL_PROFILE";
+
+    private static final String MARKER_TAG = "UABenchmark";
+    private static final Pattern TOTAL_TIME = Pattern.compile("TotalTime: (\\d+)");
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    /**
+     * Runs a shell command as the shell user.
+     *
+     * @param command The command.
+     * @return The command output.
+     */
+    @NonNull
+    static String shell(@NonNull String command) {
+        ParcelFileDescriptor descriptor = InstrumentationRegistry.getInstrumentation()
+                                                                 .getUiAutomation()
+                                                                 .executeShellCommand(command);
+
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ParcelFileDescriptor.AutoCloseInputStream(descriptor)))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.append(line).append('\n');
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Failed to run " + command, e);
+        }
+
+        return output.toString();
+    }
+
+    /**
+     * Kills the app.
+     */
+    static void forceStop() {
+        shell("am force-stop " + PACKAGE_NAME);
+    }
+
+    /**
+     * Kills the app and clears its data, so the next start creates a new channel.
+     */
+    static void clearData() {
+        shell("pm clear " + PACKAGE_NAME);
+    }
+
+    /**
+     * Finishes the app's activity but keeps the process alive.
+     */
+    static void pressBack() {
+        shell("input keyevent KEYCODE_BACK");
+    }
+
+    /**
+     * Clears the log buffer.
+     */
+    static void clearLog() {
+        shell("logcat -c");
+    }
+
+    /**
+     * Starts the main activity and waits until it is displayed.
+     *
+     * @return The startup time in milliseconds as reported by the activity manager.
+     */
+    static long startActivityAndWait() {
+        String output = shell("am start -W -n " + ACTIVITY);
+        Matcher matcher = TOTAL_TIME.matcher(output);
+        if (!matcher.find()) {
+            throw new AssertionError("Unexpected am start output: " + output);
+        }
+
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * Injects a push into the app.
+     *
+     * @param runId The run ID echoed back by JS.
+     * @param sentAtMillis The injection time, in wall clock milliseconds.
+     */
+    static void injectPush(@NonNull String runId, long sentAtMillis) {
+        shell("am broadcast -n " + PUSH_RECEIVER
+                + " --es benchmark_run_id " + runId
+                + " --es benchmark_sent_at " + sentAtMillis);
+    }
+
+    /**
+     * Asks the app to show the message center.
+     */
+    static void showMessageCenter() {
+        shell("am broadcast -n " + MESSAGE_CENTER_RECEIVER);
+    }
+
+    /**
+     * Compiles the app without any profile, so startup runs interpreted and JIT compiled code,
+     * like a fresh install without a Baseline Profile.
+     */
+    static void compileWithoutProfile() {
+        shell("cmd package compile -f -m verify " + PACKAGE_NAME);
+        forceStop();
+    }
+
+    /**
+     * Installs the Baseline Profile packaged in the app through profileinstaller and compiles
+     * the app with it, like a fresh install with a Baseline Profile.
+     */
+    static void compileWithBaselineProfile() {
+        shell("cmd package compile --reset " + PACKAGE_NAME);
+        shell("am broadcast -a " + PROFILE_INSTALL_ACTION + " -n " + PROFILE_INSTALLER_RECEIVER);
+        shell("cmd package compile -f -m speed-profile " + PACKAGE_NAME);
+        forceStop();
+    }
+
+    /**
+     * Dumps the classes and methods the app used so far, in the human readable profile format.
+     * Needs API 33, or root on older versions.
+     *
+     * @return The profile rules.
+     */
+    @NonNull
+    static String dumpProfile() {
+        shell("killall -s SIGUSR1 " + PACKAGE_NAME);
+        SystemClock.sleep(POLL_INTERVAL_MILLIS * 10);
+        shell("pm dump-profiles --dump-classes-and-methods " + PACKAGE_NAME);
+        return shell("cat /data/misc/profman/" + PACKAGE_NAME + "-primary.prof.txt");
+    }
+
+    /**
+     * Waits for a marker logged by JS.
+     *
+     * @param prefix The marker prefix, without the tag.
+     * @param timeoutMillis The max time to wait.
+     * @return The rest of the marker line after the prefix, or {@code null} if it timed out.
+     */
+    @Nullable
+    static String waitForMarker(@NonNull String prefix, long timeoutMillis) {
+        String marker = MARKER_TAG + " " + prefix + " ";
+        long deadline = SystemClock.uptimeMillis() + timeoutMillis;
+        while (SystemClock.uptimeMillis() < deadline) {
+            String log = shell("logcat -d -v raw -s ReactNativeJS:V");
+            int index = log.lastIndexOf(marker);
+            if (index >= 0) {
+                int end = log.indexOf('\n', index);
+                return log.substring(index + marker.length(), end < 0 ? log.length() : end).trim();
+            }
+
+            SystemClock.sleep(POLL_INTERVAL_MILLIS);
+        }
+
+        return null;
+    }
+}
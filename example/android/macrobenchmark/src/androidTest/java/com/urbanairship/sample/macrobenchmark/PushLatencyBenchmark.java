@@ -0,0 +1,70 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.sample.macrobenchmark;
+
+import android.os.SystemClock;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Measures the latency from a locally injected push until the JS {@code pushReceived} handler
+ * runs. Pushes go through the same provider path as FCM messages, no FCM needed.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PushLatencyBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int ITERATIONS = 20;
+    private static final long READY_TIMEOUT_MILLIS = 30000;
+    private static final long PUSH_TIMEOUT_MILLIS = 10000;
+    private static final long SETTLE_MILLIS = 1000;
+
+    @Before
+    public void setUp() {
+        Device.forceStop();
+        Device.clearLog();
+        Device.startActivityAndWait();
+
+        // JS is ready once an injected push makes it through
+        assertNotNull("JS never received a push", injectAndWait("ready", READY_TIMEOUT_MILLIS));
+    }
+
+    @After
+    public void tearDown() {
+        Device.forceStop();
+    }
+
+    @Test
+    public void pushReceivedLatency() {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            injectAndWait("warmup-" + i, PUSH_TIMEOUT_MILLIS);
+        }
+
+        List<Long> results = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Long latency = injectAndWait("run-" + i, PUSH_TIMEOUT_MILLIS);
+            assertNotNull("Push run-" + i + " was not received", latency);
+            results.add(latency);
+        }
+
+        Results.report("pushReceivedLatency", results);
+    }
+
+    private static Long injectAndWait(String runId, long timeoutMillis) {
+        SystemClock.sleep(SETTLE_MILLIS);
+        Device.injectPush(runId, System.currentTimeMillis());
+
+        String marker = Device.waitForMarker("push_received " + runId, timeoutMillis);
+        return marker == null ? null : Long.parseLong(marker);
+    }
+}
@@ -0,0 +1,55 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.sample.macrobenchmark;
+
+import android.os.Bundle;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reports the measurements of a benchmark.
+ */
+class Results {
+
+    private static final String TAG = "Benchmark";
+
+    /**
+     * Reports a summary of the measurements to logcat and as an instrumentation status.
+     *
+     * @param name The metric name.
+     * @param millis The measurements in milliseconds.
+     */
+    static void report(@NonNull String name, @NonNull List<Long> millis) {
+        if (millis.isEmpty()) {
+            throw new AssertionError("No measurements for " + name);
+        }
+
+        List<Long> sorted = new ArrayList<>(millis);
+        Collections.sort(sorted);
+
+        String summary = String.format(Locale.US, "%s: min %d ms, median %d ms, p90 %d ms, max %d ms (%d runs)",
+                name,
+                sorted.get(0),
+                percentile(sorted, 50),
+                percentile(sorted, 90),
+                sorted.get(sorted.size() - 1),
+                sorted.size());
+        Log.i(TAG, summary);
+
+        Bundle status = new Bundle();
+        status.putString(TAG, summary);
+        InstrumentationRegistry.getInstrumentation().sendStatus(2, status);
+    }
+
+    private static long percentile(@NonNull List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(sorted.size() * percentile / 100.0) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+}
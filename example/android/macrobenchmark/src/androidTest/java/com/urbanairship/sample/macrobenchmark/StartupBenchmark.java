@@ -0,0 +1,88 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.sample.macrobenchmark;
+
+import android.os.SystemClock;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Measures startup of the example app, including {@code ReactAutopilot} takeoff, and the time
+ * until JS receives the first registration event.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StartupBenchmark {
+
+    private static final int ITERATIONS = 10;
+    private static final long SETTLE_MILLIS = 2000;
+    private static final long REGISTRATION_TIMEOUT_MILLIS = 60000;
+
+    @After
+    public void tearDown() {
+        Device.forceStop();
+    }
+
+    @Test
+    public void coldStartup() {
+        // Unmeasured first run, so the app is installed, compiled and initialized once
+        Device.forceStop();
+        Device.startActivityAndWait();
+
+        List<Long> results = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Device.forceStop();
+            SystemClock.sleep(SETTLE_MILLIS);
+            results.add(Device.startActivityAndWait());
+        }
+
+        Results.report("coldStartup", results);
+    }
+
+    @Test
+    public void warmStartup() {
+        Device.forceStop();
+        Device.startActivityAndWait();
+
+        List<Long> results = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            // Finishes the activity, the process and the react instance stay alive
+            Device.pressBack();
+            SystemClock.sleep(SETTLE_MILLIS);
+            results.add(Device.startActivityAndWait());
+        }
+
+        Results.report("warmStartup", results);
+    }
+
+    /**
+     * Clears the app data before every run, so each start creates a channel and the
+     * registration event is sent. Needs network access and a valid Airship config.
+     */
+    @Test
+    public void firstRegistrationEvent() {
+        List<Long> results = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Device.clearData();
+            SystemClock.sleep(SETTLE_MILLIS);
+            Device.clearLog();
+
+            long startMillis = System.currentTimeMillis();
+            Device.startActivityAndWait();
+
+            String marker = Device.waitForMarker("registration", REGISTRATION_TIMEOUT_MILLIS);
+            assertNotNull("Registration event was not received", marker);
+            results.add(Long.parseLong(marker) - startMillis);
+        }
+
+        Results.report("firstRegistrationEvent", results);
+    }
+}
@@ -0,0 +1,10 @@
+/* Copyright Airship and Contributors */
+/**
+ * Entry file of the benchmark build. Registers the app and logs the markers read by the
+ * macrobenchmark module, see example/android/app/build.gradle.
+ *
+ * @format
+ */
+
+import './index';
+import './BenchmarkMarkers';
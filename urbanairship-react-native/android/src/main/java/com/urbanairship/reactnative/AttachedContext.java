@@ -0,0 +1,192 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReactContext;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A react context attached to the {@link EventEmitter}.
+ *
+ * Every context keeps its own listener counts, state event replays, {@link DeliveryWindow} and
+ * cursor into the {@link DeliveryLog}, so a reload or a second react instance never sees another
+ * context's subscriptions or sequence numbers, and never holds back another context's acks. The
+ * context is only weakly referenced, which lets a torn down context be collected even if it was
+ * never detached. Not thread safe, only accessed from the emitter thread.
+ */
+class AttachedContext {
+
+    private final WeakReference<ReactContext> reference;
+    private final Map<String, Integer> listenerCounts = new HashMap<>();
+    private final ArrayDeque<PendingEvent> replayEvents = new ArrayDeque<>();
+    private final DeliveryWindow deliveryWindow = new DeliveryWindow();
+    private final long attachPosition;
+    private long logCursor;
+
+    /**
+     * Default constructor.
+     *
+     * @param reactContext The react context.
+     * @param log The delivery log. The context starts reading at its head, but only takes the
+     * entries appended from now on and the ones left orphaned by other contexts.
+     */
+    AttachedContext(@NonNull ReactContext reactContext, @NonNull DeliveryLog log) {
+        this.reference = new WeakReference<>(reactContext);
+        this.attachPosition = log.getNextPosition();
+        this.logCursor = log.getHeadPosition();
+    }
+
+    /**
+     * Gets the react context if events can be emitted to it.
+     *
+     * @return The react context, or {@code null} if it was collected or has no active catalyst instance.
+     */
+    @Nullable
+    ReactContext getReactContext() {
+        ReactContext reactContext = reference.get();
+        if (reactContext == null || !reactContext.hasActiveCatalystInstance()) {
+            return null;
+        }
+
+        return reactContext;
+    }
+
+    /**
+     * Checks if this is the given react context.
+     *
+     * @param reactContext The react context.
+     * @return {@code true} if it is the same context, otherwise {@code false}.
+     */
+    boolean isReactContext(@NonNull ReactContext reactContext) {
+        return reference.get() == reactContext;
+    }
+
+    /**
+     * Checks if the react context was collected.
+     *
+     * @return {@code true} if the context was collected, otherwise {@code false}.
+     */
+    boolean isCollected() {
+        return reference.get() == null;
+    }
+
+    /**
+     * Checks if JS in this context is listening for an event name.
+     *
+     * @param eventName The event name.
+     * @return {@code true} if there is at least one listener, otherwise {@code false}.
+     */
+    boolean hasListeners(@NonNull String eventName) {
+        return listenerCounts.containsKey(eventName);
+    }
+
+    /**
+     * The event names with at least one listener.
+     *
+     * @return The event names.
+     */
+    @NonNull
+    Set<String> getListenedNames() {
+        return listenerCounts.keySet();
+    }
+
+    /**
+     * Applies a change in the listener count for an event name.
+     *
+     * @param eventName The event name.
+     * @param delta The change in listener count.
+     */
+    void updateListenerCount(@NonNull String eventName, int delta) {
+        Integer current = listenerCounts.get(eventName);
+        int count = (current == null ? 0 : current) + delta;
+        if (count <= 0) {
+            listenerCounts.remove(eventName);
+        } else {
+            listenerCounts.put(eventName, count);
+        }
+    }
+
+    /**
+     * Queues a state event that is only delivered to this context.
+     *
+     * @param event The event.
+     */
+    void addReplayEvent(@NonNull PendingEvent event) {
+        replayEvents.addLast(event);
+    }
+
+    /**
+     * Removes the next state event to replay.
+     *
+     * @return The event, or {@code null} if there are none.
+     */
+    @Nullable
+    PendingEvent pollReplayEvent() {
+        return replayEvents.pollFirst();
+    }
+
+    /**
+     * Checks if any events are waiting to be delivered only to this context.
+     *
+     * @return {@code true} if there are replays or redeliveries, otherwise {@code false}.
+     */
+    boolean hasOwnEvents() {
+        return !replayEvents.isEmpty() || deliveryWindow.hasRedeliveries();
+    }
+
+    /**
+     * Drops every state event waiting to be replayed.
+     */
+    void clearReplayEvents() {
+        replayEvents.clear();
+    }
+
+    /**
+     * The position of the next log entry this context will look at.
+     *
+     * @return The log cursor.
+     */
+    long getLogCursor() {
+        return logCursor;
+    }
+
+    /**
+     * Moves the log cursor. Moving it back makes the context look at entries again, entries it
+     * already received are still skipped.
+     *
+     * @param logCursor The log cursor.
+     */
+    void setLogCursor(long logCursor) {
+        this.logCursor = logCursor;
+    }
+
+    /**
+     * Checks if a log entry should be emitted to this context: it listens for the event, has not
+     * received it yet, and the event became ready after it was attached or was orphaned.
+     *
+     * @param entry The log entry.
+     * @return {@code true} if the entry should be emitted, otherwise {@code false}.
+     */
+    boolean canReceive(@NonNull DeliveryLog.Entry entry) {
+        return hasListeners(entry.getEvent().getName()) && !entry.hasReceiver(this)
+                && (entry.getPosition() >= attachPosition || entry.isOrphaned());
+    }
+
+    /**
+     * The delivery window for this context.
+     *
+     * @return The delivery window.
+     */
+    @NonNull
+    DeliveryWindow getDeliveryWindow() {
+        return deliveryWindow;
+    }
+}
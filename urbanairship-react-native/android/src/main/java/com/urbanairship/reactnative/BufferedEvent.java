@@ -0,0 +1,65 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.IntDef;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.urbanairship.json.JsonMap;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * An {@link Event} that the {@link EventEmitter} can buffer as JSON, coalesce and prioritize.
+ * Plain events are delivered with normal priority and are never coalesced.
+ */
+public interface BufferedEvent extends Event {
+
+    /**
+     * Low priority. Used for state events.
+     */
+    int PRIORITY_LOW = 0;
+
+    /**
+     * Normal priority.
+     */
+    int PRIORITY_NORMAL = 1;
+
+    /**
+     * Interactive priority. Used for events caused by the user that usually drive navigation.
+     */
+    int PRIORITY_INTERACTIVE = 2;
+
+    @IntDef({ PRIORITY_LOW, PRIORITY_NORMAL, PRIORITY_INTERACTIVE })
+    @Retention(RetentionPolicy.SOURCE)
+    @interface Priority {}
+
+    /**
+     * The event body as JSON. The body is built once by the emitter, off the calling thread, and
+     * then stored until it is delivered.
+     *
+     * @return The event body.
+     */
+    @NonNull
+    JsonMap getJsonBody();
+
+    /**
+     * The coalescing key. Events that describe current state instead of discrete happenings
+     * share a key, so only the newest pending instance is kept and consecutive identical
+     * events are dropped. The newest instance is also replayed to new listeners.
+     *
+     * @return The coalescing key, or {@code null} if every instance should be delivered.
+     */
+    @Nullable
+    String getCoalescingKey();
+
+    /**
+     * The event priority. Higher priority events are always delivered first.
+     *
+     * @return The event priority.
+     */
+    @Priority
+    int getPriority();
+}
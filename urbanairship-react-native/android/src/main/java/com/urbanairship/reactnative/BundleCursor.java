@@ -0,0 +1,58 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.urbanairship.reactnative.value.ObjectCursor;
+
+import java.util.Iterator;
+
+/**
+ * An {@link ObjectCursor} that also reads bundles as maps, without copying them.
+ */
+public class BundleCursor extends ObjectCursor {
+
+    private final String excludedKey;
+
+    /**
+     * Creates a cursor over a bundle.
+     *
+     * @param bundle The bundle.
+     * @param excludedKey A key to skip at every level, or {@code null}.
+     */
+    public BundleCursor(@NonNull Bundle bundle, @Nullable String excludedKey) {
+        super(bundle);
+        this.excludedKey = excludedKey;
+    }
+
+    @Override
+    protected boolean isMap(@NonNull Object value) {
+        return value instanceof Bundle || super.isMap(value);
+    }
+
+    @NonNull
+    @Override
+    protected Iterator<String> getMapKeys(@NonNull Object map) {
+        return ((Bundle) map).keySet().iterator();
+    }
+
+    @Nullable
+    @Override
+    protected Object getMapValue(@NonNull Object map, @NonNull String key) {
+        return ((Bundle) map).get(key);
+    }
+
+    @Override
+    protected int getMapSize(@NonNull Object map) {
+        return map instanceof Bundle ? ((Bundle) map).size() : super.getMapSize(map);
+    }
+
+    @Override
+    protected boolean isIncluded(@NonNull Object map, @NonNull String key) {
+        return !key.equals(excludedKey);
+    }
+}
@@ -0,0 +1,251 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.urbanairship.reactnative.value.ValueCopier;
+import com.urbanairship.reactnative.value.ValueCursor;
+import com.urbanairship.reactnative.value.ValueSink;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds a list for JS in columnar form: one array per field instead of one map per row, so key
+ * strings are sent once and no native map is allocated per row.
+ *
+ * The extras of each row are written as a flat array of key index and value pairs, with the keys
+ * interned in a single array shared by every row. JS rebuilds rows on demand.
+ *
+ * Rows are written field by field and closed with {@link #endRow()}. Values for fields that are
+ * not columns are ignored, which applies the projection.
+ */
+class ColumnarWriter {
+
+    /**
+     * The extras field.
+     */
+    static final String FIELD_EXTRAS = "extras";
+
+    private static final String COUNT_KEY = "count";
+    private static final String COLUMNS_KEY = "columns";
+    private static final String EXTRAS_KEYS_KEY = "extrasKeys";
+
+    private final Map<String, WritableArray> columns = new LinkedHashMap<>();
+    private final Map<String, Integer> extrasKeyIndexes = new HashMap<>();
+    private final WritableArray extrasKeys = Arguments.createArray();
+    private int count;
+
+    /**
+     * Default constructor.
+     *
+     * @param fields The fields. Extras are included if the fields contain {@link #FIELD_EXTRAS}.
+     */
+    ColumnarWriter(@NonNull Collection<String> fields) {
+        for (String field : fields) {
+            columns.put(field, Arguments.createArray());
+        }
+    }
+
+    /**
+     * Checks if a field is a column.
+     *
+     * @param field The field.
+     * @return {@code true} if the field is a column, otherwise {@code false}.
+     */
+    boolean hasColumn(@NonNull String field) {
+        return columns.containsKey(field);
+    }
+
+    void putString(@NonNull String field, @Nullable String value) {
+        WritableArray column = columns.get(field);
+        if (column == null) {
+            return;
+        }
+
+        if (value == null) {
+            column.pushNull();
+        } else {
+            column.pushString(value);
+        }
+    }
+
+    void putDouble(@NonNull String field, double value) {
+        WritableArray column = columns.get(field);
+        if (column != null) {
+            column.pushDouble(value);
+        }
+    }
+
+    void putBoolean(@NonNull String field, boolean value) {
+        WritableArray column = columns.get(field);
+        if (column != null) {
+            column.pushBoolean(value);
+        }
+    }
+
+    /**
+     * Writes the row's extras.
+     *
+     * @param extras A cursor over the extras map.
+     */
+    void putExtras(@NonNull ValueCursor extras) {
+        WritableArray column = columns.get(FIELD_EXTRAS);
+        if (column == null) {
+            return;
+        }
+
+        Object row = ValueCopier.copy(extras, new ExtrasRowSink());
+        column.pushArray(row instanceof WritableArray ? (WritableArray) row : Arguments.createArray());
+    }
+
+    /**
+     * Closes the current row.
+     */
+    void endRow() {
+        count++;
+    }
+
+    /**
+     * Builds the list.
+     *
+     * @return The list.
+     */
+    @NonNull
+    WritableMap build() {
+        WritableMap columnsMap = Arguments.createMap();
+        for (Map.Entry<String, WritableArray> entry : columns.entrySet()) {
+            columnsMap.putArray(entry.getKey(), entry.getValue());
+        }
+
+        WritableMap map = Arguments.createMap();
+        map.putInt(COUNT_KEY, count);
+        map.putMap(COLUMNS_KEY, columnsMap);
+        if (columns.containsKey(FIELD_EXTRAS)) {
+            map.putArray(EXTRAS_KEYS_KEY, extrasKeys);
+        }
+
+        return map;
+    }
+
+    private int internExtrasKey(@NonNull String key) {
+        Integer index = extrasKeyIndexes.get(key);
+        if (index == null) {
+            index = extrasKeyIndexes.size();
+            extrasKeyIndexes.put(key, index);
+            extrasKeys.pushString(key);
+        }
+        return index;
+    }
+
+    /**
+     * Writes an extras map as a flat list of key index and value pairs. Nested values are written
+     * as is. Anything but a map is written as an empty list.
+     */
+    private class ExtrasRowSink implements ValueSink<Object> {
+
+        private final WritableSink row = new WritableSink();
+        private int depth;
+        private boolean skipped;
+
+        @Override
+        public void beginMap(@Nullable String key, int size) {
+            if (depth == 0) {
+                row.beginList(null, size < 0 ? -1 : size * 2);
+            } else if (!skipped) {
+                row.beginMap(entryKey(key), size);
+            }
+            depth++;
+        }
+
+        @Override
+        public void beginList(@Nullable String key, int size) {
+            if (depth == 0) {
+                row.beginList(null, 0);
+                skipped = true;
+            } else if (!skipped) {
+                row.beginList(entryKey(key), size);
+            }
+            depth++;
+        }
+
+        @Override
+        public void end() {
+            depth--;
+            if (!skipped || depth == 0) {
+                row.end();
+            }
+        }
+
+        @Override
+        public void putNull(@Nullable String key) {
+            if (isWritable()) {
+                row.putNull(entryKey(key));
+            }
+        }
+
+        @Override
+        public void putBoolean(@Nullable String key, boolean value) {
+            if (isWritable()) {
+                row.putBoolean(entryKey(key), value);
+            }
+        }
+
+        @Override
+        public void putInt(@Nullable String key, int value) {
+            if (isWritable()) {
+                row.putInt(entryKey(key), value);
+            }
+        }
+
+        @Override
+        public void putLong(@Nullable String key, long value) {
+            if (isWritable()) {
+                row.putLong(entryKey(key), value);
+            }
+        }
+
+        @Override
+        public void putDouble(@Nullable String key, double value) {
+            if (isWritable()) {
+                row.putDouble(entryKey(key), value);
+            }
+        }
+
+        @Override
+        public void putString(@Nullable String key, @Nullable String value) {
+            if (isWritable()) {
+                row.putString(entryKey(key), value);
+            }
+        }
+
+        @Nullable
+        @Override
+        public Object build() {
+            return row.build();
+        }
+
+        private boolean isWritable() {
+            return depth > 0 && !skipped;
+        }
+
+        /**
+         * Writes the key index for entries of the extras map, which become list items.
+         */
+        @Nullable
+        private String entryKey(@Nullable String key) {
+            if (depth == 1 && key != null) {
+                row.putInt(null, internExtrasKey(key));
+                return null;
+            }
+            return key;
+        }
+    }
+}
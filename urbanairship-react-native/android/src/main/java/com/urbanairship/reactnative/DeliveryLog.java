@@ -0,0 +1,246 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The events handed to the attached contexts, in the order they became ready.
+ *
+ * Every context reads the log through its own cursor, see {@link AttachedContext#getLogCursor()},
+ * and acks what it received through its own {@link DeliveryWindow}. An entry is only dropped once
+ * every attached context has moved past it and every context it was delivered to has acked it.
+ * Entries whose receivers all went away before acking are handed to another context that
+ * listens for them, or moved back to the pending queue if there is none, instead of being put
+ * back in front of the contexts that already have them.
+ * Not thread safe, only accessed from the emitter thread.
+ */
+class DeliveryLog implements Iterable<DeliveryLog.Entry> {
+
+    /**
+     * A single event in the log.
+     */
+    static class Entry {
+
+        private final PendingEvent event;
+        private final long position;
+        private final Set<AttachedContext> receivers = new HashSet<>();
+        private int unacked;
+        private boolean settled;
+
+        /**
+         * Default constructor.
+         *
+         * @param event The event.
+         * @param position The log position.
+         */
+        Entry(@NonNull PendingEvent event, long position) {
+            this.event = event;
+            this.position = position;
+        }
+
+        /**
+         * The event.
+         *
+         * @return The event.
+         */
+        @NonNull
+        PendingEvent getEvent() {
+            return event;
+        }
+
+        /**
+         * The log position. Positions only ever increase.
+         *
+         * @return The position.
+         */
+        long getPosition() {
+            return position;
+        }
+
+        /**
+         * Checks if the event has been emitted to a context.
+         *
+         * @param attachedContext The context.
+         * @return {@code true} if the context received the event, otherwise {@code false}.
+         */
+        boolean hasReceiver(@NonNull AttachedContext attachedContext) {
+            return receivers.contains(attachedContext);
+        }
+
+        /**
+         * Checks if the event has been emitted to any context.
+         *
+         * @return {@code true} if the event was emitted, otherwise {@code false}.
+         */
+        boolean hasReceivers() {
+            return !receivers.isEmpty();
+        }
+
+        /**
+         * Checks if the event was emitted but every context it was emitted to went away before
+         * acking it.
+         *
+         * @return {@code true} if the entry is orphaned, otherwise {@code false}.
+         */
+        boolean isOrphaned() {
+            return !settled && unacked == 0 && !receivers.isEmpty();
+        }
+    }
+
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private final Map<PendingEvent, Entry> entriesByEvent = new HashMap<>();
+    private long nextPosition;
+
+    /**
+     * Appends an event.
+     *
+     * @param event The event.
+     */
+    void append(@NonNull PendingEvent event) {
+        Entry entry = new Entry(event, nextPosition++);
+        entries.addLast(entry);
+        entriesByEvent.put(event, entry);
+    }
+
+    /**
+     * Gets the entry for an event.
+     *
+     * @param event The event.
+     * @return The entry, or {@code null} if the event is not in the log.
+     */
+    @Nullable
+    Entry get(@NonNull PendingEvent event) {
+        return entriesByEvent.get(event);
+    }
+
+    /**
+     * The position of the oldest entry, where a new context starts reading.
+     *
+     * @return The head position.
+     */
+    long getHeadPosition() {
+        return entries.isEmpty() ? nextPosition : entries.peekFirst().position;
+    }
+
+    /**
+     * The position the next appended entry gets.
+     *
+     * @return The next position.
+     */
+    long getNextPosition() {
+        return nextPosition;
+    }
+
+    /**
+     * Records that an event was emitted to a context for the first time.
+     *
+     * @param entry The entry.
+     * @param attachedContext The context.
+     * @param tracked {@code true} if the context will ack the event, otherwise {@code false}.
+     */
+    void onReceived(@NonNull Entry entry, @NonNull AttachedContext attachedContext, boolean tracked) {
+        entry.receivers.add(attachedContext);
+        if (tracked) {
+            entry.unacked++;
+        } else {
+            entry.settled = true;
+        }
+    }
+
+    /**
+     * Records that a context acked an event, or gave up on it after too many attempts. Either
+     * way the event is never delivered to another context again.
+     *
+     * @param entry The entry.
+     */
+    void onSettled(@NonNull Entry entry) {
+        entry.unacked--;
+        entry.settled = true;
+    }
+
+    /**
+     * Records that a context went away without acking an event.
+     *
+     * @param entry The entry.
+     * @return {@code true} if the entry is now orphaned, otherwise {@code false}.
+     */
+    boolean onReleased(@NonNull Entry entry) {
+        entry.unacked--;
+        return entry.isOrphaned();
+    }
+
+    /**
+     * Removes the entries that none of the given contexts needs anymore, once every context has
+     * moved past them. Settled entries are dropped. Entries that were never emitted, and orphaned
+     * entries that none of the contexts listens for, are returned as well so they can wait for a
+     * listener in the pending queue, under its limits.
+     *
+     * @param contexts The contexts that read the log.
+     * @return The removed entries, in log order.
+     */
+    @NonNull
+    List<Entry> trim(@NonNull Collection<AttachedContext> contexts) {
+        long minCursor = Long.MAX_VALUE;
+        for (AttachedContext attachedContext : contexts) {
+            minCursor = Math.min(minCursor, attachedContext.getLogCursor());
+        }
+
+        List<Entry> removed = new ArrayList<>();
+        Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.position >= minCursor) {
+                break;
+            }
+
+            if (entry.unacked > 0) {
+                continue;
+            }
+
+            if (entry.settled || entry.receivers.isEmpty() || !hasListeners(contexts, entry.event.getName())) {
+                iterator.remove();
+                entriesByEvent.remove(entry.event);
+                removed.add(entry);
+            }
+        }
+
+        return removed;
+    }
+
+    private static boolean hasListeners(@NonNull Collection<AttachedContext> contexts, @NonNull String eventName) {
+        for (AttachedContext attachedContext : contexts) {
+            if (attachedContext.hasListeners(eventName)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The number of entries.
+     *
+     * @return The number of entries.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    @NonNull
+    @Override
+    public Iterator<Entry> iterator() {
+        return entries.iterator();
+    }
+}
@@ -0,0 +1,231 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Tracks emitted events until JS acknowledges them.
+ *
+ * Each attached context has its own window, so the same event can be in flight to several
+ * contexts under different sequence numbers. Events get a sequence number the first time they are
+ * emitted to the context. JS acks cumulatively, so the unacked events always form a contiguous run
+ * of sequence numbers. When the oldest unacked event times out, every unacked event is delivered
+ * again in order (go-back-N), and JS drops anything it has already seen. Not thread safe, only
+ * accessed from the emitter thread.
+ */
+class DeliveryWindow {
+
+    /**
+     * A single event delivered to the window's context.
+     */
+    static class Delivery {
+
+        private final PendingEvent event;
+        private final long sequence;
+        private int attempts;
+        private long emittedMillis;
+
+        /**
+         * Default constructor.
+         *
+         * @param event The event.
+         * @param sequence The sequence number, or 0 if acks are disabled.
+         */
+        Delivery(@NonNull PendingEvent event, long sequence) {
+            this.event = event;
+            this.sequence = sequence;
+        }
+
+        /**
+         * The event.
+         *
+         * @return The event.
+         */
+        @NonNull
+        PendingEvent getEvent() {
+            return event;
+        }
+
+        /**
+         * The delivery sequence number.
+         *
+         * @return The sequence number, or 0 if acks are disabled.
+         */
+        long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * The number of times the event has been emitted without being acked.
+         *
+         * @return The delivery attempts.
+         */
+        int getAttempts() {
+            return attempts;
+        }
+    }
+
+    private final ArrayDeque<Delivery> unacked = new ArrayDeque<>();
+    private final ArrayDeque<Delivery> redeliveries = new ArrayDeque<>();
+    private long nextSequence = 1;
+
+    /**
+     * Assigns the next sequence number to an event that has not been emitted to this window's
+     * context yet.
+     *
+     * @param event The event.
+     * @return The delivery.
+     */
+    @NonNull
+    Delivery track(@NonNull PendingEvent event) {
+        return new Delivery(event, nextSequence++);
+    }
+
+    /**
+     * The lowest sequence number that can still be delivered. Anything below it was either acked or
+     * abandoned, which lets JS tell a gap apart from events that are still in flight.
+     *
+     * @return The base sequence number.
+     */
+    long getBaseSequence() {
+        long base = nextSequence;
+        if (!unacked.isEmpty()) {
+            base = Math.min(base, unacked.peekFirst().sequence);
+        }
+
+        if (!redeliveries.isEmpty()) {
+            base = Math.min(base, redeliveries.peekFirst().sequence);
+        }
+
+        return base;
+    }
+
+    /**
+     * The number of events that are unacked or waiting to be delivered again.
+     *
+     * @return The number of outstanding events.
+     */
+    int size() {
+        return unacked.size() + redeliveries.size();
+    }
+
+    /**
+     * Checks if any events are waiting to be delivered again.
+     *
+     * @return {@code true} if there are redeliveries, otherwise {@code false}.
+     */
+    boolean hasRedeliveries() {
+        return !redeliveries.isEmpty();
+    }
+
+    /**
+     * Removes the next event to deliver again.
+     *
+     * @return The delivery, or {@code null} if there are none.
+     */
+    @Nullable
+    Delivery pollRedelivery() {
+        return redeliveries.pollFirst();
+    }
+
+    /**
+     * Called after a batch has been emitted.
+     *
+     * @param batch The emitted deliveries, in sequence order.
+     * @param nowMillis The current uptime in milliseconds.
+     */
+    void onEmitted(@NonNull List<Delivery> batch, long nowMillis) {
+        for (Delivery delivery : batch) {
+            delivery.attempts++;
+            delivery.emittedMillis = nowMillis;
+            unacked.addLast(delivery);
+        }
+    }
+
+    /**
+     * Acknowledges every event up to and including a sequence number.
+     *
+     * @param sequence The sequence number.
+     * @return The acked events.
+     */
+    @NonNull
+    List<PendingEvent> ack(long sequence) {
+        List<PendingEvent> acked = new ArrayList<>();
+        while (!unacked.isEmpty() && unacked.peekFirst().sequence <= sequence) {
+            acked.add(unacked.pollFirst().event);
+        }
+
+        return acked;
+    }
+
+    /**
+     * Gets how long until the oldest unacked event times out.
+     *
+     * @param nowMillis The current uptime in milliseconds.
+     * @param timeoutMillis The ack timeout in milliseconds.
+     * @return The delay in milliseconds, 0 if it already timed out, or -1 if nothing is unacked.
+     */
+    long getTimeoutDelay(long nowMillis, long timeoutMillis) {
+        if (unacked.isEmpty()) {
+            return -1;
+        }
+
+        return Math.max(0, unacked.peekFirst().emittedMillis + timeoutMillis - nowMillis);
+    }
+
+    /**
+     * Moves every unacked event back to the front of the redelivery queue. Events that have
+     * already been delivered the max number of times are abandoned instead.
+     *
+     * @param maxAttempts The max delivery attempts.
+     * @return The abandoned events.
+     */
+    @NonNull
+    List<PendingEvent> redeliver(int maxAttempts) {
+        while (!unacked.isEmpty()) {
+            redeliveries.addFirst(unacked.pollLast());
+        }
+
+        List<PendingEvent> abandoned = new ArrayList<>();
+        Iterator<Delivery> iterator = redeliveries.iterator();
+        while (iterator.hasNext()) {
+            Delivery delivery = iterator.next();
+            if (delivery.attempts >= maxAttempts) {
+                iterator.remove();
+                abandoned.add(delivery.event);
+            }
+        }
+
+        return abandoned;
+    }
+
+    /**
+     * Removes every tracked event. Sequence numbers keep counting up, so JS never mistakes a
+     * later delivery for one it has already seen.
+     *
+     * @return The events, in sequence order.
+     */
+    @NonNull
+    List<PendingEvent> clear() {
+        // Redeliveries are only emitted from the head, so they always follow the unacked events
+        List<PendingEvent> events = new ArrayList<>(unacked.size() + redeliveries.size());
+        for (Delivery delivery : unacked) {
+            events.add(delivery.event);
+        }
+
+        for (Delivery delivery : redeliveries) {
+            events.add(delivery.event);
+        }
+
+        unacked.clear();
+        redeliveries.clear();
+        return events;
+    }
+}
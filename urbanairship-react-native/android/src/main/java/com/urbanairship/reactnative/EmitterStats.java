@@ -0,0 +1,184 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+
+import com.urbanairship.json.JsonMap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Event emitter counters and latency histograms, broken down by event name. Not thread safe,
+ * only accessed from the emitter thread.
+ */
+class EmitterStats {
+
+    private static final String EMITTED = "emitted";
+    private static final String FAILED_EMITS = "failedEmits";
+    private static final String LATENCY = "latency";
+    private static final String PENDING_DEPTH = "pendingDepth";
+    private static final String MAX_PENDING_DEPTH = "maxPendingDepth";
+    private static final String EVICTIONS = "evictions";
+    private static final String EXPIRATIONS = "expirations";
+    private static final String REDELIVERIES = "redeliveries";
+    private static final String ABANDONED = "abandoned";
+    private static final String JOURNAL = "journal";
+    private static final String JOURNAL_APPENDS = "appends";
+    private static final String JOURNAL_AVERAGE_APPEND_MICROS = "averageAppendMicros";
+    private static final String JOURNAL_MAX_APPEND_MICROS = "maxAppendMicros";
+
+    private final Map<String, Long> emitted = new HashMap<>();
+    private final Map<String, Long> failedEmits = new HashMap<>();
+    private final Map<String, LatencyHistogram> latencies = new HashMap<>();
+    private final Map<String, Long> maxPendingDepths = new HashMap<>();
+    private final Map<String, Long> evictions = new HashMap<>();
+    private final Map<String, Long> expirations = new HashMap<>();
+    private final Map<String, Long> redeliveries = new HashMap<>();
+    private final Map<String, Long> abandoned = new HashMap<>();
+
+    private long journalAppends;
+    private long journalAppendNanos;
+    private long journalMaxAppendNanos;
+
+    /**
+     * Records an emitted event and the time it waited between being sent and emitted.
+     *
+     * @param eventName The event name.
+     * @param latencyMillis The send to emit time in milliseconds.
+     */
+    void recordEmit(@NonNull String eventName, long latencyMillis) {
+        increment(emitted, eventName);
+
+        LatencyHistogram histogram = latencies.get(eventName);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            latencies.put(eventName, histogram);
+        }
+        histogram.record(latencyMillis);
+    }
+
+    /**
+     * Records an event that was part of a batch that could not be emitted. Events that were not
+     * attempted because no context listened for them are not counted.
+     *
+     * @param eventName The event name.
+     */
+    void recordFailedEmit(@NonNull String eventName) {
+        increment(failedEmits, eventName);
+    }
+
+    /**
+     * Records the pending queue depth for an event name after an event was queued.
+     *
+     * @param eventName The event name.
+     * @param depth The number of pending events for the name.
+     */
+    void recordPendingDepth(@NonNull String eventName, int depth) {
+        Long max = maxPendingDepths.get(eventName);
+        if (max == null || depth > max) {
+            maxPendingDepths.put(eventName, (long) depth);
+        }
+    }
+
+    /**
+     * Records a pending event that was evicted to stay within the buffer limits.
+     *
+     * @param eventName The event name.
+     */
+    void recordEviction(@NonNull String eventName) {
+        increment(evictions, eventName);
+    }
+
+    /**
+     * Records a pending event that was discarded after its TTL.
+     *
+     * @param eventName The event name.
+     */
+    void recordExpiration(@NonNull String eventName) {
+        increment(expirations, eventName);
+    }
+
+    /**
+     * Records an event that is delivered again after its ack timed out.
+     *
+     * @param eventName The event name.
+     */
+    void recordRedelivery(@NonNull String eventName) {
+        increment(redeliveries, eventName);
+    }
+
+    /**
+     * Records an event that was given up on after its max delivery attempts.
+     *
+     * @param eventName The event name.
+     */
+    void recordAbandoned(@NonNull String eventName) {
+        increment(abandoned, eventName);
+    }
+
+    /**
+     * Records the time taken to append an event to the journal.
+     *
+     * @param nanos The append time in nanoseconds.
+     */
+    void recordJournalAppend(long nanos) {
+        journalAppends++;
+        journalAppendNanos += nanos;
+        journalMaxAppendNanos = Math.max(journalMaxAppendNanos, nanos);
+    }
+
+    /**
+     * Resets every counter and histogram.
+     */
+    void reset() {
+        emitted.clear();
+        failedEmits.clear();
+        latencies.clear();
+        maxPendingDepths.clear();
+        evictions.clear();
+        expirations.clear();
+        redeliveries.clear();
+        abandoned.clear();
+        journalAppends = 0;
+        journalAppendNanos = 0;
+        journalMaxAppendNanos = 0;
+    }
+
+    /**
+     * Creates a snapshot of the stats.
+     *
+     * @param pendingDepths The current pending queue depth per event name.
+     * @return The stats as JSON.
+     */
+    @NonNull
+    JsonMap toJsonMap(@NonNull Map<String, Integer> pendingDepths) {
+        JsonMap.Builder latencyBuilder = JsonMap.newBuilder();
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            latencyBuilder.put(entry.getKey(), entry.getValue().toJsonMap());
+        }
+
+        return JsonMap.newBuilder()
+                      .putOpt(EMITTED, emitted)
+                      .putOpt(FAILED_EMITS, failedEmits)
+                      .put(LATENCY, latencyBuilder.build())
+                      .putOpt(PENDING_DEPTH, pendingDepths)
+                      .putOpt(MAX_PENDING_DEPTH, maxPendingDepths)
+                      .putOpt(EVICTIONS, evictions)
+                      .putOpt(EXPIRATIONS, expirations)
+                      .putOpt(REDELIVERIES, redeliveries)
+                      .putOpt(ABANDONED, abandoned)
+                      .put(JOURNAL, JsonMap.newBuilder()
+                                           .put(JOURNAL_APPENDS, journalAppends)
+                                           .put(JOURNAL_AVERAGE_APPEND_MICROS, journalAppends == 0 ? 0 : journalAppendNanos / journalAppends / 1000)
+                                           .put(JOURNAL_MAX_APPEND_MICROS, journalMaxAppendNanos / 1000)
+                                           .build())
+                      .build();
+    }
+
+    private static void increment(@NonNull Map<String, Long> counters, @NonNull String eventName) {
+        Long count = counters.get(eventName);
+        counters.put(eventName, count == null ? 1 : count + 1);
+    }
+}
@@ -7,7 +7,8 @@ import androidx.annotation.NonNull;
 import com.facebook.react.bridge.WritableMap;
 
 /**
- * Event interface.
+ * Event interface. Events that should be coalesced, prioritized or buffered without a
+ * bridge map should implement {@link BufferedEvent}.
  */
 public interface Event {
 
@@ -2,33 +2,199 @@
 
 package com.urbanairship.reactnative;
 
+import android.content.Context;
 import android.os.Handler;
+import android.os.HandlerThread;
 import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
 
-import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
 
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.modules.core.RCTNativeAppEventEmitter;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 /**
  * Emits events to listeners in the JS layer.
+ *
+ * All emitter state is owned by a dedicated emitter thread. Producers hand events off through
+ * a lock-free queue and never touch the pending queues or listener state directly.
+ *
+ * Events cross the bridge inside a batch event that is unpacked by UAEventEmitter in JS. When
+ * batching is enabled, events that are ready to be delivered are collected until the next frame
+ * (or batch window) and sent together. Batches are capped in size so large backlogs are paced
+ * over several frames.
+ *
+ * Event bodies are materialized once on the emitter thread, before the event is queued, and
+ * kept as a {@link com.urbanairship.json.JsonMap}. Retries only convert the stored body and
+ * never rebuild it from the source event.
+ *
+ * Events are delivered by priority. Interactive events, such as notification responses, always
+ * go out before normal and low priority events, and non-interactive events can optionally be
+ * held while the host is paused.
+ *
+ * Events without a listener wait in a {@link PendingEventQueue} that is bounded by count and
+ * estimated size, and can expire per event name.
+ *
+ * When the journal is enabled, events are also appended to an {@link EventJournal} until every
+ * context they were emitted to is done with them, and events left over from a previous process
+ * are restored on the next attach.
+ *
+ * Several react contexts can be attached at once, for example while a bundle reloads or when the
+ * app runs more than one react instance. Each {@link AttachedContext} has its own listener counts
+ * and receives every event its JS layer listens for. Ready events go to a single
+ * {@link DeliveryLog} that every context reads through its own cursor. Contexts are weakly
+ * referenced and detached once they are torn down or collected.
+ *
+ * When acks are enabled, every emitted event carries a sequence number from the context's own
+ * {@link DeliveryWindow} and is tracked until that context acknowledges it. Unacked events are
+ * delivered again after a timeout. When a context goes away its unacked events stay in the log
+ * and are only delivered again to a context that never received them. If no context listens for
+ * them, they go back to the pending queue and count against its limits.
+ *
+ * JS can also pull pending events with {@link #takePendingEvents(List, int, Promise)}. Names
+ * that still have a backlog after a pull are not pushed until JS has taken the rest.
+ *
+ * Listeners are counted per event name. Once the last listener for a name is removed, new events
+ * for it are dropped before their body is built.
+ *
+ * Events with a coalescing key describe state. Only the newest instance per key is kept in the
+ * queues, consecutive identical instances are dropped, and the newest instance is replayed to the
+ * first listener of its name in each context.
  */
 class EventEmitter {
 
+    /**
+     * Notified on the emitter thread when an event name gains its first listener or loses
+     * its last one.
+     */
+    interface SubscriptionListener {
+
+        /**
+         * Called when an event name gains its first listener.
+         *
+         * @param eventName The event name.
+         */
+        void onSubscribed(@NonNull String eventName);
+
+        /**
+         * Called when the last listener for an event name is removed.
+         *
+         * @param eventName The event name.
+         */
+        void onUnsubscribed(@NonNull String eventName);
+    }
+
+    private static final String THREAD_NAME = "UrbanAirshipEventEmitter";
+
+    static final String BATCH_EVENT = "com.urbanairship.event_batch";
+    private static final String BATCH_EVENTS = "events";
+    private static final String BATCH_EVENT_NAME = "name";
+    private static final String BATCH_EVENT_BODY = "body";
+    private static final String BATCH_EVENT_SEQUENCE = "seq";
+    private static final String BATCH_BASE_SEQUENCE = "baseSeq";
+
     private static EventEmitter sharedInstance = new EventEmitter();
 
-    private final List<Event> pendingEvents = new ArrayList<>();
-    private final Set<String> knownListeners = new HashSet<>();
-    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Emitter thread only
+    private final EmitterStats stats = new EmitterStats();
+    private final PendingEventQueue pendingEvents = new PendingEventQueue(new PendingEventQueue.Listener() {
+        @Override
+        public void onEvicted(@NonNull PendingEvent event) {
+            stats.recordEviction(event.getName());
+            removeFromJournal(event);
+        }
+
+        @Override
+        public void onExpired(@NonNull PendingEvent event) {
+            stats.recordExpiration(event.getName());
+            removeFromJournal(event);
+        }
+    });
+    private final ReadyEventQueue readyEvents = new ReadyEventQueue();
+    private final DeliveryLog log = new DeliveryLog();
+    private final Map<String, PendingEvent> latestStateEvents = new HashMap<>();
+    private final Set<String> pullingNames = new HashSet<>();
+    private final List<AttachedContext> contexts = new ArrayList<>();
+    private EventJournal journal;
+    private List<PendingEvent> recoveredEvents;
+    private SubscriptionListener subscriptionListener;
+
+    private EventEmitterConfig config = EventEmitterConfig.DEFAULT_CONFIG;
+    private boolean hostPaused;
+    private boolean flushScheduled;
+    private Choreographer choreographer;
+    private long scannedLogEntries;
+
+    // Names whose listeners have all been removed, read by producers
+    private final Set<String> releasedNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private final ConcurrentLinkedQueue<IncomingEvent> incomingEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final Handler handler;
+
+    private final Runnable drainIncomingEvents = new Runnable() {
+        @Override
+        public void run() {
+            // Clear the flag before draining so an event offered mid-drain schedules another pass
+            drainScheduled.set(false);
+
+            IncomingEvent incoming;
+            while ((incoming = incomingEvents.poll()) != null) {
+                // Materialize the body once, off the producer's thread, before queueing
+                dispatch(new PendingEvent(incoming.event, incoming.sentMillis));
+            }
+        }
+    };
+
+    private final Runnable flushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    private final Runnable ackTimeoutRunnable = new Runnable() {
+        @Override
+        public void run() {
+            onAckTimeout();
+        }
+    };
+
+    private final Choreographer.FrameCallback flushFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            flush();
+        }
+    };
 
-    private long listenerCount;
-    private ReactContext reactContext;
+    @VisibleForTesting
+    EventEmitter() {
+        HandlerThread thread = new HandlerThread(THREAD_NAME);
+        thread.start();
+        handler = new Handler(thread.getLooper());
+    }
 
     /**
      * Returns the shared {@link EventEmitter} instance.
@@ -40,32 +206,128 @@ class EventEmitter {
     }
 
     /**
-     * Attaches the react context.
+     * The looper of the emitter thread, so tests can drive it.
+     *
+     * @return The emitter looper.
+     */
+    @NonNull
+    @VisibleForTesting
+    Looper getLooper() {
+        return handler.getLooper();
+    }
+
+    /**
+     * Stops the emitter thread. Events that have not been handled yet are dropped.
+     */
+    @VisibleForTesting
+    void quit() {
+        handler.getLooper().quit();
+    }
+
+    /**
+     * The number of delivery log entries visited while looking for events to emit, so tests can
+     * check that the work grows linearly with the number of events.
+     *
+     * @return The number of entries visited.
+     */
+    @VisibleForTesting
+    long getScannedLogEntries() {
+        return scannedLogEntries;
+    }
+
+    /**
+     * Attaches a react context. Contexts that were already attached are ignored.
      *
      * @param reactContext The react context.
      */
-    void attachReactContext(final ReactContext reactContext) {
-        mainHandler.post(new Runnable() {
+    void attachReactContext(@NonNull final ReactContext reactContext) {
+        handler.post(new Runnable() {
             @Override
             public void run() {
-                EventEmitter.this.reactContext = reactContext;
+                pruneContexts();
+                if (findContext(reactContext) == null) {
+                    contexts.add(new AttachedContext(reactContext, log));
+                }
+
+                restoreRecoveredEvents();
                 sendPendingEvents();
             }
         });
     }
 
     /**
-     * Sends an event to the JS layer.
+     * Detaches a react context that is being torn down. Its unacked events stay in the delivery
+     * log for the other contexts that listen for them and for contexts attached later.
+     *
+     * @param reactContext The react context.
+     */
+    void detachReactContext(@NonNull final ReactContext reactContext) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                AttachedContext attachedContext = findContext(reactContext);
+                if (attachedContext != null) {
+                    detach(attachedContext);
+                }
+            }
+        });
+    }
+
+    /**
+     * Sends an event to the JS layer. Safe to call from any thread.
      *
      * @param event The event.
      */
-    void sendEvent(final Event event) {
-        mainHandler.post(new Runnable() {
+    void sendEvent(@NonNull Event event) {
+        // Nobody is listening anymore, don't build the body. State events are still tracked so
+        // the latest value can be replayed to a future listener.
+        if (PendingEvent.getCoalescingKey(event) == null && releasedNames.contains(event.getName())) {
+            return;
+        }
+
+        // Latency and TTLs count from here, not from when the emitter thread gets to the event
+        incomingEvents.offer(new IncomingEvent(event, SystemClock.elapsedRealtime()));
+        if (drainScheduled.compareAndSet(false, true)) {
+            handler.post(drainIncomingEvents);
+        }
+    }
+
+    /**
+     * Updates the listener counts per event name for a react context.
+     *
+     * @param reactContext The react context.
+     * @param deltas The change in listener count, keyed by event name.
+     */
+    void updateListeners(@NonNull final ReactContext reactContext, @NonNull final Map<String, Integer> deltas) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                AttachedContext attachedContext = findContext(reactContext);
+                if (attachedContext == null) {
+                    return;
+                }
+
+                for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+                    updateListenerCount(attachedContext, entry.getKey(), entry.getValue());
+                }
+            }
+        });
+    }
+
+    /**
+     * Sets the subscription listener. It is called right away for every name that already has
+     * a listener.
+     *
+     * @param listener The listener, or {@code null} to clear it.
+     */
+    void setSubscriptionListener(@Nullable final SubscriptionListener listener) {
+        handler.post(new Runnable() {
             @Override
             public void run() {
-                synchronized (knownListeners) {
-                    if (!knownListeners.contains(event.getName()) || !emit(event)) {
-                        pendingEvents.add(event);
+                subscriptionListener = listener;
+                if (listener != null) {
+                    for (String eventName : getListenedNames()) {
+                        listener.onSubscribed(eventName);
                     }
                 }
             }
@@ -73,71 +335,1079 @@ class EventEmitter {
     }
 
     /**
-     * Called when a new listener is added for a specified event name.
+     * Checks if JS in any attached context is listening for an event name.
+     *
+     * @param eventName The event name.
+     * @return {@code true} if there is at least one listener, otherwise {@code false}.
+     */
+    @WorkerThread
+    private boolean hasListeners(@NonNull String eventName) {
+        for (AttachedContext attachedContext : contexts) {
+            if (attachedContext.hasListeners(eventName)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the event names with at least one listener in any attached context.
+     *
+     * @return The event names.
+     */
+    @NonNull
+    @WorkerThread
+    private Set<String> getListenedNames() {
+        Set<String> names = new HashSet<>();
+        for (AttachedContext attachedContext : contexts) {
+            names.addAll(attachedContext.getListenedNames());
+        }
+
+        return names;
+    }
+
+    /**
+     * Applies a change in the listener count for an event name. The first listener in a context
+     * gets the latest state, the first listener in any context gets the backlog, and removing the
+     * last listener across all contexts releases the name.
+     *
+     * @param attachedContext The context.
+     * @param eventName The event name.
+     * @param delta The change in listener count.
+     */
+    @WorkerThread
+    private void updateListenerCount(@NonNull AttachedContext attachedContext, @NonNull String eventName, int delta) {
+        boolean wasSubscribed = hasListeners(eventName);
+        boolean wasListening = attachedContext.hasListeners(eventName);
+
+        attachedContext.updateListenerCount(eventName, delta);
+
+        if (!hasListeners(eventName)) {
+            if (wasSubscribed) {
+                release(eventName);
+            }
+            return;
+        }
+
+        if (!wasSubscribed) {
+            releasedNames.remove(eventName);
+            if (subscriptionListener != null) {
+                subscriptionListener.onSubscribed(eventName);
+            }
+        }
+
+        if (!wasListening) {
+            // A new listener takes over whatever backlog a pull left behind
+            pullingNames.remove(eventName);
+            replayStateEvents(attachedContext, eventName);
+            receiveOrphanedEvents(attachedContext, eventName);
+            sendPendingEvents(eventName);
+        }
+    }
+
+    /**
+     * Releases an event name that lost its last listener.
      *
      * @param eventName The event name.
      */
-    void addAndroidListener(String eventName) {
-        synchronized (knownListeners) {
-            listenerCount++;
-            knownListeners.add(eventName);
+    @WorkerThread
+    private void release(@NonNull String eventName) {
+        releasedNames.add(eventName);
+        if (subscriptionListener != null) {
+            subscriptionListener.onUnsubscribed(eventName);
+        }
+    }
+
+    /**
+     * Finds an attached react context.
+     *
+     * @param reactContext The react context.
+     * @return The attached context, or {@code null} if it is not attached.
+     */
+    @Nullable
+    @WorkerThread
+    private AttachedContext findContext(@NonNull ReactContext reactContext) {
+        for (AttachedContext attachedContext : contexts) {
+            if (attachedContext.isReactContext(reactContext)) {
+                return attachedContext;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Detaches every context that was collected without being detached.
+     */
+    @WorkerThread
+    private void pruneContexts() {
+        for (AttachedContext attachedContext : new ArrayList<>(contexts)) {
+            if (attachedContext.isCollected()) {
+                detach(attachedContext);
+            }
+        }
+    }
+
+    /**
+     * Detaches a context. Its unacked events are released in the delivery log, and names that no
+     * other context listens for are released.
+     *
+     * @param attachedContext The context.
+     */
+    @WorkerThread
+    private void detach(@NonNull AttachedContext attachedContext) {
+        contexts.remove(attachedContext);
+        attachedContext.clearReplayEvents();
+        releaseDeliveries(attachedContext.getDeliveryWindow().clear());
+        trimLog();
+
+        for (String eventName : attachedContext.getListenedNames()) {
+            if (!hasListeners(eventName)) {
+                release(eventName);
+            }
         }
 
-        mainHandler.post(new Runnable() {
+        scheduleAckTimeout();
+        scheduleFlush();
+    }
+
+    /**
+     * Takes pending events for a set of names, oldest first, and resolves them as a single array.
+     * Push delivery for a name resumes once its backlog has been taken or a listener is added
+     * for it.
+     *
+     * @param names The event names.
+     * @param maxCount The max number of events to take.
+     * @param promise The JS promise.
+     */
+    void takePendingEvents(@NonNull final List<String> names, final int maxCount, @NonNull final Promise promise) {
+        handler.post(new Runnable() {
             @Override
             public void run() {
-                sendPendingEvents();
+                List<PendingEvent> taken = new ArrayList<>();
+                while (taken.size() < maxCount) {
+                    String oldestName = null;
+                    PendingEvent oldest = null;
+                    for (String name : names) {
+                        PendingEvent head = pendingEvents.peek(name);
+                        if (head != null && (oldest == null || head.getCreatedMillis() < oldest.getCreatedMillis())) {
+                            oldest = head;
+                            oldestName = name;
+                        }
+                    }
+
+                    if (oldestName == null) {
+                        break;
+                    }
+
+                    taken.add(pendingEvents.poll(oldestName));
+                }
+
+                for (String name : names) {
+                    if (pendingEvents.contains(name)) {
+                        pullingNames.add(name);
+                    } else {
+                        pullingNames.remove(name);
+                    }
+                }
+
+                long now = SystemClock.elapsedRealtime();
+                WritableArray events = Arguments.createArray();
+                for (PendingEvent event : taken) {
+                    stats.recordEmit(event.getName(), now - event.getCreatedMillis());
+                    events.pushMap(createEventMap(event));
+                }
+                promise.resolve(events);
+
+                if (journal != null) {
+                    journal.remove(taken);
+                }
+            }
+        });
+    }
+
+    /**
+     * Acknowledges every event up to and including a sequence number for a react context.
+     *
+     * @param reactContext The react context.
+     * @param sequence The sequence number.
+     */
+    void ack(@NonNull final ReactContext reactContext, final long sequence) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                AttachedContext attachedContext = findContext(reactContext);
+                if (attachedContext == null) {
+                    return;
+                }
+
+                List<PendingEvent> acked = attachedContext.getDeliveryWindow().ack(sequence);
+                if (acked.isEmpty()) {
+                    return;
+                }
+
+                // Journal rows go once every context that received the events has acked them
+                settleDeliveries(acked);
+                trimLog();
+
+                scheduleAckTimeout();
+                scheduleFlush();
             }
         });
     }
 
     /**
-     * Called when listeners are removed.
+     * Applies the event emitter config.
+     *
+     * @param context The application context.
+     * @param config The config.
+     */
+    void setConfig(@NonNull final Context context, @NonNull final EventEmitterConfig config) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                EventEmitter.this.config = config;
+                pendingEvents.applyConfig(config);
+                updateJournal(context, config.journalEnabled);
+                if (!config.ackEnabled) {
+                    // Unacked events were emitted at least once, they are not sent again
+                    handler.removeCallbacks(ackTimeoutRunnable);
+                    for (AttachedContext attachedContext : contexts) {
+                        settleDeliveries(attachedContext.getDeliveryWindow().clear());
+                    }
+                    trimLog();
+                }
+                scheduleFlush();
+            }
+        });
+    }
+
+    /**
+     * Resolves a promise with a snapshot of the emitter stats.
+     *
+     * @param promise The JS promise.
+     */
+    void getStats(@NonNull final Promise promise) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                promise.resolve(Utils.convertJsonValue(stats.toJsonMap(pendingEvents.getDepths()).toJsonValue()));
+            }
+        });
+    }
+
+    /**
+     * Resets the emitter stats.
+     */
+    void resetStats() {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                stats.reset();
+            }
+        });
+    }
+
+    /**
+     * Called when the host resumes. Flushes any held events.
+     */
+    void onHostResume() {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                hostPaused = false;
+                scheduleFlush();
+            }
+        });
+    }
+
+    /**
+     * Called when the host pauses.
+     */
+    void onHostPause() {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                hostPaused = true;
+            }
+        });
+    }
+
+    /**
+     * Marks an event ready for delivery or queues it if there is no listener yet.
+     *
+     * @param event The event.
+     */
+    @WorkerThread
+    private void dispatch(@NonNull PendingEvent event) {
+        String name = event.getName();
+
+        String coalescingKey = event.getCoalescingKey();
+        if (coalescingKey != null) {
+            PendingEvent latest = latestStateEvents.get(coalescingKey);
+            if (latest != null && latest.getBody().equals(event.getBody())) {
+                return;
+            }
+
+            latestStateEvents.put(coalescingKey, event);
+            readyEvents.removeCoalesced(coalescingKey);
+            pendingEvents.removeCoalesced(name, coalescingKey);
+            if (journal != null) {
+                journal.removeCoalesced(coalescingKey);
+            }
+        }
+
+        if (journal != null) {
+            long start = System.nanoTime();
+            event.setJournalId(journal.append(event));
+            stats.recordJournalAppend(System.nanoTime() - start);
+        }
+
+        // Events behind a backlog for the same name must wait their turn
+        if (!hasListeners(name) || pendingEvents.contains(name)) {
+            queuePending(event);
+            return;
+        }
+
+        readyEvents.add(event);
+        scheduleFlush();
+    }
+
+    /**
+     * Opens or closes the journal. Opening loads any events left over from a previous process,
+     * which are restored once a context is attached. Disabling clears the journal so stale events
+     * are never replayed later.
+     *
+     * @param context The application context.
+     * @param enabled {@code true} to enable the journal, otherwise {@code false}.
+     */
+    @WorkerThread
+    private void updateJournal(@NonNull Context context, boolean enabled) {
+        if (enabled) {
+            if (journal == null) {
+                journal = new EventJournal(context);
+                recoveredEvents = journal.load();
+                if (!contexts.isEmpty()) {
+                    restoreRecoveredEvents();
+                    sendPendingEvents();
+                }
+            }
+            return;
+        }
+
+        if (journal != null) {
+            journal.clear();
+            journal.close();
+            journal = null;
+            recoveredEvents = null;
+        } else if (EventJournal.exists(context)) {
+            EventJournal staleJournal = new EventJournal(context);
+            staleJournal.clear();
+            staleJournal.close();
+        }
+    }
+
+    /**
+     * Moves the events recovered from the journal to the front of the pending queues, ahead of
+     * anything received by this process. Recovered state events are skipped if a newer instance
+     * was already received.
+     */
+    @WorkerThread
+    private void restoreRecoveredEvents() {
+        if (recoveredEvents == null) {
+            return;
+        }
+
+        List<PendingEvent> events = new ArrayList<>();
+        for (PendingEvent event : recoveredEvents) {
+            String coalescingKey = event.getCoalescingKey();
+            if (coalescingKey != null) {
+                if (latestStateEvents.containsKey(coalescingKey)) {
+                    removeFromJournal(event);
+                    continue;
+                }
+
+                latestStateEvents.put(coalescingKey, event);
+            }
+
+            events.add(event);
+        }
+
+        recoveredEvents = null;
+        requeue(events);
+    }
+
+    /**
+     * Removes an event from the journal, if enabled.
+     *
+     * @param event The event.
+     */
+    @WorkerThread
+    private void removeFromJournal(@NonNull PendingEvent event) {
+        if (journal != null) {
+            journal.remove(event);
+        }
+    }
+
+    /**
+     * Queues the newest state events for a name that just gained its first listener in a context,
+     * unless an instance is already waiting to be delivered to every listener.
+     *
+     * @param attachedContext The context.
+     * @param eventName The event name.
+     */
+    @WorkerThread
+    private void replayStateEvents(@NonNull AttachedContext attachedContext, @NonNull String eventName) {
+        for (PendingEvent event : latestStateEvents.values()) {
+            if (!eventName.equals(event.getName())) {
+                continue;
+            }
+
+            String coalescingKey = event.getCoalescingKey();
+            if (!pendingEvents.containsCoalesced(eventName, coalescingKey) && !readyEvents.containsCoalesced(coalescingKey)) {
+                // Replay a copy, the original may still be waiting for an ack
+                attachedContext.addReplayEvent(new PendingEvent(event.getName(), coalescingKey, event.getBody(),
+                        event.getPriority(), event.getCreatedMillis()));
+                scheduleFlush();
+            }
+        }
+    }
+
+    /**
+     * Adds an event to the pending queue and records the resulting depth.
+     *
+     * @param event The event.
+     */
+    @WorkerThread
+    private void queuePending(@NonNull PendingEvent event) {
+        pendingEvents.add(event);
+        stats.recordPendingDepth(event.getName(), pendingEvents.size(event.getName()));
+    }
+
+    /**
+     * Removes any queued events with the given coalescing key.
+     *
+     * @param queue The queue, or {@code null}.
+     * @param coalescingKey The coalescing key.
+     */
+    static void removeCoalesced(@Nullable ArrayDeque<PendingEvent> queue, @NonNull String coalescingKey) {
+        if (queue == null) {
+            return;
+        }
+
+        Iterator<PendingEvent> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            if (coalescingKey.equals(iterator.next().getCoalescingKey())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Checks if a queue contains an event with the given coalescing key.
      *
-     * @param count The count of listeners.
+     * @param queue The queue, or {@code null}.
+     * @param coalescingKey The coalescing key.
+     * @return {@code true} if the queue contains a matching event, otherwise {@code false}.
      */
-    void removeAndroidListeners(int count) {
-        synchronized (knownListeners) {
-            listenerCount -= count;
-            if (listenerCount <= 0) {
-                listenerCount = 0;
-                knownListeners.clear();
+    static boolean containsCoalesced(@Nullable ArrayDeque<PendingEvent> queue, @Nullable String coalescingKey) {
+        if (queue == null || coalescingKey == null) {
+            return false;
+        }
+
+        for (PendingEvent event : queue) {
+            if (coalescingKey.equals(event.getCoalescingKey())) {
+                return true;
             }
         }
+
+        return false;
+    }
+
+    /**
+     * Returns events to the front of their pending queues, keeping their original order.
+     *
+     * @param events The events.
+     */
+    @WorkerThread
+    private void requeue(@NonNull List<PendingEvent> events) {
+        for (int i = events.size() - 1; i >= 0; i--) {
+            pendingEvents.addFirst(events.get(i));
+        }
+
+        pendingEvents.trim();
     }
 
     /**
-     * Attempts to send pending events.
+     * Attempts to send pending events for every known listener. Expired events are dropped for
+     * every name first, so names nobody listens for don't hold on to them.
      */
-    @MainThread
+    @WorkerThread
     private void sendPendingEvents() {
-        synchronized (knownListeners) {
-            for (Event event : new ArrayList<>(pendingEvents)) {
-                if (knownListeners.contains(event.getName())) {
-                    // Remove the event first before attempting to send. If it fails to
-                    // send it will get added back to pendingEvents.
-                    pendingEvents.remove(event);
-                    sendEvent(event);
+        pendingEvents.expire();
+        for (String eventName : getListenedNames()) {
+            sendPendingEvents(eventName);
+        }
+    }
+
+    /**
+     * Moves the pending events for a single event name to the ready queue. Only the backlog for
+     * that name is visited, so the cost is linear in the number of events queued under it.
+     *
+     * @param eventName The event name.
+     */
+    @WorkerThread
+    private void sendPendingEvents(@NonNull String eventName) {
+        if (!hasListeners(eventName) || pullingNames.contains(eventName)) {
+            return;
+        }
+
+        ArrayDeque<PendingEvent> queue = pendingEvents.remove(eventName);
+        if (queue == null) {
+            return;
+        }
+
+        readyEvents.addAll(queue);
+        scheduleFlush();
+    }
+
+    /**
+     * Schedules a flush of the ready events. Without batching the flush happens immediately,
+     * otherwise on the next frame or after the batch window.
+     */
+    @WorkerThread
+    private void scheduleFlush() {
+        if (!config.batchingEnabled) {
+            flush();
+            return;
+        }
+
+        if (flushScheduled) {
+            return;
+        }
+
+        flushScheduled = true;
+        if (config.batchWindowMillis > 0) {
+            handler.postDelayed(flushRunnable, config.batchWindowMillis);
+        } else {
+            if (choreographer == null) {
+                choreographer = Choreographer.getInstance();
+            }
+            choreographer.postFrameCallback(flushFrameCallback);
+        }
+    }
+
+    /**
+     * Sends the ready events, highest priority first. Ready events are appended to the delivery
+     * log, and every attached context gets its own batch with its redeliveries and state replays
+     * first, followed by the log entries it has not seen yet. In batching mode a single round of
+     * batches is sent per flush and the rest is left for the following frame, otherwise every
+     * event is sent immediately. Ready events that no context could take are moved back to the
+     * pending queues until a context is attached.
+     */
+    @WorkerThread
+    private void flush() {
+        flushScheduled = false;
+        pruneContexts();
+
+        while (hasDeliverableEvents()) {
+            int count = config.batchingEnabled ? config.maxBatchSize : 1;
+            int readyCount = count;
+            boolean hasBatches = false;
+
+            List<AttachedContext> targets = getActiveContexts();
+            List<List<DeliveryWindow.Delivery>> batches = new ArrayList<>();
+            for (AttachedContext attachedContext : targets) {
+                List<DeliveryWindow.Delivery> batch = takeOwnEvents(attachedContext, count);
+                takeLogEvents(attachedContext, batch, count);
+                hasBatches |= !batch.isEmpty();
+                batches.add(batch);
+
+                // A context that is behind or has a full window holds back new events, the next
+                // ack schedules another flush
+                readyCount = Math.min(readyCount, count - batch.size());
+                if (config.ackEnabled) {
+                    int outstanding = attachedContext.getDeliveryWindow().size() + batch.size();
+                    readyCount = Math.min(readyCount, config.maxUnackedEvents - outstanding);
+                }
+            }
+
+            if (readyCount <= 0 && !hasBatches) {
+                return;
+            }
+
+            int polled = 0;
+            List<PendingEvent> undelivered = new ArrayList<>();
+            PendingEvent event;
+            while (polled < readyCount && (event = readyEvents.poll(isDeferring())) != null) {
+                polled++;
+                if (hasListeners(targets, event.getName())) {
+                    log.append(event);
+                } else {
+                    undelivered.add(event);
+                }
+            }
+
+            if (polled > 0) {
+                for (int i = 0; i < targets.size(); i++) {
+                    takeLogEvents(targets.get(i), batches.get(i), count);
+                }
+            }
+
+            boolean emitted = false;
+            for (int i = 0; i < targets.size(); i++) {
+                emitted |= emitBatch(targets.get(i), batches.get(i));
+            }
+
+            if (config.ackEnabled) {
+                scheduleAckTimeout();
+            }
+            trimLog();
+
+            if (!emitted) {
+                // No context can take events right now, so park everything until one is attached
+                if (polled > 0) {
+                    requeue(drainReadyEvents(undelivered));
+                }
+                return;
+            }
+
+            if (!undelivered.isEmpty()) {
+                requeue(undelivered);
+            }
+
+            if (config.batchingEnabled) {
+                if (hasDeliverableEvents()) {
+                    scheduleFlush();
                 }
+                return;
             }
         }
     }
 
     /**
-     * Helper method to emit data.
+     * Gets the attached contexts that events can be emitted to.
+     *
+     * @return The contexts.
+     */
+    @NonNull
+    @WorkerThread
+    private List<AttachedContext> getActiveContexts() {
+        List<AttachedContext> active = new ArrayList<>(contexts.size());
+        for (AttachedContext attachedContext : contexts) {
+            if (attachedContext.getReactContext() != null) {
+                active.add(attachedContext);
+            }
+        }
+
+        return active;
+    }
+
+    /**
+     * Checks if any of the given contexts listens for an event name.
+     *
+     * @param targets The contexts.
+     * @param eventName The event name.
+     * @return {@code true} if a context listens for the name, otherwise {@code false}.
+     */
+    private static boolean hasListeners(@NonNull List<AttachedContext> targets, @NonNull String eventName) {
+        for (AttachedContext attachedContext : targets) {
+            if (attachedContext.hasListeners(eventName)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds the log entries a context has not seen yet to its batch, moving its cursor past them.
+     * Stops once the batch or the context's window is full.
      *
+     * @param attachedContext The context.
+     * @param batch The context's batch.
+     * @param count The max batch size.
+     */
+    @WorkerThread
+    private void takeLogEvents(@NonNull AttachedContext attachedContext,
+                               @NonNull List<DeliveryWindow.Delivery> batch, int count) {
+        DeliveryWindow window = attachedContext.getDeliveryWindow();
+        long cursor = attachedContext.getLogCursor();
+        for (DeliveryLog.Entry entry : log) {
+            scannedLogEntries++;
+            if (entry.getPosition() < cursor) {
+                continue;
+            }
+
+            if (batch.size() >= count || (config.ackEnabled && window.size() + batch.size() >= config.maxUnackedEvents)) {
+                attachedContext.setLogCursor(entry.getPosition());
+                return;
+            }
+
+            if (attachedContext.canReceive(entry)) {
+                batch.add(createDelivery(window, entry.getEvent()));
+            }
+        }
+
+        attachedContext.setLogCursor(log.getNextPosition());
+    }
+
+    /**
+     * Checks if the log has entries a context has not seen yet and should receive.
+     *
+     * @param attachedContext The context.
+     * @return {@code true} if there are entries for the context, otherwise {@code false}.
+     */
+    @WorkerThread
+    private boolean hasLogEvents(@NonNull AttachedContext attachedContext) {
+        long cursor = attachedContext.getLogCursor();
+        for (DeliveryLog.Entry entry : log) {
+            scannedLogEntries++;
+            if (entry.getPosition() >= cursor && attachedContext.canReceive(entry)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Moves a context's cursor back to the first orphaned log entry for an event name, so a new
+     * listener picks up the events a detached context never acked.
+     *
+     * @param attachedContext The context.
+     * @param eventName The event name.
+     */
+    @WorkerThread
+    private void receiveOrphanedEvents(@NonNull AttachedContext attachedContext, @NonNull String eventName) {
+        for (DeliveryLog.Entry entry : log) {
+            scannedLogEntries++;
+            if (entry.isOrphaned() && eventName.equals(entry.getEvent().getName())) {
+                attachedContext.setLogCursor(Math.min(attachedContext.getLogCursor(), entry.getPosition()));
+                scheduleFlush();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Marks events as acked, or given up on, by the context that held them.
+     *
+     * @param events The events.
+     */
+    @WorkerThread
+    private void settleDeliveries(@NonNull List<PendingEvent> events) {
+        for (PendingEvent event : events) {
+            DeliveryLog.Entry entry = log.get(event);
+            if (entry != null) {
+                log.onSettled(entry);
+            }
+        }
+    }
+
+    /**
+     * Releases the unacked events of a context that went away. Events that no other context holds
+     * anymore are handed to the remaining contexts that listen for them, the next trim moves the
+     * rest back to the pending queue.
+     *
+     * @param events The events.
+     */
+    @WorkerThread
+    private void releaseDeliveries(@NonNull List<PendingEvent> events) {
+        for (PendingEvent event : events) {
+            DeliveryLog.Entry entry = log.get(event);
+            if (entry == null || !log.onReleased(entry)) {
+                continue;
+            }
+
+            for (AttachedContext attachedContext : contexts) {
+                if (attachedContext.hasListeners(event.getName())) {
+                    attachedContext.setLogCursor(Math.min(attachedContext.getLogCursor(), entry.getPosition()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the log entries that no context needs anymore and removes them from the journal.
+     * Entries that were never emitted, and orphaned entries nobody listens for, go back to the
+     * pending queues where the buffer limits, eviction policy and TTLs apply to them.
+     */
+    @WorkerThread
+    private void trimLog() {
+        List<PendingEvent> settled = new ArrayList<>();
+        List<PendingEvent> unreceived = new ArrayList<>();
+        for (DeliveryLog.Entry entry : log.trim(getActiveContexts())) {
+            if (entry.hasReceivers() && !entry.isOrphaned()) {
+                settled.add(entry.getEvent());
+            } else {
+                unreceived.add(entry.getEvent());
+            }
+        }
+
+        if (journal != null && !settled.isEmpty()) {
+            journal.remove(settled);
+        }
+
+        if (!unreceived.isEmpty()) {
+            requeue(unreceived);
+        }
+    }
+
+    /**
+     * Takes the events that are only delivered to a single context. Redeliveries go first so JS
+     * sees sequence numbers in order, followed by state replays.
+     *
+     * @param attachedContext The context.
+     * @param count The max number of events.
+     * @return The deliveries.
+     */
+    @NonNull
+    @WorkerThread
+    private List<DeliveryWindow.Delivery> takeOwnEvents(@NonNull AttachedContext attachedContext, int count) {
+        DeliveryWindow window = attachedContext.getDeliveryWindow();
+        List<DeliveryWindow.Delivery> batch = new ArrayList<>();
+
+        DeliveryWindow.Delivery redelivery;
+        while (batch.size() < count && (redelivery = window.pollRedelivery()) != null) {
+            stats.recordRedelivery(redelivery.getEvent().getName());
+            batch.add(redelivery);
+        }
+
+        while (batch.size() < count && (!config.ackEnabled || window.size() + batch.size() < config.maxUnackedEvents)) {
+            PendingEvent replay = attachedContext.pollReplayEvent();
+            if (replay == null) {
+                break;
+            }
+
+            batch.add(createDelivery(window, replay));
+        }
+
+        return batch;
+    }
+
+    /**
+     * Creates a delivery for an event that has not been emitted to a context yet.
+     *
+     * @param window The context's delivery window.
      * @param event The event.
+     * @return The delivery, with a sequence number if acks are enabled.
+     */
+    @NonNull
+    @WorkerThread
+    private DeliveryWindow.Delivery createDelivery(@NonNull DeliveryWindow window, @NonNull PendingEvent event) {
+        return config.ackEnabled ? window.track(event) : new DeliveryWindow.Delivery(event, 0);
+    }
+
+    /**
+     * Schedules a check for the oldest unacked event across all contexts, or cancels it if nothing
+     * is unacked.
+     */
+    @WorkerThread
+    private void scheduleAckTimeout() {
+        handler.removeCallbacks(ackTimeoutRunnable);
+
+        long now = SystemClock.uptimeMillis();
+        long delay = -1;
+        for (AttachedContext attachedContext : contexts) {
+            long contextDelay = attachedContext.getDeliveryWindow().getTimeoutDelay(now, config.ackTimeoutMillis);
+            if (contextDelay >= 0 && (delay < 0 || contextDelay < delay)) {
+                delay = contextDelay;
+            }
+        }
+
+        if (delay >= 0) {
+            handler.postDelayed(ackTimeoutRunnable, delay);
+        }
+    }
+
+    /**
+     * Delivers every unacked event again for each context whose oldest event timed out. Events
+     * that ran out of delivery attempts are abandoned, which JS sees as a gap.
+     */
+    @WorkerThread
+    private void onAckTimeout() {
+        long now = SystemClock.uptimeMillis();
+        boolean redelivering = false;
+        for (AttachedContext attachedContext : contexts) {
+            DeliveryWindow window = attachedContext.getDeliveryWindow();
+            if (window.getTimeoutDelay(now, config.ackTimeoutMillis) != 0) {
+                continue;
+            }
+
+            List<PendingEvent> abandoned = window.redeliver(config.maxDeliveryAttempts);
+            for (PendingEvent event : abandoned) {
+                stats.recordAbandoned(event.getName());
+            }
+            settleDeliveries(abandoned);
+            redelivering = true;
+        }
+
+        trimLog();
+
+        scheduleAckTimeout();
+        if (redelivering) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Checks if non-interactive events are currently held back.
+     *
+     * @return {@code true} if only interactive events should be sent, otherwise {@code false}.
+     */
+    @WorkerThread
+    private boolean isDeferring() {
+        return config.deferWhilePaused && hostPaused;
+    }
+
+    /**
+     * Checks if any event can be sent right now.
+     *
+     * @return {@code true} if an event can be sent, otherwise {@code false}.
+     */
+    @WorkerThread
+    private boolean hasDeliverableEvents() {
+        if (readyEvents.hasEvents(isDeferring())) {
+            return true;
+        }
+
+        for (AttachedContext attachedContext : contexts) {
+            if (attachedContext.getReactContext() == null) {
+                continue;
+            }
+
+            if (attachedContext.hasOwnEvents() || hasLogEvents(attachedContext)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Emits a batch to a single context. If the batch can't be emitted the context is going away,
+     * so its unacked events are released in the delivery log and its cursor is moved back to the
+     * log entries it did not get.
+     *
+     * @param attachedContext The context.
+     * @param batch The deliveries.
+     * @return {@code true} if the batch was emitted, otherwise {@code false}.
+     */
+    @WorkerThread
+    private boolean emitBatch(@NonNull AttachedContext attachedContext, @NonNull List<DeliveryWindow.Delivery> batch) {
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        DeliveryWindow window = attachedContext.getDeliveryWindow();
+        WritableMap body = Arguments.createMap();
+        if (config.ackEnabled) {
+            // The batch is in sequence order and may start with redeliveries
+            long baseSequence = Math.min(window.getBaseSequence(), batch.get(0).getSequence());
+            body.putDouble(BATCH_BASE_SEQUENCE, baseSequence);
+        }
+
+        WritableArray events = Arguments.createArray();
+        for (DeliveryWindow.Delivery delivery : batch) {
+            WritableMap map = createEventMap(delivery.getEvent());
+            if (config.ackEnabled) {
+                map.putDouble(BATCH_EVENT_SEQUENCE, delivery.getSequence());
+            }
+            events.pushMap(map);
+        }
+
+        body.putArray(BATCH_EVENTS, events);
+
+        if (!emit(attachedContext.getReactContext(), BATCH_EVENT, body)) {
+            List<PendingEvent> unacked = new ArrayList<>();
+            for (DeliveryWindow.Delivery delivery : batch) {
+                stats.recordFailedEmit(delivery.getEvent().getName());
+
+                DeliveryLog.Entry entry = log.get(delivery.getEvent());
+                if (delivery.getAttempts() > 0) {
+                    unacked.add(delivery.getEvent());
+                } else if (entry != null && entry.getPosition() < attachedContext.getLogCursor()) {
+                    attachedContext.setLogCursor(entry.getPosition());
+                }
+            }
+            unacked.addAll(window.clear());
+            attachedContext.clearReplayEvents();
+            releaseDeliveries(unacked);
+            return false;
+        }
+
+        long now = SystemClock.elapsedRealtime();
+        for (DeliveryWindow.Delivery delivery : batch) {
+            if (delivery.getAttempts() > 0) {
+                // Redeliveries are counted separately
+                continue;
+            }
+
+            DeliveryLog.Entry entry = log.get(delivery.getEvent());
+            if (entry == null || !entry.hasReceivers()) {
+                stats.recordEmit(delivery.getEvent().getName(), now - delivery.getEvent().getCreatedMillis());
+            }
+
+            if (entry != null) {
+                log.onReceived(entry, attachedContext, config.ackEnabled);
+            }
+        }
+
+        if (config.ackEnabled) {
+            window.onEmitted(batch, SystemClock.uptimeMillis());
+        }
+
+        return true;
+    }
+
+    /**
+     * Creates the JS representation of an event.
+     *
+     * @param event The event.
+     * @return A map with the event name and body.
+     */
+    @NonNull
+    private static WritableMap createEventMap(@NonNull PendingEvent event) {
+        WritableMap map = Arguments.createMap();
+        map.putString(BATCH_EVENT_NAME, event.getName());
+        map.putMap(BATCH_EVENT_BODY, event.createBridgeBody());
+        return map;
+    }
+
+    /**
+     * Moves all ready events to the end of the given list.
+     *
+     * @param events The list.
+     * @return The list.
+     */
+    @WorkerThread
+    private List<PendingEvent> drainReadyEvents(@NonNull List<PendingEvent> events) {
+        readyEvents.drainTo(events);
+        return events;
+    }
+
+    /**
+     * Helper method to emit data.
+     *
+     * <p>
+     * JS module invocations are queued onto the JS thread by the catalyst instance, so the
+     * emit can be made directly from the emitter thread.
+     *
+     * @param reactContext The react context.
+     * @param name The event name.
+     * @param body The event body.
      * @return {@code true} if the event was emitted, otherwise {@code false}.
      */
-    @MainThread
-    private boolean emit(final Event event) {
-        ReactContext reactContext = this.reactContext;
+    @WorkerThread
+    private static boolean emit(@Nullable ReactContext reactContext, @NonNull String name, @NonNull WritableMap body) {
         if (reactContext == null || !reactContext.hasActiveCatalystInstance()) {
             return false;
         }
 
         try {
-            reactContext.getJSModule(RCTNativeAppEventEmitter.class).emit(event.getName(), event.getBody());
+            reactContext.getJSModule(RCTNativeAppEventEmitter.class).emit(name, body);
         } catch (Exception e) {
             PluginLogger.error("UrbanAirshipReactModule - Failed to emit event", e);
             return false;
@@ -146,4 +1416,17 @@ class EventEmitter {
         return true;
     }
 
+    /**
+     * An event offered to the emitter thread, with the time it was sent.
+     */
+    private static class IncomingEvent {
+
+        final Event event;
+        final long sentMillis;
+
+        IncomingEvent(@NonNull Event event, long sentMillis) {
+            this.event = event;
+            this.sentMillis = sentMillis;
+        }
+    }
 }
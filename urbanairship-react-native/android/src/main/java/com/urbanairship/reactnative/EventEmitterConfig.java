@@ -0,0 +1,154 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.StringDef;
+
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonSerializable;
+import com.urbanairship.json.JsonValue;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Event emitter config. Set from JS and persisted so it applies from the next takeoff,
+ * before the React context exists.
+ */
+class EventEmitterConfig implements JsonSerializable {
+
+    /**
+     * Evicts the oldest pending event.
+     */
+    static final String EVICTION_POLICY_DROP_OLDEST = "dropOldest";
+
+    /**
+     * Drops the incoming event.
+     */
+    static final String EVICTION_POLICY_DROP_NEWEST = "dropNewest";
+
+    /**
+     * Evicts the oldest pending event with the lowest priority.
+     */
+    static final String EVICTION_POLICY_DROP_LOWEST_PRIORITY = "dropLowestPriority";
+
+    @StringDef({ EVICTION_POLICY_DROP_OLDEST, EVICTION_POLICY_DROP_NEWEST, EVICTION_POLICY_DROP_LOWEST_PRIORITY })
+    @Retention(RetentionPolicy.SOURCE)
+    @interface EvictionPolicy {}
+
+    private static final String BATCHING_ENABLED_KEY = "batchingEnabled";
+    private static final String BATCH_WINDOW_MILLIS_KEY = "batchWindowMillis";
+    private static final String MAX_BATCH_SIZE_KEY = "maxBatchSize";
+    private static final String DEFER_WHILE_PAUSED_KEY = "deferWhilePaused";
+    private static final String MAX_PENDING_EVENTS_KEY = "maxPendingEvents";
+    private static final String MAX_PENDING_BYTES_KEY = "maxPendingBytes";
+    private static final String EVICTION_POLICY_KEY = "evictionPolicy";
+    private static final String PENDING_EVENT_TTLS_KEY = "pendingEventTtls";
+    private static final String JOURNAL_ENABLED_KEY = "journalEnabled";
+    private static final String ACK_ENABLED_KEY = "ackEnabled";
+    private static final String ACK_TIMEOUT_MILLIS_KEY = "ackTimeoutMillis";
+    private static final String MAX_UNACKED_EVENTS_KEY = "maxUnackedEvents";
+    private static final String MAX_DELIVERY_ATTEMPTS_KEY = "maxDeliveryAttempts";
+    private static final String LAZY_LISTENERS_ENABLED_KEY = "lazyListenersEnabled";
+    private static final String DETACH_UNUSED_LISTENERS_KEY = "detachUnusedListeners";
+
+    static final boolean DEFAULT_BATCHING_ENABLED = true;
+    static final long DEFAULT_BATCH_WINDOW_MILLIS = 0;
+    static final int DEFAULT_MAX_BATCH_SIZE = 50;
+    static final boolean DEFAULT_DEFER_WHILE_PAUSED = false;
+    static final int DEFAULT_MAX_PENDING_EVENTS = 1000;
+    static final long DEFAULT_MAX_PENDING_BYTES = 1024 * 1024;
+    static final String DEFAULT_EVICTION_POLICY = EVICTION_POLICY_DROP_OLDEST;
+    static final boolean DEFAULT_JOURNAL_ENABLED = false;
+    static final boolean DEFAULT_ACK_ENABLED = false;
+    static final long DEFAULT_ACK_TIMEOUT_MILLIS = 10000;
+    static final int DEFAULT_MAX_UNACKED_EVENTS = 500;
+    static final int DEFAULT_MAX_DELIVERY_ATTEMPTS = 3;
+    static final boolean DEFAULT_LAZY_LISTENERS_ENABLED = false;
+    static final boolean DEFAULT_DETACH_UNUSED_LISTENERS = false;
+
+    /**
+     * The default config.
+     */
+    static final EventEmitterConfig DEFAULT_CONFIG = fromJson(JsonMap.EMPTY_MAP);
+
+    final boolean batchingEnabled;
+    final long batchWindowMillis;
+    final int maxBatchSize;
+    final boolean deferWhilePaused;
+    final int maxPendingEvents;
+    final long maxPendingBytes;
+    @EvictionPolicy
+    final String evictionPolicy;
+    final Map<String, Long> pendingEventTtls;
+    final boolean journalEnabled;
+    final boolean ackEnabled;
+    final long ackTimeoutMillis;
+    final int maxUnackedEvents;
+    final int maxDeliveryAttempts;
+    final boolean lazyListenersEnabled;
+    final boolean detachUnusedListeners;
+
+    private final JsonMap json;
+
+    private EventEmitterConfig(@NonNull JsonMap json) {
+        this.json = json;
+        this.batchingEnabled = json.opt(BATCHING_ENABLED_KEY).getBoolean(DEFAULT_BATCHING_ENABLED);
+        this.batchWindowMillis = Math.max(0, json.opt(BATCH_WINDOW_MILLIS_KEY).getLong(DEFAULT_BATCH_WINDOW_MILLIS));
+        this.maxBatchSize = Math.max(1, json.opt(MAX_BATCH_SIZE_KEY).getInt(DEFAULT_MAX_BATCH_SIZE));
+        this.deferWhilePaused = json.opt(DEFER_WHILE_PAUSED_KEY).getBoolean(DEFAULT_DEFER_WHILE_PAUSED);
+        this.maxPendingEvents = Math.max(0, json.opt(MAX_PENDING_EVENTS_KEY).getInt(DEFAULT_MAX_PENDING_EVENTS));
+        this.maxPendingBytes = Math.max(0, json.opt(MAX_PENDING_BYTES_KEY).getLong(DEFAULT_MAX_PENDING_BYTES));
+        this.evictionPolicy = parseEvictionPolicy(json.opt(EVICTION_POLICY_KEY).getString(DEFAULT_EVICTION_POLICY));
+
+        Map<String, Long> ttls = new HashMap<>();
+        for (Map.Entry<String, JsonValue> entry : json.opt(PENDING_EVENT_TTLS_KEY).optMap()) {
+            long ttl = entry.getValue().getLong(0);
+            if (ttl > 0) {
+                ttls.put(entry.getKey(), ttl);
+            }
+        }
+        this.pendingEventTtls = Collections.unmodifiableMap(ttls);
+        this.journalEnabled = json.opt(JOURNAL_ENABLED_KEY).getBoolean(DEFAULT_JOURNAL_ENABLED);
+        this.ackEnabled = json.opt(ACK_ENABLED_KEY).getBoolean(DEFAULT_ACK_ENABLED);
+        this.ackTimeoutMillis = Math.max(1, json.opt(ACK_TIMEOUT_MILLIS_KEY).getLong(DEFAULT_ACK_TIMEOUT_MILLIS));
+        this.maxUnackedEvents = Math.max(1, json.opt(MAX_UNACKED_EVENTS_KEY).getInt(DEFAULT_MAX_UNACKED_EVENTS));
+        this.maxDeliveryAttempts = Math.max(1, json.opt(MAX_DELIVERY_ATTEMPTS_KEY).getInt(DEFAULT_MAX_DELIVERY_ATTEMPTS));
+        this.lazyListenersEnabled = json.opt(LAZY_LISTENERS_ENABLED_KEY).getBoolean(DEFAULT_LAZY_LISTENERS_ENABLED);
+        this.detachUnusedListeners = json.opt(DETACH_UNUSED_LISTENERS_KEY).getBoolean(DEFAULT_DETACH_UNUSED_LISTENERS);
+    }
+
+    /**
+     * Parses a config. Missing or invalid values fall back to the defaults.
+     *
+     * @param json The config JSON.
+     * @return The config.
+     */
+    @NonNull
+    static EventEmitterConfig fromJson(@NonNull JsonMap json) {
+        return new EventEmitterConfig(json);
+    }
+
+    @NonNull
+    @Override
+    public JsonValue toJsonValue() {
+        return json.toJsonValue();
+    }
+
+    @EvictionPolicy
+    private static String parseEvictionPolicy(String value) {
+        if (EVICTION_POLICY_DROP_NEWEST.equals(value)) {
+            return EVICTION_POLICY_DROP_NEWEST;
+        }
+
+        if (EVICTION_POLICY_DROP_LOWEST_PRIORITY.equals(value)) {
+            return EVICTION_POLICY_DROP_LOWEST_PRIORITY;
+        }
+
+        return EVICTION_POLICY_DROP_OLDEST;
+    }
+}
@@ -0,0 +1,308 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonValue;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only journal of undelivered events, backed by a small SQLite table.
+ *
+ * Events are appended when the emitter receives them and removed once they have been emitted
+ * to JS, so after a process death the journal only holds the events that never made it across
+ * the bridge. Appends reuse a compiled statement and the database runs in WAL mode with
+ * relaxed syncing, which keeps them in the tens of microseconds.
+ *
+ * Only accessed from the emitter thread.
+ */
+class EventJournal extends SQLiteOpenHelper {
+
+    private static final String DATABASE_NAME = "ua_react_event_journal.db";
+    private static final int DATABASE_VERSION = 1;
+
+    private static final String TABLE_NAME = "events";
+    private static final String COLUMN_ID = "_id";
+    private static final String COLUMN_NAME = "name";
+    private static final String COLUMN_COALESCING_KEY = "coalescing_key";
+    private static final String COLUMN_PRIORITY = "priority";
+    private static final String COLUMN_CREATED = "created";
+    private static final String COLUMN_BODY = "body";
+
+    private static final String ENCODING = "UTF-8";
+
+    private SQLiteStatement insertStatement;
+    private SQLiteStatement deleteStatement;
+
+    /**
+     * Default constructor.
+     *
+     * @param context The application context.
+     */
+    EventJournal(@NonNull Context context) {
+        super(context.getApplicationContext(), DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    /**
+     * Checks if a journal database exists.
+     *
+     * @param context The application context.
+     * @return {@code true} if the database exists, otherwise {@code false}.
+     */
+    static boolean exists(@NonNull Context context) {
+        return context.getApplicationContext().getDatabasePath(DATABASE_NAME).exists();
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        db.enableWriteAheadLogging();
+        db.execSQL("PRAGMA synchronous = NORMAL");
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_NAME + " ("
+                + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + COLUMN_NAME + " TEXT NOT NULL, "
+                + COLUMN_COALESCING_KEY + " TEXT, "
+                + COLUMN_PRIORITY + " INTEGER NOT NULL, "
+                + COLUMN_CREATED + " INTEGER NOT NULL, "
+                + COLUMN_BODY + " BLOB NOT NULL);");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_NAME);
+        onCreate(db);
+    }
+
+    /**
+     * Appends an event.
+     *
+     * @param event The event.
+     * @return The row ID of the event, or -1 if it could not be journaled.
+     */
+    @WorkerThread
+    long append(@NonNull PendingEvent event) {
+        try {
+            SQLiteStatement statement = getInsertStatement();
+            statement.bindString(1, event.getName());
+            if (event.getCoalescingKey() == null) {
+                statement.bindNull(2);
+            } else {
+                statement.bindString(2, event.getCoalescingKey());
+            }
+            statement.bindLong(3, event.getPriority());
+            statement.bindLong(4, toWallClock(event.getCreatedMillis()));
+            statement.bindBlob(5, event.serializeBody());
+            return statement.executeInsert();
+        } catch (SQLException | UnsupportedEncodingException e) {
+            PluginLogger.error(e, "EventJournal - Failed to append event %s", event.getName());
+            return -1;
+        }
+    }
+
+    /**
+     * Removes an event.
+     *
+     * @param event The event.
+     */
+    @WorkerThread
+    void remove(@NonNull PendingEvent event) {
+        if (event.getJournalId() < 0) {
+            return;
+        }
+
+        try {
+            SQLiteStatement statement = getDeleteStatement();
+            statement.bindLong(1, event.getJournalId());
+            statement.executeUpdateDelete();
+        } catch (SQLException e) {
+            PluginLogger.error(e, "EventJournal - Failed to remove event %s", event.getName());
+        }
+    }
+
+    /**
+     * Removes a collection of events in a single transaction.
+     *
+     * @param events The events.
+     */
+    @WorkerThread
+    void remove(@NonNull Collection<PendingEvent> events) {
+        SQLiteDatabase db;
+        try {
+            db = getWritableDatabase();
+        } catch (SQLException e) {
+            PluginLogger.error(e, "EventJournal - Failed to open journal");
+            return;
+        }
+
+        db.beginTransaction();
+        try {
+            for (PendingEvent event : events) {
+                remove(event);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Removes every event with the given coalescing key.
+     *
+     * @param coalescingKey The coalescing key.
+     */
+    @WorkerThread
+    void removeCoalesced(@NonNull String coalescingKey) {
+        try {
+            getWritableDatabase().delete(TABLE_NAME, COLUMN_COALESCING_KEY + " = ?", new String[] { coalescingKey });
+        } catch (SQLException e) {
+            PluginLogger.error(e, "EventJournal - Failed to remove events for %s", coalescingKey);
+        }
+    }
+
+    /**
+     * Removes every event. Row IDs are never reused, so events still holding an old ID can't
+     * remove rows appended later.
+     */
+    @WorkerThread
+    void clear() {
+        try {
+            getWritableDatabase().delete(TABLE_NAME, null, null);
+        } catch (SQLException e) {
+            PluginLogger.error(e, "EventJournal - Failed to clear journal");
+        }
+    }
+
+    /**
+     * Loads every journaled event in the order it was appended. Rows that can't be parsed
+     * are dropped.
+     *
+     * @return The events.
+     */
+    @NonNull
+    @WorkerThread
+    List<PendingEvent> load() {
+        List<PendingEvent> events = new ArrayList<>();
+        List<Long> corrupted = new ArrayList<>();
+
+        Cursor cursor = null;
+        try {
+            cursor = getReadableDatabase().query(TABLE_NAME, null, null, null, null, null, COLUMN_ID + " ASC");
+            while (cursor.moveToNext()) {
+                long id = cursor.getLong(cursor.getColumnIndex(COLUMN_ID));
+                PendingEvent event = parseEvent(cursor);
+                if (event == null) {
+                    corrupted.add(id);
+                    continue;
+                }
+
+                event.setJournalId(id);
+                events.add(event);
+            }
+        } catch (SQLException e) {
+            PluginLogger.error(e, "EventJournal - Failed to load events");
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        for (Long id : corrupted) {
+            try {
+                SQLiteStatement statement = getDeleteStatement();
+                statement.bindLong(1, id);
+                statement.executeUpdateDelete();
+            } catch (SQLException e) {
+                PluginLogger.error(e, "EventJournal - Failed to remove corrupted event");
+            }
+        }
+
+        return events;
+    }
+
+    @Override
+    public synchronized void close() {
+        insertStatement = null;
+        deleteStatement = null;
+        super.close();
+    }
+
+    @Nullable
+    private static PendingEvent parseEvent(@NonNull Cursor cursor) {
+        try {
+            String json = new String(cursor.getBlob(cursor.getColumnIndex(COLUMN_BODY)), ENCODING);
+            JsonMap body = JsonValue.parseString(json).optMap();
+
+            int coalescingKeyIndex = cursor.getColumnIndex(COLUMN_COALESCING_KEY);
+            String coalescingKey = cursor.isNull(coalescingKeyIndex) ? null : cursor.getString(coalescingKeyIndex);
+
+            //noinspection WrongConstant
+            return new PendingEvent(cursor.getString(cursor.getColumnIndex(COLUMN_NAME)),
+                    coalescingKey,
+                    body,
+                    cursor.getInt(cursor.getColumnIndex(COLUMN_PRIORITY)),
+                    fromWallClock(cursor.getLong(cursor.getColumnIndex(COLUMN_CREATED))));
+        } catch (JsonException | UnsupportedEncodingException e) {
+            PluginLogger.error(e, "EventJournal - Failed to parse event");
+            return null;
+        }
+    }
+
+    /**
+     * Converts an elapsed realtime to wall clock time for storage. Elapsed realtime restarts
+     * from zero on reboot, so it can't be compared across processes.
+     */
+    private static long toWallClock(long elapsedRealtimeMillis) {
+        return System.currentTimeMillis() - (SystemClock.elapsedRealtime() - elapsedRealtimeMillis);
+    }
+
+    /**
+     * Converts a stored wall clock time back to elapsed realtime. A wall clock that moved back
+     * makes the event count as just created rather than from the future.
+     */
+    private static long fromWallClock(long wallClockMillis) {
+        return SystemClock.elapsedRealtime() - Math.max(0, System.currentTimeMillis() - wallClockMillis);
+    }
+
+    @NonNull
+    private SQLiteStatement getInsertStatement() {
+        if (insertStatement == null) {
+            insertStatement = getWritableDatabase().compileStatement("INSERT INTO " + TABLE_NAME + " ("
+                    + COLUMN_NAME + ", "
+                    + COLUMN_COALESCING_KEY + ", "
+                    + COLUMN_PRIORITY + ", "
+                    + COLUMN_CREATED + ", "
+                    + COLUMN_BODY + ") VALUES (?, ?, ?, ?, ?)");
+        }
+
+        return insertStatement;
+    }
+
+    @NonNull
+    private SQLiteStatement getDeleteStatement() {
+        if (deleteStatement == null) {
+            deleteStatement = getWritableDatabase().compileStatement("DELETE FROM " + TABLE_NAME + " WHERE " + COLUMN_ID + " = ?");
+        }
+
+        return deleteStatement;
+    }
+}
@@ -0,0 +1,357 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.StringDef;
+
+import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonSerializable;
+import com.urbanairship.json.JsonValue;
+import com.urbanairship.messagecenter.Message;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inbox query. Filters, sorts and pages the inbox messages so only the requested page is sent
+ * to JS.
+ *
+ * Pages after the first are fetched with the cursor of the previous result. The cursor is keyset
+ * based, so messages added or removed while paging do not shift or repeat the following pages.
+ */
+class InboxQuery implements JsonSerializable {
+
+    /**
+     * Newest messages first.
+     */
+    static final String SORT_ORDER_SENT_DATE_DESCENDING = "sentDateDescending";
+
+    /**
+     * Oldest messages first.
+     */
+    static final String SORT_ORDER_SENT_DATE_ASCENDING = "sentDateAscending";
+
+    /**
+     * Titles A to Z, ignoring case.
+     */
+    static final String SORT_ORDER_TITLE_ASCENDING = "titleAscending";
+
+    /**
+     * Titles Z to A, ignoring case.
+     */
+    static final String SORT_ORDER_TITLE_DESCENDING = "titleDescending";
+
+    @StringDef({ SORT_ORDER_SENT_DATE_DESCENDING, SORT_ORDER_SENT_DATE_ASCENDING, SORT_ORDER_TITLE_ASCENDING, SORT_ORDER_TITLE_DESCENDING })
+    @Retention(RetentionPolicy.SOURCE)
+    @interface SortOrder {}
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_TITLE = "title";
+    static final String FIELD_SENT_DATE = "sentDate";
+    static final String FIELD_LIST_ICON_URL = "listIconUrl";
+    static final String FIELD_IS_READ = "isRead";
+    static final String FIELD_IS_DELETED = "isDeleted";
+    static final String FIELD_EXTRAS = "extras";
+
+    private static final String OFFSET_KEY = "offset";
+    private static final String LIMIT_KEY = "limit";
+    private static final String SORT_ORDER_KEY = "sortOrder";
+    private static final String UNREAD_ONLY_KEY = "unreadOnly";
+    private static final String SENT_AFTER_KEY = "sentAfter";
+    private static final String SENT_BEFORE_KEY = "sentBefore";
+    private static final String EXTRAS_KEY = "extras";
+    private static final String FIELDS_KEY = "fields";
+    private static final String CURSOR_KEY = "cursor";
+
+    private static final String CURSOR_QUERY_KEY = "query";
+    private static final String CURSOR_AFTER_KEY = "after";
+    private static final String CURSOR_ID_KEY = "id";
+    private static final String CURSOR_SENT_DATE_KEY = "sentDate";
+    private static final String CURSOR_TITLE_KEY = "title";
+
+    static final int DEFAULT_LIMIT = 50;
+    static final String DEFAULT_SORT_ORDER = SORT_ORDER_SENT_DATE_DESCENDING;
+
+    final int offset;
+    final int limit;
+    @SortOrder
+    final String sortOrder;
+    final boolean unreadOnly;
+    @Nullable
+    final Long sentAfter;
+    @Nullable
+    final Long sentBefore;
+    final Map<String, String> extras;
+
+    /**
+     * The projected fields, or {@code null} for every field. Always contains the ID.
+     */
+    @Nullable
+    final Set<String> fields;
+
+    @Nullable
+    private final Entry after;
+    private final JsonMap json;
+
+    private InboxQuery(@NonNull JsonMap json, @Nullable Entry after) {
+        this.json = json;
+        this.after = after;
+        this.offset = Math.max(0, json.opt(OFFSET_KEY).getInt(0));
+        this.limit = Math.max(1, json.opt(LIMIT_KEY).getInt(DEFAULT_LIMIT));
+        this.sortOrder = parseSortOrder(json.opt(SORT_ORDER_KEY).getString(DEFAULT_SORT_ORDER));
+        this.unreadOnly = json.opt(UNREAD_ONLY_KEY).getBoolean(false);
+        this.sentAfter = json.opt(SENT_AFTER_KEY).isNumber() ? json.opt(SENT_AFTER_KEY).getLong(0) : null;
+        this.sentBefore = json.opt(SENT_BEFORE_KEY).isNumber() ? json.opt(SENT_BEFORE_KEY).getLong(0) : null;
+
+        Map<String, String> extras = new HashMap<>();
+        for (Map.Entry<String, JsonValue> entry : json.opt(EXTRAS_KEY).optMap()) {
+            if (entry.getValue().isString()) {
+                extras.put(entry.getKey(), entry.getValue().getString());
+            }
+        }
+        this.extras = Collections.unmodifiableMap(extras);
+
+        if (json.opt(FIELDS_KEY).isJsonList()) {
+            Set<String> fields = new HashSet<>();
+            fields.add(FIELD_ID);
+            for (JsonValue field : json.opt(FIELDS_KEY).optList()) {
+                if (field.isString()) {
+                    fields.add(field.getString());
+                }
+            }
+            this.fields = Collections.unmodifiableSet(fields);
+        } else {
+            this.fields = null;
+        }
+    }
+
+    /**
+     * Parses a query. Missing or invalid values fall back to the defaults. If the query has a
+     * cursor, the query the cursor was created from is used and only the limit may be changed.
+     *
+     * @param json The query JSON.
+     * @return The query.
+     * @throws JsonException If the cursor is invalid.
+     */
+    @NonNull
+    static InboxQuery fromJson(@NonNull JsonMap json) throws JsonException {
+        String cursor = json.opt(CURSOR_KEY).getString();
+        if (cursor == null) {
+            return new InboxQuery(json, null);
+        }
+
+        JsonMap cursorJson = JsonValue.parseString(cursor).optMap();
+        JsonMap afterJson = cursorJson.opt(CURSOR_AFTER_KEY).optMap();
+        String id = afterJson.opt(CURSOR_ID_KEY).getString();
+        if (id == null || !cursorJson.opt(CURSOR_QUERY_KEY).isJsonMap()) {
+            throw new JsonException("Invalid inbox query cursor: " + cursor);
+        }
+
+        JsonMap.Builder builder = JsonMap.newBuilder().putAll(cursorJson.opt(CURSOR_QUERY_KEY).optMap());
+        if (json.containsKey(LIMIT_KEY)) {
+            builder.put(LIMIT_KEY, json.opt(LIMIT_KEY));
+        }
+
+        Entry after = new Entry(null, id, afterJson.opt(CURSOR_SENT_DATE_KEY).getLong(0), afterJson.opt(CURSOR_TITLE_KEY).optString());
+        return new InboxQuery(builder.build(), after);
+    }
+
+    /**
+     * Applies the query.
+     *
+     * @param messages The inbox messages.
+     * @return The result.
+     */
+    @NonNull
+    Result apply(@NonNull List<Message> messages) {
+        List<Entry> matches = new ArrayList<>();
+        for (Message message : messages) {
+            if (matches(message)) {
+                matches.add(new Entry(message, message.getMessageId(), message.getSentDateMS(), message.getTitle()));
+            }
+        }
+
+        Comparator<Entry> comparator = createComparator();
+        Collections.sort(matches, comparator);
+
+        int start;
+        if (after != null) {
+            start = firstIndexAfter(matches, after, comparator);
+        } else {
+            start = Math.min(offset, matches.size());
+        }
+
+        int end = (int) Math.min(matches.size(), (long) start + limit);
+        List<Message> page = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            page.add(matches.get(i).message);
+        }
+
+        String nextCursor = null;
+        if (end < matches.size() && end > 0) {
+            nextCursor = createCursor(matches.get(end - 1));
+        }
+
+        return new Result(page, matches.size(), nextCursor);
+    }
+
+    @NonNull
+    @Override
+    public JsonValue toJsonValue() {
+        return json.toJsonValue();
+    }
+
+    /**
+     * Checks if a message matches the query filters.
+     *
+     * @param message The message.
+     * @return {@code true} if the message matches, otherwise {@code false}.
+     */
+    boolean matches(@NonNull Message message) {
+        if (unreadOnly && message.isRead()) {
+            return false;
+        }
+
+        long sentDate = message.getSentDateMS();
+        if (sentAfter != null && sentDate < sentAfter) {
+            return false;
+        }
+
+        if (sentBefore != null && sentDate >= sentBefore) {
+            return false;
+        }
+
+        if (!extras.isEmpty()) {
+            Bundle messageExtras = message.getExtras();
+            for (Map.Entry<String, String> entry : extras.entrySet()) {
+                if (!messageExtras.containsKey(entry.getKey())
+                        || !entry.getValue().equals(String.valueOf(messageExtras.get(entry.getKey())))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @NonNull
+    private Comparator<Entry> createComparator() {
+        final boolean byTitle = SORT_ORDER_TITLE_ASCENDING.equals(sortOrder) || SORT_ORDER_TITLE_DESCENDING.equals(sortOrder);
+        final boolean descending = SORT_ORDER_SENT_DATE_DESCENDING.equals(sortOrder) || SORT_ORDER_TITLE_DESCENDING.equals(sortOrder);
+
+        return new Comparator<Entry>() {
+            @Override
+            public int compare(Entry lhs, Entry rhs) {
+                int result;
+                if (byTitle) {
+                    result = String.CASE_INSENSITIVE_ORDER.compare(lhs.title, rhs.title);
+                } else {
+                    result = lhs.sentDate < rhs.sentDate ? -1 : (lhs.sentDate == rhs.sentDate ? 0 : 1);
+                }
+
+                if (descending) {
+                    result = -result;
+                }
+
+                // IDs break ties so the order, and with it the cursor, is stable
+                return result != 0 ? result : lhs.id.compareTo(rhs.id);
+            }
+        };
+    }
+
+    private static int firstIndexAfter(@NonNull List<Entry> entries, @NonNull Entry after, @NonNull Comparator<Entry> comparator) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(entries.get(mid), after) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @NonNull
+    private String createCursor(@NonNull Entry last) {
+        Map<String, JsonValue> queryValues = new HashMap<>(json.getMap());
+        queryValues.remove(OFFSET_KEY);
+        queryValues.remove(CURSOR_KEY);
+
+        return JsonMap.newBuilder()
+                      .put(CURSOR_QUERY_KEY, new JsonMap(queryValues))
+                      .put(CURSOR_AFTER_KEY, JsonMap.newBuilder()
+                                                    .put(CURSOR_ID_KEY, last.id)
+                                                    .put(CURSOR_SENT_DATE_KEY, last.sentDate)
+                                                    .put(CURSOR_TITLE_KEY, last.title)
+                                                    .build())
+                      .build()
+                      .toString();
+    }
+
+    @SortOrder
+    private static String parseSortOrder(String value) {
+        if (SORT_ORDER_SENT_DATE_ASCENDING.equals(value)) {
+            return SORT_ORDER_SENT_DATE_ASCENDING;
+        }
+
+        if (SORT_ORDER_TITLE_ASCENDING.equals(value)) {
+            return SORT_ORDER_TITLE_ASCENDING;
+        }
+
+        if (SORT_ORDER_TITLE_DESCENDING.equals(value)) {
+            return SORT_ORDER_TITLE_DESCENDING;
+        }
+
+        return SORT_ORDER_SENT_DATE_DESCENDING;
+    }
+
+    /**
+     * Query result.
+     */
+    static class Result {
+
+        final List<Message> messages;
+        final int totalCount;
+        @Nullable
+        final String nextCursor;
+
+        Result(@NonNull List<Message> messages, int totalCount, @Nullable String nextCursor) {
+            this.messages = messages;
+            this.totalCount = totalCount;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    /**
+     * A message with its sort keys. The cursor position is an entry without a message.
+     */
+    private static class Entry {
+
+        final Message message;
+        final String id;
+        final long sentDate;
+        final String title;
+
+        Entry(@Nullable Message message, @NonNull String id, long sentDate, @Nullable String title) {
+            this.message = message;
+            this.id = id;
+            this.sentDate = sentDate;
+            this.title = title == null ? "" : title;
+        }
+    }
+}
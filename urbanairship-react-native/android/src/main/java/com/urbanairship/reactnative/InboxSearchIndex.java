@@ -0,0 +1,545 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.urbanairship.messagecenter.Message;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Full-text search index over the inbox messages, backed by an SQLite FTS4 table.
+ *
+ * Message titles and extras values are indexed. The index is synced from the {@link InboxSnapshot}
+ * diff on each inbox update and before each search, which only writes the messages added, removed
+ * or edited since the last sync. It persists across launches so it is never rebuilt at startup,
+ * the first sync of a launch compares the stored content hashes instead. Syncing only starts once
+ * the index has been searched, so apps that don't search the inbox don't pay for it.
+ *
+ * Query terms are matched as prefixes and every term has to match. Results are ranked by term
+ * frequency weighted by how rare the term is across the inbox, with title matches weighted
+ * above extras matches.
+ *
+ * Only accessed from the inbox executor.
+ */
+class InboxSearchIndex extends SQLiteOpenHelper {
+
+    /**
+     * Highlight in a message title.
+     */
+    static final String FIELD_TITLE = "title";
+
+    /**
+     * Highlight in a message extras value.
+     */
+    static final String FIELD_EXTRAS = "extras";
+
+    private static final String DATABASE_NAME = "ua_react_inbox_search.db";
+    private static final int DATABASE_VERSION = 2;
+
+    private static final String DOCUMENTS_TABLE = "documents";
+    private static final String SEARCH_TABLE = "search";
+    private static final String COLUMN_ID = "_id";
+    private static final String COLUMN_MESSAGE_ID = "message_id";
+    private static final String COLUMN_SENT_DATE = "sent_date";
+    private static final String COLUMN_CONTENT_HASH = "content_hash";
+    private static final String COLUMN_TITLE = "title";
+    private static final String COLUMN_EXTRAS = "extras";
+
+    // Weights of the FTS columns, in table order
+    private static final double[] COLUMN_WEIGHTS = { 3.0, 1.0 };
+
+    private static InboxSearchIndex sharedInstance;
+
+    @Nullable
+    private Map<String, Document> documents;
+
+    // Snapshot version of the last sync, or -1 to compare against every message
+    private long syncedVersion = -1;
+
+    /**
+     * Default constructor.
+     *
+     * @param context The application context.
+     */
+    InboxSearchIndex(@NonNull Context context) {
+        super(context.getApplicationContext(), DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    /**
+     * Gets the shared index.
+     *
+     * @param context The application context.
+     * @return The index.
+     */
+    @NonNull
+    static synchronized InboxSearchIndex shared(@NonNull Context context) {
+        if (sharedInstance == null) {
+            sharedInstance = new InboxSearchIndex(context);
+        }
+        return sharedInstance;
+    }
+
+    /**
+     * Checks if an index database exists.
+     *
+     * @param context The application context.
+     * @return {@code true} if the database exists, otherwise {@code false}.
+     */
+    static boolean exists(@NonNull Context context) {
+        return context.getApplicationContext().getDatabasePath(DATABASE_NAME).exists();
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        db.enableWriteAheadLogging();
+        db.execSQL("PRAGMA synchronous = NORMAL");
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + DOCUMENTS_TABLE + " ("
+                + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + COLUMN_MESSAGE_ID + " TEXT NOT NULL UNIQUE, "
+                + COLUMN_SENT_DATE + " INTEGER NOT NULL, "
+                + COLUMN_CONTENT_HASH + " INTEGER NOT NULL);");
+
+        db.execSQL("CREATE VIRTUAL TABLE " + SEARCH_TABLE + " USING fts4("
+                + COLUMN_TITLE + ", "
+                + COLUMN_EXTRAS + ", "
+                + "prefix=\"2,3\");");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        db.execSQL("DROP TABLE IF EXISTS " + SEARCH_TABLE);
+        db.execSQL("DROP TABLE IF EXISTS " + DOCUMENTS_TABLE);
+        onCreate(db);
+    }
+
+    /**
+     * Syncs the index with the inbox snapshot. Only the messages added, removed or edited since
+     * the last sync are written, in a single transaction. Read state changes are skipped by
+     * comparing content hashes.
+     *
+     * @param snapshot The inbox snapshot, already updated with the current messages.
+     */
+    @WorkerThread
+    void sync(@NonNull InboxSnapshot snapshot) {
+        try {
+            Map<String, Document> indexed = getDocuments();
+            InboxSnapshot.Changes changes = snapshot.getChanges(syncedVersion);
+
+            Collection<String> removed;
+            if (changes.reset) {
+                // Every message is in added, anything else in the index was removed
+                Set<String> stale = new HashSet<>(indexed.keySet());
+                for (Message message : changes.added) {
+                    stale.remove(message.getMessageId());
+                }
+                removed = stale;
+            } else {
+                removed = changes.removed;
+            }
+
+            List<Message> inserts = new ArrayList<>();
+            List<Message> updates = new ArrayList<>();
+            List<Integer> updateHashes = new ArrayList<>();
+            List<Integer> insertHashes = new ArrayList<>();
+            for (List<Message> messages : Arrays.asList(changes.added, changes.changed)) {
+                for (Message message : messages) {
+                    int contentHash = InboxSnapshot.getContentHash(message);
+                    Document document = indexed.get(message.getMessageId());
+                    if (document == null) {
+                        inserts.add(message);
+                        insertHashes.add(contentHash);
+                    } else if (document.contentHash != contentHash) {
+                        updates.add(message);
+                        updateHashes.add(contentHash);
+                    }
+                }
+            }
+
+            if (inserts.isEmpty() && updates.isEmpty() && removed.isEmpty()) {
+                syncedVersion = changes.version;
+                return;
+            }
+
+            SQLiteDatabase db = getWritableDatabase();
+            db.beginTransaction();
+            try {
+                SQLiteStatement deleteDocument = db.compileStatement("DELETE FROM " + DOCUMENTS_TABLE + " WHERE " + COLUMN_ID + " = ?");
+                SQLiteStatement deleteSearch = db.compileStatement("DELETE FROM " + SEARCH_TABLE + " WHERE docid = ?");
+                for (String messageId : removed) {
+                    Document document = indexed.get(messageId);
+                    if (document == null) {
+                        continue;
+                    }
+                    deleteDocument.bindLong(1, document.id);
+                    deleteDocument.executeUpdateDelete();
+                    deleteSearch.bindLong(1, document.id);
+                    deleteSearch.executeUpdateDelete();
+                }
+
+                SQLiteStatement updateDocument = db.compileStatement("UPDATE " + DOCUMENTS_TABLE + " SET "
+                        + COLUMN_CONTENT_HASH + " = ? WHERE " + COLUMN_ID + " = ?");
+                SQLiteStatement updateSearch = db.compileStatement("UPDATE " + SEARCH_TABLE + " SET "
+                        + COLUMN_TITLE + " = ?, " + COLUMN_EXTRAS + " = ? WHERE docid = ?");
+                Map<String, Document> updated = new HashMap<>();
+                for (int i = 0; i < updates.size(); i++) {
+                    Message message = updates.get(i);
+                    long docId = indexed.get(message.getMessageId()).id;
+
+                    updateDocument.bindLong(1, updateHashes.get(i));
+                    updateDocument.bindLong(2, docId);
+                    updateDocument.executeUpdateDelete();
+
+                    updateSearch.bindString(1, message.getTitle() == null ? "" : message.getTitle());
+                    updateSearch.bindString(2, getExtrasText(message));
+                    updateSearch.bindLong(3, docId);
+                    updateSearch.executeUpdateDelete();
+                    updated.put(message.getMessageId(), new Document(docId, updateHashes.get(i)));
+                }
+
+                SQLiteStatement insertDocument = db.compileStatement("INSERT INTO " + DOCUMENTS_TABLE + " ("
+                        + COLUMN_MESSAGE_ID + ", " + COLUMN_SENT_DATE + ", " + COLUMN_CONTENT_HASH + ") VALUES (?, ?, ?)");
+                SQLiteStatement insertSearch = db.compileStatement("INSERT INTO " + SEARCH_TABLE + " (docid, "
+                        + COLUMN_TITLE + ", " + COLUMN_EXTRAS + ") VALUES (?, ?, ?)");
+                for (int i = 0; i < inserts.size(); i++) {
+                    Message message = inserts.get(i);
+                    insertDocument.bindString(1, message.getMessageId());
+                    insertDocument.bindLong(2, message.getSentDateMS());
+                    insertDocument.bindLong(3, insertHashes.get(i));
+                    long docId = insertDocument.executeInsert();
+
+                    insertSearch.bindLong(1, docId);
+                    insertSearch.bindString(2, message.getTitle() == null ? "" : message.getTitle());
+                    insertSearch.bindString(3, getExtrasText(message));
+                    insertSearch.executeInsert();
+                    updated.put(message.getMessageId(), new Document(docId, insertHashes.get(i)));
+                }
+
+                db.setTransactionSuccessful();
+
+                indexed.keySet().removeAll(removed);
+                indexed.putAll(updated);
+                syncedVersion = changes.version;
+            } finally {
+                db.endTransaction();
+            }
+        } catch (SQLException e) {
+            PluginLogger.error(e, "InboxSearchIndex - Failed to sync index");
+
+            // Reload the indexed messages and compare every message on the next sync
+            documents = null;
+            syncedVersion = -1;
+        }
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param query The query.
+     * @param limit The max number of results.
+     * @return The results, best match first.
+     */
+    @NonNull
+    @WorkerThread
+    List<Result> search(@NonNull String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        StringBuilder match = new StringBuilder();
+        for (String term : terms) {
+            if (match.length() > 0) {
+                match.append(' ');
+            }
+            match.append(term).append('*');
+        }
+
+        List<Result> results = new ArrayList<>();
+        Cursor cursor = null;
+        try {
+            cursor = getReadableDatabase().rawQuery("SELECT d." + COLUMN_MESSAGE_ID + ", d." + COLUMN_SENT_DATE
+                    + ", matchinfo(" + SEARCH_TABLE + ", 'pcnx')"
+                    + " FROM " + SEARCH_TABLE + " JOIN " + DOCUMENTS_TABLE + " d ON d." + COLUMN_ID + " = " + SEARCH_TABLE + ".docid"
+                    + " WHERE " + SEARCH_TABLE + " MATCH ?", new String[] { match.toString() });
+
+            while (cursor.moveToNext()) {
+                results.add(new Result(cursor.getString(0), cursor.getLong(1), score(cursor.getBlob(2))));
+            }
+        } catch (SQLException e) {
+            PluginLogger.error(e, "InboxSearchIndex - Failed to search index");
+            return Collections.emptyList();
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        Collections.sort(results, new Comparator<Result>() {
+            @Override
+            public int compare(Result lhs, Result rhs) {
+                int result = Double.compare(rhs.score, lhs.score);
+                if (result != 0) {
+                    return result;
+                }
+
+                // Newer messages first
+                return lhs.sentDate > rhs.sentDate ? -1 : (lhs.sentDate == rhs.sentDate ? 0 : 1);
+            }
+        });
+
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    /**
+     * Finds the ranges of a message's title and extras values that match the query terms.
+     *
+     * @param message The message.
+     * @param query The query.
+     * @return The highlights.
+     */
+    @NonNull
+    static List<Highlight> highlight(@NonNull Message message, @NonNull String query) {
+        List<String> terms = tokenize(query);
+        List<Highlight> highlights = new ArrayList<>();
+        if (terms.isEmpty()) {
+            return highlights;
+        }
+
+        if (message.getTitle() != null) {
+            highlight(FIELD_TITLE, null, message.getTitle(), terms, highlights);
+        }
+
+        Bundle extras = message.getExtras();
+        for (String key : extras.keySet()) {
+            highlight(FIELD_EXTRAS, key, String.valueOf(extras.get(key)), terms, highlights);
+        }
+
+        return highlights;
+    }
+
+    @Override
+    public synchronized void close() {
+        documents = null;
+        syncedVersion = -1;
+        super.close();
+    }
+
+    private static void highlight(@NonNull String field, @Nullable String key, @NonNull String text,
+                                  @NonNull List<String> terms, @NonNull List<Highlight> highlights) {
+        int length = text.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && !isTokenChar(text.charAt(start))) {
+                start++;
+            }
+
+            int end = start;
+            while (end < length && isTokenChar(text.charAt(end))) {
+                end++;
+            }
+
+            if (end > start) {
+                String token = foldCase(text.substring(start, end));
+                for (String term : terms) {
+                    if (token.startsWith(term)) {
+                        highlights.add(new Highlight(field, key, start, start + term.length()));
+                        break;
+                    }
+                }
+            }
+
+            start = end;
+        }
+    }
+
+    /**
+     * Splits text into terms the same way the index tokenizer does: runs of ASCII letters and
+     * digits and any non-ASCII characters, with ASCII letters in lower case.
+     */
+    @NonNull
+    static List<String> tokenize(@NonNull String text) {
+        List<String> terms = new ArrayList<>();
+        int length = text.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && !isTokenChar(text.charAt(start))) {
+                start++;
+            }
+
+            int end = start;
+            while (end < length && isTokenChar(text.charAt(end))) {
+                end++;
+            }
+
+            if (end > start) {
+                String term = foldCase(text.substring(start, end));
+                if (!terms.contains(term)) {
+                    terms.add(term);
+                }
+            }
+
+            start = end;
+        }
+
+        return terms;
+    }
+
+    private static boolean isTokenChar(char c) {
+        return c >= 0x80 || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    @NonNull
+    private static String foldCase(@NonNull String token) {
+        char[] chars = token.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] = (char) (chars[i] + ('a' - 'A'));
+            }
+        }
+        return new String(chars);
+    }
+
+    @NonNull
+    private Map<String, Document> getDocuments() {
+        if (documents != null) {
+            return documents;
+        }
+
+        Map<String, Document> loaded = new HashMap<>();
+        Cursor cursor = null;
+        try {
+            cursor = getReadableDatabase().query(DOCUMENTS_TABLE, new String[] { COLUMN_ID, COLUMN_MESSAGE_ID, COLUMN_CONTENT_HASH }, null, null, null, null, null);
+            while (cursor.moveToNext()) {
+                loaded.put(cursor.getString(1), new Document(cursor.getLong(0), cursor.getInt(2)));
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        documents = loaded;
+        return loaded;
+    }
+
+    /**
+     * Scores a match from its {@code pcnx} match info: the phrase and column counts, the row
+     * count, then the hits in this row, the hits in all rows and the rows with hits for each
+     * phrase and column.
+     */
+    private static double score(@Nullable byte[] matchInfo) {
+        if (matchInfo == null) {
+            return 0;
+        }
+
+        IntBuffer info = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder()).asIntBuffer();
+        int phrases = info.get(0);
+        int columns = info.get(1);
+        int rows = info.get(2);
+
+        double score = 0;
+        for (int phrase = 0; phrase < phrases; phrase++) {
+            for (int column = 0; column < columns && column < COLUMN_WEIGHTS.length; column++) {
+                int offset = 3 + 3 * (phrase * columns + column);
+                int hits = info.get(offset);
+                int rowsWithHits = info.get(offset + 2);
+                if (hits > 0 && rowsWithHits > 0) {
+                    double idf = Math.log(1 + (double) rows / rowsWithHits);
+                    score += COLUMN_WEIGHTS[column] * hits * idf;
+                }
+            }
+        }
+
+        return score;
+    }
+
+    @NonNull
+    private static String getExtrasText(@NonNull Message message) {
+        StringBuilder text = new StringBuilder();
+        Bundle extras = message.getExtras();
+        for (String key : extras.keySet()) {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(String.valueOf(extras.get(key)));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Indexed message.
+     */
+    private static class Document {
+
+        final long id;
+        final int contentHash;
+
+        Document(long id, int contentHash) {
+            this.id = id;
+            this.contentHash = contentHash;
+        }
+    }
+
+    /**
+     * Search result.
+     */
+    static class Result {
+
+        final String messageId;
+        final long sentDate;
+        final double score;
+
+        Result(@NonNull String messageId, long sentDate, double score) {
+            this.messageId = messageId;
+            this.sentDate = sentDate;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Matching range of a message field.
+     */
+    static class Highlight {
+
+        final String field;
+        @Nullable
+        final String key;
+        final int start;
+        final int end;
+
+        Highlight(@NonNull String field, @Nullable String key, int start, int end) {
+            this.field = field;
+            this.key = key;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
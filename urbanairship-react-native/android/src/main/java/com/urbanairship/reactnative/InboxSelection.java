@@ -0,0 +1,130 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.urbanairship.messagecenter.Inbox;
+import com.urbanairship.messagecenter.Message;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A selection of inbox messages to mark read or delete in bulk, by ID, by filter, or by ID and
+ * filter.
+ *
+ * Every selected message gets a status, in selection order. Messages selected only by filter
+ * are never reported as not found or filtered out.
+ */
+class InboxSelection {
+
+    /**
+     * The message was marked read or deleted.
+     */
+    static final String STATUS_UPDATED = "updated";
+
+    /**
+     * The message was already read.
+     */
+    static final String STATUS_UNCHANGED = "unchanged";
+
+    /**
+     * No message has the ID.
+     */
+    static final String STATUS_NOT_FOUND = "notFound";
+
+    /**
+     * The message does not match the filter.
+     */
+    static final String STATUS_FILTERED_OUT = "filteredOut";
+
+    @Nullable
+    final List<String> messageIds;
+    @Nullable
+    final InboxQuery filter;
+
+    /**
+     * Default constructor.
+     *
+     * @param messageIds The message IDs, or {@code null} to select every message matching the filter.
+     * @param filter The filter, or {@code null} to select every message in the IDs.
+     */
+    InboxSelection(@Nullable List<String> messageIds, @Nullable InboxQuery filter) {
+        this.messageIds = messageIds;
+        this.filter = filter;
+    }
+
+    /**
+     * Marks the selected messages read or deletes them. The inbox is updated with a single batch
+     * call, which updates the inbox database, schedules a sync and notifies the inbox listeners
+     * once.
+     *
+     * @param inbox The inbox.
+     * @param delete {@code true} to delete the messages, {@code false} to mark them read.
+     * @return The result.
+     */
+    @NonNull
+    @WorkerThread
+    Result apply(@NonNull Inbox inbox, boolean delete) {
+        Map<String, String> statuses = new LinkedHashMap<>();
+        Set<String> updated = new HashSet<>();
+        if (messageIds != null) {
+            for (String messageId : messageIds) {
+                Message message = inbox.getMessage(messageId);
+                if (message == null) {
+                    statuses.put(messageId, STATUS_NOT_FOUND);
+                } else if (filter != null && !filter.matches(message)) {
+                    statuses.put(messageId, STATUS_FILTERED_OUT);
+                } else {
+                    select(message, delete, statuses, updated);
+                }
+            }
+        } else if (filter != null) {
+            for (Message message : inbox.getMessages()) {
+                if (filter.matches(message)) {
+                    select(message, delete, statuses, updated);
+                }
+            }
+        }
+
+        if (!updated.isEmpty()) {
+            if (delete) {
+                inbox.deleteMessages(updated);
+            } else {
+                inbox.markMessagesRead(updated);
+            }
+        }
+
+        return new Result(updated.size(), statuses);
+    }
+
+    private static void select(@NonNull Message message, boolean delete, @NonNull Map<String, String> statuses,
+                               @NonNull Set<String> updated) {
+        if (!delete && message.isRead()) {
+            statuses.put(message.getMessageId(), STATUS_UNCHANGED);
+        } else {
+            updated.add(message.getMessageId());
+            statuses.put(message.getMessageId(), STATUS_UPDATED);
+        }
+    }
+
+    /**
+     * Bulk update result.
+     */
+    static class Result {
+
+        final int updatedCount;
+        final Map<String, String> statuses;
+
+        Result(int updatedCount, @NonNull Map<String, String> statuses) {
+            this.updatedCount = updatedCount;
+            this.statuses = statuses;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+
+import com.urbanairship.messagecenter.Message;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned snapshot of the inbox. Each update is diffed against the previous one and bumps the
+ * version if anything changed, so JS can fetch only the messages added, removed and changed
+ * since the version it last rendered. The unread and total counts are updated from the same
+ * diff, and the search index is synced from it.
+ *
+ * A message is changed when its read state or its content changes. Content changes are found by
+ * comparing a hash of the title and extras, which is only computed when the inbox hands out a
+ * new message instance.
+ *
+ * The inbox only lists messages that are not deleted, so a deleted message is reported as
+ * removed. Versions are only valid for the lifetime of the process.
+ */
+class InboxSnapshot {
+
+    /**
+     * Max number of removed message IDs to remember. Changes requested from before the oldest
+     * remembered removal are answered with a reset.
+     */
+    static final int MAX_REMOVED_MESSAGES = 1000;
+
+    private static InboxSnapshot sharedInstance;
+
+    private final int maxRemovedMessages;
+
+    private Map<String, Entry> entries = new HashMap<>();
+    private List<Message> messages = Collections.emptyList();
+    private final LinkedHashMap<String, Long> removed = new LinkedHashMap<>();
+    private long version;
+    private long oldestVersion;
+    private int count;
+    private int unreadCount;
+
+    @NonNull
+    static synchronized InboxSnapshot shared() {
+        if (sharedInstance == null) {
+            sharedInstance = new InboxSnapshot(MAX_REMOVED_MESSAGES);
+        }
+        return sharedInstance;
+    }
+
+    InboxSnapshot(int maxRemovedMessages) {
+        this.maxRemovedMessages = maxRemovedMessages;
+    }
+
+    /**
+     * Updates the snapshot.
+     *
+     * @param messages The current inbox messages, in inbox order.
+     * @return {@code true} if anything changed and the version was bumped, otherwise {@code false}.
+     */
+    synchronized boolean update(@NonNull List<Message> messages) {
+        long nextVersion = version + 1;
+        boolean changed = false;
+
+        Map<String, Entry> previous = entries;
+        Map<String, Entry> current = new HashMap<>(Math.max(16, messages.size() * 2));
+
+        for (Message message : messages) {
+            String id = message.getMessageId();
+            boolean read = message.isRead();
+
+            Entry entry = previous.remove(id);
+            if (entry == null) {
+                entry = new Entry(nextVersion, message, read);
+                removed.remove(id);
+                count++;
+                if (!read) {
+                    unreadCount++;
+                }
+                changed = true;
+            } else {
+                if (entry.read != read) {
+                    entry.updatedVersion = nextVersion;
+                    entry.read = read;
+                    unreadCount += read ? -1 : 1;
+                    changed = true;
+                }
+
+                if (entry.message != message) {
+                    int contentHash = getContentHash(message);
+                    if (entry.contentHash != contentHash) {
+                        entry.updatedVersion = nextVersion;
+                        entry.contentHash = contentHash;
+                        changed = true;
+                    }
+                    entry.message = message;
+                }
+            }
+
+            current.put(id, entry);
+        }
+
+        for (Map.Entry<String, Entry> entry : previous.entrySet()) {
+            removed.put(entry.getKey(), nextVersion);
+            count--;
+            if (!entry.getValue().read) {
+                unreadCount--;
+            }
+            changed = true;
+        }
+
+        // Forget the oldest removals once over the limit
+        Iterator<Map.Entry<String, Long>> iterator = removed.entrySet().iterator();
+        while (removed.size() > maxRemovedMessages && iterator.hasNext()) {
+            oldestVersion = Math.max(oldestVersion, iterator.next().getValue());
+            iterator.remove();
+        }
+
+        this.entries = current;
+        this.messages = new ArrayList<>(messages);
+
+        if (changed) {
+            version = nextVersion;
+        }
+
+        return changed;
+    }
+
+    /**
+     * Gets the changes since a version. If the changes since that version are no longer known,
+     * or the version is from a previous process, every message is returned as added and the
+     * changes are marked as a reset.
+     *
+     * @param sinceVersion The version JS last rendered.
+     * @return The changes.
+     */
+    @NonNull
+    synchronized Changes getChanges(long sinceVersion) {
+        boolean reset = sinceVersion < oldestVersion || sinceVersion > version;
+
+        List<Message> added = new ArrayList<>();
+        List<Message> changed = new ArrayList<>();
+        for (Message message : messages) {
+            Entry entry = entries.get(message.getMessageId());
+            if (reset || entry.addedVersion > sinceVersion) {
+                added.add(message);
+            } else if (entry.updatedVersion > sinceVersion) {
+                changed.add(message);
+            }
+        }
+
+        List<String> removedIds = new ArrayList<>();
+        if (!reset) {
+            for (Map.Entry<String, Long> entry : removed.entrySet()) {
+                if (entry.getValue() > sinceVersion) {
+                    removedIds.add(entry.getKey());
+                }
+            }
+        }
+
+        return new Changes(version, reset, added, changed, removedIds, unreadCount, count);
+    }
+
+    synchronized long getVersion() {
+        return version;
+    }
+
+    synchronized int getCount() {
+        return count;
+    }
+
+    synchronized int getUnreadCount() {
+        return unreadCount;
+    }
+
+    /**
+     * Hashes the searchable content of a message: its title and extras.
+     *
+     * @param message The message.
+     * @return The hash.
+     */
+    static int getContentHash(@NonNull Message message) {
+        int extrasHash = 0;
+        Bundle extras = message.getExtras();
+        for (String key : extras.keySet()) {
+            // Bundle key order is not stable, sum the entries like Map.hashCode() does
+            extrasHash += key.hashCode() ^ String.valueOf(extras.get(key)).hashCode();
+        }
+
+        String title = message.getTitle();
+        return 31 * (title == null ? 0 : title.hashCode()) + extrasHash;
+    }
+
+    /**
+     * Inbox changes.
+     */
+    static class Changes {
+
+        final long version;
+        final boolean reset;
+        final List<Message> added;
+        final List<Message> changed;
+        final List<String> removed;
+        final int unreadCount;
+        final int count;
+
+        Changes(long version, boolean reset, @NonNull List<Message> added, @NonNull List<Message> changed,
+                @NonNull List<String> removed, int unreadCount, int count) {
+            this.version = version;
+            this.reset = reset;
+            this.added = added;
+            this.changed = changed;
+            this.removed = removed;
+            this.unreadCount = unreadCount;
+            this.count = count;
+        }
+    }
+
+    private static class Entry {
+
+        final long addedVersion;
+        long updatedVersion;
+        boolean read;
+        Message message;
+        int contentHash;
+
+        Entry(long addedVersion, @NonNull Message message, boolean read) {
+            this.addedVersion = addedVersion;
+            this.updatedVersion = addedVersion;
+            this.message = message;
+            this.contentHash = getContentHash(message);
+            this.read = read;
+        }
+    }
+}
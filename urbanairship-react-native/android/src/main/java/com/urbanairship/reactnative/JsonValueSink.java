@@ -0,0 +1,103 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.urbanairship.json.JsonList;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonValue;
+import com.urbanairship.reactnative.value.ValueSink;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link ValueSink} that builds a {@link JsonValue}. Null map values are kept, unlike
+ * {@link JsonMap.Builder} which drops them, so the body matches the bridge map.
+ */
+public class JsonValueSink implements ValueSink<JsonValue> {
+
+    private final List<Object> builders = new ArrayList<>();
+    private final List<String> keys = new ArrayList<>();
+    private JsonValue root = JsonValue.NULL;
+
+    @Override
+    public void beginMap(@Nullable String key, int size) {
+        builders.add(size < 0 ? new HashMap<String, JsonValue>() : new HashMap<String, JsonValue>(size));
+        keys.add(key);
+    }
+
+    @Override
+    public void beginList(@Nullable String key, int size) {
+        builders.add(size < 0 ? new ArrayList<JsonValue>() : new ArrayList<JsonValue>(size));
+        keys.add(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void end() {
+        Object builder = builders.remove(builders.size() - 1);
+        String key = keys.remove(keys.size() - 1);
+
+        if (builder instanceof Map) {
+            add(key, new JsonMap((Map<String, JsonValue>) builder).toJsonValue());
+        } else {
+            add(key, new JsonList((List<JsonValue>) builder).toJsonValue());
+        }
+    }
+
+    @Override
+    public void putNull(@Nullable String key) {
+        add(key, JsonValue.NULL);
+    }
+
+    @Override
+    public void putBoolean(@Nullable String key, boolean value) {
+        add(key, JsonValue.wrap(value));
+    }
+
+    @Override
+    public void putInt(@Nullable String key, int value) {
+        add(key, JsonValue.wrap(value));
+    }
+
+    @Override
+    public void putLong(@Nullable String key, long value) {
+        add(key, JsonValue.wrap(value));
+    }
+
+    @Override
+    public void putDouble(@Nullable String key, double value) {
+        add(key, JsonValue.wrapOpt(value));
+    }
+
+    @Override
+    public void putString(@Nullable String key, @Nullable String value) {
+        add(key, JsonValue.wrap(value));
+    }
+
+    @NonNull
+    @Override
+    public JsonValue build() {
+        return root;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void add(@Nullable String key, @NonNull JsonValue value) {
+        if (builders.isEmpty()) {
+            root = value;
+            return;
+        }
+
+        Object builder = builders.get(builders.size() - 1);
+        if (builder instanceof Map) {
+            ((Map<String, JsonValue>) builder).put(key, value);
+        } else {
+            ((List<JsonValue>) builder).add(value);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed size latency histogram with power of two millisecond buckets. Bucket {@code i} counts
+ * values below {@code 2^i} ms that didn't fit in the previous bucket, and the last bucket
+ * counts everything above. Recording is allocation free. Not thread safe.
+ */
+class LatencyHistogram {
+
+    private static final int BUCKET_COUNT = 18;
+
+    private static final String COUNT = "count";
+    private static final String MEAN_MILLIS = "meanMillis";
+    private static final String MAX_MILLIS = "maxMillis";
+    private static final String P50_MILLIS = "p50Millis";
+    private static final String P90_MILLIS = "p90Millis";
+    private static final String P99_MILLIS = "p99Millis";
+    private static final String BUCKETS = "buckets";
+
+    private final long[] buckets = new long[BUCKET_COUNT];
+    private long count;
+    private long totalMillis;
+    private long maxMillis;
+
+    /**
+     * Records a value.
+     *
+     * @param millis The latency in milliseconds.
+     */
+    void record(long millis) {
+        long value = Math.max(0, millis);
+        int bucket = 64 - Long.numberOfLeadingZeros(value);
+        buckets[Math.min(bucket, BUCKET_COUNT - 1)]++;
+
+        count++;
+        totalMillis += value;
+        maxMillis = Math.max(maxMillis, value);
+    }
+
+    /**
+     * Gets the upper bound of the bucket that holds the given percentile.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The latency in milliseconds, capped at the max recorded value.
+     */
+    long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long target = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT - 1; i++) {
+            seen += buckets[i];
+            if (seen >= target) {
+                return Math.min(maxMillis, (1L << i) - 1);
+            }
+        }
+
+        return maxMillis;
+    }
+
+    /**
+     * Creates a snapshot of the histogram.
+     *
+     * @return The histogram as JSON.
+     */
+    @NonNull
+    JsonMap toJsonMap() {
+        List<JsonValue> bucketValues = new ArrayList<>(BUCKET_COUNT);
+        for (long bucket : buckets) {
+            bucketValues.add(JsonValue.wrapOpt(bucket));
+        }
+
+        return JsonMap.newBuilder()
+                      .put(COUNT, count)
+                      .put(MEAN_MILLIS, count == 0 ? 0 : totalMillis / count)
+                      .put(MAX_MILLIS, maxMillis)
+                      .put(P50_MILLIS, getPercentile(50))
+                      .put(P90_MILLIS, getPercentile(90))
+                      .put(P99_MILLIS, getPercentile(99))
+                      .putOpt(BUCKETS, bucketValues)
+                      .build();
+    }
+}
@@ -0,0 +1,121 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.urbanairship.channel.AirshipChannel;
+import com.urbanairship.channel.AirshipChannelListener;
+import com.urbanairship.messagecenter.Inbox;
+import com.urbanairship.messagecenter.InboxListener;
+import com.urbanairship.push.PushListener;
+import com.urbanairship.push.PushManager;
+import com.urbanairship.reactnative.events.InboxUpdatedEvent;
+import com.urbanairship.reactnative.events.NotificationOptInEvent;
+import com.urbanairship.reactnative.events.PushReceivedEvent;
+import com.urbanairship.reactnative.events.RegistrationEvent;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Attaches the push, channel and inbox listeners only while JS is subscribed to an event they
+ * produce. A listener is attached when its first event gains a subscriber and, if detaching is
+ * enabled, removed when the last of its events loses its last subscriber.
+ */
+class LazyEventListeners implements EventEmitter.SubscriptionListener {
+
+    private final PushManager pushManager;
+    private final AirshipChannel channel;
+    private final Inbox inbox;
+    private final PushListener pushListener;
+    private final AirshipChannelListener channelListener;
+    private final InboxListener inboxListener;
+    private final boolean detachUnusedListeners;
+
+    // Emitter thread only
+    private final Set<String> subscribedEvents = new HashSet<>();
+    private boolean pushListenerAttached;
+    private boolean channelListenerAttached;
+    private boolean inboxListenerAttached;
+
+    /**
+     * Default constructor.
+     *
+     * @param pushManager The push manager.
+     * @param channel The channel.
+     * @param inbox The inbox.
+     * @param pushListener The push listener.
+     * @param channelListener The channel listener.
+     * @param inboxListener The inbox listener.
+     * @param detachUnusedListeners {@code true} to remove listeners nobody subscribes to anymore.
+     */
+    LazyEventListeners(@NonNull PushManager pushManager,
+                       @NonNull AirshipChannel channel,
+                       @NonNull Inbox inbox,
+                       @NonNull PushListener pushListener,
+                       @NonNull AirshipChannelListener channelListener,
+                       @NonNull InboxListener inboxListener,
+                       boolean detachUnusedListeners) {
+        this.pushManager = pushManager;
+        this.channel = channel;
+        this.inbox = inbox;
+        this.pushListener = pushListener;
+        this.channelListener = channelListener;
+        this.inboxListener = inboxListener;
+        this.detachUnusedListeners = detachUnusedListeners;
+    }
+
+    @Override
+    public void onSubscribed(@NonNull String eventName) {
+        subscribedEvents.add(eventName);
+        update();
+    }
+
+    @Override
+    public void onUnsubscribed(@NonNull String eventName) {
+        if (detachUnusedListeners) {
+            subscribedEvents.remove(eventName);
+            update();
+        }
+    }
+
+    /**
+     * Attaches or detaches the listeners to match the subscribed events.
+     */
+    @WorkerThread
+    private void update() {
+        boolean pushNeeded = subscribedEvents.contains(PushReceivedEvent.PUSH_RECEIVED_EVENT);
+        if (pushNeeded != pushListenerAttached) {
+            if (pushNeeded) {
+                pushManager.addPushListener(pushListener);
+            } else {
+                pushManager.removePushListener(pushListener);
+            }
+            pushListenerAttached = pushNeeded;
+        }
+
+        // The channel listener also drives the opt-in status event
+        boolean channelNeeded = subscribedEvents.contains(RegistrationEvent.CHANNEL_REGISTRATION_EVENT)
+                || subscribedEvents.contains(NotificationOptInEvent.NOTIFICATION_OPT_IN_STATUS_EVENT);
+        if (channelNeeded != channelListenerAttached) {
+            if (channelNeeded) {
+                channel.addChannelListener(channelListener);
+            } else {
+                channel.removeChannelListener(channelListener);
+            }
+            channelListenerAttached = channelNeeded;
+        }
+
+        boolean inboxNeeded = subscribedEvents.contains(InboxUpdatedEvent.INBOX_UPDATED_EVENT);
+        if (inboxNeeded != inboxListenerAttached) {
+            if (inboxNeeded) {
+                inbox.addListener(inboxListener);
+            } else {
+                inbox.removeListener(inboxListener);
+            }
+            inboxListenerAttached = inboxNeeded;
+        }
+    }
+}
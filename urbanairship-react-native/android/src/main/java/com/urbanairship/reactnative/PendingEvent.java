@@ -0,0 +1,222 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.WritableMap;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.reactnative.value.ObjectCursor;
+import com.urbanairship.reactnative.value.ValueCopier;
+
+import java.io.UnsupportedEncodingException;
+
+/**
+ * An event whose body has been materialized and is ready to be queued by the {@link EventEmitter}.
+ */
+class PendingEvent {
+
+    private static final String ENCODING = "UTF-8";
+
+    private final String name;
+    private final String coalescingKey;
+    private final JsonMap body;
+    private final int priority;
+    private final long createdMillis;
+    private int estimatedSize = -1;
+    private long journalId = -1;
+
+    // Emitter thread only
+    private boolean emitted;
+    private WritableMap bridgeBody;
+
+    /**
+     * Default constructor. Builds the event body.
+     *
+     * @param event The event.
+     * @param createdMillis When the event was sent, in {@link android.os.SystemClock#elapsedRealtime()} millis.
+     */
+    PendingEvent(@NonNull Event event, long createdMillis) {
+        this(event.getName(), getCoalescingKey(event), getBody(event), getPriority(event), createdMillis);
+    }
+
+    /**
+     * Creates a pending event from already materialized values, such as an event restored
+     * from the {@link EventJournal}.
+     *
+     * @param name The event name.
+     * @param coalescingKey The coalescing key.
+     * @param body The event body.
+     * @param priority The event priority.
+     * @param createdMillis The creation time in {@link android.os.SystemClock#elapsedRealtime()} millis.
+     */
+    PendingEvent(@NonNull String name, @Nullable String coalescingKey, @NonNull JsonMap body,
+                 @BufferedEvent.Priority int priority, long createdMillis) {
+        this.name = name;
+        this.coalescingKey = coalescingKey;
+        this.body = body;
+        this.priority = priority;
+        this.createdMillis = createdMillis;
+    }
+
+    /**
+     * Gets the coalescing key of an event. Only {@link BufferedEvent}s are coalesced.
+     *
+     * @param event The event.
+     * @return The coalescing key, or {@code null}.
+     */
+    @Nullable
+    static String getCoalescingKey(@NonNull Event event) {
+        return event instanceof BufferedEvent ? ((BufferedEvent) event).getCoalescingKey() : null;
+    }
+
+    /**
+     * Builds the body of an event. The bridge map of a plain event is copied as is, null values
+     * included.
+     *
+     * @param event The event.
+     * @return The event body.
+     */
+    @NonNull
+    static JsonMap getBody(@NonNull Event event) {
+        if (event instanceof BufferedEvent) {
+            return ((BufferedEvent) event).getJsonBody();
+        }
+
+        return ValueCopier.copy(new ObjectCursor(event.getBody().toHashMap()), new JsonValueSink()).optMap();
+    }
+
+    /**
+     * Gets the priority of an event. Plain events have normal priority.
+     *
+     * @param event The event.
+     * @return The event priority.
+     */
+    @BufferedEvent.Priority
+    static int getPriority(@NonNull Event event) {
+        return event instanceof BufferedEvent ? ((BufferedEvent) event).getPriority() : BufferedEvent.PRIORITY_NORMAL;
+    }
+
+    /**
+     * The event name.
+     *
+     * @return The event name.
+     */
+    @NonNull
+    String getName() {
+        return name;
+    }
+
+    /**
+     * The coalescing key.
+     *
+     * @return The coalescing key, or {@code null}.
+     */
+    @Nullable
+    String getCoalescingKey() {
+        return coalescingKey;
+    }
+
+    /**
+     * The materialized event body.
+     *
+     * @return The event body.
+     */
+    @NonNull
+    JsonMap getBody() {
+        return body;
+    }
+
+    /**
+     * Creates the bridge map of the body for an emit. A bridge map is consumed when the batch
+     * holding it is emitted, so every emit needs its own. The first emit converts the body, later
+     * emits to other contexts and redeliveries copy a bridge map that is converted once and kept.
+     *
+     * @return The bridge map.
+     */
+    @NonNull
+    WritableMap createBridgeBody() {
+        if (!emitted) {
+            emitted = true;
+            return (WritableMap) Utils.convertJsonValue(body.toJsonValue());
+        }
+
+        if (bridgeBody == null) {
+            bridgeBody = (WritableMap) Utils.convertJsonValue(body.toJsonValue());
+        }
+        return bridgeBody.copy();
+    }
+
+    /**
+     * The event priority.
+     *
+     * @return The event priority.
+     */
+    @BufferedEvent.Priority
+    int getPriority() {
+        return priority;
+    }
+
+    /**
+     * When the event was created. Elapsed realtime keeps counting in deep sleep and is not
+     * affected by wall clock changes.
+     *
+     * @return The creation time in {@link android.os.SystemClock#elapsedRealtime()} millis.
+     */
+    long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    /**
+     * The estimated size of the event, based on the length of its serialized body. The body is
+     * only serialized the first time the size is needed, which is when the event is queued or
+     * journaled. Events that go straight to JS are never serialized.
+     *
+     * @return The estimated size in bytes.
+     */
+    int getEstimatedSize() {
+        if (estimatedSize < 0) {
+            try {
+                serializeBody();
+            } catch (UnsupportedEncodingException e) {
+                estimatedSize = name.length() + body.toString().length();
+            }
+        }
+        return estimatedSize;
+    }
+
+    /**
+     * Serializes the body as UTF-8 JSON and records the estimated size from it, so the
+     * {@link EventJournal} and the {@link PendingEventQueue} share a single serialization.
+     *
+     * @return The serialized body.
+     * @throws UnsupportedEncodingException If UTF-8 is not supported.
+     */
+    @NonNull
+    byte[] serializeBody() throws UnsupportedEncodingException {
+        byte[] bytes = body.toString().getBytes(ENCODING);
+        if (estimatedSize < 0) {
+            estimatedSize = name.length() + bytes.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * The row ID of the event in the {@link EventJournal}.
+     *
+     * @return The journal ID, or -1 if the event is not journaled.
+     */
+    long getJournalId() {
+        return journalId;
+    }
+
+    /**
+     * Sets the row ID of the event in the {@link EventJournal}.
+     *
+     * @param journalId The journal ID.
+     */
+    void setJournalId(long journalId) {
+        this.journalId = journalId;
+    }
+}
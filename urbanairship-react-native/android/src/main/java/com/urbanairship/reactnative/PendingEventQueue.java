@@ -0,0 +1,386 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Events waiting for a JS listener, kept in one FIFO per event name.
+ *
+ * The queue is bounded by event count and by estimated payload size. When a limit is exceeded
+ * events are evicted according to the configured eviction policy. Events can also be given a
+ * per-name TTL, after which they are discarded. Not thread safe.
+ */
+class PendingEventQueue {
+
+    /**
+     * Notified when an event is dropped from the queue.
+     */
+    interface Listener {
+
+        /**
+         * Called when an event is evicted to stay within the limits.
+         *
+         * @param event The event.
+         */
+        void onEvicted(@NonNull PendingEvent event);
+
+        /**
+         * Called when an event is discarded after its TTL.
+         *
+         * @param event The event.
+         */
+        void onExpired(@NonNull PendingEvent event);
+    }
+
+    private final Map<String, ArrayDeque<PendingEvent>> queues = new HashMap<>();
+
+    // Lower bound on the creation time of the events queued per name. Requeued and restored
+    // events are not in creation order, so this tells expire when a queue needs a full scan.
+    private final Map<String, Long> oldestCreated = new HashMap<>();
+    private final Listener listener;
+
+    private int count;
+    private long bytes;
+
+    private int maxCount = EventEmitterConfig.DEFAULT_MAX_PENDING_EVENTS;
+    private long maxBytes = EventEmitterConfig.DEFAULT_MAX_PENDING_BYTES;
+    @EventEmitterConfig.EvictionPolicy
+    private String evictionPolicy = EventEmitterConfig.DEFAULT_EVICTION_POLICY;
+    private Map<String, Long> ttls = Collections.emptyMap();
+
+    /**
+     * Default constructor.
+     *
+     * @param listener The listener notified of evictions and expirations.
+     */
+    PendingEventQueue(@NonNull Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Applies the buffer limits from the config and trims the queue to fit.
+     *
+     * @param config The config.
+     */
+    void applyConfig(@NonNull EventEmitterConfig config) {
+        this.maxCount = config.maxPendingEvents;
+        this.maxBytes = config.maxPendingBytes;
+        this.evictionPolicy = config.evictionPolicy;
+        this.ttls = config.pendingEventTtls;
+
+        expire();
+        trim();
+    }
+
+    /**
+     * Drops expired events for every name.
+     */
+    void expire() {
+        long now = SystemClock.elapsedRealtime();
+        for (String name : queues.keySet().toArray(new String[0])) {
+            expire(name, now);
+        }
+    }
+
+    /**
+     * Checks if there are any events queued for a name.
+     *
+     * @param name The event name.
+     * @return {@code true} if events are queued, otherwise {@code false}.
+     */
+    boolean contains(@NonNull String name) {
+        return queues.containsKey(name);
+    }
+
+    /**
+     * Gets the number of events queued for a name.
+     *
+     * @param name The event name.
+     * @return The number of queued events.
+     */
+    int size(@NonNull String name) {
+        ArrayDeque<PendingEvent> queue = queues.get(name);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Gets the number of events queued per name.
+     *
+     * @return The queue depths, keyed by event name.
+     */
+    @NonNull
+    Map<String, Integer> getDepths() {
+        Map<String, Integer> depths = new HashMap<>();
+        for (Map.Entry<String, ArrayDeque<PendingEvent>> entry : queues.entrySet()) {
+            depths.put(entry.getKey(), entry.getValue().size());
+        }
+
+        return depths;
+    }
+
+    /**
+     * Adds an event to the end of the queue for its name, evicting events if needed.
+     *
+     * @param event The event.
+     */
+    void add(@NonNull PendingEvent event) {
+        expire(event.getName(), SystemClock.elapsedRealtime());
+
+        if (EventEmitterConfig.EVICTION_POLICY_DROP_NEWEST.equals(evictionPolicy)
+                && (count + 1 > maxCount || bytes + event.getEstimatedSize() > maxBytes)) {
+            listener.onEvicted(event);
+            return;
+        }
+
+        queueFor(event).addLast(event);
+        count++;
+        bytes += event.getEstimatedSize();
+        trim();
+    }
+
+    /**
+     * Returns an event to the front of the queue for its name. Call {@link #trim()} once
+     * all events have been returned.
+     *
+     * @param event The event.
+     */
+    void addFirst(@NonNull PendingEvent event) {
+        queueFor(event).addFirst(event);
+        count++;
+        bytes += event.getEstimatedSize();
+    }
+
+    /**
+     * Returns the oldest unexpired event queued for a name without removing it.
+     *
+     * @param name The event name.
+     * @return The event, or {@code null} if none are queued.
+     */
+    @Nullable
+    PendingEvent peek(@NonNull String name) {
+        expire(name, SystemClock.elapsedRealtime());
+
+        ArrayDeque<PendingEvent> queue = queues.get(name);
+        return queue == null ? null : queue.peekFirst();
+    }
+
+    /**
+     * Removes and returns the oldest unexpired event queued for a name.
+     *
+     * @param name The event name.
+     * @return The event, or {@code null} if none are queued.
+     */
+    @Nullable
+    PendingEvent poll(@NonNull String name) {
+        expire(name, SystemClock.elapsedRealtime());
+
+        ArrayDeque<PendingEvent> queue = queues.get(name);
+        if (queue == null) {
+            return null;
+        }
+
+        PendingEvent event = queue.pollFirst();
+        if (queue.isEmpty()) {
+            removeQueue(name);
+        }
+
+        count--;
+        bytes -= event.getEstimatedSize();
+        return event;
+    }
+
+    /**
+     * Removes and returns every unexpired event queued for a name.
+     *
+     * @param name The event name.
+     * @return The events in order, or {@code null} if none are queued.
+     */
+    @Nullable
+    ArrayDeque<PendingEvent> remove(@NonNull String name) {
+        expire(name, SystemClock.elapsedRealtime());
+
+        ArrayDeque<PendingEvent> queue = removeQueue(name);
+        if (queue != null) {
+            for (PendingEvent event : queue) {
+                count--;
+                bytes -= event.getEstimatedSize();
+            }
+        }
+
+        return queue;
+    }
+
+    /**
+     * Removes any events for a name with the given coalescing key.
+     *
+     * @param name The event name.
+     * @param coalescingKey The coalescing key.
+     */
+    void removeCoalesced(@NonNull String name, @NonNull String coalescingKey) {
+        ArrayDeque<PendingEvent> queue = queues.get(name);
+        if (queue == null) {
+            return;
+        }
+
+        Iterator<PendingEvent> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            PendingEvent event = iterator.next();
+            if (coalescingKey.equals(event.getCoalescingKey())) {
+                iterator.remove();
+                count--;
+                bytes -= event.getEstimatedSize();
+            }
+        }
+
+        if (queue.isEmpty()) {
+            removeQueue(name);
+        }
+    }
+
+    /**
+     * Checks if an event for a name with the given coalescing key is queued.
+     *
+     * @param name The event name.
+     * @param coalescingKey The coalescing key.
+     * @return {@code true} if a matching event is queued, otherwise {@code false}.
+     */
+    boolean containsCoalesced(@NonNull String name, @Nullable String coalescingKey) {
+        return EventEmitter.containsCoalesced(queues.get(name), coalescingKey);
+    }
+
+    /**
+     * Evicts events until the queue is within its limits.
+     */
+    void trim() {
+        while (count > maxCount || bytes > maxBytes) {
+            PendingEvent victim = evict();
+            if (victim == null) {
+                return;
+            }
+
+            listener.onEvicted(victim);
+        }
+    }
+
+    /**
+     * Drops expired events from the queue for a name. Requeued and restored events break creation
+     * order, so an expired event can sit behind unexpired ones. The whole queue is scanned, but
+     * only once the oldest creation time seen for the name is past the TTL.
+     *
+     * @param name The event name.
+     * @param now The current time in milliseconds.
+     */
+    private void expire(@NonNull String name, long now) {
+        Long ttl = ttls.get(name);
+        ArrayDeque<PendingEvent> queue = queues.get(name);
+        if (ttl == null || queue == null || now - oldestCreated.get(name) <= ttl) {
+            return;
+        }
+
+        long oldest = Long.MAX_VALUE;
+        Iterator<PendingEvent> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            PendingEvent event = iterator.next();
+            if (now - event.getCreatedMillis() > ttl) {
+                iterator.remove();
+                count--;
+                bytes -= event.getEstimatedSize();
+                listener.onExpired(event);
+            } else {
+                oldest = Math.min(oldest, event.getCreatedMillis());
+            }
+        }
+
+        if (queue.isEmpty()) {
+            removeQueue(name);
+        } else {
+            oldestCreated.put(name, oldest);
+        }
+    }
+
+    /**
+     * Removes a single event picked by the eviction policy.
+     *
+     * @return The evicted event, or {@code null} if the queue is empty.
+     */
+    @Nullable
+    private PendingEvent evict() {
+        boolean newest = EventEmitterConfig.EVICTION_POLICY_DROP_NEWEST.equals(evictionPolicy);
+        boolean byPriority = EventEmitterConfig.EVICTION_POLICY_DROP_LOWEST_PRIORITY.equals(evictionPolicy);
+
+        // There are only a handful of event names, so comparing the queue ends is cheap
+        String victimName = null;
+        PendingEvent victim = null;
+        for (Map.Entry<String, ArrayDeque<PendingEvent>> entry : queues.entrySet()) {
+            PendingEvent candidate = newest ? entry.getValue().peekLast() : entry.getValue().peekFirst();
+            if (victim == null || isBetterVictim(candidate, victim, newest, byPriority)) {
+                victim = candidate;
+                victimName = entry.getKey();
+            }
+        }
+
+        if (victim == null) {
+            return null;
+        }
+
+        ArrayDeque<PendingEvent> queue = queues.get(victimName);
+        if (newest) {
+            queue.pollLast();
+        } else {
+            queue.pollFirst();
+        }
+
+        if (queue.isEmpty()) {
+            removeQueue(victimName);
+        }
+
+        count--;
+        bytes -= victim.getEstimatedSize();
+        return victim;
+    }
+
+    private static boolean isBetterVictim(@NonNull PendingEvent candidate, @NonNull PendingEvent victim, boolean newest, boolean byPriority) {
+        if (byPriority && candidate.getPriority() != victim.getPriority()) {
+            return candidate.getPriority() < victim.getPriority();
+        }
+
+        if (newest) {
+            return candidate.getCreatedMillis() > victim.getCreatedMillis();
+        }
+
+        return candidate.getCreatedMillis() < victim.getCreatedMillis();
+    }
+
+    @NonNull
+    private ArrayDeque<PendingEvent> queueFor(@NonNull PendingEvent event) {
+        String name = event.getName();
+        ArrayDeque<PendingEvent> queue = queues.get(name);
+        Long oldest = oldestCreated.get(name);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            queues.put(name, queue);
+        }
+
+        if (oldest == null || event.getCreatedMillis() < oldest) {
+            oldestCreated.put(name, event.getCreatedMillis());
+        }
+
+        return queue;
+    }
+
+    @Nullable
+    private ArrayDeque<PendingEvent> removeQueue(@NonNull String name) {
+        oldestCreated.remove(name);
+        return queues.remove(name);
+    }
+}
@@ -5,8 +5,12 @@ package com.urbanairship.reactnative;
 import android.content.Context;
 import android.content.SharedPreferences;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonValue;
+
 /**
  * Stores shared preferences and checks preference-dependent state.
  */
@@ -24,6 +28,7 @@ public class ReactAirshipPreferences {
     private static final String NOTIFICATION_LARGE_ICON_KEY = "notification_large_icon";
     private static final String NOTIFICATION_ACCENT_COLOR_KEY = "notification_accent_color";
     private static final String DEFAULT_NOTIFICATION_CHANNEL_ID = "default_notification_channel_id";
+    private static final String EVENT_EMITTER_CONFIG_KEY = "event_emitter_config";
 
     /**
      * Returns the shared {@link ReactAirshipPreferences} instance.
@@ -118,6 +123,35 @@ public class ReactAirshipPreferences {
         return getPreferences(context).getString(DEFAULT_NOTIFICATION_CHANNEL_ID, null);
     }
 
+    /**
+     * Sets the event emitter config.
+     * @param context The application context.
+     * @param config The config.
+     */
+    void setEventEmitterConfig(Context context, @NonNull EventEmitterConfig config) {
+        getPreferences(context).edit().putString(EVENT_EMITTER_CONFIG_KEY, config.toJsonValue().toString()).apply();
+    }
+
+    /**
+     * Gets the event emitter config.
+     * @param context The application context.
+     * @return The config, or the default config if none is saved.
+     */
+    @NonNull
+    EventEmitterConfig getEventEmitterConfig(Context context) {
+        String json = getPreferences(context).getString(EVENT_EMITTER_CONFIG_KEY, null);
+        if (json == null) {
+            return EventEmitterConfig.DEFAULT_CONFIG;
+        }
+
+        try {
+            return EventEmitterConfig.fromJson(JsonValue.parseString(json).optMap());
+        } catch (JsonException e) {
+            PluginLogger.error(e, "Failed to parse event emitter config");
+            return EventEmitterConfig.DEFAULT_CONFIG;
+        }
+    }
+
     /**
      * Saves opt in status in shared preferences.
      * @param optIn The opt in state.
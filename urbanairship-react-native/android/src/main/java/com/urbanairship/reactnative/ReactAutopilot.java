@@ -30,9 +30,55 @@ import com.urbanairship.reactnative.events.ShowInboxEvent;
 
 /**
  * Module's autopilot to customize Urban Airship.
+ *
+ * The push, channel and inbox listeners only produce events for JS. When lazy listeners are
+ * enabled in the event emitter config they are attached by {@link LazyEventListeners} the first
+ * time JS subscribes to a matching event, and optionally detached once the last subscriber leaves.
+ * Deep link and message center listeners change SDK behavior, so they are always attached. The
+ * notification listener is always attached too: the notification that launches the app is opened
+ * before JS can subscribe, and its response has to wait in the emitter until JS does.
  */
 public class ReactAutopilot extends Autopilot {
 
+    private final PushListener pushListener = new PushListener() {
+        @Override
+        public void onPushReceived(@NonNull PushMessage pushMessage, boolean notificationPosted) {
+            if (!notificationPosted) {
+                Event event = new PushReceivedEvent(pushMessage);
+                EventEmitter.shared().sendEvent(event);
+            }
+        }
+    };
+
+    private final InboxListener inboxListener = new InboxListener() {
+        @Override
+        public void onInboxUpdated() {
+            // Diffing the inbox is linear in its size, keep it off the main thread. The serial
+            // executor also keeps the event versions in order.
+            UrbanAirshipReactModule.INBOX_EXECUTOR.execute(new Runnable() {
+                @Override
+                public void run() {
+                    InboxSnapshot snapshot = InboxSnapshot.shared();
+                    Event event;
+                    synchronized (snapshot) {
+                        snapshot.update(MessageCenter.shared().getInbox().getMessages());
+                        event = new InboxUpdatedEvent(snapshot.getUnreadCount(), snapshot.getCount(), snapshot.getVersion());
+                    }
+
+                    EventEmitter.shared().sendEvent(event);
+
+                    // Keep the search index current once JS has started searching
+                    Context context = UAirship.getApplicationContext();
+                    if (InboxSearchIndex.exists(context)) {
+                        InboxSearchIndex.shared(context).sync(snapshot);
+                    }
+                }
+            });
+        }
+    };
+
+    private AirshipChannelListener channelListener;
+
     @Override
     public void onAirshipReady(@NonNull UAirship airship) {
         super.onAirshipReady(airship);
@@ -41,6 +87,9 @@ public class ReactAutopilot extends Autopilot {
 
         final Context context = UAirship.getApplicationContext();
 
+        EventEmitterConfig config = ReactAirshipPreferences.shared().getEventEmitterConfig(context);
+        EventEmitter.shared().setConfig(context, config);
+
         airship.setDeepLinkListener(new DeepLinkListener() {
             @Override
             public boolean onDeepLink(@NonNull String deepLink) {
@@ -50,17 +99,7 @@ public class ReactAutopilot extends Autopilot {
             }
         });
 
-        airship.getPushManager().addPushListener(new PushListener() {
-            @Override
-            public void onPushReceived(@NonNull PushMessage pushMessage, boolean notificationPosted) {
-                if (!notificationPosted) {
-                    Event event = new PushReceivedEvent(pushMessage);
-                    EventEmitter.shared().sendEvent(event);
-                }
-            }
-        });
-
-        airship.getChannel().addChannelListener(new AirshipChannelListener() {
+        channelListener = new AirshipChannelListener() {
             @Override
             public void onChannelCreated(@NonNull String channelId) {
                 Event event = new RegistrationEvent(channelId, UAirship.shared().getPushManager().getPushToken());
@@ -78,8 +117,21 @@ public class ReactAutopilot extends Autopilot {
                 // If the opt-in status changes send an event
                 UrbanAirshipReactModule.checkOptIn(context);
             }
-        });
-
+        };
+
+        if (config.lazyListenersEnabled) {
+            EventEmitter.shared().setSubscriptionListener(new LazyEventListeners(airship.getPushManager(),
+                    airship.getChannel(),
+                    MessageCenter.shared().getInbox(),
+                    pushListener,
+                    channelListener,
+                    inboxListener,
+                    config.detachUnusedListeners));
+        } else {
+            airship.getPushManager().addPushListener(pushListener);
+            airship.getChannel().addChannelListener(channelListener);
+            MessageCenter.shared().getInbox().addListener(inboxListener);
+        }
 
         airship.getPushManager().setNotificationListener(new NotificationListener() {
             @Override
@@ -112,15 +164,6 @@ public class ReactAutopilot extends Autopilot {
             public void onNotificationDismissed(@NonNull NotificationInfo notificationInfo) {}
         });
 
-        // Register a listener for inbox update event
-        MessageCenter.shared().getInbox().addListener(new InboxListener() {
-            @Override
-            public void onInboxUpdated() {
-                Event event = new InboxUpdatedEvent(MessageCenter.shared().getInbox().getUnreadCount(), MessageCenter.shared().getInbox().getCount());
-                EventEmitter.shared().sendEvent(event);
-            }
-        });
-
         MessageCenter.shared().setOnShowMessageCenterListener(new MessageCenter.OnShowMessageCenterListener() {
             @Override
             public boolean onShowMessageCenter(@Nullable String messageId) {
@@ -0,0 +1,285 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Dynamic;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.ReadableType;
+import com.urbanairship.reactnative.value.ValueCursor;
+import com.urbanairship.reactnative.value.ValueType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link ValueCursor} over values sent from JS.
+ *
+ * JS only has doubles, so whole numbers are read as an int or long when they fit.
+ */
+class ReadableCursor implements ValueCursor {
+
+    /**
+     * Largest integer a double can hold exactly, matching {@code Number.MAX_SAFE_INTEGER} in JS.
+     */
+    private static final double MAX_SAFE_INTEGER = 9007199254740991d;
+
+    private final List<Frame> stack = new ArrayList<>();
+    private Frame frame;
+
+    private String key;
+    private ValueType type = ValueType.NULL;
+    private double number;
+
+    /**
+     * Creates a cursor over a readable map.
+     *
+     * @param map The map.
+     */
+    ReadableCursor(@NonNull ReadableMap map) {
+        this.frame = new Frame((Object) map);
+    }
+
+    /**
+     * Creates a cursor over a readable array.
+     *
+     * @param array The array.
+     */
+    ReadableCursor(@NonNull ReadableArray array) {
+        this.frame = new Frame((Object) array);
+    }
+
+    /**
+     * Creates a cursor over a dynamic value.
+     *
+     * @param dynamic The dynamic value.
+     */
+    ReadableCursor(@NonNull Dynamic dynamic) {
+        this.frame = new Frame((Object) dynamic);
+    }
+
+    @Override
+    public boolean next() {
+        ReadableType readableType;
+        if (frame.map != null) {
+            if (!frame.keys.hasNextKey()) {
+                return false;
+            }
+
+            key = frame.keys.nextKey();
+            readableType = frame.map.getType(key);
+        } else if (frame.array != null) {
+            if (frame.index + 1 >= frame.array.size()) {
+                return false;
+            }
+
+            frame.index++;
+            key = null;
+            readableType = frame.array.getType(frame.index);
+        } else {
+            if (frame.index >= 0) {
+                return false;
+            }
+
+            frame.index++;
+            key = null;
+            if (frame.root instanceof ReadableMap) {
+                readableType = ReadableType.Map;
+            } else if (frame.root instanceof ReadableArray) {
+                readableType = ReadableType.Array;
+            } else {
+                readableType = ((Dynamic) frame.root).getType();
+            }
+        }
+
+        switch (readableType) {
+            case Boolean:
+                type = ValueType.BOOLEAN;
+                break;
+
+            case Number:
+                number = getCurrentDouble();
+                type = getNumberType(number);
+                break;
+
+            case String:
+                type = ValueType.STRING;
+                break;
+
+            case Map:
+                type = ValueType.MAP;
+                break;
+
+            case Array:
+                type = ValueType.LIST;
+                break;
+
+            default:
+                type = ValueType.NULL;
+                break;
+        }
+
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @NonNull
+    @Override
+    public ValueType getType() {
+        return type;
+    }
+
+    @Override
+    public boolean getBoolean() {
+        if (frame.map != null) {
+            return frame.map.getBoolean(key);
+        }
+
+        if (frame.array != null) {
+            return frame.array.getBoolean(frame.index);
+        }
+
+        return ((Dynamic) frame.root).asBoolean();
+    }
+
+    @Override
+    public int getInt() {
+        return (int) number;
+    }
+
+    @Override
+    public long getLong() {
+        return (long) number;
+    }
+
+    @Override
+    public double getDouble() {
+        return number;
+    }
+
+    @NonNull
+    @Override
+    public String getString() {
+        if (frame.map != null) {
+            return frame.map.getString(key);
+        }
+
+        if (frame.array != null) {
+            return frame.array.getString(frame.index);
+        }
+
+        return ((Dynamic) frame.root).asString();
+    }
+
+    @Override
+    public int getSize() {
+        return type == ValueType.LIST ? getCurrentArray().size() : -1;
+    }
+
+    @Override
+    public void enter() {
+        Frame child = type == ValueType.MAP ? new Frame(getCurrentMap()) : new Frame(getCurrentArray());
+        stack.add(frame);
+        frame = child;
+    }
+
+    @Override
+    public void exit() {
+        frame = stack.remove(stack.size() - 1);
+    }
+
+    private double getCurrentDouble() {
+        if (frame.map != null) {
+            return frame.map.getDouble(key);
+        }
+
+        if (frame.array != null) {
+            return frame.array.getDouble(frame.index);
+        }
+
+        return ((Dynamic) frame.root).asDouble();
+    }
+
+    @NonNull
+    private ReadableMap getCurrentMap() {
+        if (frame.map != null) {
+            return frame.map.getMap(key);
+        }
+
+        if (frame.array != null) {
+            return frame.array.getMap(frame.index);
+        }
+
+        return frame.root instanceof Dynamic ? ((Dynamic) frame.root).asMap() : (ReadableMap) frame.root;
+    }
+
+    @NonNull
+    private ReadableArray getCurrentArray() {
+        if (frame.map != null) {
+            return frame.map.getArray(key);
+        }
+
+        if (frame.array != null) {
+            return frame.array.getArray(frame.index);
+        }
+
+        return frame.root instanceof Dynamic ? ((Dynamic) frame.root).asArray() : (ReadableArray) frame.root;
+    }
+
+    @NonNull
+    private static ValueType getNumberType(double number) {
+        if (number == Math.rint(number)) {
+            if (number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+                return ValueType.INT;
+            }
+
+            if (Math.abs(number) <= MAX_SAFE_INTEGER) {
+                return ValueType.LONG;
+            }
+        }
+
+        return Double.isNaN(number) || Double.isInfinite(number) ? ValueType.NULL : ValueType.DOUBLE;
+    }
+
+    /**
+     * A map, array or root value being read.
+     */
+    private static class Frame {
+
+        private final ReadableMap map;
+        private final ReadableMapKeySetIterator keys;
+        private final ReadableArray array;
+        private final Object root;
+        private int index = -1;
+
+        Frame(@NonNull ReadableMap map) {
+            this.map = map;
+            this.keys = map.keySetIterator();
+            this.array = null;
+            this.root = null;
+        }
+
+        Frame(@NonNull ReadableArray array) {
+            this.map = null;
+            this.keys = null;
+            this.array = array;
+            this.root = null;
+        }
+
+        Frame(@NonNull Object root) {
+            this.map = null;
+            this.keys = null;
+            this.array = null;
+            this.root = root;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Events that are ready to be sent to the JS layer, split into one FIFO lane per priority.
+ * Higher priority lanes always drain first. Not thread safe.
+ */
+class ReadyEventQueue {
+
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<PendingEvent>[] lanes = new ArrayDeque[BufferedEvent.PRIORITY_INTERACTIVE + 1];
+
+    ReadyEventQueue() {
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Adds an event to the end of its lane.
+     *
+     * @param event The event.
+     */
+    void add(@NonNull PendingEvent event) {
+        lanes[event.getPriority()].addLast(event);
+    }
+
+    /**
+     * Adds events to the end of their lanes, in order.
+     *
+     * @param events The events.
+     */
+    void addAll(@NonNull Collection<PendingEvent> events) {
+        for (PendingEvent event : events) {
+            add(event);
+        }
+    }
+
+    /**
+     * Removes the next event from the highest priority lane that has one.
+     *
+     * @param interactiveOnly {@code true} to only consider the interactive lane.
+     * @return The next event, or {@code null} if there is none.
+     */
+    @Nullable
+    PendingEvent poll(boolean interactiveOnly) {
+        int lowest = interactiveOnly ? BufferedEvent.PRIORITY_INTERACTIVE : BufferedEvent.PRIORITY_LOW;
+        for (int i = lanes.length - 1; i >= lowest; i--) {
+            if (!lanes[i].isEmpty()) {
+                return lanes[i].pollFirst();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks if any event can be polled.
+     *
+     * @param interactiveOnly {@code true} to only consider the interactive lane.
+     * @return {@code true} if an event is available, otherwise {@code false}.
+     */
+    boolean hasEvents(boolean interactiveOnly) {
+        int lowest = interactiveOnly ? BufferedEvent.PRIORITY_INTERACTIVE : BufferedEvent.PRIORITY_LOW;
+        for (int i = lanes.length - 1; i >= lowest; i--) {
+            if (!lanes[i].isEmpty()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes any events with the given coalescing key.
+     *
+     * @param coalescingKey The coalescing key.
+     */
+    void removeCoalesced(@NonNull String coalescingKey) {
+        for (ArrayDeque<PendingEvent> lane : lanes) {
+            EventEmitter.removeCoalesced(lane, coalescingKey);
+        }
+    }
+
+    /**
+     * Checks if any lane contains an event with the given coalescing key.
+     *
+     * @param coalescingKey The coalescing key.
+     * @return {@code true} if a matching event is queued, otherwise {@code false}.
+     */
+    boolean containsCoalesced(@Nullable String coalescingKey) {
+        for (ArrayDeque<PendingEvent> lane : lanes) {
+            if (EventEmitter.containsCoalesced(lane, coalescingKey)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Moves every event to the end of the given list, highest priority first.
+     *
+     * @param events The list.
+     */
+    void drainTo(@NonNull List<PendingEvent> events) {
+        for (int i = lanes.length - 1; i >= 0; i--) {
+            events.addAll(lanes[i]);
+            lanes[i].clear();
+        }
+    }
+}
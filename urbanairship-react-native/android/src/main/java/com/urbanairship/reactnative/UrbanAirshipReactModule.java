@@ -16,6 +16,8 @@ import android.service.notification.StatusBarNotification;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 import androidx.core.app.NotificationManagerCompat;
 import androidx.core.content.ContextCompat;
 
@@ -28,10 +30,11 @@ import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
 import com.facebook.react.bridge.ReadableType;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
-import com.facebook.react.bridge.WritableNativeMap;
+import com.urbanairship.AirshipExecutors;
 import com.urbanairship.UAirship;
 import com.urbanairship.actions.ActionArguments;
 import com.urbanairship.actions.ActionCompletionCallback;
@@ -40,18 +43,31 @@ import com.urbanairship.actions.ActionRunRequest;
 import com.urbanairship.analytics.AssociatedIdentifiers;
 import com.urbanairship.channel.AttributeEditor;
 import com.urbanairship.channel.TagGroupsEditor;
+import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonValue;
 import com.urbanairship.messagecenter.Inbox;
 import com.urbanairship.messagecenter.Message;
 import com.urbanairship.messagecenter.MessageCenter;
 import com.urbanairship.push.PushMessage;
 import com.urbanairship.reactnative.events.NotificationOptInEvent;
 import com.urbanairship.reactnative.events.PushReceivedEvent;
+import com.urbanairship.reactnative.value.AttributeOperation;
+import com.urbanairship.reactnative.value.OperationParser;
+import com.urbanairship.reactnative.value.TagGroupOperation;
 import com.urbanairship.util.UAStringUtil;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static com.urbanairship.actions.ActionResult.STATUS_ACTION_NOT_FOUND;
 import static com.urbanairship.actions.ActionResult.STATUS_COMPLETED;
@@ -65,20 +81,6 @@ import static com.urbanairship.reactnative.Utils.convertJsonValue;
  */
 public class UrbanAirshipReactModule extends ReactContextBaseJavaModule {
 
-    private static final String TAG_OPERATION_GROUP_NAME = "group";
-    private static final String TAG_OPERATION_TYPE = "operationType";
-    private static final String TAG_OPERATION_TAGS = "tags";
-    private static final String TAG_OPERATION_ADD = "add";
-    private static final String TAG_OPERATION_REMOVE = "remove";
-    private static final String TAG_OPERATION_SET = "set";
-
-    private static final String ATTRIBUTE_OPERATION_KEY = "key";
-    private static final String ATTRIBUTE_OPERATION_VALUE = "value";
-    private static final String ATTRIBUTE_OPERATION_TYPE = "action";
-    private static final String ATTRIBUTE_OPERATION_SET = "set";
-    private static final String ATTRIBUTE_OPERATION_REMOVE = "remove";
-    private static final String ATTRIBUTE_OPERATION_VALUETYPE = "type";
-
     private static final String QUIET_TIME_START_HOUR = "startHour";
     private static final String QUIET_TIME_START_MINUTE = "startMinute";
     private static final String QUIET_TIME_END_HOUR = "endHour";
@@ -89,9 +91,26 @@ public class UrbanAirshipReactModule extends ReactContextBaseJavaModule {
     private static final String ACCENT_COLOR_KEY = "accentColor";
     private static final String DEFAULT_CHANNEL_ID_KEY = "defaultChannelId";
 
+
     static final String AUTO_LAUNCH_MESSAGE_CENTER = "com.urbanairship.auto_launch_message_center";
     static final String CLOSE_MESSAGE_CENTER = "CLOSE";
 
+    /**
+     * Runs inbox queries and search index updates in order, off the native modules thread.
+     */
+    static final Executor INBOX_EXECUTOR = AirshipExecutors.newSerialExecutor();
+
+    private static final String NOTIFICATION_ALERT = "alert";
+    private static final String NOTIFICATION_TITLE = "title";
+    private static final String NOTIFICATION_ID = "notificationId";
+
+    private static final String MESSAGE_IDS_KEY = "messageIds";
+    private static final String FILTER_KEY = "filter";
+
+    // Listeners added through the single listener methods, only touched on the native modules thread
+    private final Map<String, Integer> legacyListenerCounts = new HashMap<>();
+    private int legacyListenerCount;
+
     /**
      * Default constructor.
      *
@@ -110,11 +129,13 @@ public class UrbanAirshipReactModule extends ReactContextBaseJavaModule {
             public void onHostResume() {
                 // If the opt-in status changes send an event
                 checkOptIn(getReactApplicationContext());
+
+                EventEmitter.shared().onHostResume();
             }
 
             @Override
             public void onHostPause() {
-
+                EventEmitter.shared().onHostPause();
             }
 
             @Override
@@ -127,6 +148,14 @@ public class UrbanAirshipReactModule extends ReactContextBaseJavaModule {
         EventEmitter.shared().attachReactContext(getReactApplicationContext());
     }
 
+    @Override
+    public void onCatalystInstanceDestroy() {
+        super.onCatalystInstanceDestroy();
+
+        // Hand any unacked events over to the contexts that remain or attach next
+        EventEmitter.shared().detachReactContext(getReactApplicationContext());
+    }
+
     @NonNull
     @Override
     public String getName() {
@@ -137,22 +166,96 @@ public class UrbanAirshipReactModule extends ReactContextBaseJavaModule {
      * Called when a new listener is added for a specified event name.
      *
      * @param eventName The event name.
+     * @deprecated Use {@link #updateAndroidListeners(ReadableMap)} instead.
      */
+    @Deprecated
     @ReactMethod
     public void addAndroidListener(String eventName) {
         PluginLogger.info("UrbanAirshipReactModule - Event listener added: " + eventName);
-        EventEmitter.shared().addAndroidListener(eventName);
+
+        Integer count = legacyListenerCounts.get(eventName);
+        legacyListenerCounts.put(eventName, count == null ? 1 : count + 1);
+        legacyListenerCount++;
+
+        EventEmitter.shared().updateListeners(getReactApplicationContext(),
+                Collections.singletonMap(eventName, 1));
     }
 
     /**
-     * Called when listeners are removed.
+     * Called when listeners are removed. The count is not tied to an event name, so the
+     * listeners added with {@link #addAndroidListener(String)} are only removed once the count
+     * drops to zero.
      *
      * @param count The count of listeners.
+     * @deprecated Use {@link #updateAndroidListeners(ReadableMap)} instead.
      */
+    @Deprecated
     @ReactMethod
     public void removeAndroidListeners(int count) {
         PluginLogger.info("UrbanAirshipReactModule - Event listeners removed: " + count);
-        EventEmitter.shared().removeAndroidListeners(count);
+
+        legacyListenerCount -= count;
+        if (legacyListenerCount > 0) {
+            return;
+        }
+
+        Map<String, Integer> deltas = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : legacyListenerCounts.entrySet()) {
+            deltas.put(entry.getKey(), -entry.getValue());
+        }
+        legacyListenerCounts.clear();
+        legacyListenerCount = 0;
+
+        if (!deltas.isEmpty()) {
+            EventEmitter.shared().updateListeners(getReactApplicationContext(), deltas);
+        }
+    }
+
+    /**
+     * Called when listeners are added or removed. JS batches the changes made in a single tick.
+     *
+     * @param deltas The change in listener count, keyed by event name.
+     */
+    @ReactMethod
+    public void updateAndroidListeners(ReadableMap deltas) {
+        PluginLogger.info("UrbanAirshipReactModule - Event listeners updated: " + deltas);
+
+        Map<String, Integer> counts = new HashMap<>();
+        ReadableMapKeySetIterator iterator = deltas.keySetIterator();
+        while (iterator.hasNextKey()) {
+            String eventName = iterator.nextKey();
+            counts.put(eventName, deltas.getInt(eventName));
+        }
+
+        EventEmitter.shared().updateListeners(getReactApplicationContext(), counts);
+    }
+
+    /**
+     * Takes pending events for a set of event names in a single call.
+     *
+     * @param names The event names.
+     * @param maxCount The max number of events to take.
+     * @param promise The JS promise.
+     */
+    @ReactMethod
+    public void takePendingEvents(ReadableArray names, int maxCount, Promise promise) {
+        List<String> eventNames = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            eventNames.add(names.getString(i));
+        }
+
+        EventEmitter.shared().takePendingEvents(eventNames, maxCount, promise);
+    }
+
+    /**
+     * Acknowledges every event up to and including a sequence number. Only used when acks are
+     * enabled in the event emitter config.
+     *
+     * @param sequence The sequence number.
+     */
+    @ReactMethod
+    public void ackAndroidEvents(double sequence) {
+        EventEmitter.shared().ack(getReactApplicationContext(), (long) sequence);
     }
 
     @ReactMethod
@@ -173,6 +276,37 @@ public class UrbanAirshipReactModule extends ReactContextBaseJavaModule {
                 map.hasKey(DEFAULT_CHANNEL_ID_KEY) ? map.getString(DEFAULT_CHANNEL_ID_KEY) : null);
     }
 
+    /**
+     * Configures how events are delivered to the JS layer. Values not set fall back to the defaults.
+     * The config is persisted and applied on the next takeoff.
+     *
+     * @param map The event emitter config.
+     */
+    @ReactMethod
+    public void setAndroidEventEmitterConfig(ReadableMap map) {
+        EventEmitterConfig config = EventEmitterConfig.fromJson(Utils.convertMap(map));
+        ReactAirshipPreferences.shared().setEventEmitterConfig(getReactApplicationContext(), config);
+        EventEmitter.shared().setConfig(getReactApplicationContext(), config);
+    }
+
+    /**
+     * Gets the event emitter stats.
+     *
+     * @param promise The JS promise.
+     */
+    @ReactMethod
+    public void getEmitterStats(Promise promise) {
+        EventEmitter.shared().getStats(promise);
+    }
+
+    /**
+     * Resets the event emitter stats.
+     */
+    @ReactMethod
+    public void resetEmitterStats() {
+        EventEmitter.shared().resetStats();
+    }
+
     /**
      * Enables/Disables user notifications.
      *
@@ -557,29 +691,230 @@ public class UrbanAirshipReactModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public void getInboxMessages(Promise promise) {
+        promise.resolve(createMessagesArray(MessageCenter.shared().getInbox().getMessages()));
+    }
+
+    /**
+     * Queries the inbox messages. The query runs and the result is converted off the native
+     * modules thread.
+     *
+     * @param query The inbox query.
+     * @param promise The JS promise.
+     */
+    @ReactMethod
+    public void queryInboxMessages(ReadableMap query, Promise promise) {
+        queryInboxMessages(query, false, promise);
+    }
+
+    /**
+     * Queries the inbox messages and returns the page in columnar form.
+     *
+     * @param query The inbox query.
+     * @param promise The JS promise.
+     */
+    @ReactMethod
+    public void queryInboxMessagesColumnar(ReadableMap query, Promise promise) {
+        queryInboxMessages(query, true, promise);
+    }
+
+    /**
+     * Retrieves the current inbox messages in columnar form.
+     *
+     * @param promise The JS promise.
+     */
+    @ReactMethod
+    public void getInboxMessagesColumnar(final Promise promise) {
+        INBOX_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                promise.resolve(createMessagesColumns(MessageCenter.shared().getInbox().getMessages(), null));
+            }
+        });
+    }
+
+    /**
+     * Gets the inbox messages added, removed and changed since a snapshot version. The changes
+     * are computed and converted off the native modules thread.
+     *
+     * @param sinceVersion The snapshot version JS last rendered, or 0 for every message.
+     * @param promise The JS promise.
+     */
+    @ReactMethod
+    public void getInboxChanges(final double sinceVersion, final Promise promise) {
+        INBOX_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                InboxSnapshot snapshot = InboxSnapshot.shared();
+                InboxSnapshot.Changes changes;
+                synchronized (snapshot) {
+                    snapshot.update(MessageCenter.shared().getInbox().getMessages());
+                    changes = snapshot.getChanges((long) sinceVersion);
+                }
+
+                WritableArray removedArray = Arguments.createArray();
+                for (String messageId : changes.removed) {
+                    removedArray.pushString(messageId);
+                }
+
+                WritableMap resultMap = Arguments.createMap();
+                resultMap.putDouble("version", changes.version);
+                resultMap.putBoolean("reset", changes.reset);
+                resultMap.putArray("added", createMessagesArray(changes.added));
+                resultMap.putArray("changed", createMessagesArray(changes.changed));
+                resultMap.putArray("removed", removedArray);
+                resultMap.putInt("messageUnreadCount", changes.unreadCount);
+                resultMap.putInt("messageCount", changes.count);
+
+                promise.resolve(resultMap);
+            }
+        });
+    }
+
+    /**
+     * Searches the inbox message titles and extras. The search index is synced with the inbox
+     * and searched off the native modules thread.
+     *
+     * @param query The search query.
+     * @param limit The max number of results.
+     * @param promise The JS promise.
+     */
+    @ReactMethod
+    public void searchInbox(final String query, final int limit, final Promise promise) {
+        final Context context = getReactApplicationContext();
+        INBOX_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                Inbox inbox = MessageCenter.shared().getInbox();
+                InboxSnapshot snapshot = InboxSnapshot.shared();
+                synchronized (snapshot) {
+                    snapshot.update(inbox.getMessages());
+                }
+
+                InboxSearchIndex index = InboxSearchIndex.shared(context);
+                index.sync(snapshot);
+
+                WritableArray resultsArray = Arguments.createArray();
+                for (InboxSearchIndex.Result result : index.search(query, limit)) {
+                    Message message = inbox.getMessage(result.messageId);
+                    if (message == null) {
+                        continue;
+                    }
+
+                    WritableArray highlightsArray = Arguments.createArray();
+                    for (InboxSearchIndex.Highlight highlight : InboxSearchIndex.highlight(message, query)) {
+                        WritableMap highlightMap = Arguments.createMap();
+                        highlightMap.putString("field", highlight.field);
+                        if (highlight.key != null) {
+                            highlightMap.putString("key", highlight.key);
+                        }
+                        highlightMap.putInt("start", highlight.start);
+                        highlightMap.putInt("end", highlight.end);
+                        highlightsArray.pushMap(highlightMap);
+                    }
+
+                    WritableMap resultMap = Arguments.createMap();
+                    resultMap.putString("id", result.messageId);
+                    resultMap.putDouble("score", result.score);
+                    resultMap.putArray("highlights", highlightsArray);
+                    resultsArray.pushMap(resultMap);
+                }
+
+                promise.resolve(resultsArray);
+            }
+        });
+    }
+
+    /**
+     * Creates the JS representation of a list of inbox messages.
+     *
+     * @param messages The messages.
+     * @return The messages array.
+     */
+    @NonNull
+    static WritableArray createMessagesArray(@NonNull List<Message> messages) {
+        return createMessagesArray(messages, null);
+    }
+
+    /**
+     * Creates the JS representation of a list of inbox messages with only the given fields.
+     *
+     * @param messages The messages.
+     * @param fields The fields, or {@code null} for every field.
+     * @return The messages array.
+     */
+    @NonNull
+    static WritableArray createMessagesArray(@NonNull List<Message> messages, @Nullable Set<String> fields) {
         WritableArray messagesArray = Arguments.createArray();
 
-        for (Message message : MessageCenter.shared().getInbox().getMessages()) {
-            WritableMap messageMap = new WritableNativeMap();
-            messageMap.putString("title", message.getTitle());
-            messageMap.putString("id", message.getMessageId());
-            messageMap.putDouble("sentDate", message.getSentDate().getTime());
-            messageMap.putString("listIconUrl", message.getListIconUrl());
-            messageMap.putBoolean("isRead", message.isRead());
-            messageMap.putBoolean("isDeleted", message.isDeleted());
-
-            WritableMap extrasMap = new WritableNativeMap();
-            Bundle extras = message.getExtras();
-            for (String key : extras.keySet()) {
-                String value = String.valueOf(extras.get(key));
-                extrasMap.putString(key, value);
+        for (Message message : messages) {
+            WritableMap messageMap = Arguments.createMap();
+            messageMap.putString(InboxQuery.FIELD_ID, message.getMessageId());
+
+            if (fields == null || fields.contains(InboxQuery.FIELD_TITLE)) {
+                messageMap.putString(InboxQuery.FIELD_TITLE, message.getTitle());
+            }
+
+            if (fields == null || fields.contains(InboxQuery.FIELD_SENT_DATE)) {
+                messageMap.putDouble(InboxQuery.FIELD_SENT_DATE, message.getSentDate().getTime());
+            }
+
+            if (fields == null || fields.contains(InboxQuery.FIELD_LIST_ICON_URL)) {
+                messageMap.putString(InboxQuery.FIELD_LIST_ICON_URL, message.getListIconUrl());
+            }
+
+            if (fields == null || fields.contains(InboxQuery.FIELD_IS_READ)) {
+                messageMap.putBoolean(InboxQuery.FIELD_IS_READ, message.isRead());
+            }
+
+            if (fields == null || fields.contains(InboxQuery.FIELD_IS_DELETED)) {
+                messageMap.putBoolean(InboxQuery.FIELD_IS_DELETED, message.isDeleted());
+            }
+
+            if (fields == null || fields.contains(InboxQuery.FIELD_EXTRAS)) {
+                WritableMap extrasMap = Arguments.createMap();
+                Bundle extras = message.getExtras();
+                for (String key : extras.keySet()) {
+                    String value = String.valueOf(extras.get(key));
+                    extrasMap.putString(key, value);
+                }
+
+                messageMap.putMap(InboxQuery.FIELD_EXTRAS, extrasMap);
             }
 
-            messageMap.putMap("extras", extrasMap);
             messagesArray.pushMap(messageMap);
         }
 
-        promise.resolve(messagesArray);
+        return messagesArray;
+    }
+
+    /**
+     * Creates the columnar JS representation of a list of inbox messages with only the given
+     * fields.
+     *
+     * @param messages The messages.
+     * @param fields The fields, or {@code null} for every field.
+     * @return The messages columns.
+     */
+    @NonNull
+    static WritableMap createMessagesColumns(@NonNull List<Message> messages, @Nullable Set<String> fields) {
+        ColumnarWriter writer = new ColumnarWriter(fields != null ? fields : Arrays.asList(InboxQuery.FIELD_ID,
+                InboxQuery.FIELD_TITLE, InboxQuery.FIELD_SENT_DATE, InboxQuery.FIELD_LIST_ICON_URL,
+                InboxQuery.FIELD_IS_READ, InboxQuery.FIELD_IS_DELETED, InboxQuery.FIELD_EXTRAS));
+
+        for (Message message : messages) {
+            writer.putString(InboxQuery.FIELD_ID, message.getMessageId());
+            writer.putString(InboxQuery.FIELD_TITLE, message.getTitle());
+            writer.putDouble(InboxQuery.FIELD_SENT_DATE, message.getSentDate().getTime());
+            writer.putString(InboxQuery.FIELD_LIST_ICON_URL, message.getListIconUrl());
+            writer.putBoolean(InboxQuery.FIELD_IS_READ, message.isRead());
+            writer.putBoolean(InboxQuery.FIELD_IS_DELETED, message.isDeleted());
+            if (writer.hasColumn(InboxQuery.FIELD_EXTRAS)) {
+                writer.putExtras(new BundleCursor(message.getExtras(), null));
+            }
+            writer.endRow();
+        }
+
+        return writer.build();
     }
 
     /**
@@ -618,6 +953,28 @@ public class UrbanAirshipReactModule extends ReactContextBaseJavaModule {
         }
     }
 
+    /**
+     * Marks inbox messages as read in a single inbox update.
+     *
+     * @param selection The messages, selected by ID, by filter, or by ID and filter.
+     * @param promise The JS promise.
+     */
+    @ReactMethod
+    public void markInboxMessagesRead(ReadableMap selection, Promise promise) {
+        updateInboxMessages(selection, false, promise);
+    }
+
+    /**
+     * Deletes inbox messages in a single inbox update.
+     *
+     * @param selection The messages, selected by ID, by filter, or by ID and filter.
+     * @param promise The JS promise.
+     */
+    @ReactMethod
+    public void deleteInboxMessages(ReadableMap selection, Promise promise) {
+        updateInboxMessages(selection, true, promise);
+    }
+
     @ReactMethod
     public void clearNotifications() {
         NotificationManagerCompat.from(UAirship.getApplicationContext()).cancelAll();
@@ -654,7 +1011,7 @@ public class UrbanAirshipReactModule extends ReactContextBaseJavaModule {
 
 
     /**
-     * Retrieves the current inbox messages.
+     * Retrieves the active notifications.
      *
      * @param promise The JS promise.
      */
@@ -663,22 +1020,10 @@ public class UrbanAirshipReactModule extends ReactContextBaseJavaModule {
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
             WritableArray notifications = Arguments.createArray();
 
-            NotificationManager notificationManager = (NotificationManager) UAirship.getApplicationContext().getSystemService(Context.NOTIFICATION_SERVICE);
-            StatusBarNotification[] statusBarNotifications = notificationManager.getActiveNotifications();
-
-            for (StatusBarNotification statusBarNotification : statusBarNotifications) {
+            for (StatusBarNotification statusBarNotification : getStatusBarNotifications()) {
                 int id = statusBarNotification.getId();
                 String tag = statusBarNotification.getTag();
-
-                PushMessage pushMessage;
-                Bundle extras = statusBarNotification.getNotification().extras;
-                Bundle bundle = extras == null ? null : extras.getBundle("push_message");
-
-                if (bundle != null) {
-                    pushMessage = new PushMessage(bundle);
-                } else {
-                    pushMessage = new PushMessage(new Bundle());
-                }
+                PushMessage pushMessage = getPushMessage(statusBarNotification);
 
                 notifications.pushMap(new PushReceivedEvent(pushMessage, id, tag).getBody());
             }
@@ -689,6 +1034,60 @@ public class UrbanAirshipReactModule extends ReactContextBaseJavaModule {
         }
     }
 
+    /**
+     * Retrieves the active notifications in columnar form. The notifications are read and
+     * converted off the native modules thread.
+     *
+     * @param promise The JS promise.
+     */
+    @ReactMethod
+    public void getActiveNotificationsColumnar(final Promise promise) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+            promise.reject("UNSUPPORTED", "Getting active notifications is only supported on Marshmallow and newer devices.");
+            return;
+        }
+
+        INBOX_EXECUTOR.execute(new Runnable() {
+            @RequiresApi(api = Build.VERSION_CODES.M)
+            @Override
+            public void run() {
+                ColumnarWriter writer = new ColumnarWriter(Arrays.asList(NOTIFICATION_ALERT, NOTIFICATION_TITLE,
+                        NOTIFICATION_ID, ColumnarWriter.FIELD_EXTRAS));
+
+                for (StatusBarNotification statusBarNotification : getStatusBarNotifications()) {
+                    PushMessage pushMessage = getPushMessage(statusBarNotification);
+
+                    writer.putString(NOTIFICATION_ALERT, pushMessage.getAlert());
+                    writer.putString(NOTIFICATION_TITLE, pushMessage.getTitle());
+                    writer.putString(NOTIFICATION_ID, PushReceivedEvent.getNotificationId(statusBarNotification.getId(), statusBarNotification.getTag()));
+                    writer.putExtras(PushReceivedEvent.createExtrasCursor(pushMessage));
+                    writer.endRow();
+                }
+
+                promise.resolve(writer.build());
+            }
+        });
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.M)
+    @NonNull
+    private static StatusBarNotification[] getStatusBarNotifications() {
+        NotificationManager notificationManager = (NotificationManager) UAirship.getApplicationContext().getSystemService(Context.NOTIFICATION_SERVICE);
+        return notificationManager.getActiveNotifications();
+    }
+
+    @NonNull
+    private static PushMessage getPushMessage(@NonNull StatusBarNotification statusBarNotification) {
+        Bundle extras = statusBarNotification.getNotification().extras;
+        Bundle bundle = extras == null ? null : extras.getBundle("push_message");
+
+        if (bundle != null) {
+            return new PushMessage(bundle);
+        } else {
+            return new PushMessage(new Bundle());
+        }
+    }
+
 
     /**
      * Forces the inbox to refresh. This is normally not needed as the inbox will automatically refresh on foreground or when a push arrives thats associated with a message.
@@ -723,40 +1122,117 @@ public class UrbanAirshipReactModule extends ReactContextBaseJavaModule {
     }
 
     /**
-     * Helper method to apply tag group changes.
+     * Helper method to run an inbox query off the native modules thread.
      *
-     * @param editor The tag group editor.
-     * @param operations A list of tag group operations.
+     * @param query The inbox query.
+     * @param columnar {@code true} to return the page in columnar form.
+     * @param promise The JS promise.
      */
-    private static void applyTagGroupOperations(@NonNull TagGroupsEditor editor, @NonNull ReadableArray operations) {
-        for (int i = 0; i < operations.size(); i++) {
-            ReadableMap operation = operations.getMap(i);
-            if (operation == null) {
-                continue;
-            }
+    private static void queryInboxMessages(ReadableMap query, final boolean columnar, final Promise promise) {
+        final InboxQuery inboxQuery;
+        try {
+            inboxQuery = InboxQuery.fromJson(Utils.convertMap(query));
+        } catch (JsonException e) {
+            promise.reject("INVALID_QUERY", e.getMessage(), e);
+            return;
+        }
+
+        INBOX_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                InboxQuery.Result result = inboxQuery.apply(MessageCenter.shared().getInbox().getMessages());
+
+                WritableMap resultMap = Arguments.createMap();
+                if (columnar) {
+                    resultMap.putMap("messages", createMessagesColumns(result.messages, inboxQuery.fields));
+                } else {
+                    resultMap.putArray("messages", createMessagesArray(result.messages, inboxQuery.fields));
+                }
+                resultMap.putInt("totalCount", result.totalCount);
+                if (result.nextCursor != null) {
+                    resultMap.putString("nextCursor", result.nextCursor);
+                }
 
-            String group = operation.getString(TAG_OPERATION_GROUP_NAME);
-            ReadableArray tags = operation.getArray(TAG_OPERATION_TAGS);
-            String operationType = operation.getString(TAG_OPERATION_TYPE);
+                promise.resolve(resultMap);
+            }
+        });
+    }
 
-            if (group == null || tags == null || operationType == null) {
-                continue;
+    /**
+     * Helper method to mark read or delete a selection of inbox messages.
+     *
+     * @param selection The messages, selected by ID, by filter, or by ID and filter.
+     * @param delete {@code true} to delete the messages, {@code false} to mark them read.
+     * @param promise The JS promise.
+     */
+    private static void updateInboxMessages(ReadableMap selection, final boolean delete, final Promise promise) {
+        JsonMap json = Utils.convertMap(selection);
+
+        final List<String> messageIds;
+        if (json.opt(MESSAGE_IDS_KEY).isJsonList()) {
+            messageIds = new ArrayList<>();
+            for (JsonValue messageId : json.opt(MESSAGE_IDS_KEY).optList()) {
+                if (messageId.isString()) {
+                    messageIds.add(messageId.getString());
+                }
             }
+        } else {
+            messageIds = null;
+        }
+
+        final InboxQuery filter;
+        try {
+            filter = json.opt(FILTER_KEY).isJsonMap() ? InboxQuery.fromJson(json.opt(FILTER_KEY).optMap()) : null;
+        } catch (JsonException e) {
+            promise.reject("INVALID_QUERY", e.getMessage(), e);
+            return;
+        }
 
-            HashSet<String> tagSet = new HashSet<>();
-            for (int j = 0; j < tags.size(); j++) {
-                String tag = tags.getString(j);
-                if (tag != null) {
-                    tagSet.add(tags.getString(j));
+        if (messageIds == null && filter == null) {
+            promise.reject("INVALID_SELECTION", "Messages must be selected by ID or filter.");
+            return;
+        }
+
+        final InboxSelection inboxSelection = new InboxSelection(messageIds, filter);
+        INBOX_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                InboxSelection.Result result = inboxSelection.apply(MessageCenter.shared().getInbox(), delete);
+
+                WritableMap resultsMap = Arguments.createMap();
+                for (Map.Entry<String, String> entry : result.statuses.entrySet()) {
+                    resultsMap.putString(entry.getKey(), entry.getValue());
                 }
+
+                WritableMap resultMap = Arguments.createMap();
+                resultMap.putInt("updatedCount", result.updatedCount);
+                resultMap.putMap("results", resultsMap);
+                promise.resolve(resultMap);
             }
+        });
+    }
 
-            if (TAG_OPERATION_ADD.equals(operationType)) {
-                editor.addTags(group, tagSet);
-            } else if (TAG_OPERATION_REMOVE.equals(operationType)) {
-                editor.removeTags(group, tagSet);
-            } else if (TAG_OPERATION_SET.equals(operationType)) {
-                editor.setTags(group, tagSet);
+    /**
+     * Helper method to apply tag group changes.
+     *
+     * @param editor The tag group editor.
+     * @param operations A list of tag group operations.
+     */
+    private static void applyTagGroupOperations(@NonNull TagGroupsEditor editor, @NonNull ReadableArray operations) {
+        for (TagGroupOperation operation : OperationParser.parseTagGroupOperations(new ReadableCursor(operations))) {
+            String group = operation.getGroup();
+            switch (operation.getType()) {
+                case TagGroupOperation.ADD:
+                    editor.addTags(group, operation.getTags());
+                    break;
+
+                case TagGroupOperation.REMOVE:
+                    editor.removeTags(group, operation.getTags());
+                    break;
+
+                case TagGroupOperation.SET:
+                    editor.setTags(group, operation.getTags());
+                    break;
             }
         }
 
@@ -770,36 +1246,30 @@ public class UrbanAirshipReactModule extends ReactContextBaseJavaModule {
      * @param operations A list of attribute operations.
      */
     private static void applyAttributeOperations(@NonNull AttributeEditor editor, @NonNull ReadableArray operations) {
-        for (int i = 0; i < operations.size(); i++) {
-            ReadableMap operation = operations.getMap(i);
-            if (operation == null) {
-                continue;
-            }
-
-            String action = operation.getString(ATTRIBUTE_OPERATION_TYPE);
-            String key = operation.getString(ATTRIBUTE_OPERATION_KEY);
-
-            if (action == null || key == null) {
-                continue;
-            }
-
-            if (ATTRIBUTE_OPERATION_SET.equals(action)) {
-                String valueType = (String) operation.getString(ATTRIBUTE_OPERATION_VALUETYPE);
-                if ("string".equals(valueType)) {
-                    String value = operation.getString(ATTRIBUTE_OPERATION_VALUE);
-                    if (value == null) {
+        for (AttributeOperation operation : OperationParser.parseAttributeOperations(new ReadableCursor(operations))) {
+            String key = operation.getKey();
+            if (AttributeOperation.SET.equals(operation.getAction())) {
+                String valueType = operation.getValueType();
+                if (AttributeOperation.TYPE_STRING.equals(valueType)) {
+                    if (operation.getStringValue() == null) {
+                        continue;
+                    }
+                    editor.setAttribute(key, operation.getStringValue());
+                } else if (AttributeOperation.TYPE_NUMBER.equals(valueType)) {
+                    if (!operation.hasNumberValue()) {
+                        PluginLogger.warn("UrbanAirshipReactModule - Skipping attribute %s, the value is not a number", key);
+                        continue;
+                    }
+                    editor.setAttribute(key, operation.getNumberValue());
+                } else if (AttributeOperation.TYPE_DATE.equals(valueType)) {
+                    if (!operation.hasNumberValue()) {
+                        PluginLogger.warn("UrbanAirshipReactModule - Skipping attribute %s, the date is not a number", key);
                         continue;
                     }
-                    editor.setAttribute(key, value);
-                } else if ("number".equals(valueType)) {
-                    double value = operation.getDouble(ATTRIBUTE_OPERATION_VALUE);
-                    editor.setAttribute(key, value);
-                } else if ("date".equals(valueType)) {
-                    double value = operation.getDouble(ATTRIBUTE_OPERATION_VALUE);
                     // JavaScript's date type doesn't pass through the JS to native bridge. Dates are instead serialized as milliseconds since epoch.
-                    editor.setAttribute(key, new Date((long)value));
+                    editor.setAttribute(key, new Date((long) operation.getNumberValue()));
                 }
-            } else if (ATTRIBUTE_OPERATION_REMOVE.equals(action)) {
+            } else if (AttributeOperation.REMOVE.equals(operation.getAction())) {
                 editor.removeAttribute(key);
             }
         }
@@ -5,26 +5,37 @@ import android.graphics.Color;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Dynamic;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.ReadableType;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
+import com.urbanairship.json.JsonList;
 import com.urbanairship.json.JsonMap;
 import com.urbanairship.json.JsonValue;
 import com.urbanairship.util.UAStringUtil;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Module utils.
  */
-class Utils {
+public class Utils {
+
+    /**
+     * Largest integer a double can hold exactly, matching {@code Number.MAX_SAFE_INTEGER} in JS.
+     */
+    private static final double MAX_SAFE_INTEGER = 9007199254740991d;
 
     /**
      * Converts a dynamic object into a {@link JsonValue}.
@@ -38,9 +49,6 @@ class Utils {
         }
 
         switch (object.getType()) {
-            case Null:
-                return JsonValue.NULL;
-
             case Boolean:
                 return JsonValue.wrapOpt(object.asBoolean());
 
@@ -48,31 +56,193 @@ class Utils {
                 return JsonValue.wrapOpt(object.asString());
 
             case Number:
-                return JsonValue.wrapOpt(object.asDouble());
+                return wrapNumber(object.asDouble());
 
             case Map:
-                ReadableMap map = object.asMap();
-                JsonMap.Builder mapBuilder = JsonMap.newBuilder();
+                return convertReadable(new ReadableFrame(object.asMap(), null));
 
-                ReadableMapKeySetIterator iterator = map.keySetIterator();
-                while (iterator.hasNextKey()) {
-                    String key = iterator.nextKey();
-                    mapBuilder.putOpt(key, convertDynamic(map.getDynamic(key)));
-                }
+            case Array:
+                return convertReadable(new ReadableFrame(object.asArray(), null));
 
-                return mapBuilder.build().toJsonValue();
+            default:
+                return JsonValue.NULL;
+        }
+    }
 
-            case Array:
-                List<JsonValue> jsonValues = new ArrayList<>();
-                ReadableArray array = object.asArray();
-                for (int i = 0; i < array.size(); i++) {
-                    jsonValues.add(convertDynamic(array.getDynamic(i)));
+    /**
+     * Converts a readable map into a {@link JsonMap}.
+     *
+     * @param map The readable map.
+     * @return A {@link JsonMap}.
+     */
+    @NonNull
+    public static JsonMap convertMap(@NonNull ReadableMap map) {
+        return convertReadable(new ReadableFrame(map, null)).optMap();
+    }
+
+    /**
+     * Wraps a JS number, keeping whole numbers as an int or long.
+     *
+     * @param number The number.
+     * @return A {@link JsonValue}.
+     */
+    @NonNull
+    private static JsonValue wrapNumber(double number) {
+        if (number == Math.rint(number)) {
+            if (number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+                return JsonValue.wrap((int) number);
+            }
+
+            if (Math.abs(number) <= MAX_SAFE_INTEGER) {
+                return JsonValue.wrap((long) number);
+            }
+        }
+
+        return JsonValue.wrapOpt(number);
+    }
+
+    /**
+     * Converts a readable map or array without recursion. Nested containers are pushed onto an
+     * explicit stack and added to their parent once all of their values have been converted.
+     *
+     * @param root The frame for the root container.
+     * @return A {@link JsonValue}.
+     */
+    @NonNull
+    private static JsonValue convertReadable(@NonNull ReadableFrame root) {
+        ArrayDeque<ReadableFrame> stack = new ArrayDeque<>();
+        stack.push(root);
+
+        while (true) {
+            ReadableFrame frame = stack.peek();
+
+            if (frame.hasNext()) {
+                String key = frame.nextKey();
+                switch (frame.getType(key)) {
+                    case Boolean:
+                        frame.add(key, JsonValue.wrap(frame.getBoolean(key)));
+                        break;
+
+                    case Number:
+                        frame.add(key, wrapNumber(frame.getDouble(key)));
+                        break;
+
+                    case String:
+                        frame.add(key, JsonValue.wrap(frame.getString(key)));
+                        break;
+
+                    case Map:
+                        stack.push(new ReadableFrame(frame.getMap(key), key));
+                        break;
+
+                    case Array:
+                        stack.push(new ReadableFrame(frame.getArray(key), key));
+                        break;
+
+                    default:
+                        frame.add(key, JsonValue.NULL);
+                        break;
                 }
+                continue;
+            }
 
-                return JsonValue.wrapOpt(jsonValues);
+            stack.pop();
+            JsonValue value = frame.build();
+            ReadableFrame parent = stack.peek();
+            if (parent == null) {
+                return value;
+            }
 
-            default:
-                return JsonValue.NULL;
+            parent.add(frame.parentKey, value);
+        }
+    }
+
+    /**
+     * A readable map or array being converted, along with the value being built from it.
+     */
+    private static class ReadableFrame {
+
+        private final ReadableMap map;
+        private final ReadableMapKeySetIterator keys;
+        private final JsonMap.Builder mapBuilder;
+
+        private final ReadableArray array;
+        private final List<JsonValue> list;
+        private int index;
+
+        private final String parentKey;
+
+        ReadableFrame(@NonNull ReadableMap map, @Nullable String parentKey) {
+            this.map = map;
+            this.keys = map.keySetIterator();
+            this.mapBuilder = JsonMap.newBuilder();
+            this.array = null;
+            this.list = null;
+            this.parentKey = parentKey;
+        }
+
+        ReadableFrame(@NonNull ReadableArray array, @Nullable String parentKey) {
+            this.map = null;
+            this.keys = null;
+            this.mapBuilder = null;
+            this.array = array;
+            this.list = new ArrayList<>(array.size());
+            this.parentKey = parentKey;
+        }
+
+        boolean hasNext() {
+            return map != null ? keys.hasNextKey() : index < array.size();
+        }
+
+        /**
+         * Advances to the next value. Array values are looked up by index, so their key is
+         * {@code null}.
+         */
+        @Nullable
+        String nextKey() {
+            if (map != null) {
+                return keys.nextKey();
+            }
+
+            index++;
+            return null;
+        }
+
+        ReadableType getType(String key) {
+            return map != null ? map.getType(key) : array.getType(index - 1);
+        }
+
+        boolean getBoolean(String key) {
+            return map != null ? map.getBoolean(key) : array.getBoolean(index - 1);
+        }
+
+        double getDouble(String key) {
+            return map != null ? map.getDouble(key) : array.getDouble(index - 1);
+        }
+
+        String getString(String key) {
+            return map != null ? map.getString(key) : array.getString(index - 1);
+        }
+
+        ReadableMap getMap(String key) {
+            return map != null ? map.getMap(key) : array.getMap(index - 1);
+        }
+
+        ReadableArray getArray(String key) {
+            return map != null ? map.getArray(key) : array.getArray(index - 1);
+        }
+
+        void add(@Nullable String key, @NonNull JsonValue value) {
+            if (mapBuilder != null) {
+                mapBuilder.put(key, value);
+            } else {
+                list.add(value);
+            }
+        }
+
+        @NonNull
+        JsonValue build() {
+            return mapBuilder != null ? mapBuilder.build().toJsonValue() : new JsonList(list).toJsonValue();
         }
     }
 
@@ -119,101 +289,166 @@ class Utils {
     /**
      * Converts a JsonValue into either a WritableArray, WritableMap, or primitive type.
      *
+     * Nested lists and maps are converted without recursion. Each value is dispatched once on its
+     * wrapped type, and containers are only added to their parent once they are complete since the
+     * native writable collections consume their children.
+     *
      * @param value The JsonValue.
      * @return The converted object.
      */
-    static Object convertJsonValue(JsonValue value) {
-        if (value.isNull()) {
-            return null;
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public static Object convertJsonValue(JsonValue value) {
+        Object root = value.getValue();
+        if (!(root instanceof JsonMap) && !(root instanceof JsonList)) {
+            return root;
         }
 
-        if (value.isJsonList()) {
-            WritableArray array = Arguments.createArray();
-            for (JsonValue arrayValue : value.optList()) {
-                if (arrayValue.isNull()) {
-                    array.pushNull();
-                    continue;
+        ArrayDeque<WritableFrame> stack = new ArrayDeque<>();
+        stack.push(new WritableFrame(root, null));
+
+        while (true) {
+            WritableFrame frame = stack.peek();
+
+            if (frame.hasNext()) {
+                String key = frame.nextKey();
+                Object child = frame.nextValue().getValue();
+
+                if (child == null) {
+                    frame.putNull(key);
+                } else if (child instanceof String) {
+                    frame.putString(key, (String) child);
+                } else if (child instanceof Boolean) {
+                    frame.putBoolean(key, (Boolean) child);
+                } else if (child instanceof Integer) {
+                    frame.putInt(key, (Integer) child);
+                } else if (child instanceof Number) {
+                    frame.putDouble(key, ((Number) child).doubleValue());
+                } else if (child instanceof JsonMap || child instanceof JsonList) {
+                    stack.push(new WritableFrame(child, key));
                 }
+                continue;
+            }
 
-                if (arrayValue.isBoolean()) {
-                    array.pushBoolean(arrayValue.getBoolean(false));
-                    continue;
-                }
+            stack.pop();
+            WritableFrame parent = stack.peek();
+            if (parent == null) {
+                return frame.map != null ? frame.map : frame.array;
+            }
 
-                if (arrayValue.isInteger()) {
-                    array.pushInt(arrayValue.getInt(0));
-                    continue;
-                }
+            if (frame.map != null) {
+                parent.putMap(frame.parentKey, frame.map);
+            } else {
+                parent.putArray(frame.parentKey, frame.array);
+            }
+        }
+    }
 
-                if (arrayValue.isDouble() || arrayValue.isNumber()) {
-                    array.pushDouble(arrayValue.getDouble(0));
-                    continue;
-                }
+    /**
+     * A JSON map or list being converted, along with the writable collection being built from it.
+     */
+    private static class WritableFrame {
 
-                if (arrayValue.isString()) {
-                    array.pushString(arrayValue.getString());
-                    continue;
-                }
+        private final Iterator<Map.Entry<String, JsonValue>> entries;
+        private final WritableMap map;
+        private Map.Entry<String, JsonValue> entry;
 
-                if (arrayValue.isJsonList()) {
-                    array.pushArray((WritableArray) convertJsonValue(arrayValue));
-                    continue;
-                }
+        private final Iterator<JsonValue> values;
+        private final WritableArray array;
 
-                if (arrayValue.isJsonMap()) {
-                    array.pushMap((WritableMap) convertJsonValue(arrayValue));
-                }
-            }
+        private final String parentKey;
 
-            return array;
+        WritableFrame(@NonNull Object value, @Nullable String parentKey) {
+            if (value instanceof JsonMap) {
+                this.entries = ((JsonMap) value).entrySet().iterator();
+                this.map = Arguments.createMap();
+                this.values = null;
+                this.array = null;
+            } else {
+                this.entries = null;
+                this.map = null;
+                this.values = ((JsonList) value).iterator();
+                this.array = Arguments.createArray();
+            }
+            this.parentKey = parentKey;
         }
 
-        if (value.isJsonMap()) {
-            WritableMap map = Arguments.createMap();
-            for (Map.Entry<String, JsonValue> entry : value.optMap().entrySet()) {
+        boolean hasNext() {
+            return map != null ? entries.hasNext() : values.hasNext();
+        }
 
-                String key = entry.getKey();
-                JsonValue mapValue = entry.getValue();
+        /**
+         * Advances to the next value. List values have no key, so {@code null} is returned.
+         */
+        @Nullable
+        String nextKey() {
+            if (map != null) {
+                entry = entries.next();
+                return entry.getKey();
+            }
 
-                if (mapValue.isNull()) {
-                    map.putNull(key);
-                    continue;
-                }
+            return null;
+        }
 
-                if (mapValue.isBoolean()) {
-                    map.putBoolean(key, mapValue.getBoolean(false));
-                    continue;
-                }
+        @NonNull
+        JsonValue nextValue() {
+            return map != null ? entry.getValue() : values.next();
+        }
 
-                if (mapValue.isInteger()) {
-                    map.putInt(key, mapValue.getInt(0));
-                    continue;
-                }
+        void putNull(String key) {
+            if (map != null) {
+                map.putNull(key);
+            } else {
+                array.pushNull();
+            }
+        }
 
-                if (mapValue.isDouble() || mapValue.isNumber()) {
-                    map.putDouble(key, mapValue.getDouble(0));
-                    continue;
-                }
+        void putBoolean(String key, boolean value) {
+            if (map != null) {
+                map.putBoolean(key, value);
+            } else {
+                array.pushBoolean(value);
+            }
+        }
 
-                if (mapValue.isString()) {
-                    map.putString(key, mapValue.getString());
-                    continue;
-                }
+        void putInt(String key, int value) {
+            if (map != null) {
+                map.putInt(key, value);
+            } else {
+                array.pushInt(value);
+            }
+        }
 
-                if (mapValue.isJsonList()) {
-                    map.putArray(key, (WritableArray) convertJsonValue(mapValue));
-                    continue;
-                }
+        void putDouble(String key, double value) {
+            if (map != null) {
+                map.putDouble(key, value);
+            } else {
+                array.pushDouble(value);
+            }
+        }
 
-                if (mapValue.isJsonMap()) {
-                    map.putMap(key, (WritableMap) convertJsonValue(mapValue));
-                }
+        void putString(String key, String value) {
+            if (map != null) {
+                map.putString(key, value);
+            } else {
+                array.pushString(value);
             }
+        }
 
-            return map;
+        void putMap(String key, WritableMap value) {
+            if (map != null) {
+                map.putMap(key, value);
+            } else {
+                array.pushMap(value);
+            }
         }
 
-        return value.getValue();
+        void putArray(String key, WritableArray value) {
+            if (map != null) {
+                map.putArray(key, value);
+            } else {
+                array.pushArray(value);
+            }
+        }
     }
 
 }
@@ -0,0 +1,145 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.urbanairship.reactnative.value.ValueSink;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link ValueSink} that builds values to send to JS.
+ *
+ * Native writable collections consume their children when they are added, so a map or array is
+ * only added to its parent once it has been closed. A root primitive is returned as is.
+ */
+public class WritableSink implements ValueSink<Object> {
+
+    private final List<Object> containers = new ArrayList<>();
+    private final List<String> keys = new ArrayList<>();
+    private Object root;
+
+    @Override
+    public void beginMap(@Nullable String key, int size) {
+        containers.add(Arguments.createMap());
+        keys.add(key);
+    }
+
+    @Override
+    public void beginList(@Nullable String key, int size) {
+        containers.add(Arguments.createArray());
+        keys.add(key);
+    }
+
+    @Override
+    public void end() {
+        Object container = containers.remove(containers.size() - 1);
+        String key = keys.remove(keys.size() - 1);
+
+        if (containers.isEmpty()) {
+            root = container;
+            return;
+        }
+
+        Object parent = containers.get(containers.size() - 1);
+        if (container instanceof WritableMap) {
+            if (parent instanceof WritableMap) {
+                ((WritableMap) parent).putMap(key, (WritableMap) container);
+            } else {
+                ((WritableArray) parent).pushMap((WritableMap) container);
+            }
+        } else {
+            if (parent instanceof WritableMap) {
+                ((WritableMap) parent).putArray(key, (WritableArray) container);
+            } else {
+                ((WritableArray) parent).pushArray((WritableArray) container);
+            }
+        }
+    }
+
+    @Override
+    public void putNull(@Nullable String key) {
+        Object parent = getParent();
+        if (parent instanceof WritableMap) {
+            ((WritableMap) parent).putNull(key);
+        } else if (parent != null) {
+            ((WritableArray) parent).pushNull();
+        } else {
+            root = null;
+        }
+    }
+
+    @Override
+    public void putBoolean(@Nullable String key, boolean value) {
+        Object parent = getParent();
+        if (parent instanceof WritableMap) {
+            ((WritableMap) parent).putBoolean(key, value);
+        } else if (parent != null) {
+            ((WritableArray) parent).pushBoolean(value);
+        } else {
+            root = value;
+        }
+    }
+
+    @Override
+    public void putInt(@Nullable String key, int value) {
+        Object parent = getParent();
+        if (parent instanceof WritableMap) {
+            ((WritableMap) parent).putInt(key, value);
+        } else if (parent != null) {
+            ((WritableArray) parent).pushInt(value);
+        } else {
+            root = value;
+        }
+    }
+
+    @Override
+    public void putLong(@Nullable String key, long value) {
+        Object parent = getParent();
+        if (parent == null) {
+            root = value;
+        } else {
+            putDouble(key, value);
+        }
+    }
+
+    @Override
+    public void putDouble(@Nullable String key, double value) {
+        Object parent = getParent();
+        if (parent instanceof WritableMap) {
+            ((WritableMap) parent).putDouble(key, value);
+        } else if (parent != null) {
+            ((WritableArray) parent).pushDouble(value);
+        } else {
+            root = value;
+        }
+    }
+
+    @Override
+    public void putString(@Nullable String key, @Nullable String value) {
+        Object parent = getParent();
+        if (parent instanceof WritableMap) {
+            ((WritableMap) parent).putString(key, value);
+        } else if (parent != null) {
+            ((WritableArray) parent).pushString(value);
+        } else {
+            root = value;
+        }
+    }
+
+    @Nullable
+    @Override
+    public Object build() {
+        return root;
+    }
+
+    @Nullable
+    private Object getParent() {
+        return containers.isEmpty() ? null : containers.get(containers.size() - 1);
+    }
+}
@@ -3,15 +3,17 @@
 package com.urbanairship.reactnative.events;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
-import com.urbanairship.reactnative.Event;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.reactnative.BufferedEvent;
 
 /**
  * Deep link event.
  */
-public class DeepLinkEvent implements Event {
+public class DeepLinkEvent implements BufferedEvent {
 
     private static final String DEEP_LINK_EVENT = "com.urbanairship.deep_link";
     private static final String DEEP_LINK = "deepLink";
@@ -39,4 +41,23 @@ public class DeepLinkEvent implements Event {
         map.putString(DEEP_LINK, deepLink);
         return map;
     }
+
+    @NonNull
+    @Override
+    public JsonMap getJsonBody() {
+        JsonMap.Builder builder = JsonMap.newBuilder();
+        builder.put(DEEP_LINK, deepLink);
+        return builder.build();
+    }
+
+    @Nullable
+    @Override
+    public String getCoalescingKey() {
+        return null;
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_INTERACTIVE;
+    }
 }
@@ -3,33 +3,40 @@
 package com.urbanairship.reactnative.events;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
-import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
-import com.urbanairship.reactnative.Event;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.reactnative.BufferedEvent;
+import com.urbanairship.reactnative.Utils;
 
 /**
  * Inbox updated event.
  */
-public class InboxUpdatedEvent implements Event {
+public class InboxUpdatedEvent implements BufferedEvent {
 
-    private static final String INBOX_UPDATED_EVENT = "com.urbanairship.inbox_updated";
+    public static final String INBOX_UPDATED_EVENT = "com.urbanairship.inbox_updated";
     private static final String MESSAGE_UNREAD_COUNT = "messageUnreadCount";
     private static final String MESSAGE_COUNT = "messageCount";
+    private static final String VERSION = "version";
 
-    private final int unreadCount;
-    private final int count;
+    private final JsonMap body;
 
     /**
      * Default constructor.
      *
      * @param unreadCount The number of unread messages in the message center.
      * @param count The number of total messages in the message center.
+     * @param version The inbox snapshot version.
      */
-    public InboxUpdatedEvent(int unreadCount, int count) {
-        this.unreadCount = unreadCount;
-        this.count = count;
+    public InboxUpdatedEvent(int unreadCount, int count, long version) {
+        this.body = JsonMap.newBuilder()
+                           .put(MESSAGE_UNREAD_COUNT, unreadCount)
+                           .put(MESSAGE_COUNT, count)
+                           .put(VERSION, version)
+                           .build();
     }
+
     @NonNull
     @Override
     public String getName() {
@@ -39,10 +46,23 @@ public class InboxUpdatedEvent implements Event {
     @NonNull
     @Override
     public WritableMap getBody() {
-        WritableMap map = Arguments.createMap();
-        map.putInt(MESSAGE_UNREAD_COUNT, unreadCount);
-        map.putInt(MESSAGE_COUNT, count);
+        return (WritableMap) Utils.convertJsonValue(body.toJsonValue());
+    }
+
+    @NonNull
+    @Override
+    public JsonMap getJsonBody() {
+        return body;
+    }
 
-        return map;
+    @Nullable
+    @Override
+    public String getCoalescingKey() {
+        return INBOX_UPDATED_EVENT;
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_LOW;
     }
 }
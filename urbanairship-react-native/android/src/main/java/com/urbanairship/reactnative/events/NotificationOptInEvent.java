@@ -3,21 +3,23 @@
 package com.urbanairship.reactnative.events;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
-import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
-import com.urbanairship.reactnative.Event;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.reactnative.BufferedEvent;
+import com.urbanairship.reactnative.Utils;
 
 
 /**
  * Notification opt-in status event.
  */
-public class NotificationOptInEvent implements Event {
+public class NotificationOptInEvent implements BufferedEvent {
 
-    private static final String NOTIFICATION_OPT_IN_STATUS_EVENT = "com.urbanairship.notification_opt_in_status";
+    public static final String NOTIFICATION_OPT_IN_STATUS_EVENT = "com.urbanairship.notification_opt_in_status";
     private static final String OPT_IN = "optIn";
 
-    private final boolean optInStatus;
+    private final JsonMap body;
 
     /**
      * Default constructor.
@@ -25,7 +27,9 @@ public class NotificationOptInEvent implements Event {
      * @param optInStatus The app opt-in status.
      */
     public NotificationOptInEvent(boolean optInStatus) {
-        this.optInStatus = optInStatus;
+        this.body = JsonMap.newBuilder()
+                           .put(OPT_IN, optInStatus)
+                           .build();
     }
 
     @NonNull
@@ -37,9 +41,23 @@ public class NotificationOptInEvent implements Event {
     @NonNull
     @Override
     public WritableMap getBody() {
-        WritableMap map = Arguments.createMap();
-        map.putBoolean(OPT_IN, optInStatus);
-        return map;
+        return (WritableMap) Utils.convertJsonValue(body.toJsonValue());
     }
 
+    @NonNull
+    @Override
+    public JsonMap getJsonBody() {
+        return body;
+    }
+
+    @Nullable
+    @Override
+    public String getCoalescingKey() {
+        return NOTIFICATION_OPT_IN_STATUS_EVENT;
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_LOW;
+    }
 }
@@ -5,21 +5,23 @@ package com.urbanairship.reactnative.events;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.urbanairship.push.NotificationActionButtonInfo;
 import com.urbanairship.push.NotificationInfo;
-import com.urbanairship.reactnative.Event;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.push.PushMessage;
+import com.urbanairship.reactnative.BufferedEvent;
+import com.urbanairship.reactnative.JsonValueSink;
+import com.urbanairship.reactnative.WritableSink;
+import com.urbanairship.reactnative.value.EventBodyWriter;
+import com.urbanairship.reactnative.value.ValueSink;
 
 /**
  * Notification response event.
  */
-public class NotificationResponseEvent implements Event {
+public class NotificationResponseEvent implements BufferedEvent {
 
-    private static final String NOTIFICATION_RESPONSE_EVENT = "com.urbanairship.notification_response";
-    private static final String RESPONSE_ACTION_ID = "actionId";
-    private static final String RESPONSE_FOREGROUND = "isForeground";
-    private static final String RESPONSE_NOTIFICATION = "notification";
+    public static final String NOTIFICATION_RESPONSE_EVENT = "com.urbanairship.notification_response";
 
     private final NotificationInfo notificationInfo;
     private final NotificationActionButtonInfo actionButtonInfo;
@@ -53,16 +55,38 @@ public class NotificationResponseEvent implements Event {
     @NonNull
     @Override
     public WritableMap getBody() {
-        WritableMap map = Arguments.createMap();
-        map.putMap(RESPONSE_NOTIFICATION, new PushReceivedEvent(notificationInfo).getBody());
+        WritableSink sink = new WritableSink();
+        writeBody(sink);
+        return (WritableMap) sink.build();
+    }
+
+    @NonNull
+    @Override
+    public JsonMap getJsonBody() {
+        JsonValueSink sink = new JsonValueSink();
+        writeBody(sink);
+        return sink.build().optMap();
+    }
 
-        if (actionButtonInfo != null) {
-            map.putString(RESPONSE_ACTION_ID, actionButtonInfo.getButtonId());
-            map.putBoolean(RESPONSE_FOREGROUND, actionButtonInfo.isForeground());
-        } else {
-            map.putBoolean(RESPONSE_FOREGROUND, true);
-        }
+    private void writeBody(@NonNull ValueSink<?> sink) {
+        PushMessage message = notificationInfo.getMessage();
+        String notificationId = PushReceivedEvent.getNotificationId(notificationInfo.getNotificationId(),
+                notificationInfo.getNotificationTag());
 
-        return map;
+        EventBodyWriter.writeNotificationResponse(sink, message.getAlert(), message.getTitle(), notificationId,
+                PushReceivedEvent.createExtrasCursor(message),
+                actionButtonInfo == null ? null : actionButtonInfo.getButtonId(),
+                actionButtonInfo == null || actionButtonInfo.isForeground());
+    }
+
+    @Nullable
+    @Override
+    public String getCoalescingKey() {
+        return null;
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_INTERACTIVE;
     }
 }
@@ -2,26 +2,29 @@
 
 package com.urbanairship.reactnative.events;
 
-import android.os.Bundle;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
-import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
+import com.urbanairship.json.JsonMap;
 import com.urbanairship.push.NotificationInfo;
 import com.urbanairship.push.PushMessage;
-import com.urbanairship.reactnative.Event;
+import com.urbanairship.reactnative.BundleCursor;
+import com.urbanairship.reactnative.BufferedEvent;
+import com.urbanairship.reactnative.JsonValueSink;
+import com.urbanairship.reactnative.WritableSink;
+import com.urbanairship.reactnative.value.EventBodyWriter;
+import com.urbanairship.reactnative.value.ValueCursor;
+import com.urbanairship.reactnative.value.ValueSink;
 import com.urbanairship.util.UAStringUtil;
 
 /**
  * Push received event.
  */
-public class PushReceivedEvent implements Event {
+public class PushReceivedEvent implements BufferedEvent {
 
-    private static final String PUSH_RECEIVED_EVENT = "com.urbanairship.push_received";
-    private static final String PUSH_ALERT = "alert";
-    private static final String PUSH_TITLE = "title";
-    private static final String PUSH_EXTRAS = "extras";
-    private static final String NOTIFICATION_ID = "notificationId";
+    public static final String PUSH_RECEIVED_EVENT = "com.urbanairship.push_received";
+    private static final String WAKE_LOCK_ID = "android.support.content.wakelockid";
 
     private final PushMessage message;
     private Integer notificationId;
@@ -67,28 +70,59 @@ public class PushReceivedEvent implements Event {
     @NonNull
     @Override
     public WritableMap getBody() {
-        WritableMap map = Arguments.createMap();
+        WritableSink sink = new WritableSink();
+        writeBody(sink);
+        return (WritableMap) sink.build();
+    }
 
-        if (message.getAlert() != null) {
-            map.putString(PUSH_ALERT, message.getAlert());
-        }
+    @NonNull
+    @Override
+    public JsonMap getJsonBody() {
+        JsonValueSink sink = new JsonValueSink();
+        writeBody(sink);
+        return sink.build().optMap();
+    }
 
-        if (message.getTitle() != null) {
-            map.putString(PUSH_TITLE, message.getTitle());
-        }
+    private void writeBody(@NonNull ValueSink<?> sink) {
+        EventBodyWriter.writePush(sink, null, message.getAlert(), message.getTitle(),
+                getNotificationId(notificationId, notificationTag), createExtrasCursor(message));
+    }
 
-        if (notificationId != null) {
-            map.putString(NOTIFICATION_ID, getNotificationId(notificationId, notificationTag));
-        }
+    @Nullable
+    @Override
+    public String getCoalescingKey() {
+        return null;
+    }
 
-        Bundle bundle = new Bundle(message.getPushBundle());
-        bundle.remove("android.support.content.wakelockid");
-        map.putMap(PUSH_EXTRAS, Arguments.fromBundle(bundle));
+    @Override
+    public int getPriority() {
+        return PRIORITY_NORMAL;
+    }
 
-        return map;
+    /**
+     * Creates a cursor over the push extras that reads the push bundle without copying it.
+     *
+     * @param message The push message.
+     * @return The cursor.
+     */
+    @NonNull
+    public static ValueCursor createExtrasCursor(@NonNull PushMessage message) {
+        return new BundleCursor(message.getPushBundle(), WAKE_LOCK_ID);
     }
 
-    private static String getNotificationId(int notificationId, String notificationTag) {
+    /**
+     * Gets the notification ID sent to JS.
+     *
+     * @param notificationId The notification ID, or {@code null} if the push was not posted.
+     * @param notificationTag The notification tag.
+     * @return The notification ID, or {@code null}.
+     */
+    @Nullable
+    public static String getNotificationId(@Nullable Integer notificationId, @Nullable String notificationTag) {
+        if (notificationId == null) {
+            return null;
+        }
+
         String id = String.valueOf(notificationId);
         if (!UAStringUtil.isEmpty(notificationTag)) {
             id += ":" + notificationTag;
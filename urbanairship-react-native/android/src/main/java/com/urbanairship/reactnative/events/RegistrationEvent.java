@@ -5,21 +5,21 @@ package com.urbanairship.reactnative.events;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
-import com.urbanairship.reactnative.Event;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.reactnative.BufferedEvent;
+import com.urbanairship.reactnative.Utils;
 
 /**
  * Registration event.
  */
-public class RegistrationEvent implements Event {
+public class RegistrationEvent implements BufferedEvent {
 
-    private static final String CHANNEL_REGISTRATION_EVENT = "com.urbanairship.registration";
+    public static final String CHANNEL_REGISTRATION_EVENT = "com.urbanairship.registration";
     private static final String CHANNEL_ID = "channelId";
     private static final String REGISTRATION_TOKEN = "registrationToken";
 
-    private final String channelId;
-    private final String registrationToken;
+    private final JsonMap body;
 
     /**
      * Default constructor.
@@ -28,8 +28,10 @@ public class RegistrationEvent implements Event {
      * @param registrationToken The registration token.
      */
     public RegistrationEvent(@NonNull String channelId, @Nullable  String registrationToken) {
-        this.channelId = channelId;
-        this.registrationToken = registrationToken;
+        this.body = JsonMap.newBuilder()
+                           .put(CHANNEL_ID, channelId)
+                           .putOpt(REGISTRATION_TOKEN, registrationToken)
+                           .build();
     }
 
     @NonNull
@@ -41,13 +43,23 @@ public class RegistrationEvent implements Event {
     @NonNull
     @Override
     public WritableMap getBody() {
-        WritableMap map = Arguments.createMap();
-        map.putString(CHANNEL_ID, channelId);
+        return (WritableMap) Utils.convertJsonValue(body.toJsonValue());
+    }
 
-        if (registrationToken != null) {
-            map.putString(REGISTRATION_TOKEN, registrationToken);
-        }
+    @NonNull
+    @Override
+    public JsonMap getJsonBody() {
+        return body;
+    }
 
-        return map;
+    @Nullable
+    @Override
+    public String getCoalescingKey() {
+        return CHANNEL_REGISTRATION_EVENT;
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_LOW;
     }
 }
@@ -7,12 +7,13 @@ import androidx.annotation.Nullable;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
-import com.urbanairship.reactnative.Event;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.reactnative.BufferedEvent;
 
 /**
  * Show inbox event.
  */
-public class ShowInboxEvent implements Event {
+public class ShowInboxEvent implements BufferedEvent {
 
     private static final String SHOW_INBOX_EVENT = "com.urbanairship.show_inbox";
     private static final String MESSAGE_ID = "messageId";
@@ -41,4 +42,23 @@ public class ShowInboxEvent implements Event {
         map.putString(MESSAGE_ID, messageId);
         return map;
     }
+
+    @NonNull
+    @Override
+    public JsonMap getJsonBody() {
+        JsonMap.Builder builder = JsonMap.newBuilder();
+        builder.put(MESSAGE_ID, messageId);
+        return builder.build();
+    }
+
+    @Nullable
+    @Override
+    public String getCoalescingKey() {
+        return null;
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_INTERACTIVE;
+    }
 }
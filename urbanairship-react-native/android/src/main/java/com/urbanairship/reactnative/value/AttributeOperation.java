@@ -0,0 +1,105 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.value;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A parsed attribute operation.
+ */
+public class AttributeOperation {
+
+    public static final String SET = "set";
+    public static final String REMOVE = "remove";
+
+    public static final String TYPE_STRING = "string";
+    public static final String TYPE_NUMBER = "number";
+    public static final String TYPE_DATE = "date";
+
+    private final String action;
+    private final String key;
+    private final String valueType;
+    private final String stringValue;
+    private final boolean hasNumberValue;
+    private final double numberValue;
+
+    /**
+     * Default constructor.
+     *
+     * @param action The action.
+     * @param key The attribute key.
+     * @param valueType The value type, or {@code null}.
+     * @param stringValue The string value, or {@code null}.
+     * @param hasNumberValue {@code true} if the value is a number, otherwise {@code false}.
+     * @param numberValue The number value.
+     */
+    AttributeOperation(@NonNull String action, @NonNull String key, @Nullable String valueType,
+                       @Nullable String stringValue, boolean hasNumberValue, double numberValue) {
+        this.action = action;
+        this.key = key;
+        this.valueType = valueType;
+        this.stringValue = stringValue;
+        this.hasNumberValue = hasNumberValue;
+        this.numberValue = numberValue;
+    }
+
+    /**
+     * The action, either {@link #SET} or {@link #REMOVE}.
+     *
+     * @return The action.
+     */
+    @NonNull
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * The attribute key.
+     *
+     * @return The attribute key.
+     */
+    @NonNull
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * The value type, either {@link #TYPE_STRING}, {@link #TYPE_NUMBER} or {@link #TYPE_DATE}.
+     *
+     * @return The value type, or {@code null} if not set.
+     */
+    @Nullable
+    public String getValueType() {
+        return valueType;
+    }
+
+    /**
+     * The string value.
+     *
+     * @return The string value, or {@code null} if the value is not a string.
+     */
+    @Nullable
+    public String getStringValue() {
+        return stringValue;
+    }
+
+    /**
+     * Checks if the value is a number.
+     *
+     * @return {@code true} if the value is a number, otherwise {@code false}.
+     */
+    public boolean hasNumberValue() {
+        return hasNumberValue;
+    }
+
+    /**
+     * The number value. Dates are sent as milliseconds since the epoch.
+     *
+     * @return The number value, or 0 if the value is not a number. Check {@link #hasNumberValue()}
+     * to tell a missing value from 0.
+     */
+    public double getNumberValue() {
+        return numberValue;
+    }
+}
@@ -0,0 +1,81 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.value;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Writes the bodies of push events to a {@link ValueSink}.
+ */
+public final class EventBodyWriter {
+
+    private static final String PUSH_ALERT = "alert";
+    private static final String PUSH_TITLE = "title";
+    private static final String PUSH_EXTRAS = "extras";
+    private static final String NOTIFICATION_ID = "notificationId";
+
+    private static final String RESPONSE_ACTION_ID = "actionId";
+    private static final String RESPONSE_FOREGROUND = "isForeground";
+    private static final String RESPONSE_NOTIFICATION = "notification";
+
+    private EventBodyWriter() {}
+
+    /**
+     * Writes a push body.
+     *
+     * @param sink The sink.
+     * @param key The key in the enclosing map, or {@code null}.
+     * @param alert The alert, or {@code null}.
+     * @param title The title, or {@code null}.
+     * @param notificationId The notification ID, or {@code null} if the push was not posted.
+     * @param extras A cursor over the push extras map.
+     */
+    public static void writePush(@NonNull ValueSink<?> sink, @Nullable String key, @Nullable String alert,
+                                 @Nullable String title, @Nullable String notificationId,
+                                 @NonNull ValueCursor extras) {
+        sink.beginMap(key, 4);
+
+        if (alert != null) {
+            sink.putString(PUSH_ALERT, alert);
+        }
+
+        if (title != null) {
+            sink.putString(PUSH_TITLE, title);
+        }
+
+        if (notificationId != null) {
+            sink.putString(NOTIFICATION_ID, notificationId);
+        }
+
+        ValueCopier.write(extras, sink, PUSH_EXTRAS);
+
+        sink.end();
+    }
+
+    /**
+     * Writes a notification response body.
+     *
+     * @param sink The sink.
+     * @param alert The alert, or {@code null}.
+     * @param title The title, or {@code null}.
+     * @param notificationId The notification ID, or {@code null}.
+     * @param extras A cursor over the push extras map.
+     * @param actionId The action button ID, or {@code null} if the notification itself was tapped.
+     * @param foreground {@code true} if the response brings the app to the foreground.
+     */
+    public static void writeNotificationResponse(@NonNull ValueSink<?> sink, @Nullable String alert,
+                                                 @Nullable String title, @Nullable String notificationId,
+                                                 @NonNull ValueCursor extras, @Nullable String actionId,
+                                                 boolean foreground) {
+        sink.beginMap(null, 3);
+        writePush(sink, RESPONSE_NOTIFICATION, alert, title, notificationId, extras);
+
+        if (actionId != null) {
+            sink.putString(RESPONSE_ACTION_ID, actionId);
+        }
+
+        sink.putBoolean(RESPONSE_FOREGROUND, foreground);
+        sink.end();
+    }
+}
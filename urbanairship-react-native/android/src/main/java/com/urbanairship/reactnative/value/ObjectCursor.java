@@ -0,0 +1,300 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.value;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link ValueCursor} over plain Java values.
+ *
+ * Maps with string keys are read as maps, and collections and arrays are read as lists. Strings,
+ * characters, booleans and numbers are read as their matching type. Anything else is read as null.
+ * Subclasses can expose other map-like containers by overriding the map hooks.
+ */
+public class ObjectCursor implements ValueCursor {
+
+    private final List<Frame> stack = new ArrayList<>();
+    private Frame frame;
+
+    private String key;
+    private Object value;
+    private ValueType type = ValueType.NULL;
+
+    /**
+     * Default constructor.
+     *
+     * @param root The root value.
+     */
+    public ObjectCursor(@Nullable Object root) {
+        this.frame = new Frame(Collections.singletonList(root));
+    }
+
+    @Override
+    public boolean next() {
+        while (frame.hasNext()) {
+            if (frame.entries != null) {
+                Map.Entry<String, ?> entry = frame.entries.next();
+                if (!isIncluded(frame.container, entry.getKey())) {
+                    continue;
+                }
+
+                key = entry.getKey();
+                value = entry.getValue();
+            } else if (frame.keys != null) {
+                String nextKey = frame.keys.next();
+                if (!isIncluded(frame.container, nextKey)) {
+                    continue;
+                }
+
+                key = nextKey;
+                value = getMapValue(frame.container, nextKey);
+            } else if (frame.items != null) {
+                key = null;
+                value = frame.items.next();
+            } else {
+                key = null;
+                value = Array.get(frame.container, frame.index++);
+            }
+
+            type = getValueType(value);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Nullable
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @NonNull
+    @Override
+    public ValueType getType() {
+        return type;
+    }
+
+    @Override
+    public boolean getBoolean() {
+        return (Boolean) value;
+    }
+
+    @Override
+    public int getInt() {
+        return ((Number) value).intValue();
+    }
+
+    @Override
+    public long getLong() {
+        return ((Number) value).longValue();
+    }
+
+    @Override
+    public double getDouble() {
+        return ((Number) value).doubleValue();
+    }
+
+    @NonNull
+    @Override
+    public String getString() {
+        return value instanceof String ? (String) value : String.valueOf(value);
+    }
+
+    @Override
+    public int getSize() {
+        if (type == ValueType.MAP) {
+            return getMapSize(value);
+        }
+
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+
+        if (value != null && value.getClass().isArray()) {
+            return Array.getLength(value);
+        }
+
+        return -1;
+    }
+
+    @Override
+    public void enter() {
+        stack.add(frame);
+        if (value instanceof Map) {
+            frame = new Frame(value, getMapEntries(value), null);
+        } else if (type == ValueType.MAP) {
+            frame = new Frame(value, null, getMapKeys(value));
+        } else if (value instanceof Iterable) {
+            frame = new Frame((Iterable<?>) value);
+        } else {
+            frame = new Frame(value);
+        }
+    }
+
+    @Override
+    public void exit() {
+        frame = stack.remove(stack.size() - 1);
+    }
+
+    /**
+     * Checks if a value is a map.
+     *
+     * @param value The value.
+     * @return {@code true} if the value is a map, otherwise {@code false}.
+     */
+    protected boolean isMap(@NonNull Object value) {
+        return value instanceof Map;
+    }
+
+    /**
+     * Gets the keys of a map-like value that is not a {@link Map}. Maps are read through their
+     * entries instead.
+     *
+     * @param map The map.
+     * @return The keys.
+     */
+    @NonNull
+    protected Iterator<String> getMapKeys(@NonNull Object map) {
+        throw new IllegalArgumentException("Unsupported map: " + map.getClass());
+    }
+
+    /**
+     * Gets a value from a map-like value that is not a {@link Map}.
+     *
+     * @param map The map.
+     * @param key The key.
+     * @return The value.
+     */
+    @Nullable
+    protected Object getMapValue(@NonNull Object map, @NonNull String key) {
+        throw new IllegalArgumentException("Unsupported map: " + map.getClass());
+    }
+
+    /**
+     * Gets the size of a map.
+     *
+     * @param map The map.
+     * @return The size, or -1 if unknown.
+     */
+    protected int getMapSize(@NonNull Object map) {
+        return map instanceof Map ? ((Map<?, ?>) map).size() : -1;
+    }
+
+    @NonNull
+    @SuppressWarnings("unchecked")
+    private static Iterator<? extends Map.Entry<String, ?>> getMapEntries(@NonNull Object map) {
+        return ((Map<String, ?>) map).entrySet().iterator();
+    }
+
+    /**
+     * Checks if a map entry should be read. Excluded entries are skipped.
+     *
+     * @param map The map.
+     * @param key The key.
+     * @return {@code true} to read the entry, otherwise {@code false}.
+     */
+    protected boolean isIncluded(@NonNull Object map, @NonNull String key) {
+        return true;
+    }
+
+    @NonNull
+    private ValueType getValueType(@Nullable Object value) {
+        if (value == null) {
+            return ValueType.NULL;
+        }
+
+        if (value instanceof String || value instanceof Character) {
+            return ValueType.STRING;
+        }
+
+        if (value instanceof Boolean) {
+            return ValueType.BOOLEAN;
+        }
+
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ValueType.INT;
+        }
+
+        if (value instanceof Long) {
+            return ValueType.LONG;
+        }
+
+        if (value instanceof Number) {
+            return ValueType.DOUBLE;
+        }
+
+        if (isMap(value)) {
+            return ValueType.MAP;
+        }
+
+        if (value instanceof Iterable || value.getClass().isArray()) {
+            return ValueType.LIST;
+        }
+
+        return ValueType.NULL;
+    }
+
+    /**
+     * A container being read.
+     */
+    private static class Frame {
+
+        private final Object container;
+        private final Iterator<? extends Map.Entry<String, ?>> entries;
+        private final Iterator<String> keys;
+        private final Iterator<?> items;
+        private final int length;
+        private int index;
+
+        Frame(@NonNull Object map, @Nullable Iterator<? extends Map.Entry<String, ?>> entries,
+              @Nullable Iterator<String> keys) {
+            this.container = map;
+            this.entries = entries;
+            this.keys = keys;
+            this.items = null;
+            this.length = 0;
+        }
+
+        Frame(@NonNull Iterable<?> iterable) {
+            this.container = iterable;
+            this.entries = null;
+            this.keys = null;
+            this.items = iterable.iterator();
+            this.length = 0;
+        }
+
+        Frame(@NonNull Object array) {
+            this.container = array;
+            this.entries = null;
+            this.keys = null;
+            this.items = null;
+            this.length = Array.getLength(array);
+        }
+
+        boolean hasNext() {
+            if (entries != null) {
+                return entries.hasNext();
+            }
+
+            if (keys != null) {
+                return keys.hasNext();
+            }
+
+            if (items != null) {
+                return items.hasNext();
+            }
+
+            return index < length;
+        }
+    }
+}
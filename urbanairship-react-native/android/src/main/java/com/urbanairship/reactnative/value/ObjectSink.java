@@ -0,0 +1,89 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.value;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link ValueSink} that builds plain Java maps, lists and boxed primitives.
+ */
+public class ObjectSink implements ValueSink<Object> {
+
+    private final List<Object> stack = new ArrayList<>();
+    private Object root;
+
+    @Override
+    public void beginMap(@Nullable String key, int size) {
+        Map<String, Object> map = size < 0 ? new HashMap<String, Object>() : new HashMap<String, Object>((int) (size / 0.75f) + 1);
+        add(key, map);
+        stack.add(map);
+    }
+
+    @Override
+    public void beginList(@Nullable String key, int size) {
+        List<Object> list = size < 0 ? new ArrayList<>() : new ArrayList<>(size);
+        add(key, list);
+        stack.add(list);
+    }
+
+    @Override
+    public void end() {
+        stack.remove(stack.size() - 1);
+    }
+
+    @Override
+    public void putNull(@Nullable String key) {
+        add(key, null);
+    }
+
+    @Override
+    public void putBoolean(@Nullable String key, boolean value) {
+        add(key, value);
+    }
+
+    @Override
+    public void putInt(@Nullable String key, int value) {
+        add(key, value);
+    }
+
+    @Override
+    public void putLong(@Nullable String key, long value) {
+        add(key, value);
+    }
+
+    @Override
+    public void putDouble(@Nullable String key, double value) {
+        add(key, value);
+    }
+
+    @Override
+    public void putString(@Nullable String key, @Nullable String value) {
+        add(key, value);
+    }
+
+    @Nullable
+    @Override
+    public Object build() {
+        return root;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void add(@Nullable String key, @Nullable Object value) {
+        if (stack.isEmpty()) {
+            root = value;
+            return;
+        }
+
+        Object container = stack.get(stack.size() - 1);
+        if (container instanceof Map) {
+            ((Map<String, Object>) container).put(key, value);
+        } else {
+            ((List<Object>) container).add(value);
+        }
+    }
+}
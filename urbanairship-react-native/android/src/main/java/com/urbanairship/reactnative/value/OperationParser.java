@@ -0,0 +1,162 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.value;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses tag group and attribute operations sent from JS. Malformed operations are skipped.
+ */
+public final class OperationParser {
+
+    private static final String TAG_OPERATION_GROUP_NAME = "group";
+    private static final String TAG_OPERATION_TYPE = "operationType";
+    private static final String TAG_OPERATION_TAGS = "tags";
+
+    private static final String ATTRIBUTE_OPERATION_KEY = "key";
+    private static final String ATTRIBUTE_OPERATION_VALUE = "value";
+    private static final String ATTRIBUTE_OPERATION_TYPE = "action";
+    private static final String ATTRIBUTE_OPERATION_VALUETYPE = "type";
+
+    private OperationParser() {}
+
+    /**
+     * Parses a list of tag group operations.
+     *
+     * @param cursor A cursor positioned before the list.
+     * @return The operations.
+     */
+    @NonNull
+    public static List<TagGroupOperation> parseTagGroupOperations(@NonNull ValueCursor cursor) {
+        List<TagGroupOperation> operations = new ArrayList<>();
+        if (!enterList(cursor)) {
+            return operations;
+        }
+
+        while (cursor.next()) {
+            if (cursor.getType() != ValueType.MAP) {
+                continue;
+            }
+
+            cursor.enter();
+            String group = null;
+            String type = null;
+            Set<String> tags = null;
+            while (cursor.next()) {
+                String key = cursor.getKey();
+                ValueType valueType = cursor.getType();
+                if (TAG_OPERATION_GROUP_NAME.equals(key) && valueType == ValueType.STRING) {
+                    group = cursor.getString();
+                } else if (TAG_OPERATION_TYPE.equals(key) && valueType == ValueType.STRING) {
+                    type = cursor.getString();
+                } else if (TAG_OPERATION_TAGS.equals(key) && valueType == ValueType.LIST) {
+                    tags = readStrings(cursor);
+                }
+            }
+            cursor.exit();
+
+            if (group != null && type != null && tags != null) {
+                operations.add(new TagGroupOperation(type, group, tags));
+            }
+        }
+
+        cursor.exit();
+        return operations;
+    }
+
+    /**
+     * Parses a list of attribute operations.
+     *
+     * @param cursor A cursor positioned before the list.
+     * @return The operations.
+     */
+    @NonNull
+    public static List<AttributeOperation> parseAttributeOperations(@NonNull ValueCursor cursor) {
+        List<AttributeOperation> operations = new ArrayList<>();
+        if (!enterList(cursor)) {
+            return operations;
+        }
+
+        while (cursor.next()) {
+            if (cursor.getType() != ValueType.MAP) {
+                continue;
+            }
+
+            cursor.enter();
+            String action = null;
+            String attributeKey = null;
+            String valueType = null;
+            String stringValue = null;
+            boolean hasNumberValue = false;
+            double numberValue = 0;
+            while (cursor.next()) {
+                String key = cursor.getKey();
+                ValueType type = cursor.getType();
+                if (ATTRIBUTE_OPERATION_TYPE.equals(key) && type == ValueType.STRING) {
+                    action = cursor.getString();
+                } else if (ATTRIBUTE_OPERATION_KEY.equals(key) && type == ValueType.STRING) {
+                    attributeKey = cursor.getString();
+                } else if (ATTRIBUTE_OPERATION_VALUETYPE.equals(key) && type == ValueType.STRING) {
+                    valueType = cursor.getString();
+                } else if (ATTRIBUTE_OPERATION_VALUE.equals(key)) {
+                    if (type == ValueType.STRING) {
+                        stringValue = cursor.getString();
+                    } else if (type == ValueType.INT || type == ValueType.LONG || type == ValueType.DOUBLE) {
+                        hasNumberValue = true;
+                        numberValue = cursor.getDouble();
+                    }
+                }
+            }
+            cursor.exit();
+
+            if (action != null && attributeKey != null) {
+                operations.add(new AttributeOperation(action, attributeKey, valueType, stringValue, hasNumberValue, numberValue));
+            }
+        }
+
+        cursor.exit();
+        return operations;
+    }
+
+    /**
+     * Moves into the root list.
+     *
+     * @param cursor The cursor.
+     * @return {@code true} if the root is a list, otherwise {@code false}.
+     */
+    private static boolean enterList(@NonNull ValueCursor cursor) {
+        if (!cursor.next() || cursor.getType() != ValueType.LIST) {
+            return false;
+        }
+
+        cursor.enter();
+        return true;
+    }
+
+    /**
+     * Reads the strings in the current list entry. Other values are skipped.
+     *
+     * @param cursor The cursor, positioned on the list.
+     * @return The strings.
+     */
+    @NonNull
+    private static Set<String> readStrings(@NonNull ValueCursor cursor) {
+        int size = cursor.getSize();
+        Set<String> strings = size < 0 ? new HashSet<String>() : new HashSet<String>((int) (size / 0.75f) + 1);
+
+        cursor.enter();
+        while (cursor.next()) {
+            if (cursor.getType() == ValueType.STRING) {
+                strings.add(cursor.getString());
+            }
+        }
+        cursor.exit();
+
+        return strings;
+    }
+}
@@ -0,0 +1,64 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.value;
+
+import androidx.annotation.NonNull;
+
+import java.util.Set;
+
+/**
+ * A parsed tag group operation.
+ */
+public class TagGroupOperation {
+
+    public static final String ADD = "add";
+    public static final String REMOVE = "remove";
+    public static final String SET = "set";
+
+    private final String type;
+    private final String group;
+    private final Set<String> tags;
+
+    /**
+     * Default constructor.
+     *
+     * @param type The operation type.
+     * @param group The tag group.
+     * @param tags The tags.
+     */
+    TagGroupOperation(@NonNull String type, @NonNull String group, @NonNull Set<String> tags) {
+        this.type = type;
+        this.group = group;
+        this.tags = tags;
+    }
+
+    /**
+     * The operation type, either {@link #ADD}, {@link #REMOVE} or {@link #SET}.
+     *
+     * @return The operation type.
+     */
+    @NonNull
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * The tag group.
+     *
+     * @return The tag group.
+     */
+    @NonNull
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * The tags.
+     *
+     * @return The tags.
+     */
+    @NonNull
+    public Set<String> getTags() {
+        return tags;
+    }
+}
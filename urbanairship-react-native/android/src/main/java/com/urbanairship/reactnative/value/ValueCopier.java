@@ -0,0 +1,104 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.value;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Copies values from a {@link ValueCursor} to a {@link ValueSink}.
+ *
+ * The copy is iterative, so the depth of a value is only limited by the heap, and each entry is
+ * dispatched once on its type.
+ */
+public final class ValueCopier {
+
+    private ValueCopier() {}
+
+    /**
+     * Copies the root value of a cursor.
+     *
+     * @param cursor The cursor, positioned before the root.
+     * @param sink The sink.
+     * @param <T> The type of the built value.
+     * @return The built value.
+     */
+    @Nullable
+    public static <T> T copy(@NonNull ValueCursor cursor, @NonNull ValueSink<T> sink) {
+        write(cursor, sink, null);
+        return sink.build();
+    }
+
+    /**
+     * Writes the next value of a cursor to a sink under the given key. Only that value, including
+     * everything nested in it, is consumed.
+     *
+     * @param cursor The cursor.
+     * @param sink The sink.
+     * @param key The key to write the value under, or {@code null}.
+     * @return {@code true} if a value was written, or {@code false} if the cursor had no next value.
+     */
+    public static boolean write(@NonNull ValueCursor cursor, @NonNull ValueSink<?> sink, @Nullable String key) {
+        if (!cursor.next()) {
+            return false;
+        }
+
+        int depth = 0;
+        String currentKey = key;
+        while (true) {
+            switch (cursor.getType()) {
+                case MAP:
+                    sink.beginMap(currentKey, cursor.getSize());
+                    cursor.enter();
+                    depth++;
+                    break;
+
+                case LIST:
+                    sink.beginList(currentKey, cursor.getSize());
+                    cursor.enter();
+                    depth++;
+                    break;
+
+                case BOOLEAN:
+                    sink.putBoolean(currentKey, cursor.getBoolean());
+                    break;
+
+                case INT:
+                    sink.putInt(currentKey, cursor.getInt());
+                    break;
+
+                case LONG:
+                    sink.putLong(currentKey, cursor.getLong());
+                    break;
+
+                case DOUBLE:
+                    sink.putDouble(currentKey, cursor.getDouble());
+                    break;
+
+                case STRING:
+                    sink.putString(currentKey, cursor.getString());
+                    break;
+
+                default:
+                    sink.putNull(currentKey);
+                    break;
+            }
+
+            // Move to the next entry, closing every container that has run out
+            while (true) {
+                if (depth == 0) {
+                    return true;
+                }
+
+                if (cursor.next()) {
+                    currentKey = cursor.getKey();
+                    break;
+                }
+
+                cursor.exit();
+                sink.end();
+                depth--;
+            }
+        }
+    }
+}
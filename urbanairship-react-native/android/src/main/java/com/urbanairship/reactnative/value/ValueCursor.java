@@ -0,0 +1,95 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.value;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Reads a tree of values one entry at a time, without recursion.
+ *
+ * A cursor starts positioned before a single root value. {@link #next()} moves to the next entry of
+ * the current container, {@link #enter()} descends into the current entry if it is a map or list,
+ * and {@link #exit()} returns to the parent container. Entries that are never entered are skipped.
+ *
+ * Implementations exist for the bridge types and for plain Java collections, so the logic built on
+ * top of a cursor can run and be measured on any JVM.
+ */
+public interface ValueCursor {
+
+    /**
+     * Moves to the next entry of the current container.
+     *
+     * @return {@code true} if there is an entry, or {@code false} at the end of the container.
+     */
+    boolean next();
+
+    /**
+     * The key of the current entry.
+     *
+     * @return The key, or {@code null} if the entry is the root or part of a list.
+     */
+    @Nullable
+    String getKey();
+
+    /**
+     * The type of the current entry.
+     *
+     * @return The value type.
+     */
+    @NonNull
+    ValueType getType();
+
+    /**
+     * Reads the current entry as a boolean.
+     *
+     * @return The value.
+     */
+    boolean getBoolean();
+
+    /**
+     * Reads the current entry as an int.
+     *
+     * @return The value.
+     */
+    int getInt();
+
+    /**
+     * Reads the current entry as a long.
+     *
+     * @return The value.
+     */
+    long getLong();
+
+    /**
+     * Reads the current entry as a double.
+     *
+     * @return The value.
+     */
+    double getDouble();
+
+    /**
+     * Reads the current entry as a string.
+     *
+     * @return The value.
+     */
+    @NonNull
+    String getString();
+
+    /**
+     * The number of entries in the current map or list entry, if it is cheap to know.
+     *
+     * @return The size, or -1 if unknown.
+     */
+    int getSize();
+
+    /**
+     * Descends into the current map or list entry.
+     */
+    void enter();
+
+    /**
+     * Returns to the parent container. The parent is positioned on the entry that was entered.
+     */
+    void exit();
+}
@@ -0,0 +1,93 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.value;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Builds a tree of values from calls made in document order.
+ *
+ * Every value is written with the key it has in the enclosing map, or a {@code null} key if it is
+ * the root or part of a list. Containers are opened with a begin call and closed with
+ * {@link #end()}.
+ *
+ * @param <T> The type of the built root value.
+ */
+public interface ValueSink<T> {
+
+    /**
+     * Opens a map.
+     *
+     * @param key The key in the enclosing map, or {@code null}.
+     * @param size The expected number of entries, or -1 if unknown.
+     */
+    void beginMap(@Nullable String key, int size);
+
+    /**
+     * Opens a list.
+     *
+     * @param key The key in the enclosing map, or {@code null}.
+     * @param size The expected number of entries, or -1 if unknown.
+     */
+    void beginList(@Nullable String key, int size);
+
+    /**
+     * Closes the innermost open map or list.
+     */
+    void end();
+
+    /**
+     * Writes a null value.
+     *
+     * @param key The key in the enclosing map, or {@code null}.
+     */
+    void putNull(@Nullable String key);
+
+    /**
+     * Writes a boolean.
+     *
+     * @param key The key in the enclosing map, or {@code null}.
+     * @param value The value.
+     */
+    void putBoolean(@Nullable String key, boolean value);
+
+    /**
+     * Writes an int.
+     *
+     * @param key The key in the enclosing map, or {@code null}.
+     * @param value The value.
+     */
+    void putInt(@Nullable String key, int value);
+
+    /**
+     * Writes a long.
+     *
+     * @param key The key in the enclosing map, or {@code null}.
+     * @param value The value.
+     */
+    void putLong(@Nullable String key, long value);
+
+    /**
+     * Writes a double.
+     *
+     * @param key The key in the enclosing map, or {@code null}.
+     * @param value The value.
+     */
+    void putDouble(@Nullable String key, double value);
+
+    /**
+     * Writes a string.
+     *
+     * @param key The key in the enclosing map, or {@code null}.
+     * @param value The value.
+     */
+    void putString(@Nullable String key, @Nullable String value);
+
+    /**
+     * Gets the root value once every container has been closed.
+     *
+     * @return The root value.
+     */
+    @Nullable
+    T build();
+}
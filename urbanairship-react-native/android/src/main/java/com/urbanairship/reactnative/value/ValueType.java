@@ -0,0 +1,17 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.value;
+
+/**
+ * The type of a value read by a {@link ValueCursor}.
+ */
+public enum ValueType {
+    NULL,
+    BOOLEAN,
+    INT,
+    LONG,
+    DOUBLE,
+    STRING,
+    MAP,
+    LIST
+}
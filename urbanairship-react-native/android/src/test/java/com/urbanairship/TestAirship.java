@@ -0,0 +1,27 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Installs a stubbed {@link UAirship} as the flying shared instance. Lives in the Airship
+ * package to reach the takeoff state.
+ */
+public class TestAirship {
+
+    /**
+     * Installs the airship instance.
+     *
+     * @param application The application.
+     * @param airship The stubbed airship instance.
+     */
+    public static void install(@NonNull Application application, @NonNull UAirship airship) {
+        UAirship.application = application;
+        UAirship.sharedAirship = airship;
+        UAirship.isTakingOff = true;
+        UAirship.isFlying = true;
+    }
+}
@@ -0,0 +1,124 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.urbanairship.reactnative.value.ObjectCursor;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ColumnarWriter} tests.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, shadows = ShadowArguments.class, instrumentedPackages = "com.facebook.react.bridge")
+public class ColumnarWriterTest {
+
+    @Test
+    public void testColumns() {
+        ColumnarWriter writer = new ColumnarWriter(Arrays.asList("id", "title", "isRead", "sentDate"));
+        assertTrue(writer.hasColumn("title"));
+        assertFalse(writer.hasColumn("listIconUrl"));
+
+        writer.putString("id", "message-1");
+        writer.putString("title", "Title");
+        writer.putBoolean("isRead", true);
+        writer.putDouble("sentDate", 1000);
+        writer.putString("listIconUrl", "ignored");
+        writer.endRow();
+
+        writer.putString("id", "message-2");
+        writer.putString("title", null);
+        writer.putBoolean("isRead", false);
+        writer.putDouble("sentDate", 2000);
+        writer.endRow();
+
+        ReadableMap result = writer.build();
+        assertEquals(2, result.getInt("count"));
+        assertFalse(result.hasKey("extrasKeys"));
+
+        ReadableMap columns = result.getMap("columns");
+        assertFalse(columns.hasKey("listIconUrl"));
+        assertEquals("message-2", columns.getArray("id").getString(1));
+        assertEquals("Title", columns.getArray("title").getString(0));
+        assertEquals(ReadableType.Null, columns.getArray("title").getType(1));
+        assertTrue(columns.getArray("isRead").getBoolean(0));
+        assertEquals(2000, columns.getArray("sentDate").getDouble(1), 0);
+    }
+
+    @Test
+    public void testExtras() {
+        ColumnarWriter writer = new ColumnarWriter(Arrays.asList("id", ColumnarWriter.FIELD_EXTRAS));
+
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("category", "deals");
+        first.put("rank", "1");
+        writer.putExtras(new ObjectCursor(first));
+        writer.endRow();
+
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("rank", "2");
+        second.put("nested", Collections.singletonMap("key", "value"));
+        writer.putExtras(new ObjectCursor(second));
+        writer.endRow();
+
+        ReadableMap result = writer.build();
+
+        // Keys are sent once and rows refer to them by index
+        ReadableArray keys = result.getArray("extrasKeys");
+        assertEquals(3, keys.size());
+        assertEquals("category", keys.getString(0));
+        assertEquals("rank", keys.getString(1));
+        assertEquals("nested", keys.getString(2));
+
+        ReadableArray extras = result.getMap("columns").getArray(ColumnarWriter.FIELD_EXTRAS);
+        ReadableArray firstRow = extras.getArray(0);
+        assertEquals(4, firstRow.size());
+        assertEquals(0, firstRow.getInt(0));
+        assertEquals("deals", firstRow.getString(1));
+        assertEquals(1, firstRow.getInt(2));
+        assertEquals("1", firstRow.getString(3));
+
+        ReadableArray secondRow = extras.getArray(1);
+        assertEquals(4, secondRow.size());
+        assertEquals(1, secondRow.getInt(0));
+        assertEquals("2", secondRow.getString(1));
+        assertEquals(2, secondRow.getInt(2));
+        assertEquals("value", secondRow.getMap(3).getString("key"));
+    }
+
+    @Test
+    public void testExtrasThatAreNotAMap() {
+        ColumnarWriter writer = new ColumnarWriter(Collections.singletonList(ColumnarWriter.FIELD_EXTRAS));
+        writer.putExtras(new ObjectCursor(Arrays.asList("a", "b")));
+        writer.endRow();
+
+        ReadableArray extras = writer.build().getMap("columns").getArray(ColumnarWriter.FIELD_EXTRAS);
+        assertEquals(0, extras.getArray(0).size());
+    }
+
+    @Test
+    public void testExtrasIgnoredWithoutColumn() {
+        ColumnarWriter writer = new ColumnarWriter(Collections.singletonList("id"));
+        writer.putExtras(new ObjectCursor(Collections.singletonMap("key", "value")));
+        writer.endRow();
+
+        ReadableMap result = writer.build();
+        assertEquals(1, result.getInt("count"));
+        assertFalse(result.getMap("columns").hasKey(ColumnarWriter.FIELD_EXTRAS));
+    }
+}
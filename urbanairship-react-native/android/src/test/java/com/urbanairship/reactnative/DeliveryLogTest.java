@@ -0,0 +1,189 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.urbanairship.json.JsonMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link DeliveryLog} tests.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, shadows = ShadowArguments.class, instrumentedPackages = "com.facebook.react.bridge")
+public class DeliveryLogTest {
+
+    private DeliveryLog log;
+    private PendingEvent first;
+    private PendingEvent second;
+
+    @Before
+    public void setUp() {
+        log = new DeliveryLog();
+        first = new PendingEvent("event", null, JsonMap.EMPTY_MAP, BufferedEvent.PRIORITY_NORMAL, 0);
+        second = new PendingEvent("event", null, JsonMap.EMPTY_MAP, BufferedEvent.PRIORITY_NORMAL, 0);
+    }
+
+    @Test
+    public void testAppend() {
+        assertEquals(0, log.getHeadPosition());
+
+        log.append(first);
+        log.append(second);
+
+        assertEquals(0, log.get(first).getPosition());
+        assertEquals(1, log.get(second).getPosition());
+        assertEquals(0, log.getHeadPosition());
+        assertEquals(2, log.getNextPosition());
+        assertEquals(2, log.size());
+    }
+
+    @Test
+    public void testTrimWaitsForEveryAck() {
+        log.append(first);
+        AttachedContext one = createContext();
+        AttachedContext two = createContext();
+        one.setLogCursor(1);
+        two.setLogCursor(1);
+
+        DeliveryLog.Entry entry = log.get(first);
+        log.onReceived(entry, one, true);
+        log.onReceived(entry, two, true);
+
+        log.onSettled(entry);
+        assertEquals(Collections.<DeliveryLog.Entry>emptyList(), log.trim(Arrays.asList(one, two)));
+
+        log.onSettled(entry);
+        assertEquals(Collections.singletonList(entry), log.trim(Arrays.asList(one, two)));
+        assertEquals(null, log.get(first));
+        assertEquals(1, log.getHeadPosition());
+    }
+
+    @Test
+    public void testTrimWaitsForEveryCursor() {
+        log.append(first);
+        AttachedContext one = createContext();
+        AttachedContext two = createContext();
+        one.setLogCursor(1);
+
+        DeliveryLog.Entry entry = log.get(first);
+        log.onReceived(entry, one, false);
+
+        assertEquals(Collections.<DeliveryLog.Entry>emptyList(), log.trim(Arrays.asList(one, two)));
+
+        two.setLogCursor(1);
+        assertEquals(Collections.singletonList(entry), log.trim(Arrays.asList(one, two)));
+    }
+
+    @Test
+    public void testTrimReturnsUnreceivedEntries() {
+        log.append(first);
+        log.append(second);
+        AttachedContext context = createContext();
+        context.setLogCursor(1);
+
+        List<DeliveryLog.Entry> removed = log.trim(Collections.singletonList(context));
+        assertEquals(1, removed.size());
+        assertFalse(removed.get(0).hasReceivers());
+        assertEquals(1, log.size());
+    }
+
+    @Test
+    public void testOrphanedEntriesAreKeptForListeners() {
+        log.append(first);
+        AttachedContext one = createContext();
+        AttachedContext two = createContext();
+        one.setLogCursor(1);
+        two.setLogCursor(1);
+
+        DeliveryLog.Entry entry = log.get(first);
+        log.onReceived(entry, one, true);
+        log.onReceived(entry, two, true);
+
+        assertFalse(log.onReleased(entry));
+        assertTrue(log.onReleased(entry));
+        assertTrue(entry.isOrphaned());
+
+        // A context that listens for the event picks it up, the original receivers never do
+        AttachedContext next = createContext();
+        next.updateListenerCount("event", 1);
+        next.setLogCursor(1);
+        one.updateListenerCount("event", 1);
+        assertEquals(Collections.<DeliveryLog.Entry>emptyList(), log.trim(Collections.singletonList(next)));
+        assertTrue(next.canReceive(entry));
+        assertFalse(one.canReceive(entry));
+
+        log.onReceived(entry, next, true);
+        log.onSettled(entry);
+        assertFalse(entry.isOrphaned());
+        assertEquals(Collections.singletonList(entry), log.trim(Collections.singletonList(next)));
+    }
+
+    @Test
+    public void testTrimReturnsOrphanedEntriesWithoutListeners() {
+        log.append(first);
+        log.append(second);
+        AttachedContext one = createContext();
+        one.setLogCursor(2);
+
+        log.onReceived(log.get(first), one, true);
+        log.onReceived(log.get(second), one, true);
+        log.onReleased(log.get(first));
+
+        // The other context does not listen for the event, so the orphan leaves the log
+        AttachedContext other = createContext();
+        other.updateListenerCount("other", 1);
+        other.setLogCursor(2);
+
+        List<DeliveryLog.Entry> removed = log.trim(Collections.singletonList(other));
+        assertEquals(1, removed.size());
+        assertEquals(first, removed.get(0).getEvent());
+        assertTrue(removed.get(0).isOrphaned());
+        assertEquals(1, log.size());
+    }
+
+    @Test
+    public void testNewContextSkipsHeldEntries() {
+        log.append(first);
+        AttachedContext one = createContext();
+        log.onReceived(log.get(first), one, true);
+
+        AttachedContext next = createContext();
+        next.updateListenerCount("event", 1);
+        assertEquals(0, next.getLogCursor());
+        assertFalse(next.canReceive(log.get(first)));
+
+        log.append(second);
+        assertTrue(next.canReceive(log.get(second)));
+    }
+
+    @NonNull
+    private AttachedContext createContext() {
+        Application application = ApplicationProvider.getApplicationContext();
+        FakeReactContext reactContext = new FakeReactContext(application, new FakeReactContext.Listener() {
+            @Override
+            public void onEvent(@NonNull String name, @Nullable ReadableMap body) {
+            }
+        });
+        return new AttachedContext(reactContext, log);
+    }
+}
@@ -0,0 +1,146 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+
+import com.urbanairship.json.JsonMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link DeliveryWindow} tests.
+ */
+public class DeliveryWindowTest {
+
+    private static final long TIMEOUT_MILLIS = 1000;
+
+    private DeliveryWindow window;
+    private List<PendingEvent> events;
+
+    @Before
+    public void setUp() {
+        window = new DeliveryWindow();
+        events = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            events.add(new PendingEvent("event", null, JsonMap.EMPTY_MAP, BufferedEvent.PRIORITY_NORMAL, 0));
+        }
+    }
+
+    @Test
+    public void testSequences() {
+        assertEquals(1, window.getBaseSequence());
+
+        List<DeliveryWindow.Delivery> batch = emit(0, 3, 0);
+        assertEquals(1, batch.get(0).getSequence());
+        assertEquals(3, batch.get(2).getSequence());
+        assertEquals(1, batch.get(0).getAttempts());
+        assertEquals(1, window.getBaseSequence());
+        assertEquals(3, window.size());
+    }
+
+    @Test
+    public void testAckIsCumulative() {
+        emit(0, 3, 0);
+
+        assertEquals(events.subList(0, 2), window.ack(2));
+        assertEquals(3, window.getBaseSequence());
+        assertEquals(1, window.size());
+
+        // Stale and repeated acks are ignored
+        assertEquals(Collections.<PendingEvent>emptyList(), window.ack(1));
+        assertEquals(Collections.singletonList(events.get(2)), window.ack(10));
+        assertEquals(4, window.getBaseSequence());
+        assertEquals(0, window.size());
+    }
+
+    @Test
+    public void testTimeoutDelay() {
+        assertEquals(-1, window.getTimeoutDelay(0, TIMEOUT_MILLIS));
+
+        emit(0, 1, 100);
+        emit(1, 2, 500);
+        assertEquals(TIMEOUT_MILLIS - 100, window.getTimeoutDelay(200, TIMEOUT_MILLIS));
+        assertEquals(0, window.getTimeoutDelay(100 + TIMEOUT_MILLIS, TIMEOUT_MILLIS));
+
+        // The next oldest event sets the timeout once the oldest is acked
+        window.ack(1);
+        assertEquals(TIMEOUT_MILLIS - 300, window.getTimeoutDelay(800, TIMEOUT_MILLIS));
+    }
+
+    @Test
+    public void testGoBackN() {
+        emit(0, 3, 0);
+        window.ack(1);
+
+        assertEquals(Collections.<PendingEvent>emptyList(), window.redeliver(3));
+        assertTrue(window.hasRedeliveries());
+        assertEquals(-1, window.getTimeoutDelay(0, TIMEOUT_MILLIS));
+        assertEquals(2, window.getBaseSequence());
+        assertEquals(2, window.size());
+
+        // Every unacked event comes back in order under its original sequence number
+        DeliveryWindow.Delivery first = window.pollRedelivery();
+        DeliveryWindow.Delivery second = window.pollRedelivery();
+        assertNull(window.pollRedelivery());
+        assertEquals(2, first.getSequence());
+        assertEquals(3, second.getSequence());
+        assertEquals(events.get(1), first.getEvent());
+
+        window.onEmitted(Arrays.asList(first, second), TIMEOUT_MILLIS);
+        assertEquals(2, first.getAttempts());
+        assertFalse(window.hasRedeliveries());
+
+        // New events continue after the highest sequence number
+        assertEquals(4, window.track(events.get(3)).getSequence());
+    }
+
+    @Test
+    public void testRedeliverAbandonsAfterMaxAttempts() {
+        List<DeliveryWindow.Delivery> batch = emit(0, 1, 0);
+        emit(1, 2, 0);
+        window.redeliver(2);
+        window.pollRedelivery();
+        window.onEmitted(Collections.singletonList(batch.get(0)), 0);
+
+        // The first event was emitted twice and is given up on, the second only once
+        assertEquals(Collections.singletonList(events.get(0)), window.redeliver(2));
+        assertEquals(1, window.size());
+        assertEquals(events.get(1), window.pollRedelivery().getEvent());
+    }
+
+    @Test
+    public void testClear() {
+        emit(0, 3, 0);
+        window.redeliver(3);
+        window.onEmitted(Collections.singletonList(window.pollRedelivery()), 0);
+
+        assertEquals(events.subList(0, 3), window.clear());
+        assertEquals(0, window.size());
+        assertFalse(window.hasRedeliveries());
+        assertEquals(4, window.getBaseSequence());
+        assertEquals(4, window.track(events.get(3)).getSequence());
+    }
+
+    @NonNull
+    private List<DeliveryWindow.Delivery> emit(int from, int to, long nowMillis) {
+        List<DeliveryWindow.Delivery> batch = new ArrayList<>();
+        for (PendingEvent event : events.subList(from, to)) {
+            batch.add(window.track(event));
+        }
+
+        window.onEmitted(batch, nowMillis);
+        return batch;
+    }
+}
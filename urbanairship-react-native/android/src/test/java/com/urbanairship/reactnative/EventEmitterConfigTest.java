@@ -0,0 +1,114 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import com.urbanairship.json.JsonMap;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link EventEmitterConfig} tests.
+ */
+public class EventEmitterConfigTest {
+
+    @Test
+    public void testDefaults() {
+        EventEmitterConfig config = EventEmitterConfig.fromJson(JsonMap.EMPTY_MAP);
+
+        assertEquals(EventEmitterConfig.DEFAULT_BATCHING_ENABLED, config.batchingEnabled);
+        assertEquals(EventEmitterConfig.DEFAULT_BATCH_WINDOW_MILLIS, config.batchWindowMillis);
+        assertEquals(EventEmitterConfig.DEFAULT_MAX_BATCH_SIZE, config.maxBatchSize);
+        assertEquals(EventEmitterConfig.DEFAULT_DEFER_WHILE_PAUSED, config.deferWhilePaused);
+        assertEquals(EventEmitterConfig.DEFAULT_MAX_PENDING_EVENTS, config.maxPendingEvents);
+        assertEquals(EventEmitterConfig.DEFAULT_MAX_PENDING_BYTES, config.maxPendingBytes);
+        assertEquals(EventEmitterConfig.DEFAULT_EVICTION_POLICY, config.evictionPolicy);
+        assertEquals(Collections.<String, Long>emptyMap(), config.pendingEventTtls);
+        assertEquals(EventEmitterConfig.DEFAULT_JOURNAL_ENABLED, config.journalEnabled);
+        assertEquals(EventEmitterConfig.DEFAULT_ACK_ENABLED, config.ackEnabled);
+        assertEquals(EventEmitterConfig.DEFAULT_ACK_TIMEOUT_MILLIS, config.ackTimeoutMillis);
+        assertEquals(EventEmitterConfig.DEFAULT_MAX_UNACKED_EVENTS, config.maxUnackedEvents);
+        assertEquals(EventEmitterConfig.DEFAULT_MAX_DELIVERY_ATTEMPTS, config.maxDeliveryAttempts);
+        assertEquals(EventEmitterConfig.DEFAULT_LAZY_LISTENERS_ENABLED, config.lazyListenersEnabled);
+        assertEquals(EventEmitterConfig.DEFAULT_DETACH_UNUSED_LISTENERS, config.detachUnusedListeners);
+    }
+
+    @Test
+    public void testParse() {
+        JsonMap json = JsonMap.newBuilder()
+                              .put("batchingEnabled", false)
+                              .put("batchWindowMillis", 16)
+                              .put("maxBatchSize", 10)
+                              .put("deferWhilePaused", true)
+                              .put("maxPendingEvents", 100)
+                              .put("maxPendingBytes", 2048)
+                              .put("evictionPolicy", "dropLowestPriority")
+                              .put("pendingEventTtls", JsonMap.newBuilder().put("deepLink", 5000).build())
+                              .put("journalEnabled", true)
+                              .put("ackEnabled", true)
+                              .put("ackTimeoutMillis", 2000)
+                              .put("maxUnackedEvents", 20)
+                              .put("maxDeliveryAttempts", 5)
+                              .put("lazyListenersEnabled", true)
+                              .put("detachUnusedListeners", true)
+                              .build();
+
+        EventEmitterConfig config = EventEmitterConfig.fromJson(json);
+
+        assertFalse(config.batchingEnabled);
+        assertEquals(16, config.batchWindowMillis);
+        assertEquals(10, config.maxBatchSize);
+        assertTrue(config.deferWhilePaused);
+        assertEquals(100, config.maxPendingEvents);
+        assertEquals(2048, config.maxPendingBytes);
+        assertEquals(EventEmitterConfig.EVICTION_POLICY_DROP_LOWEST_PRIORITY, config.evictionPolicy);
+        assertEquals(Collections.singletonMap("deepLink", 5000L), config.pendingEventTtls);
+        assertTrue(config.journalEnabled);
+        assertTrue(config.ackEnabled);
+        assertEquals(2000, config.ackTimeoutMillis);
+        assertEquals(20, config.maxUnackedEvents);
+        assertEquals(5, config.maxDeliveryAttempts);
+        assertTrue(config.lazyListenersEnabled);
+        assertTrue(config.detachUnusedListeners);
+
+        // The config is persisted as the JSON it was parsed from
+        assertEquals(json.toJsonValue(), config.toJsonValue());
+    }
+
+    @Test
+    public void testInvalidValues() {
+        JsonMap json = JsonMap.newBuilder()
+                              .put("batchingEnabled", "yes")
+                              .put("batchWindowMillis", -1)
+                              .put("maxBatchSize", 0)
+                              .put("maxPendingEvents", -1)
+                              .put("maxPendingBytes", -1)
+                              .put("evictionPolicy", "dropEverything")
+                              .put("pendingEventTtls", JsonMap.newBuilder()
+                                                              .put("deepLink", 0)
+                                                              .put("register", "soon")
+                                                              .build())
+                              .put("ackTimeoutMillis", 0)
+                              .put("maxUnackedEvents", 0)
+                              .put("maxDeliveryAttempts", 0)
+                              .build();
+
+        EventEmitterConfig config = EventEmitterConfig.fromJson(json);
+
+        assertEquals(EventEmitterConfig.DEFAULT_BATCHING_ENABLED, config.batchingEnabled);
+        assertEquals(0, config.batchWindowMillis);
+        assertEquals(1, config.maxBatchSize);
+        assertEquals(0, config.maxPendingEvents);
+        assertEquals(0, config.maxPendingBytes);
+        assertEquals(EventEmitterConfig.EVICTION_POLICY_DROP_OLDEST, config.evictionPolicy);
+        assertEquals(Collections.<String, Long>emptyMap(), config.pendingEventTtls);
+        assertEquals(1, config.ackTimeoutMillis);
+        assertEquals(1, config.maxUnackedEvents);
+        assertEquals(1, config.maxDeliveryAttempts);
+    }
+}
@@ -0,0 +1,368 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.app.Application;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.PromiseImpl;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.reactnative.events.DeepLinkEvent;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * {@link EventEmitter} tests. Every test gets its own emitter, with batching off so events are
+ * emitted as soon as the emitter thread is idled.
+ */
+@RunWith(RobolectricTestRunner.class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(sdk = 28, shadows = ShadowArguments.class, instrumentedPackages = "com.facebook.react.bridge")
+public class EventEmitterTest {
+
+    private static final String DEEP_LINK_EVENT = new DeepLinkEvent("").getName();
+
+    private final List<String> deepLinks = new CopyOnWriteArrayList<>();
+
+    private EventEmitter emitter;
+    private Looper looper;
+    private FakeReactContext reactContext;
+
+    @Before
+    public void setUp() {
+        Application application = ApplicationProvider.getApplicationContext();
+
+        emitter = new EventEmitter();
+        looper = emitter.getLooper();
+        reactContext = createReactContext(deepLinks);
+
+        JsonMap config = JsonMap.newBuilder()
+                                .put("batchingEnabled", false)
+                                .build();
+        emitter.setConfig(application, EventEmitterConfig.fromJson(config));
+        emitter.attachReactContext(reactContext);
+        shadowOf(looper).idle();
+    }
+
+    @After
+    public void tearDown() {
+        emitter.quit();
+    }
+
+    @Test
+    public void testTakePendingEvents() {
+        sendDeepLinks("one", "two", "three");
+
+        assertEquals(Arrays.asList("one", "two"), takeDeepLinks(2));
+        assertEquals(Collections.singletonList("three"), takeDeepLinks(2));
+        assertEquals(Collections.<String>emptyList(), takeDeepLinks(2));
+    }
+
+    @Test
+    public void testPartialTakeHoldsBacklog() {
+        sendDeepLinks("one", "two");
+        assertEquals(Collections.singletonList("one"), takeDeepLinks(1));
+
+        sendDeepLinks("three");
+
+        assertEquals(Arrays.asList("two", "three"), takeDeepLinks(10));
+        assertEquals(Collections.<String>emptyList(), deepLinks);
+    }
+
+    @Test
+    public void testAddListenerEndsPartialTake() {
+        sendDeepLinks("one", "two", "three");
+        assertEquals(Collections.singletonList("one"), takeDeepLinks(1));
+
+        emitter.updateListeners(reactContext, Collections.singletonMap(DEEP_LINK_EVENT, 1));
+        shadowOf(looper).idle();
+
+        assertEquals(Arrays.asList("two", "three"), deepLinks);
+
+        // Later events are pushed too, nothing is left behind for a take
+        sendDeepLinks("four");
+        assertEquals(Arrays.asList("two", "three", "four"), deepLinks);
+        assertEquals(Collections.<String>emptyList(), takeDeepLinks(10));
+    }
+
+    @Test
+    public void testDetachDoesNotRedeliverToOtherContexts() {
+        enableAcks();
+        List<String> otherDeepLinks = new CopyOnWriteArrayList<>();
+        FakeReactContext otherContext = attachListeningContext(otherDeepLinks);
+        listen(reactContext);
+
+        sendDeepLinks("one", "two");
+        assertEquals(Arrays.asList("one", "two"), deepLinks);
+        assertEquals(Arrays.asList("one", "two"), otherDeepLinks);
+
+        // The other context goes away without acking, this context still holds the events
+        emitter.detachReactContext(otherContext);
+        shadowOf(looper).idle();
+        assertEquals(Arrays.asList("one", "two"), deepLinks);
+
+        emitter.ack(reactContext, 2);
+        sendDeepLinks("three");
+        assertEquals(Arrays.asList("one", "two", "three"), deepLinks);
+    }
+
+    @Test
+    public void testDetachHandsUnackedEventsToNextContext() {
+        enableAcks();
+        listen(reactContext);
+
+        sendDeepLinks("one", "two");
+        emitter.ack(reactContext, 1);
+        emitter.detachReactContext(reactContext);
+        shadowOf(looper).idle();
+
+        // Only the event nobody acked is delivered again
+        List<String> nextDeepLinks = new CopyOnWriteArrayList<>();
+        attachListeningContext(nextDeepLinks);
+        assertEquals(Collections.singletonList("two"), nextDeepLinks);
+    }
+
+    @Test
+    public void testOrphanedEventsCountAgainstPendingLimits() {
+        JsonMap config = JsonMap.newBuilder()
+                                .put("batchingEnabled", false)
+                                .put("ackEnabled", true)
+                                .put("maxPendingEvents", 1)
+                                .build();
+        emitter.setConfig(ApplicationProvider.<Application>getApplicationContext(), EventEmitterConfig.fromJson(config));
+        listen(reactContext);
+
+        sendDeepLinks("one", "two");
+        emitter.detachReactContext(reactContext);
+        shadowOf(looper).idle();
+
+        // Nobody listens anymore, so the unacked events wait in the pending queue under its limit
+        List<String> nextDeepLinks = new CopyOnWriteArrayList<>();
+        attachListeningContext(nextDeepLinks);
+        assertEquals(Collections.singletonList("two"), nextDeepLinks);
+    }
+
+    @Test
+    public void testAttachSkipsEventsHeldByOtherContexts() {
+        enableAcks();
+        listen(reactContext);
+        sendDeepLinks("one", "two");
+
+        List<String> otherDeepLinks = new CopyOnWriteArrayList<>();
+        attachListeningContext(otherDeepLinks);
+        assertEquals(Collections.<String>emptyList(), otherDeepLinks);
+
+        sendDeepLinks("three");
+        assertEquals(Collections.singletonList("three"), otherDeepLinks);
+        assertEquals(Arrays.asList("one", "two", "three"), deepLinks);
+    }
+
+    @Test
+    public void testDisableAcksDoesNotRedeliver() {
+        enableAcks();
+        listen(reactContext);
+        sendDeepLinks("one");
+
+        JsonMap config = JsonMap.newBuilder()
+                                .put("batchingEnabled", false)
+                                .put("ackEnabled", false)
+                                .build();
+        emitter.setConfig(ApplicationProvider.<Application>getApplicationContext(), EventEmitterConfig.fromJson(config));
+        emitter.detachReactContext(reactContext);
+        shadowOf(looper).idle();
+
+        List<String> nextDeepLinks = new CopyOnWriteArrayList<>();
+        attachListeningContext(nextDeepLinks);
+        sendDeepLinks("two");
+
+        assertEquals(Collections.singletonList("one"), deepLinks);
+        assertEquals(Collections.singletonList("two"), nextDeepLinks);
+    }
+
+    @Test
+    public void testRestoreJournaledEvents() {
+        JsonMap json = JsonMap.newBuilder()
+                              .put("batchingEnabled", false)
+                              .put("journalEnabled", true)
+                              .build();
+        EventEmitterConfig config = EventEmitterConfig.fromJson(json);
+        emitter.setConfig(ApplicationProvider.<Application>getApplicationContext(), config);
+        sendDeepLinks("one", "two");
+
+        // The process dies before anyone listens
+        emitter.quit();
+        emitter = new EventEmitter();
+        looper = emitter.getLooper();
+        emitter.setConfig(ApplicationProvider.<Application>getApplicationContext(), config);
+        shadowOf(looper).idle();
+
+        List<String> nextDeepLinks = new CopyOnWriteArrayList<>();
+        attachListeningContext(nextDeepLinks);
+        assertEquals(Arrays.asList("one", "two"), nextDeepLinks);
+
+        // Delivered events are removed from the journal
+        emitter.quit();
+        emitter = new EventEmitter();
+        looper = emitter.getLooper();
+        emitter.setConfig(ApplicationProvider.<Application>getApplicationContext(), config);
+
+        List<String> lastDeepLinks = new CopyOnWriteArrayList<>();
+        attachListeningContext(lastDeepLinks);
+        assertEquals(Collections.<String>emptyList(), lastDeepLinks);
+    }
+
+    @Test
+    public void testLargeDrainIsLinear() {
+        // A drain that rescans the backlog per event visits sixteen times as many entries for a
+        // backlog four times the size, a linear one at most four times as many
+        long small = drainScannedEntries(500);
+        long large = drainScannedEntries(2000);
+
+        assertTrue("Drain scanned " + large + " entries for 2000 events and " + small + " entries for 500 events",
+                large <= small * 4);
+    }
+
+    /**
+     * Queues a backlog of deep links interleaved with events nobody listens for, then counts the
+     * delivery log entries a new listener's drain visits.
+     *
+     * @param count The number of deep links.
+     * @return The number of log entries visited by the drain.
+     */
+    private long drainScannedEntries(int count) {
+        JsonMap config = JsonMap.newBuilder()
+                                .put("batchingEnabled", false)
+                                .put("maxPendingEvents", count * 2)
+                                .put("maxPendingBytes", Long.MAX_VALUE)
+                                .build();
+
+        emitter.quit();
+        emitter = new EventEmitter();
+        looper = emitter.getLooper();
+        emitter.setConfig(ApplicationProvider.<Application>getApplicationContext(), EventEmitterConfig.fromJson(config));
+
+        List<String> received = new ArrayList<>(count);
+        FakeReactContext context = createReactContext(received);
+        emitter.attachReactContext(context);
+
+        for (int i = 0; i < count; i++) {
+            emitter.sendEvent(new DeepLinkEvent(String.valueOf(i)));
+            emitter.sendEvent(new OtherEvent());
+        }
+        shadowOf(looper).idle();
+
+        long scanned = emitter.getScannedLogEntries();
+        listen(context);
+
+        assertEquals(count, received.size());
+        assertEquals(String.valueOf(count - 1), received.get(count - 1));
+        return emitter.getScannedLogEntries() - scanned;
+    }
+
+    private void enableAcks() {
+        JsonMap config = JsonMap.newBuilder()
+                                .put("batchingEnabled", false)
+                                .put("ackEnabled", true)
+                                .build();
+        emitter.setConfig(ApplicationProvider.<Application>getApplicationContext(), EventEmitterConfig.fromJson(config));
+        shadowOf(looper).idle();
+    }
+
+    @NonNull
+    private FakeReactContext createReactContext(@NonNull final List<String> collector) {
+        return new FakeReactContext(ApplicationProvider.<Application>getApplicationContext(), new FakeReactContext.Listener() {
+            @Override
+            public void onEvent(@NonNull String name, @Nullable ReadableMap body) {
+                if (DEEP_LINK_EVENT.equals(name) && body != null) {
+                    collector.add(body.getString("deepLink"));
+                }
+            }
+        });
+    }
+
+    @NonNull
+    private FakeReactContext attachListeningContext(@NonNull List<String> collector) {
+        FakeReactContext context = createReactContext(collector);
+        emitter.attachReactContext(context);
+        listen(context);
+        return context;
+    }
+
+    private void listen(@NonNull FakeReactContext context) {
+        emitter.updateListeners(context, Collections.singletonMap(DEEP_LINK_EVENT, 1));
+        shadowOf(looper).idle();
+    }
+
+    /**
+     * Event nobody listens for.
+     */
+    private static class OtherEvent implements Event {
+
+        @NonNull
+        @Override
+        public String getName() {
+            return "other";
+        }
+
+        @NonNull
+        @Override
+        public WritableMap getBody() {
+            return Arguments.createMap();
+        }
+    }
+
+    private void sendDeepLinks(@NonNull String... deepLinks) {
+        for (String deepLink : deepLinks) {
+            emitter.sendEvent(new DeepLinkEvent(deepLink));
+        }
+        shadowOf(looper).idle();
+    }
+
+    @NonNull
+    private List<String> takeDeepLinks(int maxCount) {
+        final AtomicReference<ReadableArray> taken = new AtomicReference<>();
+        Callback resolve = new Callback() {
+            @Override
+            public void invoke(Object... args) {
+                taken.set((ReadableArray) args[0]);
+            }
+        };
+
+        emitter.takePendingEvents(Collections.singletonList(DEEP_LINK_EVENT), maxCount, new PromiseImpl(resolve, null));
+        shadowOf(looper).idle();
+
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < taken.get().size(); i++) {
+            ReadableMap event = taken.get().getMap(i);
+            assertEquals(DEEP_LINK_EVENT, event.getString("name"));
+            result.add(event.getMap("body").getString("deepLink"));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,199 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.app.Application;
+import android.content.ContentValues;
+import android.database.DatabaseUtils;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.urbanairship.json.JsonMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowSystemClock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link EventJournal} tests.
+ */
+@RunWith(RobolectricTestRunner.class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(sdk = 28)
+public class EventJournalTest {
+
+    private Application application;
+    private EventJournal journal;
+
+    @Before
+    public void setUp() {
+        application = ApplicationProvider.getApplicationContext();
+        journal = new EventJournal(application);
+    }
+
+    @After
+    public void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    public void testAppendAndLoad() {
+        PendingEvent first = createEvent("first", null, BufferedEvent.PRIORITY_NORMAL);
+        PendingEvent second = createEvent("second", "key", BufferedEvent.PRIORITY_INTERACTIVE);
+        first.setJournalId(journal.append(first));
+        second.setJournalId(journal.append(second));
+
+        assertTrue(EventJournal.exists(application));
+
+        List<PendingEvent> loaded = journal.load();
+        assertEquals(2, loaded.size());
+
+        PendingEvent loadedFirst = loaded.get(0);
+        assertEquals("first", loadedFirst.getName());
+        assertNull(loadedFirst.getCoalescingKey());
+        assertEquals(BufferedEvent.PRIORITY_NORMAL, loadedFirst.getPriority());
+        assertEquals(first.getBody(), loadedFirst.getBody());
+        assertEquals(first.getJournalId(), loadedFirst.getJournalId());
+
+        PendingEvent loadedSecond = loaded.get(1);
+        assertEquals("second", loadedSecond.getName());
+        assertEquals("key", loadedSecond.getCoalescingKey());
+        assertEquals(BufferedEvent.PRIORITY_INTERACTIVE, loadedSecond.getPriority());
+        assertEquals(second.getBody(), loadedSecond.getBody());
+    }
+
+    @Test
+    public void testRemove() {
+        PendingEvent first = createEvent("first", null, BufferedEvent.PRIORITY_NORMAL);
+        PendingEvent second = createEvent("second", null, BufferedEvent.PRIORITY_NORMAL);
+        PendingEvent third = createEvent("third", null, BufferedEvent.PRIORITY_NORMAL);
+        first.setJournalId(journal.append(first));
+        second.setJournalId(journal.append(second));
+        third.setJournalId(journal.append(third));
+
+        journal.remove(second);
+        assertEquals(Arrays.asList("first", "third"), names(journal.load()));
+
+        journal.remove(Arrays.asList(first, third));
+        assertEquals(Collections.<String>emptyList(), names(journal.load()));
+
+        // Events that were never journaled are ignored
+        journal.remove(createEvent("fourth", null, BufferedEvent.PRIORITY_NORMAL));
+    }
+
+    @Test
+    public void testRemoveCoalesced() {
+        journal.append(createEvent("state", "key", BufferedEvent.PRIORITY_NORMAL));
+        journal.append(createEvent("other", "other key", BufferedEvent.PRIORITY_NORMAL));
+        journal.append(createEvent("state", "key", BufferedEvent.PRIORITY_NORMAL));
+        journal.append(createEvent("plain", null, BufferedEvent.PRIORITY_NORMAL));
+
+        journal.removeCoalesced("key");
+
+        assertEquals(Arrays.asList("other", "plain"), names(journal.load()));
+    }
+
+    @Test
+    public void testClear() {
+        PendingEvent old = createEvent("old", null, BufferedEvent.PRIORITY_NORMAL);
+        old.setJournalId(journal.append(old));
+
+        journal.clear();
+        assertEquals(Collections.<String>emptyList(), names(journal.load()));
+
+        // Row IDs are not reused, so a stale ID can't remove a newer row
+        PendingEvent next = createEvent("next", null, BufferedEvent.PRIORITY_NORMAL);
+        next.setJournalId(journal.append(next));
+        journal.remove(old);
+        assertEquals(Collections.singletonList("next"), names(journal.load()));
+    }
+
+    @Test
+    public void testLoadDropsUnparseableRows() {
+        journal.append(createEvent("first", null, BufferedEvent.PRIORITY_NORMAL));
+
+        ContentValues values = new ContentValues();
+        values.put("name", "corrupted");
+        values.put("priority", BufferedEvent.PRIORITY_NORMAL);
+        values.put("created", System.currentTimeMillis());
+        values.put("body", "{not json".getBytes());
+        journal.getWritableDatabase().insert("events", null, values);
+
+        journal.append(createEvent("second", null, BufferedEvent.PRIORITY_NORMAL));
+
+        assertEquals(Arrays.asList("first", "second"), names(journal.load()));
+
+        // The row is deleted, not just skipped
+        assertEquals(2, countRows());
+    }
+
+    @Test
+    public void testCreatedTimeRoundTrip() {
+        ShadowSystemClock.advanceBy(Duration.ofMinutes(10));
+        long created = SystemClock.elapsedRealtime() - 2000;
+        journal.append(new PendingEvent("event", null, createBody("event"), BufferedEvent.PRIORITY_NORMAL, created));
+
+        // The wall clock is not simulated, so allow for the real time the test takes
+        PendingEvent loaded = journal.load().get(0);
+        assertEquals(created, loaded.getCreatedMillis(), 1000);
+    }
+
+    @Test
+    public void testCreatedTimeFromTheFuture() {
+        // A row stored with a wall clock ahead of the current one counts as just created
+        ContentValues values = new ContentValues();
+        values.put("name", "event");
+        values.put("priority", BufferedEvent.PRIORITY_NORMAL);
+        values.put("created", System.currentTimeMillis() + 60000);
+        values.put("body", "{}".getBytes());
+        journal.getWritableDatabase().insert("events", null, values);
+
+        assertEquals(SystemClock.elapsedRealtime(), journal.load().get(0).getCreatedMillis());
+    }
+
+    @NonNull
+    private PendingEvent createEvent(@NonNull String name, @Nullable String coalescingKey, int priority) {
+        //noinspection WrongConstant
+        return new PendingEvent(name, coalescingKey, createBody(name), priority, SystemClock.elapsedRealtime());
+    }
+
+    @NonNull
+    private static JsonMap createBody(@NonNull String name) {
+        return JsonMap.newBuilder()
+                      .put("name", name)
+                      .put("count", 3)
+                      .put("nested", JsonMap.newBuilder().put("key", "value").build())
+                      .build();
+    }
+
+    @NonNull
+    private static List<String> names(@NonNull List<PendingEvent> events) {
+        List<String> names = new ArrayList<>();
+        for (PendingEvent event : events) {
+            names.add(event.getName());
+        }
+        return names;
+    }
+
+    private long countRows() {
+        return DatabaseUtils.queryNumEntries(journal.getReadableDatabase(), "events");
+    }
+}
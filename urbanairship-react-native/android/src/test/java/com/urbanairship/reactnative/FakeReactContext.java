@@ -0,0 +1,78 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.JavaScriptModule;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.modules.core.RCTNativeAppEventEmitter;
+
+/**
+ * React context without a catalyst instance. Emitted event batches are unpacked and handed to a
+ * listener, like UAEventEmitter does in JS.
+ */
+class FakeReactContext extends ReactContext {
+
+    /**
+     * Receives the events emitted to JS.
+     */
+    interface Listener {
+
+        /**
+         * Called on the emitter thread for every event in an emitted batch.
+         *
+         * @param name The event name.
+         * @param body The event body.
+         */
+        void onEvent(@NonNull String name, @Nullable ReadableMap body);
+    }
+
+    private final Listener listener;
+
+    private final RCTNativeAppEventEmitter eventEmitter = new RCTNativeAppEventEmitter() {
+        @Override
+        public void emit(String eventName, @Nullable Object data) {
+            if (!EventEmitter.BATCH_EVENT.equals(eventName) || !(data instanceof ReadableMap)) {
+                return;
+            }
+
+            ReadableArray events = ((ReadableMap) data).getArray("events");
+            for (int i = 0; events != null && i < events.size(); i++) {
+                ReadableMap event = events.getMap(i);
+                listener.onEvent(event.getString("name"), event.hasKey("body") ? event.getMap("body") : null);
+            }
+        }
+    };
+
+    /**
+     * Default constructor.
+     *
+     * @param base The base context.
+     * @param listener The event listener.
+     */
+    FakeReactContext(@NonNull Context base, @NonNull Listener listener) {
+        super(base);
+        this.listener = listener;
+    }
+
+    @Override
+    public boolean hasActiveCatalystInstance() {
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends JavaScriptModule> T getJSModule(Class<T> jsInterface) {
+        if (jsInterface == RCTNativeAppEventEmitter.class) {
+            return (T) eventEmitter;
+        }
+
+        throw new UnsupportedOperationException("No JS module for " + jsInterface);
+    }
+}
@@ -0,0 +1,168 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonList;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonValue;
+import com.urbanairship.messagecenter.Message;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link InboxQuery} tests.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class InboxQueryTest {
+
+    private List<Message> messages;
+
+    @Before
+    public void setUp() {
+        messages = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            messages.add(createMessage("message-" + i, "Title " + (char) ('a' + i), i * 1000L, i % 2 == 0, null));
+        }
+    }
+
+    @Test
+    public void testDefaults() throws JsonException {
+        InboxQuery query = InboxQuery.fromJson(JsonMap.EMPTY_MAP);
+
+        assertEquals(0, query.offset);
+        assertEquals(InboxQuery.DEFAULT_LIMIT, query.limit);
+        assertEquals(InboxQuery.SORT_ORDER_SENT_DATE_DESCENDING, query.sortOrder);
+        assertNull(query.fields);
+
+        InboxQuery.Result result = query.apply(messages);
+        assertEquals(10, result.totalCount);
+        assertEquals("message-9", result.messages.get(0).getMessageId());
+        assertNull(result.nextCursor);
+    }
+
+    @Test
+    public void testSortOrders() throws JsonException {
+        assertEquals(Arrays.asList("message-0", "message-1"), ids(query("sortOrder", "sentDateAscending", "limit", 2)));
+        assertEquals(Arrays.asList("message-9", "message-8"), ids(query("sortOrder", "titleDescending", "limit", 2)));
+
+        // Titles compare case insensitively and IDs break ties
+        messages.add(createMessage("message-10", "TITLE A", 0, false, null));
+        assertEquals(Arrays.asList("message-0", "message-10", "message-1"), ids(query("sortOrder", "titleAscending", "limit", 3)));
+    }
+
+    @Test
+    public void testFilters() throws JsonException {
+        assertEquals(Arrays.asList("message-9", "message-7", "message-5", "message-3", "message-1"), ids(query("unreadOnly", true)));
+        assertEquals(Arrays.asList("message-4", "message-3"), ids(query("sentAfter", 3000, "sentBefore", 5000)));
+
+        Bundle extras = new Bundle();
+        extras.putString("category", "deals");
+        messages.add(createMessage("message-10", "Deal", 0, false, extras));
+        assertEquals(Collections.singletonList("message-10"), ids(query("extras", JsonMap.newBuilder().put("category", "deals").build())));
+    }
+
+    @Test
+    public void testOffset() throws JsonException {
+        InboxQuery.Result result = query("offset", 8, "limit", 5);
+
+        assertEquals(Arrays.asList("message-1", "message-0"), ids(result));
+        assertEquals(10, result.totalCount);
+        assertEquals(0, query("offset", 20).messages.size());
+    }
+
+    @Test
+    public void testFields() throws JsonException {
+        InboxQuery query = InboxQuery.fromJson(JsonMap.newBuilder()
+                                                      .put("fields", JsonValue.wrapOpt(Collections.singletonList("title")))
+                                                      .build());
+
+        assertEquals(new HashSet<>(Arrays.asList("id", "title")), query.fields);
+    }
+
+    @Test
+    public void testCursorPaging() throws JsonException {
+        InboxQuery.Result first = query("limit", 4, "unreadOnly", true);
+        assertEquals(Arrays.asList("message-9", "message-7", "message-5", "message-3"), ids(first));
+
+        // The cursor keeps the filters, and only the limit can be changed
+        InboxQuery.Result second = InboxQuery.fromJson(JsonMap.newBuilder()
+                                                              .put("cursor", first.nextCursor)
+                                                              .put("limit", 10)
+                                                              .put("unreadOnly", false)
+                                                              .build())
+                                             .apply(messages);
+        assertEquals(Collections.singletonList("message-1"), ids(second));
+        assertNull(second.nextCursor);
+    }
+
+    @Test
+    public void testCursorIsStableWhenMessagesChange() throws JsonException {
+        InboxQuery.Result first = query("limit", 3);
+        assertEquals(Arrays.asList("message-9", "message-8", "message-7"), ids(first));
+
+        // A newer message and a removed message on the first page don't shift the next page
+        messages.add(createMessage("message-10", "New", 10000, false, null));
+        messages.remove(8);
+
+        InboxQuery.Result second = InboxQuery.fromJson(JsonMap.newBuilder().put("cursor", first.nextCursor).build()).apply(messages);
+        assertEquals(Arrays.asList("message-6", "message-5", "message-4"), ids(second));
+    }
+
+    @Test(expected = JsonException.class)
+    public void testInvalidCursor() throws JsonException {
+        InboxQuery.fromJson(JsonMap.newBuilder().put("cursor", "{\"after\":{}}").build());
+    }
+
+    @NonNull
+    private InboxQuery.Result query(@NonNull Object... keyValues) throws JsonException {
+        JsonMap.Builder builder = JsonMap.newBuilder();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            builder.putOpt((String) keyValues[i], keyValues[i + 1]);
+        }
+
+        return InboxQuery.fromJson(builder.build()).apply(messages);
+    }
+
+    @NonNull
+    private static List<String> ids(@NonNull InboxQuery.Result result) {
+        List<String> ids = new ArrayList<>();
+        for (Message message : result.messages) {
+            ids.add(message.getMessageId());
+        }
+
+        return ids;
+    }
+
+    @NonNull
+    private static Message createMessage(@NonNull String id, @NonNull String title, long sentDate, boolean read, @Nullable Bundle extras) {
+        Message message = mock(Message.class);
+        when(message.getMessageId()).thenReturn(id);
+        when(message.getTitle()).thenReturn(title);
+        when(message.getSentDateMS()).thenReturn(sentDate);
+        when(message.isRead()).thenReturn(read);
+        when(message.getExtras()).thenReturn(extras == null ? new Bundle() : extras);
+        return message;
+    }
+}
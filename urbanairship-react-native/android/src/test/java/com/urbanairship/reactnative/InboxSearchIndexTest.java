@@ -0,0 +1,240 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.app.Application;
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.urbanairship.messagecenter.Message;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link InboxSearchIndex} tests.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class InboxSearchIndexTest {
+
+    private Application application;
+    private InboxSnapshot snapshot;
+    private InboxSearchIndex index;
+
+    @Before
+    public void setUp() {
+        application = ApplicationProvider.getApplicationContext();
+        snapshot = new InboxSnapshot(10);
+        index = new InboxSearchIndex(application);
+    }
+
+    @After
+    public void tearDown() {
+        index.close();
+    }
+
+    @Test
+    public void testPrefixSearch() {
+        sync(createMessage("sale", "Summer Sale", 1, "promo", "Discount code inside"),
+                createMessage("update", "Winter update", 2, null, null));
+
+        assertTrue(InboxSearchIndex.exists(application));
+
+        assertEquals(Collections.singletonList("sale"), search("sum"));
+        assertEquals(Collections.singletonList("sale"), search("SUMMER"));
+        assertEquals(Collections.singletonList("sale"), search("disc"));
+        assertEquals(Collections.singletonList("update"), search("w"));
+        assertEquals(Collections.<String>emptyList(), search("ummer"));
+        assertEquals(Collections.<String>emptyList(), search("autumn"));
+        assertEquals(Collections.<String>emptyList(), search(" -- "));
+    }
+
+    @Test
+    public void testEveryTermMustMatch() {
+        sync(createMessage("sale", "Summer Sale", 1, "promo", "Discount code inside"),
+                createMessage("summer", "Summer update", 2, null, null));
+
+        assertEquals(Arrays.asList("summer", "sale"), search("summer"));
+        assertEquals(Collections.singletonList("sale"), search("summer disc"));
+        assertEquals(Collections.singletonList("summer"), search("up sum"));
+        assertEquals(Collections.<String>emptyList(), search("summer winter"));
+    }
+
+    @Test
+    public void testRanking() {
+        sync(createMessage("extras", "Weekly news", 3, "body", "sale"),
+                createMessage("title", "Sale", 1, null, null),
+                createMessage("repeated", "Sale sale sale", 2, null, null),
+                createMessage("other", "Other news", 4, null, null));
+
+        // Column weight * hits * log(1 + rows / rows with hits in the column). Title hits weigh
+        // three times extras hits, so they win even though the term is rarer in extras.
+        List<InboxSearchIndex.Result> results = index.search("sale", 10);
+        assertEquals(Arrays.asList("repeated", "title", "extras"), getIds(results));
+        assertEquals(3 * 3 * Math.log(1 + 4 / 2.0), results.get(0).score, 0.0001);
+        assertEquals(3 * Math.log(1 + 4 / 2.0), results.get(1).score, 0.0001);
+        assertEquals(Math.log(1 + 4 / 1.0), results.get(2).score, 0.0001);
+
+        // Rare terms count more than common ones
+        double newsScore = index.search("weekly", 10).get(0).score;
+        double commonScore = index.search("news", 10).get(0).score;
+        assertTrue(newsScore > commonScore);
+
+        assertEquals(Collections.singletonList("repeated"), search("sale", 1));
+    }
+
+    @Test
+    public void testEqualScoresRankNewestFirst() {
+        sync(createMessage("old", "Sale", 1, null, null),
+                createMessage("new", "Sale", 3, null, null),
+                createMessage("middle", "Sale", 2, null, null));
+
+        assertEquals(Arrays.asList("new", "middle", "old"), search("sale"));
+    }
+
+    @Test
+    public void testReindexOnContentChange() {
+        Message message = createMessage("message", "Summer sale", 1, "promo", "discount");
+        Message other = createMessage("other", "Other", 2, null, null);
+        sync(message, other);
+
+        // A new instance with the same content, like after a refresh, is not reindexed
+        sync(createMessage("message", "Summer sale", 1, "promo", "discount"), other);
+        assertEquals(Collections.singletonList("message"), search("summer"));
+
+        sync(createMessage("message", "Winter sale", 1, "promo", "voucher"), other);
+        assertEquals(Collections.<String>emptyList(), search("summer"));
+        assertEquals(Collections.<String>emptyList(), search("discount"));
+        assertEquals(Collections.singletonList("message"), search("winter voucher"));
+    }
+
+    @Test
+    public void testRemovedMessages() {
+        Message message = createMessage("message", "Summer sale", 1, null, null);
+        Message other = createMessage("other", "Summer update", 2, null, null);
+        sync(message, other);
+
+        sync(other);
+
+        assertEquals(Collections.singletonList("other"), search("summer"));
+    }
+
+    @Test
+    public void testSnapshotReset() {
+        // A snapshot that only remembers one removal can't diff past two of them
+        snapshot = new InboxSnapshot(1);
+        Message first = createMessage("first", "Summer sale", 1, null, null);
+        Message second = createMessage("second", "Summer update", 2, null, null);
+        Message third = createMessage("third", "Summer news", 3, null, null);
+        sync(first, second, third);
+
+        snapshot.update(Arrays.asList(second, third));
+        snapshot.update(Collections.singletonList(third));
+        assertTrue(snapshot.getChanges(1).reset);
+
+        index.sync(snapshot);
+
+        assertEquals(Collections.singletonList("third"), search("summer"));
+    }
+
+    @Test
+    public void testIndexPersistsAcrossLaunches() {
+        sync(createMessage("kept", "Summer sale", 1, null, null),
+                createMessage("edited", "Summer update", 2, null, null),
+                createMessage("removed", "Summer news", 3, null, null));
+
+        // The next launch starts with a new snapshot and compares the stored content hashes
+        index.close();
+        index = new InboxSearchIndex(application);
+        snapshot = new InboxSnapshot(10);
+        sync(createMessage("kept", "Summer sale", 1, null, null),
+                createMessage("edited", "Winter update", 2, null, null),
+                createMessage("added", "Summer launch", 4, null, null));
+
+        assertEquals(Arrays.asList("added", "kept"), search("summer"));
+        assertEquals(Collections.singletonList("edited"), search("winter"));
+    }
+
+    @Test
+    public void testHighlight() {
+        Message message = createMessage("message", "Summer Sale, summer fun", 1, "promo", "sale ends");
+
+        List<InboxSearchIndex.Highlight> highlights = InboxSearchIndex.highlight(message, "SUM sale");
+
+        assertEquals(4, highlights.size());
+        assertHighlight(highlights.get(0), InboxSearchIndex.FIELD_TITLE, null, 0, 3);
+        assertHighlight(highlights.get(1), InboxSearchIndex.FIELD_TITLE, null, 7, 11);
+        assertHighlight(highlights.get(2), InboxSearchIndex.FIELD_TITLE, null, 13, 16);
+        assertHighlight(highlights.get(3), InboxSearchIndex.FIELD_EXTRAS, "promo", 0, 4);
+
+        assertFalse(InboxSearchIndex.highlight(message, "summer").isEmpty());
+        assertTrue(InboxSearchIndex.highlight(message, "--").isEmpty());
+    }
+
+    private void sync(@NonNull Message... messages) {
+        snapshot.update(Arrays.asList(messages));
+        index.sync(snapshot);
+    }
+
+    @NonNull
+    private List<String> search(@NonNull String query) {
+        return search(query, 10);
+    }
+
+    @NonNull
+    private List<String> search(@NonNull String query, int limit) {
+        return getIds(index.search(query, limit));
+    }
+
+    @NonNull
+    private static List<String> getIds(@NonNull List<InboxSearchIndex.Result> results) {
+        List<String> ids = new ArrayList<>();
+        for (InboxSearchIndex.Result result : results) {
+            ids.add(result.messageId);
+        }
+        return ids;
+    }
+
+    private static void assertHighlight(@NonNull InboxSearchIndex.Highlight highlight, @NonNull String field,
+                                        @Nullable String key, int start, int end) {
+        assertEquals(field, highlight.field);
+        assertEquals(key, highlight.key);
+        assertEquals(start, highlight.start);
+        assertEquals(end, highlight.end);
+    }
+
+    @NonNull
+    private static Message createMessage(@NonNull String id, @NonNull String title, long sentDate,
+                                         @Nullable String extrasKey, @Nullable String extrasValue) {
+        Bundle extras = new Bundle();
+        if (extrasKey != null) {
+            extras.putString(extrasKey, extrasValue);
+        }
+
+        Message message = mock(Message.class);
+        when(message.getMessageId()).thenReturn(id);
+        when(message.getTitle()).thenReturn(title);
+        when(message.getSentDateMS()).thenReturn(sentDate);
+        when(message.getExtras()).thenReturn(extras);
+        return message;
+    }
+}
@@ -0,0 +1,173 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+
+import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.messagecenter.Inbox;
+import com.urbanairship.messagecenter.Message;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link InboxSelection} tests.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class InboxSelectionTest {
+
+    private Inbox inbox;
+
+    @Before
+    public void setUp() {
+        List<Message> messages = new ArrayList<>();
+        messages.add(createMessage("read", 1000, true));
+        messages.add(createMessage("unread", 2000, false));
+        messages.add(createMessage("old unread", 0, false));
+        messages.add(createMessage("old read", 0, true));
+
+        inbox = mock(Inbox.class);
+        when(inbox.getMessages()).thenReturn(messages);
+        for (Message message : messages) {
+            when(inbox.getMessage(message.getMessageId())).thenReturn(message);
+        }
+    }
+
+    @Test
+    public void testMarkReadByIds() {
+        InboxSelection selection = new InboxSelection(Arrays.asList("read", "unread", "missing", "old unread"), null);
+
+        InboxSelection.Result result = selection.apply(inbox, false);
+
+        assertEquals(2, result.updatedCount);
+        assertStatuses(result, "read", InboxSelection.STATUS_UNCHANGED,
+                "unread", InboxSelection.STATUS_UPDATED,
+                "missing", InboxSelection.STATUS_NOT_FOUND,
+                "old unread", InboxSelection.STATUS_UPDATED);
+
+        // One batch call for every message that changes
+        verify(inbox).markMessagesRead(new HashSet<>(Arrays.asList("unread", "old unread")));
+        verify(inbox, never()).deleteMessages(anySet());
+    }
+
+    @Test
+    public void testDeleteByIds() {
+        InboxSelection selection = new InboxSelection(Arrays.asList("read", "missing", "unread"), null);
+
+        InboxSelection.Result result = selection.apply(inbox, true);
+
+        // Read messages are deleted too
+        assertEquals(2, result.updatedCount);
+        assertStatuses(result, "read", InboxSelection.STATUS_UPDATED,
+                "missing", InboxSelection.STATUS_NOT_FOUND,
+                "unread", InboxSelection.STATUS_UPDATED);
+
+        verify(inbox).deleteMessages(new HashSet<>(Arrays.asList("read", "unread")));
+        verify(inbox, never()).markMessagesRead(anySet());
+    }
+
+    @Test
+    public void testMarkReadByFilter() throws JsonException {
+        InboxSelection selection = new InboxSelection(null, createFilter(500));
+
+        InboxSelection.Result result = selection.apply(inbox, false);
+
+        // Messages outside the filter are not reported
+        assertEquals(1, result.updatedCount);
+        assertStatuses(result, "read", InboxSelection.STATUS_UNCHANGED,
+                "unread", InboxSelection.STATUS_UPDATED);
+
+        verify(inbox).markMessagesRead(Collections.singleton("unread"));
+    }
+
+    @Test
+    public void testDeleteByIdsAndFilter() throws JsonException {
+        InboxSelection selection = new InboxSelection(Arrays.asList("old read", "missing", "unread", "read"), createFilter(500));
+
+        InboxSelection.Result result = selection.apply(inbox, true);
+
+        assertEquals(2, result.updatedCount);
+        assertStatuses(result, "old read", InboxSelection.STATUS_FILTERED_OUT,
+                "missing", InboxSelection.STATUS_NOT_FOUND,
+                "unread", InboxSelection.STATUS_UPDATED,
+                "read", InboxSelection.STATUS_UPDATED);
+
+        verify(inbox).deleteMessages(new HashSet<>(Arrays.asList("unread", "read")));
+    }
+
+    @Test
+    public void testNothingToUpdate() throws JsonException {
+        InboxSelection selection = new InboxSelection(Arrays.asList("read", "old unread", "missing"), createFilter(500));
+
+        InboxSelection.Result result = selection.apply(inbox, false);
+
+        assertEquals(0, result.updatedCount);
+        assertStatuses(result, "read", InboxSelection.STATUS_UNCHANGED,
+                "old unread", InboxSelection.STATUS_FILTERED_OUT,
+                "missing", InboxSelection.STATUS_NOT_FOUND);
+
+        // The inbox is left alone
+        verify(inbox, never()).markMessagesRead(anySet());
+        verify(inbox, never()).deleteMessages(anySet());
+    }
+
+    @Test
+    public void testEmptyIds() throws JsonException {
+        InboxSelection selection = new InboxSelection(Collections.<String>emptyList(), createFilter(500));
+
+        InboxSelection.Result result = selection.apply(inbox, true);
+
+        // An empty ID list selects nothing, even with a filter
+        assertEquals(0, result.updatedCount);
+        assertEquals(Collections.<String, String>emptyMap(), result.statuses);
+        verify(inbox, never()).deleteMessages(anySet());
+    }
+
+    private static void assertStatuses(@NonNull InboxSelection.Result result, @NonNull String... idsAndStatuses) {
+        Map<String, String> expected = new LinkedHashMap<>();
+        for (int i = 0; i < idsAndStatuses.length; i += 2) {
+            expected.put(idsAndStatuses[i], idsAndStatuses[i + 1]);
+        }
+
+        // Statuses are listed in selection order
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(result.statuses.entrySet()));
+    }
+
+    @NonNull
+    private static InboxQuery createFilter(long sentAfter) throws JsonException {
+        return InboxQuery.fromJson(JsonMap.newBuilder().put("sentAfter", sentAfter).build());
+    }
+
+    @NonNull
+    private static Message createMessage(@NonNull String id, long sentDate, boolean read) {
+        Message message = mock(Message.class);
+        when(message.getMessageId()).thenReturn(id);
+        when(message.getSentDateMS()).thenReturn(sentDate);
+        when(message.isRead()).thenReturn(read);
+        when(message.getExtras()).thenReturn(new Bundle());
+        return message;
+    }
+}
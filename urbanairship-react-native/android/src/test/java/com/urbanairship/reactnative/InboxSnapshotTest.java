@@ -0,0 +1,184 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+
+import com.urbanairship.messagecenter.Message;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link InboxSnapshot} tests.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class InboxSnapshotTest {
+
+    private InboxSnapshot snapshot;
+    private Message first;
+    private Message second;
+    private Message third;
+
+    @Before
+    public void setUp() {
+        snapshot = new InboxSnapshot(2);
+        first = createMessage("first", "First", false);
+        second = createMessage("second", "Second", true);
+        third = createMessage("third", "Third", false);
+    }
+
+    @Test
+    public void testInitialUpdate() {
+        assertTrue(snapshot.update(Arrays.asList(first, second)));
+
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(2, snapshot.getCount());
+        assertEquals(1, snapshot.getUnreadCount());
+
+        InboxSnapshot.Changes changes = snapshot.getChanges(0);
+        assertEquals(1, changes.version);
+        assertFalse(changes.reset);
+        assertEquals(Arrays.asList(first, second), changes.added);
+        assertEquals(Collections.<Message>emptyList(), changes.changed);
+        assertEquals(Collections.<String>emptyList(), changes.removed);
+    }
+
+    @Test
+    public void testUnchangedUpdateKeepsVersion() {
+        snapshot.update(Arrays.asList(first, second));
+
+        assertFalse(snapshot.update(Arrays.asList(first, second)));
+        assertEquals(1, snapshot.getVersion());
+
+        // A new instance with the same content is not a change either
+        assertFalse(snapshot.update(Arrays.asList(first, createMessage("second", "Second", true))));
+        assertEquals(1, snapshot.getVersion());
+    }
+
+    @Test
+    public void testReadChange() {
+        snapshot.update(Arrays.asList(first, second));
+        setRead(first, true);
+
+        assertTrue(snapshot.update(Arrays.asList(first, second)));
+        assertEquals(0, snapshot.getUnreadCount());
+
+        InboxSnapshot.Changes changes = snapshot.getChanges(1);
+        assertEquals(2, changes.version);
+        assertEquals(Collections.<Message>emptyList(), changes.added);
+        assertEquals(Collections.singletonList(first), changes.changed);
+        assertEquals(0, changes.unreadCount);
+    }
+
+    @Test
+    public void testContentChange() {
+        snapshot.update(Arrays.asList(first, second));
+        Message updated = createMessage("second", "Updated", true);
+
+        assertTrue(snapshot.update(Arrays.asList(first, updated)));
+        assertEquals(Collections.singletonList(updated), snapshot.getChanges(1).changed);
+    }
+
+    @Test
+    public void testRemoved() {
+        snapshot.update(Arrays.asList(first, second));
+        snapshot.update(Arrays.asList(second, third));
+
+        InboxSnapshot.Changes changes = snapshot.getChanges(1);
+        assertEquals(Collections.singletonList(third), changes.added);
+        assertEquals(Collections.singletonList("first"), changes.removed);
+        assertEquals(2, changes.count);
+        assertEquals(1, changes.unreadCount);
+
+        // Changes since the current version are empty
+        changes = snapshot.getChanges(2);
+        assertEquals(Collections.<Message>emptyList(), changes.added);
+        assertEquals(Collections.<String>emptyList(), changes.removed);
+    }
+
+    @Test
+    public void testReAdded() {
+        snapshot.update(Arrays.asList(first, second));
+        snapshot.update(Collections.singletonList(second));
+        snapshot.update(Arrays.asList(first, second));
+
+        InboxSnapshot.Changes changes = snapshot.getChanges(1);
+        assertEquals(Collections.singletonList(first), changes.added);
+        assertEquals(Collections.<String>emptyList(), changes.removed);
+    }
+
+    @Test
+    public void testResetAfterForgottenRemovals() {
+        snapshot.update(Arrays.asList(first, second, third));
+        snapshot.update(Collections.singletonList(third));
+
+        // Two removals are remembered, a third one pushes the first out
+        Message fourth = createMessage("fourth", "Fourth", false);
+        snapshot.update(Collections.singletonList(fourth));
+
+        InboxSnapshot.Changes changes = snapshot.getChanges(1);
+        assertTrue(changes.reset);
+        assertEquals(Collections.singletonList(fourth), changes.added);
+        assertEquals(Collections.<String>emptyList(), changes.removed);
+
+        changes = snapshot.getChanges(2);
+        assertFalse(changes.reset);
+        assertEquals(Collections.singletonList("third"), changes.removed);
+    }
+
+    @Test
+    public void testResetForUnknownVersion() {
+        snapshot.update(Arrays.asList(first, second));
+
+        InboxSnapshot.Changes changes = snapshot.getChanges(5);
+        assertTrue(changes.reset);
+        assertEquals(Arrays.asList(first, second), changes.added);
+    }
+
+    @Test
+    public void testContentHashIgnoresExtrasOrder() {
+        Bundle extras = new Bundle();
+        extras.putString("a", "1");
+        extras.putString("b", "2");
+        Bundle reordered = new Bundle();
+        reordered.putString("b", "2");
+        reordered.putString("a", "1");
+
+        Message message = createMessage("message", "Title", false);
+        Message other = createMessage("message", "Title", false);
+        when(message.getExtras()).thenReturn(extras);
+        when(other.getExtras()).thenReturn(reordered);
+
+        assertEquals(InboxSnapshot.getContentHash(message), InboxSnapshot.getContentHash(other));
+    }
+
+    @NonNull
+    private static Message createMessage(@NonNull String id, @NonNull String title, boolean read) {
+        Message message = mock(Message.class);
+        when(message.getMessageId()).thenReturn(id);
+        when(message.getTitle()).thenReturn(title);
+        when(message.getExtras()).thenReturn(new Bundle());
+        setRead(message, read);
+        return message;
+    }
+
+    private static void setRead(@NonNull Message message, boolean read) {
+        when(message.isRead()).thenReturn(read);
+    }
+}
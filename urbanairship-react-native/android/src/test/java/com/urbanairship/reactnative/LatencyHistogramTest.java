@@ -0,0 +1,99 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import com.urbanairship.json.JsonList;
+import com.urbanairship.json.JsonMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link LatencyHistogram} tests.
+ */
+public class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, histogram.getPercentile(50));
+
+        JsonMap json = histogram.toJsonMap();
+        assertEquals(0, json.opt("count").getLong(-1));
+        assertEquals(0, json.opt("meanMillis").getLong(-1));
+        assertEquals(0, json.opt("p99Millis").getLong(-1));
+    }
+
+    @Test
+    public void testBuckets() {
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(2);
+        histogram.record(3);
+        histogram.record(4);
+
+        JsonList buckets = histogram.toJsonMap().opt("buckets").optList();
+        assertEquals(18, buckets.size());
+        assertEquals(1, buckets.get(0).getLong(-1));
+        assertEquals(1, buckets.get(1).getLong(-1));
+        assertEquals(2, buckets.get(2).getLong(-1));
+        assertEquals(1, buckets.get(3).getLong(-1));
+    }
+
+    @Test
+    public void testPercentiles() {
+        for (int i = 0; i < 90; i++) {
+            histogram.record(10);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(100);
+        }
+        histogram.record(1000);
+
+        // Percentiles report the upper bound of their bucket
+        assertEquals(15, histogram.getPercentile(50));
+        assertEquals(15, histogram.getPercentile(90));
+        assertEquals(127, histogram.getPercentile(99));
+        assertEquals(1000, histogram.getPercentile(100));
+
+        JsonMap json = histogram.toJsonMap();
+        assertEquals(100, json.opt("count").getLong(-1));
+        assertEquals(28, json.opt("meanMillis").getLong(-1));
+        assertEquals(1000, json.opt("maxMillis").getLong(-1));
+        assertEquals(15, json.opt("p50Millis").getLong(-1));
+        assertEquals(127, json.opt("p99Millis").getLong(-1));
+    }
+
+    @Test
+    public void testPercentileCappedAtMax() {
+        histogram.record(9);
+
+        assertEquals(9, histogram.getPercentile(50));
+    }
+
+    @Test
+    public void testOverflowBucket() {
+        histogram.record(1000000);
+
+        JsonList buckets = histogram.toJsonMap().opt("buckets").optList();
+        assertEquals(1, buckets.get(17).getLong(-1));
+        assertEquals(1000000, histogram.getPercentile(50));
+    }
+
+    @Test
+    public void testNegativeValues() {
+        histogram.record(-5);
+
+        JsonMap json = histogram.toJsonMap();
+        assertEquals(0, json.opt("maxMillis").getLong(-1));
+        assertEquals(1, json.opt("buckets").optList().get(0).getLong(-1));
+    }
+}
@@ -0,0 +1,185 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.app.Application;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.urbanairship.channel.AirshipChannel;
+import com.urbanairship.channel.AirshipChannelListener;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.messagecenter.Inbox;
+import com.urbanairship.messagecenter.InboxListener;
+import com.urbanairship.push.PushListener;
+import com.urbanairship.push.PushManager;
+import com.urbanairship.reactnative.events.InboxUpdatedEvent;
+import com.urbanairship.reactnative.events.NotificationOptInEvent;
+import com.urbanairship.reactnative.events.PushReceivedEvent;
+import com.urbanairship.reactnative.events.RegistrationEvent;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * {@link LazyEventListeners} tests, driven by JS subscriptions in an {@link EventEmitter}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(sdk = 28, shadows = ShadowArguments.class, instrumentedPackages = "com.facebook.react.bridge")
+public class LazyEventListenersTest {
+
+    private final PushManager pushManager = mock(PushManager.class);
+    private final AirshipChannel channel = mock(AirshipChannel.class);
+    private final Inbox inbox = mock(Inbox.class);
+    private final PushListener pushListener = mock(PushListener.class);
+    private final AirshipChannelListener channelListener = mock(AirshipChannelListener.class);
+    private final InboxListener inboxListener = mock(InboxListener.class);
+
+    private EventEmitter emitter;
+    private Looper looper;
+    private FakeReactContext firstContext;
+    private FakeReactContext secondContext;
+
+    @Before
+    public void setUp() {
+        Application application = ApplicationProvider.getApplicationContext();
+
+        emitter = new EventEmitter();
+        looper = emitter.getLooper();
+        emitter.setConfig(application, EventEmitterConfig.fromJson(JsonMap.EMPTY_MAP));
+
+        firstContext = createReactContext();
+        secondContext = createReactContext();
+        emitter.attachReactContext(firstContext);
+        emitter.attachReactContext(secondContext);
+        shadowOf(looper).idle();
+    }
+
+    @After
+    public void tearDown() {
+        emitter.quit();
+    }
+
+    @Test
+    public void testAttachOnFirstSubscription() {
+        setListeners(true);
+        verifyNoInteractions(pushManager, channel, inbox);
+
+        listen(firstContext, PushReceivedEvent.PUSH_RECEIVED_EVENT, 1);
+        listen(firstContext, PushReceivedEvent.PUSH_RECEIVED_EVENT, 1);
+        listen(secondContext, PushReceivedEvent.PUSH_RECEIVED_EVENT, 1);
+
+        verify(pushManager, times(1)).addPushListener(pushListener);
+        verifyNoInteractions(channel, inbox);
+
+        listen(secondContext, InboxUpdatedEvent.INBOX_UPDATED_EVENT, 1);
+        verify(inbox, times(1)).addListener(inboxListener);
+        verifyNoInteractions(channel);
+    }
+
+    @Test
+    public void testDetachWhenLastSubscriptionIsRemoved() {
+        setListeners(true);
+        listen(firstContext, PushReceivedEvent.PUSH_RECEIVED_EVENT, 2);
+        listen(secondContext, PushReceivedEvent.PUSH_RECEIVED_EVENT, 1);
+
+        listen(firstContext, PushReceivedEvent.PUSH_RECEIVED_EVENT, -2);
+        verify(pushManager, never()).removePushListener(pushListener);
+
+        listen(secondContext, PushReceivedEvent.PUSH_RECEIVED_EVENT, -1);
+        verify(pushManager, times(1)).removePushListener(pushListener);
+
+        // A new subscription attaches it again
+        listen(secondContext, PushReceivedEvent.PUSH_RECEIVED_EVENT, 1);
+        verify(pushManager, times(2)).addPushListener(pushListener);
+    }
+
+    @Test
+    public void testDetachWhenContextIsDetached() {
+        setListeners(true);
+        listen(firstContext, InboxUpdatedEvent.INBOX_UPDATED_EVENT, 1);
+
+        emitter.detachReactContext(firstContext);
+        shadowOf(looper).idle();
+
+        verify(inbox, times(1)).removeListener(inboxListener);
+    }
+
+    @Test
+    public void testChannelListenerIsShared() {
+        setListeners(true);
+        listen(firstContext, RegistrationEvent.CHANNEL_REGISTRATION_EVENT, 1);
+        listen(secondContext, NotificationOptInEvent.NOTIFICATION_OPT_IN_STATUS_EVENT, 1);
+        verify(channel, times(1)).addChannelListener(channelListener);
+
+        // Opt-in status events still need the channel listener
+        listen(firstContext, RegistrationEvent.CHANNEL_REGISTRATION_EVENT, -1);
+        verify(channel, never()).removeChannelListener(channelListener);
+
+        listen(secondContext, NotificationOptInEvent.NOTIFICATION_OPT_IN_STATUS_EVENT, -1);
+        verify(channel, times(1)).removeChannelListener(channelListener);
+    }
+
+    @Test
+    public void testKeepUnusedListeners() {
+        setListeners(false);
+        listen(firstContext, PushReceivedEvent.PUSH_RECEIVED_EVENT, 1);
+        listen(firstContext, PushReceivedEvent.PUSH_RECEIVED_EVENT, -1);
+
+        verify(pushManager, times(1)).addPushListener(pushListener);
+        verify(pushManager, never()).removePushListener(pushListener);
+    }
+
+    @Test
+    public void testExistingSubscriptions() {
+        listen(firstContext, PushReceivedEvent.PUSH_RECEIVED_EVENT, 1);
+        listen(secondContext, PushReceivedEvent.PUSH_RECEIVED_EVENT, 1);
+
+        setListeners(true);
+
+        verify(pushManager, times(1)).addPushListener(pushListener);
+    }
+
+    private void setListeners(boolean detachUnusedListeners) {
+        emitter.setSubscriptionListener(new LazyEventListeners(pushManager,
+                channel,
+                inbox,
+                pushListener,
+                channelListener,
+                inboxListener,
+                detachUnusedListeners));
+        shadowOf(looper).idle();
+    }
+
+    private void listen(@NonNull FakeReactContext context, @NonNull String eventName, int delta) {
+        emitter.updateListeners(context, Collections.singletonMap(eventName, delta));
+        shadowOf(looper).idle();
+    }
+
+    @NonNull
+    private static FakeReactContext createReactContext() {
+        return new FakeReactContext(ApplicationProvider.<Application>getApplicationContext(), new FakeReactContext.Listener() {
+            @Override
+            public void onEvent(@NonNull String name, @Nullable ReadableMap body) {}
+        });
+    }
+}
@@ -0,0 +1,551 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.app.Application;
+import android.os.Bundle;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.PromiseImpl;
+import com.facebook.react.bridge.ReadableMap;
+import com.urbanairship.AirshipConfigOptions;
+import com.urbanairship.TestAirship;
+import com.urbanairship.UAirship;
+import com.urbanairship.analytics.Analytics;
+import com.urbanairship.channel.AirshipChannel;
+import com.urbanairship.channel.AirshipChannelListener;
+import com.urbanairship.messagecenter.Inbox;
+import com.urbanairship.messagecenter.InboxListener;
+import com.urbanairship.messagecenter.Message;
+import com.urbanairship.messagecenter.MessageCenter;
+import com.urbanairship.push.NotificationInfo;
+import com.urbanairship.push.NotificationListener;
+import com.urbanairship.push.PushListener;
+import com.urbanairship.push.PushManager;
+import com.urbanairship.push.PushMessage;
+import com.urbanairship.reactnative.events.InboxUpdatedEvent;
+import com.urbanairship.reactnative.events.NotificationResponseEvent;
+import com.urbanairship.reactnative.events.PushReceivedEvent;
+import com.urbanairship.reactnative.events.RegistrationEvent;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.shadows.ShadowSystemClock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Drives {@link ReactAutopilot} with synthetic SDK callbacks against a stubbed {@link UAirship}.
+ *
+ * The autopilot registers its listeners on the stubbed push manager, channel and inbox, and the
+ * harness fires pushes, posted notifications, notification responses, inbox updates and channel
+ * updates into them at the configured rates. Time is simulated: every tick the harness fires the
+ * events that are due, advances the Robolectric clock and runs the emitter looper until it is
+ * idle. Events are received by a {@link FakeReactContext} listening for every event name.
+ *
+ * Requires a Robolectric test in paused looper mode with the {@link ShadowArguments} shadow.
+ */
+class LoadHarness {
+
+    private static final String SENT_AT_EXTRA = "load_sent_at";
+    private static final long DRAIN_TIMEOUT_MILLIS = 60000;
+    private static final int HEAP_SAMPLE_TICKS = 100;
+
+    /**
+     * Harness options.
+     */
+    static class Options {
+
+        private final int pushesPerMinute;
+        private final int notificationsPerMinute;
+        private final int responsesPerMinute;
+        private final int inboxUpdatesPerMinute;
+        private final int channelUpdatesPerMinute;
+        private final long durationMillis;
+        private final long tickMillis;
+        private final int extrasBytes;
+
+        private Options(@NonNull Builder builder) {
+            this.pushesPerMinute = builder.pushesPerMinute;
+            this.notificationsPerMinute = builder.notificationsPerMinute;
+            this.responsesPerMinute = builder.responsesPerMinute;
+            this.inboxUpdatesPerMinute = builder.inboxUpdatesPerMinute;
+            this.channelUpdatesPerMinute = builder.channelUpdatesPerMinute;
+            this.durationMillis = builder.durationMillis;
+            this.tickMillis = builder.tickMillis;
+            this.extrasBytes = builder.extrasBytes;
+        }
+
+        /**
+         * Creates a new builder.
+         *
+         * @return A new builder.
+         */
+        @NonNull
+        static Builder newBuilder() {
+            return new Builder();
+        }
+
+        /**
+         * Options builder.
+         */
+        static class Builder {
+
+            private int pushesPerMinute;
+            private int notificationsPerMinute;
+            private int responsesPerMinute;
+            private int inboxUpdatesPerMinute;
+            private int channelUpdatesPerMinute;
+            private long durationMillis = 60000;
+            private long tickMillis = 16;
+            private int extrasBytes = 1024;
+
+            /**
+             * Sets the rate of silent pushes, delivered to the push listener.
+             *
+             * @param pushesPerMinute The value.
+             * @return The builder.
+             */
+            @NonNull
+            Builder setPushesPerMinute(int pushesPerMinute) {
+                this.pushesPerMinute = pushesPerMinute;
+                return this;
+            }
+
+            /**
+             * Sets the rate of posted notifications, delivered to the notification listener.
+             *
+             * @param notificationsPerMinute The value.
+             * @return The builder.
+             */
+            @NonNull
+            Builder setNotificationsPerMinute(int notificationsPerMinute) {
+                this.notificationsPerMinute = notificationsPerMinute;
+                return this;
+            }
+
+            /**
+             * Sets the rate of opened notifications, delivered to the notification listener.
+             *
+             * @param responsesPerMinute The value.
+             * @return The builder.
+             */
+            @NonNull
+            Builder setResponsesPerMinute(int responsesPerMinute) {
+                this.responsesPerMinute = responsesPerMinute;
+                return this;
+            }
+
+            /**
+             * Sets the rate of inbox updates, delivered to the inbox listener.
+             *
+             * @param inboxUpdatesPerMinute The value.
+             * @return The builder.
+             */
+            @NonNull
+            Builder setInboxUpdatesPerMinute(int inboxUpdatesPerMinute) {
+                this.inboxUpdatesPerMinute = inboxUpdatesPerMinute;
+                return this;
+            }
+
+            /**
+             * Sets the rate of channel updates, delivered to the channel listener. Every update
+             * carries a new channel ID.
+             *
+             * @param channelUpdatesPerMinute The value.
+             * @return The builder.
+             */
+            @NonNull
+            Builder setChannelUpdatesPerMinute(int channelUpdatesPerMinute) {
+                this.channelUpdatesPerMinute = channelUpdatesPerMinute;
+                return this;
+            }
+
+            /**
+             * Sets how long events are fired for, in simulated time.
+             *
+             * @param durationMillis The value.
+             * @return The builder.
+             */
+            @NonNull
+            Builder setDurationMillis(long durationMillis) {
+                this.durationMillis = durationMillis;
+                return this;
+            }
+
+            /**
+             * Sets how far the clock advances per tick. Defaults to a frame.
+             *
+             * @param tickMillis The value.
+             * @return The builder.
+             */
+            @NonNull
+            Builder setTickMillis(long tickMillis) {
+                this.tickMillis = tickMillis;
+                return this;
+            }
+
+            /**
+             * Sets the approximate size of the push extras.
+             *
+             * @param extrasBytes The value.
+             * @return The builder.
+             */
+            @NonNull
+            Builder setExtrasBytes(int extrasBytes) {
+                this.extrasBytes = extrasBytes;
+                return this;
+            }
+
+            /**
+             * Builds the options.
+             *
+             * @return The options.
+             */
+            @NonNull
+            Options build() {
+                return new Options(this);
+            }
+        }
+    }
+
+    private final Application application;
+    private final Options options;
+
+    private PushListener pushListener;
+    private NotificationListener notificationListener;
+    private AirshipChannelListener channelListener;
+    private InboxListener inboxListener;
+
+    // Read by the inbox executor
+    private final List<Message> inboxMessages = new CopyOnWriteArrayList<>();
+    private final AtomicLong tracked = new AtomicLong();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<String, Long> received = new HashMap<>();
+    private int fired;
+    private int channelUpdates;
+
+    /**
+     * Default constructor.
+     *
+     * @param application The application.
+     * @param options The options.
+     */
+    LoadHarness(@NonNull Application application, @NonNull Options options) {
+        this.application = application;
+        this.options = options;
+    }
+
+    /**
+     * Runs the load and waits until every tracked event was received.
+     *
+     * @return The report.
+     */
+    @NonNull
+    LoadReport run() {
+        long heapBefore = usedHeap(true);
+
+        installAirship();
+
+        EventEmitter emitter = EventEmitter.shared();
+        Looper looper = emitter.getLooper();
+
+        FakeReactContext reactContext = new FakeReactContext(application, new FakeReactContext.Listener() {
+            @Override
+            public void onEvent(@NonNull String name, @Nullable ReadableMap body) {
+                onReceived(name, body);
+            }
+        });
+
+        Map<String, Integer> listeners = new HashMap<>();
+        listeners.put(PushReceivedEvent.PUSH_RECEIVED_EVENT, 1);
+        listeners.put(NotificationResponseEvent.NOTIFICATION_RESPONSE_EVENT, 1);
+        listeners.put(InboxUpdatedEvent.INBOX_UPDATED_EVENT, 1);
+        listeners.put(RegistrationEvent.CHANNEL_REGISTRATION_EVENT, 1);
+
+        emitter.attachReactContext(reactContext);
+        emitter.updateListeners(reactContext, listeners);
+        emitter.resetStats();
+        shadowOf(looper).idle();
+
+        double pushesDue = 0;
+        double notificationsDue = 0;
+        double responsesDue = 0;
+        double inboxUpdatesDue = 0;
+        double channelUpdatesDue = 0;
+
+        long maxQueueDepth = 0;
+        long totalQueueDepth = 0;
+        long ticks = 0;
+        long peakHeap = 0;
+
+        long startNanos = System.nanoTime();
+        long end = SystemClock.uptimeMillis() + options.durationMillis;
+        long drainDeadline = end + DRAIN_TIMEOUT_MILLIS;
+
+        while (SystemClock.uptimeMillis() < end || (getQueueDepth() > 0 && SystemClock.uptimeMillis() < drainDeadline)) {
+            if (SystemClock.uptimeMillis() < end) {
+                double ticksPerMinute = 60000.0 / options.tickMillis;
+                pushesDue += options.pushesPerMinute / ticksPerMinute;
+                notificationsDue += options.notificationsPerMinute / ticksPerMinute;
+                responsesDue += options.responsesPerMinute / ticksPerMinute;
+                inboxUpdatesDue += options.inboxUpdatesPerMinute / ticksPerMinute;
+                channelUpdatesDue += options.channelUpdatesPerMinute / ticksPerMinute;
+
+                for (; pushesDue >= 1; pushesDue--) {
+                    pushListener.onPushReceived(createMessage(), false);
+                }
+
+                for (; notificationsDue >= 1; notificationsDue--) {
+                    notificationListener.onNotificationPosted(new NotificationInfo(createMessage(), fired, null));
+                }
+
+                for (; responsesDue >= 1; responsesDue--) {
+                    notificationListener.onNotificationOpened(new NotificationInfo(createMessage(), fired, null));
+                }
+
+                if (inboxUpdatesDue >= 1) {
+                    for (; inboxUpdatesDue >= 1; inboxUpdatesDue--) {
+                        inboxMessages.add(0, createInboxMessage(inboxMessages.size()));
+                        inboxListener.onInboxUpdated();
+                    }
+
+                    // The inbox listener diffs and sends its event on the inbox executor
+                    waitForInboxExecutor();
+                }
+
+                for (; channelUpdatesDue >= 1; channelUpdatesDue--) {
+                    String channelId = "channel-" + channelUpdates++;
+                    if (channelUpdates == 1) {
+                        channelListener.onChannelCreated(channelId);
+                    } else {
+                        channelListener.onChannelUpdated(channelId);
+                    }
+                }
+            }
+
+            ShadowSystemClock.advanceBy(Duration.ofMillis(options.tickMillis));
+            shadowOf(looper).idle();
+
+            long depth = getQueueDepth();
+            maxQueueDepth = Math.max(maxQueueDepth, depth);
+            totalQueueDepth += depth;
+            if (++ticks % HEAP_SAMPLE_TICKS == 0) {
+                peakHeap = Math.max(peakHeap, usedHeap(false));
+            }
+        }
+
+        long wallNanos = System.nanoTime() - startNanos;
+        ReadableMap emitterStats = getEmitterStats(looper);
+
+        emitter.detachReactContext(reactContext);
+        shadowOf(looper).idle();
+
+        long heapAfter = usedHeap(true);
+
+        synchronized (this) {
+            return new LoadReport(options.durationMillis,
+                    wallNanos,
+                    fired,
+                    new HashMap<>(received),
+                    getQueueDepth(),
+                    maxQueueDepth,
+                    ticks == 0 ? 0 : totalQueueDepth / ticks,
+                    latency.getPercentile(50),
+                    latency.getPercentile(90),
+                    latency.getPercentile(99),
+                    latency.toJsonMap(),
+                    heapBefore,
+                    Math.max(peakHeap, heapAfter),
+                    heapAfter,
+                    emitterStats);
+        }
+    }
+
+    /**
+     * Installs a stubbed airship instance and runs the autopilot against it, capturing the SDK
+     * listeners it registers.
+     */
+    private void installAirship() {
+        UAirship airship = mock(UAirship.class);
+        PushManager pushManager = mock(PushManager.class);
+        AirshipChannel channel = mock(AirshipChannel.class);
+        MessageCenter messageCenter = mock(MessageCenter.class);
+        Inbox inbox = mock(Inbox.class);
+
+        AirshipConfigOptions configOptions = new AirshipConfigOptions.Builder()
+                .setAppKey("appKey-appKey-appKey-x")
+                .setAppSecret("appSecret-appSecret-xx")
+                .build();
+
+        when(airship.getAirshipConfigOptions()).thenReturn(configOptions);
+        when(airship.getPushManager()).thenReturn(pushManager);
+        when(airship.getChannel()).thenReturn(channel);
+        when(airship.getAnalytics()).thenReturn(mock(Analytics.class));
+        when(airship.requireComponent(MessageCenter.class)).thenReturn(messageCenter);
+        when(messageCenter.getInbox()).thenReturn(inbox);
+        when(pushManager.getPushToken()).thenReturn("push-token");
+        when(pushManager.isOptIn()).thenReturn(true);
+        when(inbox.getMessages()).thenAnswer(new Answer<List<Message>>() {
+            @Override
+            public List<Message> answer(InvocationOnMock invocation) {
+                return new ArrayList<>(inboxMessages);
+            }
+        });
+
+        TestAirship.install(application, airship);
+        new ReactAutopilot().onAirshipReady(airship);
+
+        // Lazy listeners are off by default, so every listener is registered right away
+        ArgumentCaptor<PushListener> pushCaptor = ArgumentCaptor.forClass(PushListener.class);
+        verify(pushManager).addPushListener(pushCaptor.capture());
+        pushListener = pushCaptor.getValue();
+
+        ArgumentCaptor<NotificationListener> notificationCaptor = ArgumentCaptor.forClass(NotificationListener.class);
+        verify(pushManager).setNotificationListener(notificationCaptor.capture());
+        notificationListener = notificationCaptor.getValue();
+
+        ArgumentCaptor<AirshipChannelListener> channelCaptor = ArgumentCaptor.forClass(AirshipChannelListener.class);
+        verify(channel).addChannelListener(channelCaptor.capture());
+        channelListener = channelCaptor.getValue();
+
+        ArgumentCaptor<InboxListener> inboxCaptor = ArgumentCaptor.forClass(InboxListener.class);
+        verify(inbox).addListener(inboxCaptor.capture());
+        inboxListener = inboxCaptor.getValue();
+    }
+
+    /**
+     * Creates an inbox message. Every other message is read.
+     */
+    @NonNull
+    private static Message createInboxMessage(int index) {
+        Message message = mock(Message.class);
+        when(message.getMessageId()).thenReturn("message-" + index);
+        when(message.isRead()).thenReturn(index % 2 == 0);
+        return message;
+    }
+
+    /**
+     * Creates a tracked push message. The send time is carried in the extras so the receiving
+     * side can measure the latency in simulated time.
+     */
+    @NonNull
+    private PushMessage createMessage() {
+        Bundle bundle = new Bundle();
+        bundle.putString(PushMessage.EXTRA_ALERT, "Load test push " + fired);
+        bundle.putString(PushMessage.EXTRA_SEND_ID, "send-" + fired);
+        bundle.putString(SENT_AT_EXTRA, String.valueOf(SystemClock.uptimeMillis()));
+
+        int size = 0;
+        for (int i = 0; size < options.extrasBytes; i++) {
+            String value = "value " + i + " padded to look like a real extra";
+            bundle.putString("key_" + i, value);
+            size += value.length() + 6;
+        }
+
+        fired++;
+        tracked.incrementAndGet();
+        return new PushMessage(bundle);
+    }
+
+    /**
+     * Called on the emitter thread for every received event.
+     */
+    private synchronized void onReceived(@NonNull String name, @Nullable ReadableMap body) {
+        Long count = received.get(name);
+        received.put(name, count == null ? 1 : count + 1);
+
+        ReadableMap extras = getExtras(body);
+        if (extras != null && extras.hasKey(SENT_AT_EXTRA)) {
+            latency.record(SystemClock.uptimeMillis() - Long.parseLong(extras.getString(SENT_AT_EXTRA)));
+            tracked.decrementAndGet();
+        }
+    }
+
+    @Nullable
+    private static ReadableMap getExtras(@Nullable ReadableMap body) {
+        if (body == null) {
+            return null;
+        }
+
+        if (body.hasKey("extras")) {
+            return body.getMap("extras");
+        }
+
+        if (body.hasKey("notification")) {
+            return getExtras(body.getMap("notification"));
+        }
+
+        return null;
+    }
+
+    /**
+     * The number of tracked events that were fired but not received yet.
+     */
+    private long getQueueDepth() {
+        return tracked.get();
+    }
+
+    @Nullable
+    private static ReadableMap getEmitterStats(@NonNull Looper looper) {
+        final AtomicReference<ReadableMap> stats = new AtomicReference<>();
+        Callback resolve = new Callback() {
+            @Override
+            public void invoke(Object... args) {
+                if (args.length > 0 && args[0] instanceof ReadableMap) {
+                    stats.set((ReadableMap) args[0]);
+                }
+            }
+        };
+
+        EventEmitter.shared().getStats(new PromiseImpl(resolve, null));
+        shadowOf(looper).idle();
+        return stats.get();
+    }
+
+    private static void waitForInboxExecutor() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        UrbanAirshipReactModule.INBOX_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        });
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long usedHeap(boolean collect) {
+        Runtime runtime = Runtime.getRuntime();
+        if (collect) {
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+            }
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
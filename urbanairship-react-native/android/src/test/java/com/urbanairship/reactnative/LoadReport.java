@@ -0,0 +1,114 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.urbanairship.json.JsonMap;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Results of a {@link LoadHarness} run. Latency is measured in simulated time, from the SDK
+ * callback until the event reached the react context. Throughput is reported both per simulated
+ * second and per wall clock second, the latter shows how much load the module can absorb.
+ */
+class LoadReport {
+
+    final long simulatedMillis;
+    final long wallNanos;
+    final int fired;
+    final Map<String, Long> received;
+    final long remainingQueueDepth;
+    final long maxQueueDepth;
+    final long meanQueueDepth;
+    final long p50LatencyMillis;
+    final long p90LatencyMillis;
+    final long p99LatencyMillis;
+    final JsonMap latencyHistogram;
+    final long heapBeforeBytes;
+    final long peakHeapBytes;
+    final long heapAfterBytes;
+    final ReadableMap emitterStats;
+
+    LoadReport(long simulatedMillis,
+               long wallNanos,
+               int fired,
+               @NonNull Map<String, Long> received,
+               long remainingQueueDepth,
+               long maxQueueDepth,
+               long meanQueueDepth,
+               long p50LatencyMillis,
+               long p90LatencyMillis,
+               long p99LatencyMillis,
+               @NonNull JsonMap latencyHistogram,
+               long heapBeforeBytes,
+               long peakHeapBytes,
+               long heapAfterBytes,
+               @Nullable ReadableMap emitterStats) {
+        this.simulatedMillis = simulatedMillis;
+        this.wallNanos = wallNanos;
+        this.fired = fired;
+        this.received = received;
+        this.remainingQueueDepth = remainingQueueDepth;
+        this.maxQueueDepth = maxQueueDepth;
+        this.meanQueueDepth = meanQueueDepth;
+        this.p50LatencyMillis = p50LatencyMillis;
+        this.p90LatencyMillis = p90LatencyMillis;
+        this.p99LatencyMillis = p99LatencyMillis;
+        this.latencyHistogram = latencyHistogram;
+        this.heapBeforeBytes = heapBeforeBytes;
+        this.peakHeapBytes = peakHeapBytes;
+        this.heapAfterBytes = heapAfterBytes;
+        this.emitterStats = emitterStats;
+    }
+
+    /**
+     * The total number of events received by the react context.
+     *
+     * @return The received event count.
+     */
+    long getReceivedCount() {
+        long count = 0;
+        for (Long value : received.values()) {
+            count += value;
+        }
+        return count;
+    }
+
+    /**
+     * The growth of the retained heap over the run.
+     *
+     * @return The heap growth in bytes.
+     */
+    long getHeapGrowthBytes() {
+        return heapAfterBytes - heapBeforeBytes;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        double wallSeconds = wallNanos / 1e9;
+        return String.format(Locale.US,
+                "Load report\n"
+                        + "  simulated: %d ms, wall: %.2f s\n"
+                        + "  fired: %d tracked events, received: %d events %s\n"
+                        + "  throughput: %.1f events/s simulated, %.1f events/s wall\n"
+                        + "  queue depth: max %d, mean %d, remaining %d\n"
+                        + "  latency: p50 %d ms, p90 %d ms, p99 %d ms\n"
+                        + "  latency histogram: %s\n"
+                        + "  heap: before %d KB, peak %d KB, after %d KB, growth %d KB\n"
+                        + "  emitter stats: %s",
+                simulatedMillis, wallSeconds,
+                fired, getReceivedCount(), received,
+                getReceivedCount() * 1000.0 / Math.max(1, simulatedMillis), getReceivedCount() / Math.max(wallSeconds, 1e-9),
+                maxQueueDepth, meanQueueDepth, remainingQueueDepth,
+                p50LatencyMillis, p90LatencyMillis, p99LatencyMillis,
+                latencyHistogram,
+                heapBeforeBytes / 1024, peakHeapBytes / 1024, heapAfterBytes / 1024, getHeapGrowthBytes() / 1024,
+                emitterStats);
+    }
+}
@@ -0,0 +1,252 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import com.urbanairship.json.JsonMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowSystemClock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link PendingEventQueue} tests.
+ */
+@RunWith(RobolectricTestRunner.class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(sdk = 28)
+public class PendingEventQueueTest {
+
+    private final List<PendingEvent> evicted = new ArrayList<>();
+    private final List<PendingEvent> expired = new ArrayList<>();
+
+    private PendingEventQueue queue;
+
+    @Before
+    public void setUp() {
+        queue = new PendingEventQueue(new PendingEventQueue.Listener() {
+            @Override
+            public void onEvicted(@NonNull PendingEvent event) {
+                evicted.add(event);
+            }
+
+            @Override
+            public void onExpired(@NonNull PendingEvent event) {
+                expired.add(event);
+            }
+        });
+    }
+
+    @Test
+    public void testQueuePerName() {
+        PendingEvent first = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        PendingEvent second = createEvent("b", BufferedEvent.PRIORITY_NORMAL);
+        PendingEvent third = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        queue.add(first);
+        queue.add(second);
+        queue.add(third);
+
+        assertEquals(2, queue.size("a"));
+        assertEquals(1, queue.size("b"));
+        assertEquals(first, queue.peek("a"));
+        assertEquals(first, queue.poll("a"));
+        assertEquals(Collections.singletonList(third), new ArrayList<>(queue.remove("a")));
+        assertFalse(queue.contains("a"));
+        assertNull(queue.poll("a"));
+        assertTrue(queue.contains("b"));
+    }
+
+    @Test
+    public void testAddFirstKeepsOrder() {
+        PendingEvent first = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        PendingEvent second = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        queue.add(second);
+        queue.addFirst(first);
+
+        assertEquals(Arrays.asList(first, second), new ArrayList<>(queue.remove("a")));
+    }
+
+    @Test
+    public void testDropOldest() {
+        applyConfig(JsonMap.newBuilder().put("maxPendingEvents", 2).build());
+
+        PendingEvent first = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        ShadowSystemClock.advanceBy(Duration.ofMillis(1));
+        PendingEvent second = createEvent("b", BufferedEvent.PRIORITY_NORMAL);
+        ShadowSystemClock.advanceBy(Duration.ofMillis(1));
+        PendingEvent third = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        queue.add(first);
+        queue.add(second);
+        queue.add(third);
+
+        assertEquals(Collections.singletonList(first), evicted);
+        assertEquals(Collections.singletonList(third), new ArrayList<>(queue.remove("a")));
+        assertEquals(1, queue.size("b"));
+    }
+
+    @Test
+    public void testDropNewest() {
+        applyConfig(JsonMap.newBuilder()
+                           .put("maxPendingEvents", 2)
+                           .put("evictionPolicy", "dropNewest")
+                           .build());
+
+        PendingEvent first = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        PendingEvent second = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        PendingEvent third = createEvent("a", BufferedEvent.PRIORITY_INTERACTIVE);
+        queue.add(first);
+        queue.add(second);
+        queue.add(third);
+
+        // The incoming event is rejected, whatever its priority
+        assertEquals(Collections.singletonList(third), evicted);
+        assertEquals(Arrays.asList(first, second), new ArrayList<>(queue.remove("a")));
+    }
+
+    @Test
+    public void testDropLowestPriority() {
+        applyConfig(JsonMap.newBuilder()
+                           .put("maxPendingEvents", 2)
+                           .put("evictionPolicy", "dropLowestPriority")
+                           .build());
+
+        PendingEvent interactive = createEvent("a", BufferedEvent.PRIORITY_INTERACTIVE);
+        PendingEvent low = createEvent("b", BufferedEvent.PRIORITY_LOW);
+        PendingEvent normal = createEvent("c", BufferedEvent.PRIORITY_NORMAL);
+        queue.add(interactive);
+        queue.add(low);
+        queue.add(normal);
+
+        assertEquals(Collections.singletonList(low), evicted);
+        assertEquals(1, queue.size("a"));
+        assertEquals(1, queue.size("c"));
+    }
+
+    @Test
+    public void testByteLimit() {
+        PendingEvent first = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        PendingEvent second = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        applyConfig(JsonMap.newBuilder()
+                           .put("maxPendingBytes", first.getEstimatedSize() + second.getEstimatedSize() - 1)
+                           .build());
+
+        queue.add(first);
+        queue.add(second);
+
+        assertEquals(Collections.singletonList(first), evicted);
+        assertEquals(Collections.singletonList(second), new ArrayList<>(queue.remove("a")));
+    }
+
+    @Test
+    public void testApplyConfigTrims() {
+        PendingEvent first = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        PendingEvent second = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        queue.add(first);
+        queue.add(second);
+
+        applyConfig(JsonMap.newBuilder().put("maxPendingEvents", 1).build());
+
+        assertEquals(Collections.singletonList(first), evicted);
+        assertEquals(1, queue.size("a"));
+    }
+
+    @Test
+    public void testTtl() {
+        applyConfig(JsonMap.newBuilder()
+                           .put("pendingEventTtls", JsonMap.newBuilder().put("a", 1000).build())
+                           .build());
+
+        PendingEvent first = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        PendingEvent other = createEvent("b", BufferedEvent.PRIORITY_NORMAL);
+        queue.add(first);
+        queue.add(other);
+
+        ShadowSystemClock.advanceBy(Duration.ofMillis(500));
+        PendingEvent second = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        queue.add(second);
+
+        ShadowSystemClock.advanceBy(Duration.ofMillis(501));
+        assertEquals(second, queue.peek("a"));
+        assertEquals(Collections.singletonList(first), expired);
+
+        ShadowSystemClock.advanceBy(Duration.ofMillis(500));
+        assertNull(queue.poll("a"));
+        assertEquals(Arrays.asList(first, second), expired);
+
+        // Names without a TTL never expire
+        assertEquals(other, queue.poll("b"));
+        assertEquals(Collections.<PendingEvent>emptyList(), evicted);
+    }
+
+    @Test
+    public void testTtlOutOfOrder() {
+        applyConfig(JsonMap.newBuilder()
+                           .put("pendingEventTtls", JsonMap.newBuilder().put("a", 1000).build())
+                           .build());
+
+        PendingEvent old = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        ShadowSystemClock.advanceBy(Duration.ofMillis(500));
+        PendingEvent requeued = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        PendingEvent newest = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+
+        // A requeued event ends up ahead of an older one
+        queue.add(old);
+        queue.add(newest);
+        queue.addFirst(requeued);
+
+        ShadowSystemClock.advanceBy(Duration.ofMillis(501));
+        assertEquals(requeued, queue.peek("a"));
+        assertEquals(Collections.singletonList(old), expired);
+        assertEquals(Arrays.asList(requeued, newest), new ArrayList<>(queue.remove("a")));
+    }
+
+    @Test
+    public void testExpireEveryName() {
+        applyConfig(JsonMap.newBuilder()
+                           .put("pendingEventTtls", JsonMap.newBuilder().put("a", 1000).put("b", 1000).build())
+                           .build());
+
+        PendingEvent first = createEvent("a", BufferedEvent.PRIORITY_NORMAL);
+        PendingEvent second = createEvent("b", BufferedEvent.PRIORITY_NORMAL);
+        PendingEvent other = createEvent("c", BufferedEvent.PRIORITY_NORMAL);
+        queue.add(first);
+        queue.add(second);
+        queue.add(other);
+
+        ShadowSystemClock.advanceBy(Duration.ofMillis(1001));
+        queue.expire();
+
+        assertEquals(Arrays.asList(first, second), expired);
+        assertFalse(queue.contains("a"));
+        assertFalse(queue.contains("b"));
+        assertEquals(other, queue.poll("c"));
+    }
+
+    private void applyConfig(@NonNull JsonMap config) {
+        queue.applyConfig(EventEmitterConfig.fromJson(config));
+    }
+
+    @NonNull
+    private static PendingEvent createEvent(@NonNull String name, @BufferedEvent.Priority int priority) {
+        JsonMap body = JsonMap.newBuilder().put("key", "value").build();
+        return new PendingEvent(name, null, body, priority, SystemClock.elapsedRealtime());
+    }
+}
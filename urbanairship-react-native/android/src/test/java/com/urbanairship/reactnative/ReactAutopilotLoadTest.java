@@ -0,0 +1,81 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.facebook.react.bridge.ReadableMap;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Load scenarios for {@link ReactAutopilot} and the event emitter. Excluded from the regular
+ * unit test run, run with {@code -PloadTest}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(sdk = 28, shadows = ShadowArguments.class, instrumentedPackages = "com.facebook.react.bridge")
+public class ReactAutopilotLoadTest {
+
+    /**
+     * Latency budgets in simulated time. Percentiles are reported as the upper bound of their
+     * power of two histogram bucket, so these allow about four and eight frames.
+     */
+    private static final long MAX_P50_LATENCY_MILLIS = 63;
+    private static final long MAX_P99_LATENCY_MILLIS = 127;
+
+    /**
+     * 10k pushes a minute with posted notifications and responses, 1k inbox updates and a
+     * channel update every 100 ms. A single scenario, since the emitter is a process wide
+     * singleton that outlives a test.
+     */
+    @Test
+    public void mixedLoad() {
+        LoadHarness.Options options = LoadHarness.Options.newBuilder()
+                                                         .setPushesPerMinute(10000)
+                                                         .setNotificationsPerMinute(1000)
+                                                         .setResponsesPerMinute(100)
+                                                         .setInboxUpdatesPerMinute(1000)
+                                                         .setChannelUpdatesPerMinute(600)
+                                                         .setDurationMillis(60000)
+                                                         .build();
+
+        Application application = ApplicationProvider.getApplicationContext();
+        LoadReport report = new LoadHarness(application, options).run();
+        String message = report.toString();
+
+        // Every tracked push, notification and response was fired and reached JS. Rates are
+        // spread over ticks, so rounding may leave out the last event of a kind.
+        assertEquals(message, 11100, report.fired, 3);
+        assertEquals(message, 0, report.remainingQueueDepth);
+
+        // Nothing was dropped on the way
+        assertNotNull(message, report.emitterStats);
+        assertNoDrops(message, report.emitterStats, "failedEmits");
+        assertNoDrops(message, report.emitterStats, "evictions");
+        assertNoDrops(message, report.emitterStats, "expirations");
+        assertNoDrops(message, report.emitterStats, "abandoned");
+
+        // Events go out on the next frames, even at peak load
+        assertTrue(message, report.p50LatencyMillis <= MAX_P50_LATENCY_MILLIS);
+        assertTrue(message, report.p99LatencyMillis <= MAX_P99_LATENCY_MILLIS);
+    }
+
+    private static void assertNoDrops(@NonNull String message, @NonNull ReadableMap emitterStats, @NonNull String key) {
+        assertTrue(message, emitterStats.hasKey(key));
+        assertEquals(message, Collections.<String, Object>emptyMap(), emitterStats.getMap(key).toHashMap());
+    }
+}
@@ -0,0 +1,116 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.urbanairship.json.JsonMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ReadyEventQueue} tests. Runs under Robolectric since the coalescing helpers live on
+ * {@link EventEmitter}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ReadyEventQueueTest {
+
+    private ReadyEventQueue queue;
+
+    @Before
+    public void setUp() {
+        queue = new ReadyEventQueue();
+    }
+
+    @Test
+    public void testPriorityOrder() {
+        PendingEvent low = createEvent(BufferedEvent.PRIORITY_LOW, null);
+        PendingEvent normal = createEvent(BufferedEvent.PRIORITY_NORMAL, null);
+        PendingEvent interactive = createEvent(BufferedEvent.PRIORITY_INTERACTIVE, null);
+        queue.addAll(Arrays.asList(low, normal, interactive));
+
+        assertEquals(interactive, queue.poll(false));
+        assertEquals(normal, queue.poll(false));
+        assertEquals(low, queue.poll(false));
+        assertNull(queue.poll(false));
+        assertFalse(queue.hasEvents(false));
+    }
+
+    @Test
+    public void testLanesAreFifo() {
+        PendingEvent first = createEvent(BufferedEvent.PRIORITY_NORMAL, null);
+        PendingEvent second = createEvent(BufferedEvent.PRIORITY_NORMAL, null);
+        queue.add(first);
+        queue.add(second);
+
+        assertEquals(first, queue.poll(false));
+        assertEquals(second, queue.poll(false));
+    }
+
+    @Test
+    public void testInteractiveOnly() {
+        PendingEvent normal = createEvent(BufferedEvent.PRIORITY_NORMAL, null);
+        queue.add(normal);
+
+        // Deferred lanes are held while paused
+        assertFalse(queue.hasEvents(true));
+        assertNull(queue.poll(true));
+
+        PendingEvent interactive = createEvent(BufferedEvent.PRIORITY_INTERACTIVE, null);
+        queue.add(interactive);
+        assertTrue(queue.hasEvents(true));
+        assertEquals(interactive, queue.poll(true));
+        assertEquals(normal, queue.poll(false));
+    }
+
+    @Test
+    public void testCoalesced() {
+        PendingEvent state = createEvent(BufferedEvent.PRIORITY_LOW, "state");
+        PendingEvent other = createEvent(BufferedEvent.PRIORITY_LOW, null);
+        queue.add(state);
+        queue.add(other);
+
+        assertTrue(queue.containsCoalesced("state"));
+        assertFalse(queue.containsCoalesced("other"));
+        assertFalse(queue.containsCoalesced(null));
+
+        queue.removeCoalesced("state");
+        assertFalse(queue.containsCoalesced("state"));
+        assertEquals(other, queue.poll(false));
+    }
+
+    @Test
+    public void testDrainTo() {
+        PendingEvent low = createEvent(BufferedEvent.PRIORITY_LOW, null);
+        PendingEvent first = createEvent(BufferedEvent.PRIORITY_NORMAL, null);
+        PendingEvent second = createEvent(BufferedEvent.PRIORITY_NORMAL, null);
+        PendingEvent interactive = createEvent(BufferedEvent.PRIORITY_INTERACTIVE, null);
+        queue.addAll(Arrays.asList(low, first, interactive, second));
+
+        List<PendingEvent> events = new ArrayList<>();
+        queue.drainTo(events);
+
+        assertEquals(Arrays.asList(interactive, first, second, low), events);
+        assertFalse(queue.hasEvents(false));
+    }
+
+    @NonNull
+    private static PendingEvent createEvent(@BufferedEvent.Priority int priority, @Nullable String coalescingKey) {
+        return new PendingEvent("event", coalescingKey, JsonMap.EMPTY_MAP, priority, 0);
+    }
+}
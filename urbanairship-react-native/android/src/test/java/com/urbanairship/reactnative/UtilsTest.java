@@ -0,0 +1,171 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.urbanairship.json.JsonList;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonValue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link Utils} conversion tests.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, shadows = ShadowArguments.class, instrumentedPackages = "com.facebook.react.bridge")
+public class UtilsTest {
+
+    /**
+     * Deep enough to overflow the stack of a recursive converter.
+     */
+    private static final int DEEP = 20000;
+
+    @Test
+    public void testConvertMapNumbers() {
+        JavaOnlyMap map = new JavaOnlyMap();
+        map.putDouble("int", 42);
+        map.putDouble("negative", -7);
+        map.putDouble("long", 1589230000000d);
+        map.putDouble("double", 1.5);
+        map.putDouble("huge", 1e300);
+
+        JsonMap json = Utils.convertMap(map);
+
+        assertTrue(json.opt("int").isInteger());
+        assertEquals(42, json.opt("int").getInt(0));
+        assertTrue(json.opt("negative").isInteger());
+        assertEquals(-7, json.opt("negative").getInt(0));
+        assertTrue(json.opt("long").isLong());
+        assertEquals(1589230000000L, json.opt("long").getLong(0));
+        assertTrue(json.opt("double").isDouble());
+        assertEquals(1.5, json.opt("double").getDouble(0), 0);
+
+        // Whole numbers past 2^53 are not exact in JS, so they stay doubles
+        assertTrue(json.opt("huge").isDouble());
+    }
+
+    @Test
+    public void testConvertMap() {
+        JavaOnlyArray array = new JavaOnlyArray();
+        array.pushString("a");
+        array.pushBoolean(true);
+        array.pushNull();
+        array.pushDouble(3);
+
+        JavaOnlyMap nested = new JavaOnlyMap();
+        nested.putString("key", "value");
+
+        JavaOnlyMap map = new JavaOnlyMap();
+        map.putString("string", "value");
+        map.putBoolean("boolean", false);
+        map.putNull("null");
+        map.putArray("array", array);
+        map.putMap("map", nested);
+
+        JsonMap json = Utils.convertMap(map);
+
+        assertEquals("value", json.opt("string").getString());
+        assertFalse(json.opt("boolean").getBoolean(true));
+        assertFalse(json.containsKey("null"));
+        assertEquals("value", json.opt("map").optMap().opt("key").getString());
+
+        JsonList list = json.opt("array").optList();
+        assertEquals(4, list.size());
+        assertEquals("a", list.get(0).getString());
+        assertTrue(list.get(1).getBoolean(false));
+        assertTrue(list.get(2).isNull());
+        assertEquals(3, list.get(3).getInt(0));
+    }
+
+    @Test
+    public void testConvertDeepMap() {
+        JavaOnlyMap root = new JavaOnlyMap();
+        JavaOnlyMap current = root;
+        for (int i = 0; i < DEEP; i++) {
+            JavaOnlyMap child = new JavaOnlyMap();
+            current.putDouble("level", i);
+            current.putMap("child", child);
+            current = child;
+        }
+
+        JsonMap json = Utils.convertMap(root);
+
+        int depth = 0;
+        while (json.containsKey("child")) {
+            assertEquals(depth, json.opt("level").getInt(-1));
+            json = json.opt("child").optMap();
+            depth++;
+        }
+        assertEquals(DEEP, depth);
+    }
+
+    @Test
+    public void testConvertJsonValue() {
+        JsonValue value = JsonMap.newBuilder()
+                                 .put("string", "value")
+                                 .put("int", 42)
+                                 .put("long", 1589230000000L)
+                                 .put("double", 1.5)
+                                 .put("boolean", true)
+                                 .put("list", new JsonList(Arrays.asList(JsonValue.wrap("a"), JsonValue.NULL, JsonValue.wrap(2))))
+                                 .put("map", JsonMap.newBuilder().put("key", "value").build())
+                                 .build()
+                                 .toJsonValue();
+
+        ReadableMap map = (ReadableMap) Utils.convertJsonValue(value);
+
+        assertEquals("value", map.getString("string"));
+        assertEquals(42, map.getInt("int"));
+        assertEquals(1589230000000d, map.getDouble("long"), 0);
+        assertEquals(1.5, map.getDouble("double"), 0);
+        assertTrue(map.getBoolean("boolean"));
+        assertEquals("value", map.getMap("map").getString("key"));
+
+        ReadableArray list = map.getArray("list");
+        assertEquals(3, list.size());
+        assertEquals("a", list.getString(0));
+        assertEquals(ReadableType.Null, list.getType(1));
+        assertEquals(2, list.getInt(2));
+    }
+
+    @Test
+    public void testConvertJsonValuePrimitives() {
+        assertNull(Utils.convertJsonValue(JsonValue.NULL));
+        assertEquals("value", Utils.convertJsonValue(JsonValue.wrap("value")));
+        assertEquals(1, Utils.convertJsonValue(JsonValue.wrap(1)));
+    }
+
+    @Test
+    public void testConvertDeepJsonValue() {
+        JsonValue value = JsonValue.wrap("leaf");
+        for (int i = 0; i < DEEP; i++) {
+            value = new JsonList(Collections.singletonList(value)).toJsonValue();
+        }
+
+        ReadableArray array = (ReadableArray) Utils.convertJsonValue(value);
+
+        int depth = 1;
+        while (array.getType(0) == ReadableType.Array) {
+            array = array.getArray(0);
+            depth++;
+        }
+        assertEquals(DEEP, depth);
+        assertEquals("leaf", array.getString(0));
+    }
+}
@@ -0,0 +1,232 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.value;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ObjectCursor} tests.
+ */
+public class ObjectCursorTest {
+
+    @Test
+    public void testReadMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("null", null);
+        map.put("boolean", true);
+        map.put("int", 42);
+        map.put("short", (short) 7);
+        map.put("long", 1589230000000L);
+        map.put("double", 1.5);
+        map.put("float", 2.5f);
+        map.put("string", "value");
+        map.put("char", 'c');
+        map.put("unsupported", new Object());
+
+        ObjectCursor cursor = new ObjectCursor(map);
+        assertTrue(cursor.next());
+        assertNull(cursor.getKey());
+        assertEquals(ValueType.MAP, cursor.getType());
+        assertEquals(map.size(), cursor.getSize());
+
+        cursor.enter();
+        assertEntry(cursor, "null", ValueType.NULL);
+
+        assertEntry(cursor, "boolean", ValueType.BOOLEAN);
+        assertTrue(cursor.getBoolean());
+
+        assertEntry(cursor, "int", ValueType.INT);
+        assertEquals(42, cursor.getInt());
+
+        assertEntry(cursor, "short", ValueType.INT);
+        assertEquals(7, cursor.getInt());
+
+        assertEntry(cursor, "long", ValueType.LONG);
+        assertEquals(1589230000000L, cursor.getLong());
+
+        assertEntry(cursor, "double", ValueType.DOUBLE);
+        assertEquals(1.5, cursor.getDouble(), 0);
+
+        assertEntry(cursor, "float", ValueType.DOUBLE);
+        assertEquals(2.5, cursor.getDouble(), 0);
+
+        assertEntry(cursor, "string", ValueType.STRING);
+        assertEquals("value", cursor.getString());
+
+        assertEntry(cursor, "char", ValueType.STRING);
+        assertEquals("c", cursor.getString());
+
+        assertEntry(cursor, "unsupported", ValueType.NULL);
+
+        assertFalse(cursor.next());
+        cursor.exit();
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testReadLists() {
+        Object[] root = new Object[] { Arrays.asList("a", "b"), new int[] { 1, 2, 3 }, Collections.emptySet() };
+
+        ObjectCursor cursor = new ObjectCursor(root);
+        assertTrue(cursor.next());
+        assertEquals(ValueType.LIST, cursor.getType());
+        assertEquals(3, cursor.getSize());
+        cursor.enter();
+
+        assertTrue(cursor.next());
+        assertNull(cursor.getKey());
+        assertEquals(ValueType.LIST, cursor.getType());
+        assertEquals(2, cursor.getSize());
+        cursor.enter();
+        assertEntry(cursor, null, ValueType.STRING);
+        assertEquals("a", cursor.getString());
+        assertEntry(cursor, null, ValueType.STRING);
+        assertEquals("b", cursor.getString());
+        assertFalse(cursor.next());
+        cursor.exit();
+
+        assertTrue(cursor.next());
+        assertEquals(ValueType.LIST, cursor.getType());
+        assertEquals(3, cursor.getSize());
+        cursor.enter();
+        for (int i = 1; i <= 3; i++) {
+            assertEntry(cursor, null, ValueType.INT);
+            assertEquals(i, cursor.getInt());
+        }
+        assertFalse(cursor.next());
+        cursor.exit();
+
+        assertTrue(cursor.next());
+        assertEquals(ValueType.LIST, cursor.getType());
+        assertEquals(0, cursor.getSize());
+        cursor.enter();
+        assertFalse(cursor.next());
+        cursor.exit();
+
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testSkipEntries() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("skipped", Collections.singletonMap("deep", "value"));
+        nested.put("after", "value");
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("nested", nested);
+        root.put("list", Arrays.asList(1, 2));
+        root.put("last", true);
+
+        ObjectCursor cursor = new ObjectCursor(root);
+        assertTrue(cursor.next());
+        cursor.enter();
+
+        // Leaving a container early resumes the parent after it
+        assertEntry(cursor, "nested", ValueType.MAP);
+        cursor.enter();
+        assertEntry(cursor, "skipped", ValueType.MAP);
+        cursor.exit();
+
+        // Entries that are never entered are skipped
+        assertEntry(cursor, "list", ValueType.LIST);
+        assertEntry(cursor, "last", ValueType.BOOLEAN);
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testPrimitiveRoot() {
+        ObjectCursor cursor = new ObjectCursor("value");
+        assertTrue(cursor.next());
+        assertNull(cursor.getKey());
+        assertEquals(ValueType.STRING, cursor.getType());
+        assertEquals(-1, cursor.getSize());
+        assertFalse(cursor.next());
+
+        cursor = new ObjectCursor(null);
+        assertTrue(cursor.next());
+        assertEquals(ValueType.NULL, cursor.getType());
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testMapHooks() {
+        Attributes attributes = new Attributes(new String[] { "visible", "hidden", "other" }, new Object[] { 1, 2, "three" });
+
+        ObjectCursor cursor = new ObjectCursor(Collections.singletonList(attributes)) {
+            @Override
+            protected boolean isMap(@NonNull Object value) {
+                return value instanceof Attributes || super.isMap(value);
+            }
+
+            @NonNull
+            @Override
+            protected Iterator<String> getMapKeys(@NonNull Object map) {
+                return Arrays.asList(((Attributes) map).keys).iterator();
+            }
+
+            @Nullable
+            @Override
+            protected Object getMapValue(@NonNull Object map, @NonNull String key) {
+                return ((Attributes) map).get(key);
+            }
+
+            @Override
+            protected boolean isIncluded(@NonNull Object map, @NonNull String key) {
+                return !"hidden".equals(key);
+            }
+        };
+
+        assertTrue(cursor.next());
+        cursor.enter();
+        assertEntry(cursor, null, ValueType.MAP);
+
+        // The size comes from getMapSize, which only knows about java.util.Map
+        assertEquals(-1, cursor.getSize());
+
+        cursor.enter();
+        assertEntry(cursor, "visible", ValueType.INT);
+        assertEquals(1, cursor.getInt());
+        assertEntry(cursor, "other", ValueType.STRING);
+        assertEquals("three", cursor.getString());
+        assertFalse(cursor.next());
+    }
+
+    private static void assertEntry(@NonNull ValueCursor cursor, @Nullable String key, @NonNull ValueType type) {
+        assertTrue(cursor.next());
+        assertEquals(key, cursor.getKey());
+        assertEquals(type, cursor.getType());
+    }
+
+    /**
+     * A map-like container that is not a {@link Map}.
+     */
+    private static class Attributes {
+
+        private final String[] keys;
+        private final Object[] values;
+
+        Attributes(@NonNull String[] keys, @NonNull Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        @Nullable
+        Object get(@NonNull String key) {
+            return values[Arrays.asList(keys).indexOf(key)];
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.value;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link OperationParser} tests.
+ */
+public class OperationParserTest {
+
+    @Test
+    public void testParseTagGroupOperations() {
+        List<Object> json = Arrays.<Object>asList(
+                tagOperation("add", "group", Arrays.<Object>asList("one", "two")),
+                tagOperation("set", "other group", Collections.emptyList()),
+                tagOperation("remove", "group", Arrays.<Object>asList("two", 3, null)));
+
+        List<TagGroupOperation> operations = OperationParser.parseTagGroupOperations(new ObjectCursor(json));
+
+        assertEquals(3, operations.size());
+        assertEquals(TagGroupOperation.ADD, operations.get(0).getType());
+        assertEquals("group", operations.get(0).getGroup());
+        assertEquals(new HashSet<>(Arrays.asList("one", "two")), operations.get(0).getTags());
+
+        assertEquals(TagGroupOperation.SET, operations.get(1).getType());
+        assertEquals("other group", operations.get(1).getGroup());
+        assertEquals(Collections.<String>emptySet(), operations.get(1).getTags());
+
+        // Tags that are not strings are skipped
+        assertEquals(TagGroupOperation.REMOVE, operations.get(2).getType());
+        assertEquals(Collections.singleton("two"), operations.get(2).getTags());
+    }
+
+    @Test
+    public void testSkipMalformedTagGroupOperations() {
+        Map<String, Object> missingGroup = tagOperation("add", "group", Collections.singletonList("tag"));
+        missingGroup.remove("group");
+
+        List<Object> json = Arrays.<Object>asList(
+                "not an operation",
+                missingGroup,
+                tagOperation(null, "group", Collections.singletonList("tag")),
+                tagOperation("add", "group", "tag"),
+                tagOperation("add", "group", Collections.singletonList("tag")));
+
+        List<TagGroupOperation> operations = OperationParser.parseTagGroupOperations(new ObjectCursor(json));
+
+        assertEquals(1, operations.size());
+        assertEquals(Collections.singleton("tag"), operations.get(0).getTags());
+    }
+
+    @Test
+    public void testParseTagGroupOperationsRequiresList() {
+        assertTrue(OperationParser.parseTagGroupOperations(new ObjectCursor(tagOperation("add", "group", Collections.emptyList()))).isEmpty());
+        assertTrue(OperationParser.parseTagGroupOperations(new ObjectCursor(null)).isEmpty());
+    }
+
+    @Test
+    public void testParseAttributeOperations() {
+        List<Object> json = Arrays.<Object>asList(
+                attributeOperation("set", "name", "string", "Sam"),
+                attributeOperation("set", "age", "number", 42),
+                attributeOperation("set", "score", "number", 1.5),
+                attributeOperation("set", "birthday", "date", 1589230000000L),
+                attributeOperation("remove", "name", null, null));
+
+        List<AttributeOperation> operations = OperationParser.parseAttributeOperations(new ObjectCursor(json));
+
+        assertEquals(5, operations.size());
+
+        AttributeOperation string = operations.get(0);
+        assertEquals(AttributeOperation.SET, string.getAction());
+        assertEquals("name", string.getKey());
+        assertEquals(AttributeOperation.TYPE_STRING, string.getValueType());
+        assertEquals("Sam", string.getStringValue());
+        assertFalse(string.hasNumberValue());
+
+        AttributeOperation number = operations.get(1);
+        assertEquals(AttributeOperation.TYPE_NUMBER, number.getValueType());
+        assertTrue(number.hasNumberValue());
+        assertEquals(42, number.getNumberValue(), 0);
+        assertNull(number.getStringValue());
+
+        assertTrue(operations.get(2).hasNumberValue());
+        assertEquals(1.5, operations.get(2).getNumberValue(), 0);
+
+        AttributeOperation date = operations.get(3);
+        assertEquals(AttributeOperation.TYPE_DATE, date.getValueType());
+        assertTrue(date.hasNumberValue());
+        assertEquals(1589230000000L, (long) date.getNumberValue());
+
+        AttributeOperation remove = operations.get(4);
+        assertEquals(AttributeOperation.REMOVE, remove.getAction());
+        assertEquals("name", remove.getKey());
+        assertNull(remove.getValueType());
+    }
+
+    @Test
+    public void testAttributeNumberValueMissing() {
+        Map<String, Object> missingValue = attributeOperation("set", "age", "number", null);
+        missingValue.remove("value");
+
+        List<Object> json = Arrays.<Object>asList(
+                missingValue,
+                attributeOperation("set", "age", "number", "42"),
+                attributeOperation("set", "age", "number", 0));
+
+        List<AttributeOperation> operations = OperationParser.parseAttributeOperations(new ObjectCursor(json));
+
+        // A missing or non-number value is told apart from 0
+        assertEquals(3, operations.size());
+        assertFalse(operations.get(0).hasNumberValue());
+        assertFalse(operations.get(1).hasNumberValue());
+        assertEquals("42", operations.get(1).getStringValue());
+        assertTrue(operations.get(2).hasNumberValue());
+    }
+
+    @Test
+    public void testSkipMalformedAttributeOperations() {
+        List<Object> json = Arrays.<Object>asList(
+                42,
+                attributeOperation(null, "name", "string", "Sam"),
+                attributeOperation("set", null, "string", "Sam"),
+                attributeOperation("set", "name", "string", "Sam"));
+
+        List<AttributeOperation> operations = OperationParser.parseAttributeOperations(new ObjectCursor(json));
+
+        assertEquals(1, operations.size());
+        assertEquals("name", operations.get(0).getKey());
+    }
+
+    @NonNull
+    private static Map<String, Object> tagOperation(String type, String group, Object tags) {
+        Map<String, Object> operation = new HashMap<>();
+        operation.put("operationType", type);
+        operation.put("group", group);
+        operation.put("tags", tags);
+        return operation;
+    }
+
+    @NonNull
+    private static Map<String, Object> attributeOperation(String action, String key, String type, Object value) {
+        Map<String, Object> operation = new HashMap<>();
+        operation.put("action", action);
+        operation.put("key", key);
+        operation.put("type", type);
+        operation.put("value", value);
+        return operation;
+    }
+}
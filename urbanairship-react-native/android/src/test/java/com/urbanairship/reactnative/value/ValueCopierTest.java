@@ -0,0 +1,113 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.value;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ValueCopier} tests.
+ */
+public class ValueCopierTest {
+
+    /**
+     * Deep enough to overflow the stack of a recursive copy.
+     */
+    private static final int DEEP = 100000;
+
+    @Test
+    public void testCopy() {
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("string", "value");
+        nested.put("empty", Collections.emptyList());
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("null", null);
+        map.put("boolean", false);
+        map.put("int", 42);
+        map.put("long", 1589230000000L);
+        map.put("double", 1.5);
+        map.put("list", Arrays.asList(1, "two", null, Collections.singletonMap("key", true)));
+        map.put("map", nested);
+        map.put("emptyMap", Collections.emptyMap());
+
+        Object copy = ValueCopier.copy(new ObjectCursor(map), new ObjectSink());
+
+        // Equal maps, with every number keeping its type
+        assertEquals(map, copy);
+        Map<?, ?> copiedMap = (Map<?, ?>) copy;
+        assertEquals(Integer.class, copiedMap.get("int").getClass());
+        assertEquals(Long.class, copiedMap.get("long").getClass());
+        assertEquals(Double.class, copiedMap.get("double").getClass());
+        assertTrue(copiedMap.containsKey("null"));
+    }
+
+    @Test
+    public void testCopyPrimitiveRoot() {
+        assertEquals("value", ValueCopier.copy(new ObjectCursor("value"), new ObjectSink()));
+        assertEquals(7L, ValueCopier.copy(new ObjectCursor(7L), new ObjectSink()));
+        assertNull(ValueCopier.copy(new ObjectCursor(null), new ObjectSink()));
+    }
+
+    @Test
+    public void testCopyDeep() {
+        Object value = "leaf";
+        for (int i = 0; i < DEEP; i++) {
+            value = Collections.singletonList(value);
+        }
+
+        Object copy = ValueCopier.copy(new ObjectCursor(value), new ObjectSink());
+
+        int depth = 0;
+        while (copy instanceof List) {
+            copy = ((List<?>) copy).get(0);
+            depth++;
+        }
+        assertEquals(DEEP, depth);
+        assertEquals("leaf", copy);
+    }
+
+    @Test
+    public void testWriteConsumesOneValue() {
+        List<Object> root = Arrays.<Object>asList(Arrays.asList(1, Arrays.asList(2, 3)), "second");
+
+        ObjectCursor cursor = new ObjectCursor(root);
+        assertTrue(cursor.next());
+        cursor.enter();
+
+        ObjectSink sink = new ObjectSink();
+        sink.beginList(null, -1);
+        assertTrue(ValueCopier.write(cursor, sink, null));
+        sink.end();
+        assertEquals(Collections.singletonList(Arrays.asList(1, Arrays.asList(2, 3))), sink.build());
+
+        // The cursor is left after the written value, in the same container
+        assertTrue(cursor.next());
+        assertEquals(ValueType.STRING, cursor.getType());
+        assertEquals("second", cursor.getString());
+
+        assertFalse(ValueCopier.write(cursor, new ObjectSink(), null));
+    }
+
+    @Test
+    public void testWriteWithKey() {
+        ObjectCursor cursor = new ObjectCursor(Arrays.asList(1, 2));
+
+        ObjectSink sink = new ObjectSink();
+        sink.beginMap(null, -1);
+        assertTrue(ValueCopier.write(cursor, sink, "numbers"));
+        sink.end();
+
+        assertEquals(Collections.singletonMap("numbers", Arrays.asList(1, 2)), sink.build());
+    }
+}
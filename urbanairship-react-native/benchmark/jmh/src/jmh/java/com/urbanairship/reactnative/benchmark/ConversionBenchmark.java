@@ -0,0 +1,50 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.benchmark;
+
+import com.urbanairship.reactnative.value.ObjectCursor;
+import com.urbanairship.reactnative.value.ObjectSink;
+import com.urbanairship.reactnative.value.ValueCopier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures copying value trees through the cursor and sink core against the old recursive approach.
+ */
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+
+    @Param({ "wide", "deep", "large" })
+    public String shape;
+
+    private Object payload;
+
+    @Setup
+    public void setup() {
+        switch (shape) {
+            case "wide":
+                payload = Payloads.wide(2000);
+                break;
+            case "deep":
+                payload = Payloads.deep(500);
+                break;
+            default:
+                payload = Payloads.large(1000);
+                break;
+        }
+    }
+
+    @Benchmark
+    public Object iterative() {
+        return ValueCopier.copy(new ObjectCursor(payload), new ObjectSink());
+    }
+
+    @Benchmark
+    public Object recursiveBaseline() {
+        return RecursiveCopier.copy(payload);
+    }
+}
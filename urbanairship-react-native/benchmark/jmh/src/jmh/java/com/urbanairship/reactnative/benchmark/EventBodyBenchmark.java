@@ -0,0 +1,47 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.benchmark;
+
+import com.urbanairship.reactnative.value.EventBodyWriter;
+import com.urbanairship.reactnative.value.ObjectCursor;
+import com.urbanairship.reactnative.value.ObjectSink;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+
+/**
+ * Measures building push and notification response bodies.
+ */
+@State(Scope.Benchmark)
+public class EventBodyBenchmark {
+
+    @Param({ "512", "4096" })
+    public int extrasBytes;
+
+    private Map<String, Object> extras;
+
+    @Setup
+    public void setup() {
+        extras = Payloads.pushExtras(extrasBytes);
+    }
+
+    @Benchmark
+    public Object pushReceived() {
+        ObjectSink sink = new ObjectSink();
+        EventBodyWriter.writePush(sink, null, "Hello from the benchmark", "Title", "1000:tag", new ObjectCursor(extras));
+        return sink.build();
+    }
+
+    @Benchmark
+    public Object notificationResponse() {
+        ObjectSink sink = new ObjectSink();
+        EventBodyWriter.writeNotificationResponse(sink, "Hello from the benchmark", "Title", "1000:tag",
+                new ObjectCursor(extras), "reply", true);
+        return sink.build();
+    }
+}
@@ -0,0 +1,39 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.benchmark;
+
+import com.urbanairship.reactnative.value.ObjectCursor;
+import com.urbanairship.reactnative.value.OperationParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Measures parsing tag group and attribute operations.
+ */
+@State(Scope.Benchmark)
+public class OperationParsingBenchmark {
+
+    private List<Object> tagGroupOperations;
+    private List<Object> attributeOperations;
+
+    @Setup
+    public void setup() {
+        tagGroupOperations = Payloads.tagGroupOperations(50, 20);
+        attributeOperations = Payloads.attributeOperations(200);
+    }
+
+    @Benchmark
+    public Object tagGroupOperations() {
+        return OperationParser.parseTagGroupOperations(new ObjectCursor(tagGroupOperations));
+    }
+
+    @Benchmark
+    public Object attributeOperations() {
+        return OperationParser.parseAttributeOperations(new ObjectCursor(attributeOperations));
+    }
+}
@@ -0,0 +1,175 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic payloads shaped like the values that cross the bridge.
+ */
+final class Payloads {
+
+    private Payloads() {}
+
+    /**
+     * A single map with many scalar entries, like custom event properties.
+     *
+     * @param size The number of entries.
+     * @return The payload.
+     */
+    static Map<String, Object> wide(int size) {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            switch (i % 4) {
+                case 0:
+                    map.put("key" + i, "value" + i);
+                    break;
+                case 1:
+                    map.put("key" + i, i);
+                    break;
+                case 2:
+                    map.put("key" + i, i * 1.5d);
+                    break;
+                default:
+                    map.put("key" + i, i % 3 == 0);
+                    break;
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Maps nested inside each other, like deeply structured action results.
+     *
+     * @param depth The nesting depth.
+     * @return The payload.
+     */
+    static Map<String, Object> deep(int depth) {
+        Map<String, Object> root = new HashMap<>();
+        Map<String, Object> current = root;
+        for (int i = 0; i < depth; i++) {
+            Map<String, Object> child = new HashMap<>();
+            current.put("level", i);
+            current.put("name", "level" + i);
+            current.put("child", child);
+            current = child;
+        }
+        current.put("leaf", Arrays.<Object>asList(1, 2, 3));
+        return root;
+    }
+
+    /**
+     * A long list of small records, like inbox messages.
+     *
+     * @param count The number of records.
+     * @return The payload.
+     */
+    static List<Object> large(int count) {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> extras = new HashMap<>();
+            for (int j = 0; j < 5; j++) {
+                extras.put("extra" + j, "value" + i + "-" + j);
+            }
+
+            Map<String, Object> record = new HashMap<>();
+            record.put("id", "message-" + i);
+            record.put("title", "Message title " + i);
+            record.put("sentDate", 1588000000000L + i);
+            record.put("isRead", i % 2 == 0);
+            record.put("isDeleted", false);
+            record.put("listIconUrl", "https://example.com/icon/" + i + ".png");
+            record.put("extras", extras);
+            record.put("tags", Arrays.<Object>asList("a", "b", "c"));
+            list.add(record);
+        }
+        return list;
+    }
+
+    /**
+     * Push extras of roughly the given size.
+     *
+     * @param bytes The approximate size.
+     * @return The payload.
+     */
+    static Map<String, Object> pushExtras(int bytes) {
+        Map<String, Object> extras = new HashMap<>();
+        extras.put("com.urbanairship.push.ALERT", "Hello from the benchmark");
+        extras.put("com.urbanairship.push.PUSH_ID", "d2b3c0f8-8b23-4ab5-9fa3-5a3b1b1f0e52");
+        extras.put("com.urbanairship.metadata", "eyJ2ZXJzaW9uX2lkIjoxLCJ0aW1lIjoxNTg4MDAwMDAwMDAwfQ==");
+
+        int size = 0;
+        for (int i = 0; size < bytes; i++) {
+            String key = "custom_key_" + i;
+            String value = "custom value number " + i + " with some padding text";
+            extras.put(key, value);
+            size += key.length() + value.length();
+        }
+        return extras;
+    }
+
+    /**
+     * Tag group operations as sent from JS.
+     *
+     * @param count The number of operations.
+     * @param tagsPerOperation The number of tags per operation.
+     * @return The payload.
+     */
+    static List<Object> tagGroupOperations(int count, int tagsPerOperation) {
+        String[] types = { "add", "remove", "set" };
+        List<Object> operations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<Object> tags = new ArrayList<>();
+            for (int j = 0; j < tagsPerOperation; j++) {
+                tags.add("tag-" + i + "-" + j);
+            }
+
+            Map<String, Object> operation = new HashMap<>();
+            operation.put("operationType", types[i % types.length]);
+            operation.put("group", "group-" + i);
+            operation.put("tags", tags);
+            operations.add(operation);
+        }
+        return operations;
+    }
+
+    /**
+     * Attribute operations as sent from JS.
+     *
+     * @param count The number of operations.
+     * @return The payload.
+     */
+    static List<Object> attributeOperations(int count) {
+        List<Object> operations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> operation = new HashMap<>();
+            operation.put("key", "attribute-" + i);
+            switch (i % 4) {
+                case 0:
+                    operation.put("action", "set");
+                    operation.put("type", "string");
+                    operation.put("value", "value-" + i);
+                    break;
+                case 1:
+                    operation.put("action", "set");
+                    operation.put("type", "number");
+                    operation.put("value", i * 2.5d);
+                    break;
+                case 2:
+                    operation.put("action", "set");
+                    operation.put("type", "date");
+                    operation.put("value", 1588000000000d + i);
+                    break;
+                default:
+                    operation.put("action", "remove");
+                    break;
+            }
+            operations.add(operation);
+        }
+        return operations;
+    }
+}
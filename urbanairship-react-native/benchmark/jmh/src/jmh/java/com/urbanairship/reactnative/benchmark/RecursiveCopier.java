@@ -0,0 +1,62 @@
+/* Copyright Urban Airship and Contributors */
+
+package com.urbanairship.reactnative.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Baseline that copies values the way the converters did before they were made iterative: one
+ * recursive call per container, unsized collections and a full type check chain per value.
+ */
+final class RecursiveCopier {
+
+    private RecursiveCopier() {}
+
+    static Object copy(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        if (value instanceof Map) {
+            Map<String, Object> map = new HashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                Object child = entry.getValue();
+                if (child == null) {
+                    map.put((String) entry.getKey(), null);
+                } else if (child instanceof Boolean) {
+                    map.put((String) entry.getKey(), child);
+                } else if (child instanceof Integer) {
+                    map.put((String) entry.getKey(), ((Integer) child).intValue());
+                } else if (child instanceof Number) {
+                    map.put((String) entry.getKey(), ((Number) child).doubleValue());
+                } else if (child instanceof String) {
+                    map.put((String) entry.getKey(), child);
+                } else {
+                    map.put((String) entry.getKey(), copy(child));
+                }
+            }
+            return map;
+        }
+
+        if (value instanceof List) {
+            List<Object> list = new ArrayList<>();
+            for (Object child : (List<?>) value) {
+                if (child == null || child instanceof Boolean || child instanceof String) {
+                    list.add(child);
+                } else if (child instanceof Integer) {
+                    list.add(((Integer) child).intValue());
+                } else if (child instanceof Number) {
+                    list.add(((Number) child).doubleValue());
+                } else {
+                    list.add(copy(child));
+                }
+            }
+            return list;
+        }
+
+        return value;
+    }
+}
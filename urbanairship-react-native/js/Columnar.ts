@@ -0,0 +1,162 @@
+/* Copyright Airship and Contributors */
+
+'use strict';
+
+/**
+ * A list in columnar form, as sent by the native module: one array per field,
+ * with the extras of each row as a flat array of key index and value pairs.
+ * @hidden
+ */
+export interface ColumnarPayload {
+  count: number;
+  columns: Record<string, any[]>;
+  extrasKeys?: string[];
+}
+
+const EXTRAS_FIELD = "extras";
+
+/**
+ * Read only list of rows sent in columnar form. Rows are only built when read and
+ * are cached, so rendering the visible part of a long list does not pay for the
+ * rest. Null values are kept, so rows match the ones returned by the row APIs.
+ */
+export class ColumnarRows<T> {
+  /**
+   * The number of rows.
+   */
+  readonly length: number;
+
+  private readonly rows: (T | undefined)[];
+  private readonly createRow: (index: number) => T;
+  private readonly readColumn: (field: string) => any[] | undefined;
+
+  private constructor(length: number,
+                      createRow: (index: number) => T,
+                      readColumn: (field: string) => any[] | undefined) {
+    this.length = length;
+    this.rows = new Array(length);
+    this.createRow = createRow;
+    this.readColumn = readColumn;
+  }
+
+  /**
+   * Creates rows from a columnar payload.
+   *
+   * @param payload The payload.
+   * @return The rows.
+   * @hidden
+   */
+  static fromPayload<T>(payload: ColumnarPayload): ColumnarRows<T> {
+    const columns = payload.columns || {};
+    const extrasKeys = payload.extrasKeys || [];
+    const fields = Object.keys(columns);
+
+    return new ColumnarRows<T>(payload.count || 0, (index) => {
+      const row: any = {};
+      for (const field of fields) {
+        const value = columns[field][index];
+        if (value === undefined) {
+          continue;
+        }
+        row[field] = field == EXTRAS_FIELD && value !== null ? decodeExtras(value, extrasKeys) : value;
+      }
+      return row as T;
+    }, (field) => {
+      if (field == EXTRAS_FIELD || !columns[field]) {
+        return undefined;
+      }
+      return columns[field].slice();
+    });
+  }
+
+  /**
+   * Wraps rows that are already built. Used on platforms without the native
+   * columnar APIs.
+   *
+   * @param rows The rows.
+   * @return The rows.
+   * @hidden
+   */
+  static fromRows<T>(rows: T[]): ColumnarRows<T> {
+    return new ColumnarRows<T>(rows.length, (index) => rows[index], () => undefined);
+  }
+
+  /**
+   * Gets a row.
+   *
+   * @param index The row index.
+   * @return The row, or undefined if the index is out of range.
+   */
+  get(index: number): T | undefined {
+    if (index < 0 || index >= this.length) {
+      return undefined;
+    }
+
+    let row = this.rows[index];
+    if (row === undefined) {
+      row = this.createRow(index);
+      this.rows[index] = row;
+    }
+    return row;
+  }
+
+  /**
+   * Gets the values of a single field, without building the rows when the field
+   * was sent as a column.
+   *
+   * @param field The field.
+   * @return The values, one per row.
+   */
+  column<K extends keyof T>(field: K): T[K][] {
+    const values = this.readColumn(field as string);
+    if (values) {
+      return values;
+    }
+
+    const result: T[K][] = [];
+    for (let i = 0; i < this.length; i++) {
+      result.push((this.get(i) as T)[field]);
+    }
+    return result;
+  }
+
+  /**
+   * Calls a function for every row.
+   *
+   * @param callback The function.
+   */
+  forEach(callback: (row: T, index: number) => void) {
+    for (let i = 0; i < this.length; i++) {
+      callback(this.get(i) as T, i);
+    }
+  }
+
+  /**
+   * Maps every row.
+   *
+   * @param callback The function.
+   * @return The mapped values.
+   */
+  map<U>(callback: (row: T, index: number) => U): U[] {
+    const result: U[] = [];
+    this.forEach((row, index) => result.push(callback(row, index)));
+    return result;
+  }
+
+  /**
+   * Builds every row.
+   *
+   * @return The rows.
+   */
+  toArray(): T[] {
+    return this.map((row) => row);
+  }
+}
+
+function decodeExtras(pairs: any[], keys: string[]): Record<string, any> {
+  const extras: Record<string, any> = {};
+  for (let i = 0; i + 1 < pairs.length; i += 2) {
+    extras[keys[pairs[i]]] = pairs[i + 1];
+  }
+  return extras;
+}
@@ -0,0 +1,87 @@
+/* Copyright Airship and Contributors */
+
+'use strict';
+
+import { InboxMessage } from "./UrbanAirship";
+
+/**
+ * Inbox changes since a snapshot version.
+ */
+export interface InboxChanges {
+  /**
+   * The current snapshot version. Pass it to the next getInboxChanges call.
+   */
+  version: number;
+  /**
+   * If true the changes could not be computed from the requested version, and
+   * added contains every message.
+   */
+  reset: boolean;
+  /**
+   * Messages added since the version.
+   */
+  added: InboxMessage[];
+  /**
+   * Messages whose read state, title or extras changed since the version.
+   */
+  changed: InboxMessage[];
+  /**
+   * IDs of the messages deleted or removed since the version.
+   */
+  removed: string[];
+  /**
+   * The unread message count.
+   */
+  messageUnreadCount: number;
+  /**
+   * The total message count.
+   */
+  messageCount: number;
+}
+
+/**
+ * Applies inbox changes to a list of messages. Unchanged messages keep their
+ * identity, and the list is returned as is when nothing changed, so list rows
+ * only re-render for the messages that changed. The result is sorted newest first,
+ * like the inbox.
+ *
+ * @param messages The messages for the version the changes were requested from.
+ * @param changes The changes.
+ * @return The updated messages.
+ */
+export function applyInboxChanges(messages: InboxMessage[], changes: InboxChanges): InboxMessage[] {
+  if (changes.reset) {
+    return changes.added;
+  }
+
+  if (changes.added.length == 0 && changes.changed.length == 0 && changes.removed.length == 0) {
+    return messages;
+  }
+
+  const removed = new Set(changes.removed);
+  const updated = new Map<string, InboxMessage>();
+  for (const message of changes.changed) {
+    updated.set(message.id, message);
+  }
+  for (const message of changes.added) {
+    updated.set(message.id, message);
+  }
+
+  const result: InboxMessage[] = [];
+  for (const message of messages) {
+    if (removed.has(message.id)) {
+      continue;
+    }
+
+    const update = updated.get(message.id);
+    if (update) {
+      updated.delete(message.id);
+      result.push(update);
+    } else {
+      result.push(message);
+    }
+  }
+
+  updated.forEach((message) => result.push(message));
+  return result.sort((lhs, rhs) => rhs.sentDate - lhs.sentDate);
+}
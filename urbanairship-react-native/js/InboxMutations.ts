@@ -0,0 +1,115 @@
+/* Copyright Airship and Contributors */
+
+'use strict';
+
+import { InboxMessage } from "./UrbanAirship";
+import { InboxFilter, matchesInboxFilter } from "./InboxQuery";
+
+/**
+ * Inbox messages selected for a bulk update. With both IDs and a filter, only the
+ * listed messages that match the filter are updated.
+ */
+export interface InboxSelection {
+  /**
+   * The message IDs.
+   */
+  messageIds?: string[];
+  /**
+   * The message filter.
+   */
+  filter?: InboxFilter;
+}
+
+/**
+ * Result of a bulk update for a single message.
+ */
+export enum InboxMutationStatus {
+  /**
+   * The message was updated.
+   */
+  Updated = "updated",
+  /**
+   * The message was already read.
+   */
+  Unchanged = "unchanged",
+  /**
+   * No message with the ID is in the inbox.
+   */
+  NotFound = "notFound",
+  /**
+   * The message did not match the filter.
+   */
+  FilteredOut = "filteredOut"
+}
+
+/**
+ * Result of a bulk update.
+ */
+export interface InboxMutationResult {
+  /**
+   * The number of messages updated.
+   */
+  updatedCount: number;
+  /**
+   * The result for each selected message, keyed by message ID.
+   */
+  results: Record<string, InboxMutationStatus>;
+}
+
+/**
+ * Applies a bulk update one message at a time. Used on platforms without the
+ * native bulk APIs, and reports the same per message results.
+ *
+ * @param messages The inbox messages.
+ * @param selection The selected messages.
+ * @param isDelete true if the messages are deleted, false if they are marked read.
+ * @param update Updates a single message.
+ * @return A promise with the result.
+ * @hidden
+ */
+export function applyInboxMutation(messages: InboxMessage[],
+                                   selection: InboxSelection,
+                                   isDelete: boolean,
+                                   update: (messageId: string) => Promise<boolean>): Promise<InboxMutationResult> {
+  if (selection.messageIds == null && selection.filter == null) {
+    return Promise.reject(new Error("Messages must be selected by ID or filter."));
+  }
+
+  const results: Record<string, InboxMutationStatus> = {};
+  let candidates: InboxMessage[];
+  if (selection.messageIds != null) {
+    const byId: Record<string, InboxMessage> = {};
+    messages.forEach((message) => byId[message.id] = message);
+
+    candidates = [];
+    for (const messageId of selection.messageIds) {
+      const message = byId[messageId];
+      if (!message) {
+        results[messageId] = InboxMutationStatus.NotFound;
+      } else if (selection.filter && !matchesInboxFilter(message, selection.filter)) {
+        results[messageId] = InboxMutationStatus.FilteredOut;
+      } else {
+        candidates.push(message);
+      }
+    }
+  } else {
+    const filter = selection.filter as InboxFilter;
+    candidates = messages.filter((message) => matchesInboxFilter(message, filter));
+  }
+
+  const updates: Promise<void>[] = [];
+  for (const message of candidates) {
+    if (!isDelete && message.isRead) {
+      results[message.id] = InboxMutationStatus.Unchanged;
+    } else {
+      results[message.id] = InboxMutationStatus.Updated;
+      updates.push(update(message.id)
+        .then(() => undefined, () => { results[message.id] = InboxMutationStatus.NotFound; }));
+    }
+  }
+
+  return Promise.all(updates).then(() => ({
+    updatedCount: Object.keys(results).filter((id) => results[id] == InboxMutationStatus.Updated).length,
+    results: results
+  }));
+}
@@ -0,0 +1,231 @@
+/* Copyright Airship and Contributors */
+
+'use strict';
+
+import { InboxMessage } from "./UrbanAirship";
+
+/**
+ * Inbox query sort orders.
+ */
+export enum InboxSortOrder {
+  /**
+   * Newest messages first.
+   */
+  SentDateDescending = "sentDateDescending",
+  /**
+   * Oldest messages first.
+   */
+  SentDateAscending = "sentDateAscending",
+  /**
+   * Titles A to Z, ignoring case.
+   */
+  TitleAscending = "titleAscending",
+  /**
+   * Titles Z to A, ignoring case.
+   */
+  TitleDescending = "titleDescending"
+}
+
+/**
+ * Inbox message fields.
+ */
+export type InboxMessageField = keyof InboxMessage;
+
+/**
+ * Inbox message filter.
+ */
+export interface InboxFilter {
+  /**
+   * Only matches unread messages. Defaults to false.
+   */
+  unreadOnly?: boolean;
+  /**
+   * Only matches messages sent at or after this time in milliseconds.
+   */
+  sentAfter?: number;
+  /**
+   * Only matches messages sent before this time in milliseconds.
+   */
+  sentBefore?: number;
+  /**
+   * Only matches messages with all of these extras.
+   */
+  extras?: Record<string, string>;
+}
+
+/**
+ * Inbox query.
+ */
+export interface InboxQuery extends InboxFilter {
+  /**
+   * The number of matching messages to skip. Ignored when a cursor is set.
+   * Defaults to 0.
+   */
+  offset?: number;
+  /**
+   * The max number of messages to return. Defaults to 50.
+   */
+  limit?: number;
+  /**
+   * The sort order. Defaults to InboxSortOrder.SentDateDescending.
+   */
+  sortOrder?: InboxSortOrder;
+  /**
+   * The message fields to return. The ID is always returned. Defaults to every field.
+   */
+  fields?: InboxMessageField[];
+  /**
+   * The cursor of the previous page. The rest of the query is taken from the
+   * cursor, except for the limit.
+   */
+  cursor?: string;
+}
+
+/**
+ * Inbox query result.
+ */
+export interface InboxQueryResult {
+  /**
+   * The page of messages, with only the requested fields.
+   */
+  messages: Partial<InboxMessage>[];
+  /**
+   * The number of messages matching the query.
+   */
+  totalCount: number;
+  /**
+   * The cursor for the next page, if there are more messages.
+   */
+  nextCursor?: string;
+}
+
+interface CursorPosition {
+  id: string;
+  sentDate: number;
+  title: string;
+}
+
+const DEFAULT_LIMIT = 50;
+
+/**
+ * Applies an inbox query to a list of messages. Used on platforms that can't run
+ * the query natively and matches the native behavior, including the cursor format.
+ *
+ * @param messages The inbox messages.
+ * @param query The query.
+ * @return The result.
+ * @hidden
+ */
+export function applyInboxQuery(messages: InboxMessage[], query: InboxQuery): InboxQueryResult {
+  let after: CursorPosition | undefined;
+  if (query.cursor != null) {
+    const cursor = JSON.parse(query.cursor);
+    if (!cursor || !cursor.query || !cursor.after || typeof cursor.after.id != 'string') {
+      throw new Error("Invalid inbox query cursor: " + query.cursor);
+    }
+
+    after = cursor.after;
+    query = query.limit != null ? { ...cursor.query, limit: query.limit } : cursor.query;
+  }
+
+  const limit = Math.max(1, query.limit != null ? Math.floor(query.limit) : DEFAULT_LIMIT);
+  const offset = Math.max(0, query.offset != null ? Math.floor(query.offset) : 0);
+  const filter: InboxFilter = query;
+
+  const matches = messages
+    .filter((message) => matchesInboxFilter(message, filter))
+    .map((message) => ({ message, id: message.id, sentDate: message.sentDate, title: message.title || "" }));
+
+  const compare = createComparator(query.sortOrder);
+  matches.sort(compare);
+
+  let start = Math.min(offset, matches.length);
+  if (after) {
+    const position = after;
+    start = matches.findIndex((entry) => compare(entry, position) > 0);
+    if (start == -1) {
+      start = matches.length;
+    }
+  }
+
+  const end = Math.min(matches.length, start + limit);
+  const result: InboxQueryResult = {
+    messages: matches.slice(start, end).map((entry) => project(entry.message, query.fields)),
+    totalCount: matches.length
+  };
+
+  if (end < matches.length && end > 0) {
+    const last = matches[end - 1];
+    const { offset: _offset, cursor: _cursor, ...cursorQuery } = query;
+    result.nextCursor = JSON.stringify({
+      query: cursorQuery,
+      after: { id: last.id, sentDate: last.sentDate, title: last.title }
+    });
+  }
+
+  return result;
+}
+
+/**
+ * Checks if a message matches a filter.
+ *
+ * @param message The message.
+ * @param filter The filter.
+ * @return true if the message matches, otherwise false.
+ * @hidden
+ */
+export function matchesInboxFilter(message: InboxMessage, filter: InboxFilter): boolean {
+  if (filter.unreadOnly && message.isRead) {
+    return false;
+  }
+  if (filter.sentAfter != null && message.sentDate < filter.sentAfter) {
+    return false;
+  }
+  if (filter.sentBefore != null && message.sentDate >= filter.sentBefore) {
+    return false;
+  }
+  const extras = filter.extras || {};
+  const messageExtras: Record<string, string> = (message.extras as any) || {};
+  return Object.keys(extras).every((key) => messageExtras[key] === extras[key]);
+}
+
+function createComparator(sortOrder?: InboxSortOrder): (lhs: CursorPosition, rhs: CursorPosition) => number {
+  const byTitle = sortOrder == InboxSortOrder.TitleAscending || sortOrder == InboxSortOrder.TitleDescending;
+  const descending = sortOrder == InboxSortOrder.TitleDescending
+    || (sortOrder != InboxSortOrder.SentDateAscending && !byTitle);
+
+  return (lhs, rhs) => {
+    let result: number;
+    if (byTitle) {
+      const lhsTitle = lhs.title.toLowerCase();
+      const rhsTitle = rhs.title.toLowerCase();
+      result = lhsTitle < rhsTitle ? -1 : (lhsTitle == rhsTitle ? 0 : 1);
+    } else {
+      result = lhs.sentDate - rhs.sentDate;
+    }
+
+    if (descending) {
+      result = -result;
+    }
+
+    // IDs break ties so the order, and with it the cursor, is stable
+    if (result != 0) {
+      return result;
+    }
+    return lhs.id < rhs.id ? -1 : (lhs.id == rhs.id ? 0 : 1);
+  };
+}
+
+function project(message: InboxMessage, fields?: InboxMessageField[]): Partial<InboxMessage> {
+  if (!fields) {
+    return message;
+  }
+
+  const projected: Partial<InboxMessage> = { id: message.id };
+  for (const field of fields) {
+    if (field in message) {
+      (projected as any)[field] = message[field];
+    }
+  }
+  return projected;
+}
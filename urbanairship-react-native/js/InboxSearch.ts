@@ -0,0 +1,168 @@
+/* Copyright Airship and Contributors */
+
+'use strict';
+
+import { InboxMessage } from "./UrbanAirship";
+
+/**
+ * Matching range of a message field.
+ */
+export interface InboxSearchHighlight {
+  /**
+   * The field, either "title" or "extras".
+   */
+  field: "title" | "extras";
+  /**
+   * The extras key, for matches in an extras value.
+   */
+  key?: string;
+  /**
+   * The start index of the match.
+   */
+  start: number;
+  /**
+   * The end index of the match, exclusive.
+   */
+  end: number;
+}
+
+/**
+ * Inbox search result.
+ */
+export interface InboxSearchResult {
+  /**
+   * The message ID.
+   */
+  id: string;
+  /**
+   * The relevance score. Only meaningful relative to the other results.
+   */
+  score: number;
+  /**
+   * The matching ranges of the message title and extras values.
+   */
+  highlights: InboxSearchHighlight[];
+}
+
+interface Token {
+  term: string;
+  start: number;
+}
+
+const TITLE_WEIGHT = 3;
+const EXTRAS_WEIGHT = 1;
+
+/**
+ * Searches a list of messages. Used on platforms without the native search index
+ * and matches its behavior: query terms are matched as prefixes of the words in
+ * the title and extras values, every term has to match, and results are ranked
+ * by term frequency weighted by how rare the term is, with title matches weighted
+ * above extras matches.
+ *
+ * @param messages The inbox messages.
+ * @param query The query.
+ * @param limit The max number of results.
+ * @return The results, best match first.
+ * @hidden
+ */
+export function searchInboxMessages(messages: InboxMessage[], query: string, limit: number): InboxSearchResult[] {
+  const terms = tokenize(query).map((token) => token.term)
+    .filter((term, index, all) => all.indexOf(term) == index);
+  if (terms.length == 0 || limit <= 0) {
+    return [];
+  }
+
+  const documents = messages.map((message) => {
+    const extras: Record<string, string> = (message.extras as any) || {};
+    return {
+      message: message,
+      title: tokenize(message.title || ""),
+      extras: Object.keys(extras).map((key) => tokenize(String(extras[key])))
+        .reduce((all, tokens) => all.concat(tokens), [] as Token[])
+    };
+  });
+
+  const hits = documents.map((document) => terms.map((term) => ({
+    title: countHits(document.title, term),
+    extras: countHits(document.extras, term)
+  })));
+
+  const rowsWithHits = terms.map((_term, index) => ({
+    title: hits.filter((row) => row[index].title > 0).length,
+    extras: hits.filter((row) => row[index].extras > 0).length
+  }));
+
+  const rows = documents.length;
+  const idf = (count: number) => Math.log(1 + rows / count);
+
+  const results: { message: InboxMessage, score: number }[] = [];
+  documents.forEach((document, row) => {
+    const rowHits = hits[row];
+    if (!rowHits.every((hit) => hit.title + hit.extras > 0)) {
+      return;
+    }
+
+    let score = 0;
+    rowHits.forEach((hit, index) => {
+      if (hit.title > 0) {
+        score += TITLE_WEIGHT * hit.title * idf(rowsWithHits[index].title);
+      }
+      if (hit.extras > 0) {
+        score += EXTRAS_WEIGHT * hit.extras * idf(rowsWithHits[index].extras);
+      }
+    });
+
+    results.push({ message: document.message, score: score });
+  });
+
+  return results
+    .sort((lhs, rhs) => (rhs.score - lhs.score) || (rhs.message.sentDate - lhs.message.sentDate))
+    .slice(0, limit)
+    .map((result) => ({
+      id: result.message.id,
+      score: result.score,
+      highlights: highlight(result.message, terms)
+    }));
+}
+
+function highlight(message: InboxMessage, terms: string[]): InboxSearchHighlight[] {
+  const highlights: InboxSearchHighlight[] = [];
+  const add = (field: "title" | "extras", text: string, key?: string) => {
+    for (const token of tokenize(text)) {
+      const term = terms.find((term) => token.term.indexOf(term) == 0);
+      if (term) {
+        const range: InboxSearchHighlight = { field: field, start: token.start, end: token.start + term.length };
+        if (key != null) {
+          range.key = key;
+        }
+        highlights.push(range);
+      }
+    }
+  };
+
+  add("title", message.title || "");
+  const extras: Record<string, string> = (message.extras as any) || {};
+  Object.keys(extras).forEach((key) => add("extras", String(extras[key]), key));
+  return highlights;
+}
+
+function countHits(tokens: Token[], term: string): number {
+  return tokens.filter((token) => token.term.indexOf(term) == 0).length;
+}
+
+/**
+ * Splits text into terms like the native index: runs of ASCII letters and digits
+ * and any non-ASCII characters, with ASCII letters in lower case.
+ */
+function tokenize(text: string): Token[] {
+  const tokens: Token[] = [];
+  const pattern = /[A-Za-z0-9\u0080-\uFFFF]+/g;
+  let match: RegExpExecArray | null;
+  while ((match = pattern.exec(text)) != null) {
+    tokens.push({
+      term: match[0].replace(/[A-Z]/g, (c) => c.toLowerCase()),
+      start: match.index
+    });
+  }
+  return tokens;
+}
@@ -9,26 +9,190 @@ import { NativeModules, NativeEventEmitter, EmitterSubscription, Platform } from
  */
 const UrbanAirshipModule = NativeModules.UrbanAirshipReactModule;
 
+/**
+ * Event used by Android to deliver several events in a single bridge call.
+ *
+ * @hidden
+ */
+const BATCH_EVENT = "com.urbanairship.event_batch";
+
+/**
+ * Event emitted locally when acks are enabled and JS missed events.
+ *
+ * @hidden
+ */
+const DELIVERY_GAP_EVENT = "com.urbanairship.delivery_gap";
+
+/**
+ * Events that describe current state. The latest value is replayed to new listeners.
+ *
+ * @hidden
+ */
+const STICKY_EVENTS = [
+  "com.urbanairship.registration",
+  "com.urbanairship.notification_opt_in_status",
+  "com.urbanairship.inbox_updated"
+];
+
+/**
+ * A batch of events sent from Android.
+ *
+ * @hidden
+ */
+interface EventBatch {
+  baseSeq?: number;
+  events: { name: string, body: any, seq?: number }[];
+}
+
 /**
  * Custom native event emitter with additional Android behavior
  *
  * @hidden
  */
 export class UAEventEmitter extends NativeEventEmitter {
+  stickyEvents: { [eventType: string]: any } = {};
+  expectedSeq?: number;
+  ackScheduled = false;
+  listenerDeltas: { [eventType: string]: number } = {};
+  listenerUpdateScheduled = false;
+
   constructor() {
     super(UrbanAirshipModule);
+
+    if (Platform.OS === 'android') {
+      super.addListener(BATCH_EVENT, (batch: EventBatch) => this.dispatchBatch(batch));
+    }
+  }
+
+  /**
+   * Fans out a batch of events to the listeners of each event. A listener that throws does
+   * not stop the rest of the batch, the first error is rethrown once the batch is dispatched.
+   */
+  dispatchBatch(batch: EventBatch) {
+    const errors: any[] = [];
+    try {
+      this.dispatchBatchEvents(batch, errors);
+    } finally {
+      if (batch.baseSeq !== undefined) {
+        this.scheduleAck();
+      }
+    }
+
+    if (errors.length > 0) {
+      throw errors[0];
+    }
+  }
+
+  dispatchBatchEvents(batch: EventBatch, errors: any[]) {
+    if (batch.baseSeq === undefined) {
+      for (const event of batch.events) {
+        this.safeDispatchEvent(event.name, event.body, errors);
+      }
+      return;
+    }
+
+    // Everything below the base sequence was acked or given up on by the native side
+    if (this.expectedSeq === undefined || this.expectedSeq < batch.baseSeq) {
+      if (this.expectedSeq !== undefined) {
+        this.emit(DELIVERY_GAP_EVENT, { missedCount: batch.baseSeq - this.expectedSeq });
+      }
+      this.expectedSeq = batch.baseSeq;
+    }
+
+    for (const event of batch.events) {
+      const seq = event.seq as number;
+      if (seq < this.expectedSeq) {
+        // Already handled, redelivered because the ack was late
+        continue;
+      }
+      if (seq > this.expectedSeq) {
+        // Out of order, wait for the native side to redeliver from the expected sequence
+        break;
+      }
+      // A listener error still counts as handled, redelivering would only throw again
+      this.safeDispatchEvent(event.name, event.body, errors);
+      this.expectedSeq++;
+    }
+  }
+
+  safeDispatchEvent(name: string, body: any, errors: any[]) {
+    try {
+      this.dispatchEvent(name, body);
+    } catch (error) {
+      errors.push(error);
+    }
+  }
+
+  /**
+   * Acks every handled event once per tick.
+   */
+  scheduleAck() {
+    if (this.ackScheduled) {
+      return;
+    }
+    this.ackScheduled = true;
+    Promise.resolve().then(() => {
+      this.ackScheduled = false;
+      if (this.expectedSeq !== undefined) {
+        UrbanAirshipModule.ackAndroidEvents(this.expectedSeq - 1);
+      }
+    });
+  }
+
+  /**
+   * Records a change in the listener count for an event. Changes made in the same tick are
+   * sent to the native side in a single call.
+   */
+  updateAndroidListeners(eventType: string, delta: number) {
+    this.listenerDeltas[eventType] = (this.listenerDeltas[eventType] || 0) + delta;
+    if (this.listenerUpdateScheduled) {
+      return;
+    }
+    this.listenerUpdateScheduled = true;
+    Promise.resolve().then(() => {
+      const deltas: { [eventType: string]: number } = {};
+      let changed = false;
+      for (const eventType of Object.keys(this.listenerDeltas)) {
+        if (this.listenerDeltas[eventType] !== 0) {
+          deltas[eventType] = this.listenerDeltas[eventType];
+          changed = true;
+        }
+      }
+      this.listenerDeltas = {};
+      this.listenerUpdateScheduled = false;
+      if (changed) {
+        UrbanAirshipModule.updateAndroidListeners(deltas);
+      }
+    });
+  }
+
+  dispatchEvent(name: string, body: any) {
+    if (STICKY_EVENTS.indexOf(name) >= 0) {
+      this.stickyEvents[name] = body;
+    }
+    this.emit(name, body);
   }
 
   addListener(eventType: string, listener: (...args: any[]) => any, context?: object | null | undefined): EmitterSubscription {
+    // The native side replays state to the first listener, later listeners get it from the cache
+    const replay = Platform.OS === 'android' && this.listeners(eventType).length > 0
+      && this.stickyEvents[eventType] !== undefined;
+
     if (Platform.OS === 'android') {
-      UrbanAirshipModule.addAndroidListener(eventType);
+      this.updateAndroidListeners(eventType, 1);
+    }
+
+    const subscription = super.addListener(eventType, listener, context);
+    if (replay) {
+      const body = this.stickyEvents[eventType];
+      Promise.resolve().then(() => listener.call(context, body));
     }
-    return super.addListener(eventType, listener, context);
+    return subscription;
   }
 
   removeAllListeners(eventType: string) {
     if (Platform.OS === 'android') {
-        UrbanAirshipModule.removeAndroidListeners(this.listeners(eventType).length);
+      this.updateAndroidListeners(eventType, -this.listeners(eventType).length);
     }
 
     super.removeAllListeners(eventType);
@@ -36,7 +200,7 @@ export class UAEventEmitter extends NativeEventEmitter {
 
   removeSubscription(subscription: EmitterSubscription) {
     if (Platform.OS === 'android') {
-      UrbanAirshipModule.removeAndroidListeners(1);
+      this.updateAndroidListeners(subscription.eventType, -1);
     }
     super.removeSubscription(subscription);
   }
@@ -9,6 +9,11 @@ import { TagGroupEditor, TagGroupOperation } from "./TagGroupEditor";
 import { AttributeEditor, AttributeOperation } from "./AttributeEditor";
 import { UAEventEmitter } from "./UAEventEmitter";
 import { JsonObject, JsonValue } from "./Json";
+import { InboxQuery, InboxQueryResult, applyInboxQuery } from "./InboxQuery";
+import { InboxChanges } from "./InboxChanges";
+import { InboxSearchResult, searchInboxMessages } from "./InboxSearch";
+import { InboxSelection, InboxMutationResult, applyInboxMutation } from "./InboxMutations";
+import { ColumnarPayload, ColumnarRows } from "./Columnar";
 
 /**
  * @hidden
@@ -32,6 +37,7 @@ enum InternalEventType {
   InboxUpdated = "com.urbanairship.inbox_updated",
   NotificationOptInStatus = "com.urbanairship.notification_opt_in_status",
   ShowInbox = "com.urbanairship.show_inbox",
+  DeliveryGap = "com.urbanairship.delivery_gap",
 }
 
 /**
@@ -69,7 +75,12 @@ export enum EventType {
   /**
    * Show inbox event.
    */
-  ShowInbox = "showInbox"
+  ShowInbox = "showInbox",
+  /**
+   * Delivery gap event. Only emitted on Android when acks are enabled
+   * in the event emitter config.
+   */
+  DeliveryGap = "deliveryGap"
 }
 
 /**
@@ -106,6 +117,24 @@ export interface InboxMessage {
   extras: Map<string, string>;
 }
 
+/**
+ * Inbox query result in columnar form.
+ */
+export interface InboxColumnarQueryResult {
+  /**
+   * The page of messages, with only the requested fields.
+   */
+  messages: ColumnarRows<Partial<InboxMessage>>;
+  /**
+   * The number of messages matching the query.
+   */
+  totalCount: number;
+  /**
+   * The cursor for the next page, if there are more messages.
+   */
+  nextCursor?: string;
+}
+
 /**
  * Event fired when a push is received.
  */
@@ -238,6 +267,11 @@ export interface InboxUpdatedEvent {
    * The total message count.
    */
   messageCount: number
+  /**
+   * Android only - The inbox snapshot version. Pass it to getInboxChanges
+   * to fetch only what changed.
+   */
+  version?: number
 }
 
 /**
@@ -250,6 +284,16 @@ export interface ShowInboxEvent {
   messageId?: string;
 }
 
+/**
+ * Event fired on Android when events could not be delivered with acks enabled.
+ */
+export interface DeliveryGapEvent {
+  /**
+   * The number of events that were missed.
+   */
+  missedCount: number;
+}
+
 /**
  * Event fired when a deep link is opened.
  */
@@ -296,11 +340,38 @@ function convertEventEnum(type: EventType): string {
     return InternalEventType.InboxUpdated;
   } else if (type == EventType.ShowInbox) {
     return InternalEventType.ShowInbox;
+  } else if (type == EventType.DeliveryGap) {
+    return InternalEventType.DeliveryGap;
   }
 
   throw new Error("Invalid event name: " + type);
 }
 
+/**
+ * @hidden
+ */
+function convertInternalEventType(name: string): EventType {
+  if (name === InternalEventType.NotificationResponse) {
+    return EventType.NotificationResponse;
+  } else if (name === InternalEventType.PushReceived) {
+    return EventType.PushReceived;
+  } else if (name === InternalEventType.Registration) {
+    return EventType.Registration;
+  } else if (name == InternalEventType.DeepLink) {
+    return EventType.DeepLink;
+  } else if (name == InternalEventType.NotificationOptInStatus) {
+    return EventType.NotificationOptInStatus;
+  } else if (name == InternalEventType.InboxUpdated) {
+    return EventType.InboxUpdated;
+  } else if (name == InternalEventType.ShowInbox) {
+    return EventType.ShowInbox;
+  } else if (name == InternalEventType.DeliveryGap) {
+    return EventType.DeliveryGap;
+  }
+
+  throw new Error("Invalid event name: " + name);
+}
+
 /**
  * Android notification config.
  */
@@ -319,6 +390,189 @@ export interface NotificationConfigAndroid {
   defaultChannelId?: string;
 }
 
+/**
+ * Android event emitter config.
+ */
+export interface EventEmitterConfigAndroid {
+  /**
+   * Whether events are delivered to JS in batches. Defaults to true.
+   */
+  batchingEnabled?: boolean;
+  /**
+   * How long to collect events before sending a batch, in milliseconds.
+   * Defaults to 0, which sends a batch on the next frame.
+   */
+  batchWindowMillis?: number;
+  /**
+   * The max number of events in a single batch. Larger backlogs are
+   * spread over several batches. Defaults to 50.
+   */
+  maxBatchSize?: number;
+  /**
+   * Whether to hold non-interactive events, such as push received and state
+   * events, while the app is paused. Notification responses, deep links and
+   * show inbox events are always delivered. Defaults to false.
+   */
+  deferWhilePaused?: boolean;
+  /**
+   * The max number of events held while waiting for a listener. Defaults to 1000.
+   */
+  maxPendingEvents?: number;
+  /**
+   * The max estimated size in bytes of the events held while waiting for a
+   * listener. Defaults to 1 MB.
+   */
+  maxPendingBytes?: number;
+  /**
+   * How to make room when a pending limit is exceeded. Defaults to `dropOldest`.
+   */
+  evictionPolicy?: "dropOldest" | "dropNewest" | "dropLowestPriority";
+  /**
+   * How long events are held while waiting for a listener, in milliseconds,
+   * keyed by event type. Events without a TTL are held until evicted.
+   */
+  pendingEventTtls?: Partial<Record<EventType, number>>;
+  /**
+   * Whether undelivered events are journaled to disk, so events received while
+   * the app was not running in the foreground survive process death. Journaled
+   * events are delivered after the next launch. Defaults to false.
+   */
+  journalEnabled?: boolean;
+  /**
+   * Whether events are delivered at least once. Each event carries a sequence
+   * number and is delivered again until JS acknowledges it, after a timeout or
+   * a reload. Listen for EventType.DeliveryGap to find out about events that
+   * could not be delivered. Defaults to false.
+   */
+  ackEnabled?: boolean;
+  /**
+   * How long to wait for an ack before delivering events again, in milliseconds.
+   * Defaults to 10000.
+   */
+  ackTimeoutMillis?: number;
+  /**
+   * The max number of delivered events waiting for an ack. New events are held
+   * while the window is full. Defaults to 500.
+   */
+  maxUnackedEvents?: number;
+  /**
+   * The max number of times an event is delivered before it is given up on.
+   * Defaults to 3.
+   */
+  maxDeliveryAttempts?: number;
+  /**
+   * Whether the native push, channel and inbox listeners are only attached once
+   * JS subscribes to a matching event. Push received, registration, opt-in status
+   * and inbox updated events are not collected before then. Applied on the next
+   * app launch. Defaults to false.
+   */
+  lazyListenersEnabled?: boolean;
+  /**
+   * Whether lazily attached listeners are detached again when the last JS
+   * subscriber leaves. Applied on the next app launch. Defaults to false.
+   */
+  detachUnusedListeners?: boolean;
+}
+
+/**
+ * Latency histogram with power of two millisecond buckets.
+ */
+export interface LatencyHistogramAndroid {
+  /**
+   * The number of recorded values.
+   */
+  count: number;
+  /**
+   * The mean latency in milliseconds.
+   */
+  meanMillis: number;
+  /**
+   * The max latency in milliseconds.
+   */
+  maxMillis: number;
+  /**
+   * The 50th percentile, rounded up to the bucket bound, in milliseconds.
+   */
+  p50Millis: number;
+  /**
+   * The 90th percentile, rounded up to the bucket bound, in milliseconds.
+   */
+  p90Millis: number;
+  /**
+   * The 99th percentile, rounded up to the bucket bound, in milliseconds.
+   */
+  p99Millis: number;
+  /**
+   * The bucket counts. Bucket `i` holds values up to `2^i - 1` ms, the last
+   * bucket holds everything above.
+   */
+  buckets: number[];
+}
+
+/**
+ * Android event emitter stats.
+ */
+export interface EmitterStatsAndroid {
+  /**
+   * The number of events sent to JS, keyed by event name.
+   */
+  emitted: Record<string, number>;
+  /**
+   * The number of events in batches that failed to emit and were requeued, keyed by event name.
+   */
+  failedEmits: Record<string, number>;
+  /**
+   * The time between the event being received and first sent to JS, keyed by event name.
+   */
+  latency: Record<string, LatencyHistogramAndroid>;
+  /**
+   * The current number of events waiting for a listener, keyed by event name.
+   */
+  pendingDepth: Record<string, number>;
+  /**
+   * The max number of events that waited for a listener, keyed by event name.
+   */
+  maxPendingDepth: Record<string, number>;
+  /**
+   * The number of pending events evicted to stay within the limits, keyed by event name.
+   */
+  evictions: Record<string, number>;
+  /**
+   * The number of pending events discarded after their TTL, keyed by event name.
+   */
+  expirations: Record<string, number>;
+  /**
+   * The number of events delivered again after an ack timeout, keyed by event name.
+   */
+  redeliveries: Record<string, number>;
+  /**
+   * The number of events given up on after the max delivery attempts, keyed by event name.
+   */
+  abandoned: Record<string, number>;
+  /**
+   * Event journal append timings.
+   */
+  journal: {
+    appends: number;
+    averageAppendMicros: number;
+    maxAppendMicros: number;
+  };
+}
+
+/**
+ * An event taken from the Android pending event queue.
+ */
+export interface PendingEventAndroid {
+  /**
+   * The event type.
+   */
+  type: EventType;
+  /**
+   * The event body.
+   */
+  body: any;
+}
+
 /**
 * The main Airship API.
 */
@@ -332,6 +586,75 @@ export class UrbanAirship {
     UrbanAirshipModule.setAndroidNotificationConfig(config);
   }
 
+  /**
+   * Sets the Android event emitter config. Values not set will fallback to the defaults.
+   * This method is only supported on Android. iOS will no-op.
+   *
+   * @param config The event emitter config object.
+   */
+  static setAndroidEventEmitterConfig(config: EventEmitterConfigAndroid) {
+    if (Platform.OS == 'android') {
+      let nativeConfig: any = { ...config };
+      if (config.pendingEventTtls) {
+        let ttls: Record<string, number> = {};
+        for (let type of Object.keys(config.pendingEventTtls) as EventType[]) {
+          ttls[convertEventEnum(type)] = config.pendingEventTtls[type] as number;
+        }
+        nativeConfig.pendingEventTtls = ttls;
+      }
+      UrbanAirshipModule.setAndroidEventEmitterConfig(nativeConfig);
+    }
+  }
+
+  /**
+   * Takes the events queued on Android for a set of event types, oldest first,
+   * in a single call. Taken events are not sent to listeners. While a type has
+   * a backlog left after a take, its events are held for the next take. They are
+   * pushed to listeners again once the backlog has been taken or a listener is
+   * added for the type, so call this before adding listeners to handle the cold
+   * start backlog in one pass.
+   * This method is only supported on Android. iOS will resolve with an empty array.
+   *
+   * @param eventTypes The event types.
+   * @param maxCount The max number of events to take.
+   * @return A promise with the result.
+   */
+  static takePendingEvents(eventTypes: EventType[], maxCount: number): Promise<PendingEventAndroid[]> {
+    if (Platform.OS != 'android') {
+      return Promise.resolve([]);
+    }
+
+    const names = eventTypes.map(convertEventEnum);
+    return UrbanAirshipModule.takePendingEvents(names, maxCount)
+      .then((events: { name: string, body: any }[]) => events.map((event) => ({
+        type: convertInternalEventType(event.name),
+        body: event.body
+      })));
+  }
+
+  /**
+   * Gets the Android event emitter stats.
+   * This method is only supported on Android. iOS will resolve with null.
+   *
+   * @return A promise with the result.
+   */
+  static getEmitterStats(): Promise<EmitterStatsAndroid | null> {
+    if (Platform.OS == 'android') {
+      return UrbanAirshipModule.getEmitterStats();
+    }
+    return Promise.resolve(null);
+  }
+
+  /**
+   * Resets the Android event emitter stats.
+   * This method is only supported on Android. iOS will no-op.
+   */
+  static resetEmitterStats() {
+    if (Platform.OS == 'android') {
+      UrbanAirshipModule.resetEmitterStats();
+    }
+  }
+
   /**
    * Sets user notifications enabled. The first time user notifications are enabled
    * on iOS, it will prompt the user for notification permissions.
@@ -628,7 +951,7 @@ export class UrbanAirship {
    *
    * @param eventType The event type. Either EventType.NotificationResponse, EventType.PushReceived,
    * EventType.Register, EventType.Reistration, EventType.DeepLink, EventType.NotificationOptInStatus,
-   * EventType.InboxUpdated, or EventType.ShowInbox.
+   * EventType.InboxUpdated, EventType.ShowInbox, or EventType.DeliveryGap.
    * @param listener The event listener.
    * @return An emitter subscription.
    */
@@ -752,6 +1075,101 @@ export class UrbanAirship {
     return UrbanAirshipModule.getInboxMessages();
   }
 
+  /**
+   * Queries the inbox messages. Returns a single page of the messages matching the
+   * query, with only the requested fields. Pass the result's nextCursor in the next
+   * query to fetch the following page.
+   *
+   * @param query The query.
+   * @return A promise with the result.
+   */
+  static queryInboxMessages(query: InboxQuery): Promise<InboxQueryResult> {
+    if (Platform.OS == 'android') {
+      return UrbanAirshipModule.queryInboxMessages(query);
+    }
+
+    return UrbanAirshipModule.getInboxMessages()
+      .then((messages: InboxMessage[]) => applyInboxQuery(messages, query));
+  }
+
+  /**
+   * Retrieves the current inbox messages in columnar form, which is cheaper to send
+   * and parse for long inboxes. Rows are built when read.
+   *
+   * @return A promise with the result.
+   */
+  static getInboxMessageColumns(): Promise<ColumnarRows<InboxMessage>> {
+    if (Platform.OS == 'android') {
+      return UrbanAirshipModule.getInboxMessagesColumnar()
+        .then((payload: ColumnarPayload) => ColumnarRows.fromPayload<InboxMessage>(payload));
+    }
+
+    return UrbanAirshipModule.getInboxMessages()
+      .then((messages: InboxMessage[]) => ColumnarRows.fromRows(messages));
+  }
+
+  /**
+   * Queries the inbox messages like queryInboxMessages, and returns the page in
+   * columnar form.
+   *
+   * @param query The query.
+   * @return A promise with the result.
+   */
+  static queryInboxMessageColumns(query: InboxQuery): Promise<InboxColumnarQueryResult> {
+    if (Platform.OS == 'android') {
+      return UrbanAirshipModule.queryInboxMessagesColumnar(query)
+        .then((result: any) => ({
+          ...result,
+          messages: ColumnarRows.fromPayload<Partial<InboxMessage>>(result.messages)
+        }));
+    }
+
+    return UrbanAirship.queryInboxMessages(query)
+      .then((result) => ({ ...result, messages: ColumnarRows.fromRows(result.messages) }));
+  }
+
+  /**
+   * Gets the inbox messages added, removed and changed since a snapshot version.
+   * Use applyInboxChanges to update a rendered list. On iOS every call is a reset
+   * that returns every message.
+   *
+   * @param sinceVersion The version last rendered, or 0 for every message.
+   * @return A promise with the result.
+   */
+  static getInboxChanges(sinceVersion: number): Promise<InboxChanges> {
+    if (Platform.OS == 'android') {
+      return UrbanAirshipModule.getInboxChanges(sinceVersion);
+    }
+
+    return UrbanAirshipModule.getInboxMessages()
+      .then((messages: InboxMessage[]) => ({
+        version: 0,
+        reset: true,
+        added: messages,
+        changed: [],
+        removed: [],
+        messageUnreadCount: messages.filter((message) => !message.isRead).length,
+        messageCount: messages.length
+      }));
+  }
+
+  /**
+   * Searches the inbox message titles and extras values. Query terms are matched
+   * as word prefixes and every term has to match.
+   *
+   * @param query The search query.
+   * @param limit The max number of results.
+   * @return A promise with the results, best match first.
+   */
+  static searchInbox(query: string, limit: number): Promise<InboxSearchResult[]> {
+    if (Platform.OS == 'android') {
+      return UrbanAirshipModule.searchInbox(query, limit);
+    }
+
+    return UrbanAirshipModule.getInboxMessages()
+      .then((messages: InboxMessage[]) => searchInboxMessages(messages, query, limit));
+  }
+
   /**
    * Deletes an inbox message.
    *
@@ -772,6 +1190,40 @@ export class UrbanAirship {
     return UrbanAirshipModule.markInboxMessageRead(messageId);
   }
 
+  /**
+   * Marks inbox messages as read in a single update. Android applies them in one
+   * inbox transaction and fires a single inbox updated event.
+   *
+   * @param selection The messages, selected by ID, by filter, or by ID and filter.
+   * @return A promise with the result for each message.
+   */
+  static markInboxMessagesRead(selection: InboxSelection): Promise<InboxMutationResult> {
+    if (Platform.OS == 'android') {
+      return UrbanAirshipModule.markInboxMessagesRead(selection);
+    }
+
+    return UrbanAirshipModule.getInboxMessages()
+      .then((messages: InboxMessage[]) => applyInboxMutation(messages, selection, false,
+        (messageId) => UrbanAirshipModule.markInboxMessageRead(messageId)));
+  }
+
+  /**
+   * Deletes inbox messages in a single update. Android applies them in one inbox
+   * transaction and fires a single inbox updated event.
+   *
+   * @param selection The messages, selected by ID, by filter, or by ID and filter.
+   * @return A promise with the result for each message.
+   */
+  static deleteInboxMessages(selection: InboxSelection): Promise<InboxMutationResult> {
+    if (Platform.OS == 'android') {
+      return UrbanAirshipModule.deleteInboxMessages(selection);
+    }
+
+    return UrbanAirshipModule.getInboxMessages()
+      .then((messages: InboxMessage[]) => applyInboxMutation(messages, selection, true,
+        (messageId) => UrbanAirshipModule.deleteInboxMessage(messageId)));
+  }
+
   /**
    * Forces the inbox to refresh. This is normally not needed as the inbox will
    * automatically refresh on foreground or when a push arrives that's associated
@@ -803,6 +1255,23 @@ export class UrbanAirship {
     return UrbanAirshipModule.getActiveNotifications();
   }
 
+  /**
+   * Gets all the active notifications for the application in columnar form.
+   * Supported on Android Marshmallow (23)+ and iOS 10+. On Android a missing alert or
+   * title is null, where getActiveNotifications leaves it out.
+   *
+   * @return A promise with the result.
+   */
+  static getActiveNotificationColumns(): Promise<ColumnarRows<PushReceivedEvent>> {
+    if (Platform.OS == 'android') {
+      return UrbanAirshipModule.getActiveNotificationsColumnar()
+        .then((payload: ColumnarPayload) => ColumnarRows.fromPayload<PushReceivedEvent>(payload));
+    }
+
+    return UrbanAirshipModule.getActiveNotifications()
+      .then((notifications: PushReceivedEvent[]) => ColumnarRows.fromRows(notifications));
+  }
+
   /**
    * Clears all notifications for the application.
    * Supported on Android and iOS 10+. For older iOS devices, you can set
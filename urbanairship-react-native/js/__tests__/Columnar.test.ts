@@ -0,0 +1,61 @@
+/* Copyright Airship and Contributors */
+
+import { ColumnarRows } from "../Columnar";
+import { InboxMessage, PushReceivedEvent } from "../UrbanAirship";
+
+describe("Columnar Tests", () => {
+
+    test('rows from payload', () => {
+        const rows = ColumnarRows.fromPayload<InboxMessage>({
+            count: 2,
+            columns: {
+                id: ["message-1", "message-2"],
+                title: ["Message 1", null],
+                isRead: [false, true],
+                extras: [[0, "deals", 1, "1"], [0, "news"]]
+            },
+            extrasKeys: ["category", "rank"]
+        });
+
+        expect(rows.length).toEqual(2);
+        expect(rows.get(0)).toEqual({
+            id: "message-1",
+            title: "Message 1",
+            isRead: false,
+            extras: { category: "deals", rank: "1" }
+        });
+        expect(rows.get(1)).toStrictEqual({ id: "message-2", title: null, isRead: true, extras: { category: "news" } });
+        expect(rows.get(2)).toBeUndefined();
+    });
+
+    test('rows are cached', () => {
+        const rows = ColumnarRows.fromPayload<PushReceivedEvent>({
+            count: 1,
+            columns: { notificationId: ["1:tag"], extras: [[]] },
+            extrasKeys: []
+        });
+
+        expect(rows.get(0)).toBe(rows.get(0));
+        expect(rows.toArray()).toEqual([{ notificationId: "1:tag", extras: {} }]);
+    });
+
+    test('column', () => {
+        const rows = ColumnarRows.fromPayload<InboxMessage>({
+            count: 2,
+            columns: { id: ["message-1", "message-2"], extras: [[0, "deals"], []] },
+            extrasKeys: ["category"]
+        });
+
+        expect(rows.column("id")).toEqual(["message-1", "message-2"]);
+        expect(rows.column("extras")).toEqual([{ category: "deals" }, {}]);
+        expect(rows.column("title")).toEqual([undefined, undefined]);
+    });
+
+    test('from rows', () => {
+        const rows = ColumnarRows.fromRows([{ id: "message-1" }, { id: "message-2" }]);
+
+        expect(rows.length).toEqual(2);
+        expect(rows.column("id")).toEqual(["message-1", "message-2"]);
+        expect(rows.map((row, index) => row.id + index)).toEqual(["message-10", "message-21"]);
+    });
+});
@@ -0,0 +1,67 @@
+/* Copyright Airship and Contributors */
+
+import { applyInboxChanges, InboxChanges } from "../InboxChanges";
+import { InboxMessage } from "../UrbanAirship";
+
+function createMessage(index: number, isRead: boolean = false): InboxMessage {
+    return {
+        id: "message-" + index,
+        title: "Message " + index,
+        sentDate: 1000 * index,
+        listIconUrl: "",
+        isRead: isRead,
+        isDeleted: false,
+        extras: {} as any
+    };
+}
+
+function createChanges(changes: Partial<InboxChanges>): InboxChanges {
+    return {
+        version: 2,
+        reset: false,
+        added: [],
+        changed: [],
+        removed: [],
+        messageUnreadCount: 0,
+        messageCount: 0,
+        ...changes
+    };
+}
+
+describe("InboxChanges Tests", () => {
+    var messages: InboxMessage[];
+
+    beforeEach(() => {
+        messages = [createMessage(3), createMessage(2), createMessage(1)];
+    });
+
+    test('no changes', () => {
+        expect(applyInboxChanges(messages, createChanges({}))).toBe(messages);
+    });
+
+    test('reset', () => {
+        const added = [createMessage(5)];
+        expect(applyInboxChanges(messages, createChanges({ reset: true, added: added }))).toBe(added);
+    });
+
+    test('added, changed and removed', () => {
+        const changed = createMessage(2, true);
+        const result = applyInboxChanges(messages, createChanges({
+            added: [createMessage(4)],
+            changed: [changed],
+            removed: ["message-1"]
+        }));
+
+        expect(result.map((m) => m.id)).toEqual(["message-4", "message-3", "message-2"]);
+        expect(result[1]).toBe(messages[0]);
+        expect(result[2]).toBe(changed);
+    });
+
+    test('added message already in the list is replaced', () => {
+        const readded = createMessage(1, true);
+        const result = applyInboxChanges(messages, createChanges({ added: [readded] }));
+
+        expect(result.map((m) => m.id)).toEqual(["message-3", "message-2", "message-1"]);
+        expect(result[2]).toBe(readded);
+    });
+});
@@ -0,0 +1,70 @@
+/* Copyright Airship and Contributors */
+
+import { applyInboxMutation, InboxMutationStatus } from "../InboxMutations";
+import { InboxMessage } from "../UrbanAirship";
+
+function createMessage(index: number, isRead: boolean): InboxMessage {
+    return {
+        id: "message-" + index,
+        title: "Message " + index,
+        sentDate: 1000 * index,
+        listIconUrl: "",
+        isRead: isRead,
+        isDeleted: false,
+        extras: { category: index % 2 == 0 ? "deals" : "news" } as any
+    };
+}
+
+describe("InboxMutations Tests", () => {
+    var messages: InboxMessage[];
+    var update: jest.Mock<Promise<boolean>, [string]>;
+
+    beforeEach(() => {
+        messages = [createMessage(1, false), createMessage(2, true), createMessage(3, false), createMessage(4, false)];
+        update = jest.fn((messageId: string) => Promise.resolve(true));
+    });
+
+    test('mark read by id', async () => {
+        const result = await applyInboxMutation(messages, { messageIds: ["message-1", "message-2", "missing"] }, false, update);
+
+        expect(update.mock.calls).toEqual([["message-1"]]);
+        expect(result).toEqual({
+            updatedCount: 1,
+            results: {
+                "message-1": InboxMutationStatus.Updated,
+                "message-2": InboxMutationStatus.Unchanged,
+                "missing": InboxMutationStatus.NotFound
+            }
+        });
+    });
+
+    test('delete by filter', async () => {
+        const result = await applyInboxMutation(messages, { filter: { extras: { category: "deals" } } }, true, update);
+
+        expect(update.mock.calls).toEqual([["message-2"], ["message-4"]]);
+        expect(result.updatedCount).toEqual(2);
+    });
+
+    test('ids and filter', async () => {
+        const result = await applyInboxMutation(messages, {
+            messageIds: ["message-1", "message-4"],
+            filter: { extras: { category: "deals" } }
+        }, true, update);
+
+        expect(result.results).toEqual({
+            "message-1": InboxMutationStatus.FilteredOut,
+            "message-4": InboxMutationStatus.Updated
+        });
+    });
+
+    test('failed update', async () => {
+        update = jest.fn((messageId: string) => Promise.reject(new Error("Message not found")));
+        const result = await applyInboxMutation(messages, { messageIds: ["message-3"] }, true, update);
+
+        expect(result).toEqual({ updatedCount: 0, results: { "message-3": InboxMutationStatus.NotFound } });
+    });
+
+    test('empty selection', async () => {
+        await expect(applyInboxMutation(messages, {}, true, update)).rejects.toThrow();
+    });
+});
@@ -0,0 +1,107 @@
+/* Copyright Airship and Contributors */
+
+import { applyInboxQuery, InboxSortOrder } from "../InboxQuery";
+import { InboxMessage } from "../UrbanAirship";
+
+function createMessage(index: number, overrides: Partial<InboxMessage> = {}): InboxMessage {
+    return {
+        id: "message-" + index,
+        title: "Message " + index,
+        sentDate: 1000 * index,
+        listIconUrl: "https://example.com/" + index + ".png",
+        isRead: index % 2 == 0,
+        isDeleted: false,
+        extras: { category: index % 3 == 0 ? "deals" : "news" } as any,
+        ...overrides
+    };
+}
+
+describe("InboxQuery Tests", () => {
+    var messages: InboxMessage[];
+
+    beforeEach(() => {
+        messages = [];
+        for (let i = 0; i < 10; i++) {
+            messages.push(createMessage(i));
+        }
+    });
+
+    test('defaults', () => {
+        const result = applyInboxQuery(messages, {});
+        expect(result.totalCount).toEqual(10);
+        expect(result.messages.map((m) => m.id)[0]).toEqual("message-9");
+        expect(result.messages[0]).toEqual(messages[9]);
+        expect(result.nextCursor).toBeUndefined();
+    });
+
+    test('offset and limit', () => {
+        const result = applyInboxQuery(messages, { offset: 2, limit: 3, sortOrder: InboxSortOrder.SentDateAscending });
+        expect(result.messages.map((m) => m.id)).toEqual(["message-2", "message-3", "message-4"]);
+        expect(result.totalCount).toEqual(10);
+        expect(result.nextCursor).toBeDefined();
+    });
+
+    test('filters', () => {
+        const result = applyInboxQuery(messages, {
+            unreadOnly: true,
+            sentAfter: 3000,
+            sentBefore: 9000,
+            extras: { category: "deals" },
+            sortOrder: InboxSortOrder.SentDateAscending
+        });
+        expect(result.messages.map((m) => m.id)).toEqual(["message-3"]);
+        expect(result.totalCount).toEqual(1);
+    });
+
+    test('title sort ignores case and breaks ties by id', () => {
+        messages = [
+            createMessage(1, { title: "banana" }),
+            createMessage(2, { title: "Apple" }),
+            createMessage(3, { title: "apple" }),
+        ];
+        const ascending = applyInboxQuery(messages, { sortOrder: InboxSortOrder.TitleAscending });
+        expect(ascending.messages.map((m) => m.id)).toEqual(["message-2", "message-3", "message-1"]);
+
+        const descending = applyInboxQuery(messages, { sortOrder: InboxSortOrder.TitleDescending });
+        expect(descending.messages.map((m) => m.id)).toEqual(["message-1", "message-2", "message-3"]);
+    });
+
+    test('projection', () => {
+        const result = applyInboxQuery(messages, { limit: 1, fields: ["title", "isRead"] });
+        expect(result.messages).toEqual([{ id: "message-9", title: "Message 9", isRead: false }]);
+    });
+
+    test('cursor pages through every message', () => {
+        const ids: string[] = [];
+        let result = applyInboxQuery(messages, { limit: 4, fields: ["id"] });
+        ids.push(...result.messages.map((m) => m.id as string));
+
+        while (result.nextCursor) {
+            result = applyInboxQuery(messages, { cursor: result.nextCursor });
+            ids.push(...result.messages.map((m) => m.id as string));
+        }
+
+        expect(ids).toEqual(messages.map((m) => m.id).reverse());
+    });
+
+    test('cursor is stable when messages are added', () => {
+        const first = applyInboxQuery(messages, { limit: 5 });
+        expect(first.messages.map((m) => m.id)).toEqual(["message-9", "message-8", "message-7", "message-6", "message-5"]);
+
+        messages.push(createMessage(10));
+        const second = applyInboxQuery(messages, { cursor: first.nextCursor });
+        expect(second.messages.map((m) => m.id)).toEqual(["message-4", "message-3", "message-2", "message-1", "message-0"]);
+        expect(second.totalCount).toEqual(11);
+        expect(second.nextCursor).toBeUndefined();
+    });
+
+    test('cursor limit override', () => {
+        const first = applyInboxQuery(messages, { limit: 2, unreadOnly: true });
+        const second = applyInboxQuery(messages, { cursor: first.nextCursor, limit: 1 });
+        expect(second.messages.map((m) => m.id)).toEqual(["message-5"]);
+    });
+
+    test('invalid cursor', () => {
+        expect(() => applyInboxQuery(messages, { cursor: "{}" })).toThrow();
+    });
+});
@@ -0,0 +1,72 @@
+/* Copyright Airship and Contributors */
+
+import { searchInboxMessages } from "../InboxSearch";
+import { InboxMessage } from "../UrbanAirship";
+
+function createMessage(index: number, title: string, extras: Record<string, string> = {}): InboxMessage {
+    return {
+        id: "message-" + index,
+        title: title,
+        sentDate: 1000 * index,
+        listIconUrl: "",
+        isRead: false,
+        isDeleted: false,
+        extras: extras as any
+    };
+}
+
+describe("InboxSearch Tests", () => {
+    var messages: InboxMessage[];
+
+    beforeEach(() => {
+        messages = [
+            createMessage(1, "Weekly deals on shoes", { category: "deals" }),
+            createMessage(2, "Your order has shipped", { category: "orders" }),
+            createMessage(3, "Shoe sale ends today", { category: "deals", campaign: "spring-sale" }),
+            createMessage(4, "Welcome to the app")
+        ];
+    });
+
+    test('matches prefixes ignoring case', () => {
+        const results = searchInboxMessages(messages, "SHOE", 10);
+        expect(results.map((r) => r.id).sort()).toEqual(["message-1", "message-3"]);
+    });
+
+    test('every term has to match', () => {
+        const results = searchInboxMessages(messages, "deals shoe", 10);
+        expect(results.map((r) => r.id).sort()).toEqual(["message-1", "message-3"]);
+
+        expect(searchInboxMessages(messages, "deals order", 10)).toEqual([]);
+    });
+
+    test('title matches rank above extras matches', () => {
+        const results = searchInboxMessages(messages, "sale", 10);
+        expect(results.map((r) => r.id)).toEqual(["message-3"]);
+
+        const deals = searchInboxMessages(messages, "deals", 10);
+        expect(deals.map((r) => r.id)).toEqual(["message-1", "message-3"]);
+    });
+
+    test('ties rank newer messages first', () => {
+        messages = [createMessage(1, "News"), createMessage(2, "News")];
+        const results = searchInboxMessages(messages, "news", 10);
+        expect(results.map((r) => r.id)).toEqual(["message-2", "message-1"]);
+    });
+
+    test('limit', () => {
+        expect(searchInboxMessages(messages, "s", 2).length).toEqual(2);
+        expect(searchInboxMessages(messages, "s", 0)).toEqual([]);
+    });
+
+    test('empty query', () => {
+        expect(searchInboxMessages(messages, " - ", 10)).toEqual([]);
+    });
+
+    test('highlights', () => {
+        const results = searchInboxMessages(messages, "sale", 10);
+        expect(results[0].highlights).toEqual([
+            { field: "title", start: 5, end: 9 },
+            { field: "extras", key: "campaign", start: 7, end: 11 }
+        ]);
+    });
+});
@@ -6,17 +6,17 @@ import { UAEventEmitter } from '../UAEventEmitter';
 class MockEventEmitter {
     constructor() { }
     listeners(eventType: string) { return [] }
-    addListener(eventType: string, listener: (...args: any[]) => any, context?: Object | null | undefined) { }
+    addListener(eventType: string, listener: (...args: any[]) => any, context?: Object | null | undefined): any { return { eventType: eventType } }
     removeAllListeners(eventType?: string) { }
     removeSubscription(subscription: EmitterSubscription) { }
+    emit(eventType: string, ...params: any[]) { }
 }
 
 class MockNativeEventEmitter extends MockEventEmitter { }
 
 interface MockNativeModule {
-    addAndroidListener: jest.Mock<any, any>,
-    removeAndroidListeners: jest.Mock<any, any>,
-    removeAllAndroidListeners: jest.Mock<any, any>
+    updateAndroidListeners: jest.Mock<any, any>,
+    ackAndroidEvents: jest.Mock<any, any>
 }
 
 describe("UAEventEmitter Tests", () => {
@@ -27,9 +27,8 @@ describe("UAEventEmitter Tests", () => {
     beforeEach(() => {
         // Stub out the relevant native modules
         MockUrbanairshipModule = {
-            addAndroidListener: jest.fn(),
-            removeAndroidListeners: jest.fn(),
-            removeAllAndroidListeners: jest.fn()
+            updateAndroidListeners: jest.fn(),
+            ackAndroidEvents: jest.fn()
         }
 
         MockPlatform = {
@@ -51,36 +50,39 @@ describe("UAEventEmitter Tests", () => {
         jest.spyOn(MockNativeEventEmitter.prototype, 'addListener');
         jest.spyOn(MockNativeEventEmitter.prototype, 'removeAllListeners');
         jest.spyOn(MockNativeEventEmitter.prototype, 'removeSubscription');
+        jest.spyOn(MockNativeEventEmitter.prototype, 'emit');
 
         const UAEventEmitter = require("../UAEventEmitter");
         emitter = new UAEventEmitter.UAEventEmitter();
     });
 
-    test('addListenerAndroid', () => {
+    test('addListenerAndroid', async () => {
         MockPlatform.OS = 'android';
 
         var listener = () => { };
         var context = { "cool": "rad" };
 
         emitter.addListener("foo", listener, context);
+        await Promise.resolve();
 
-        expect(MockUrbanairshipModule.addAndroidListener).toHaveBeenCalledWith("foo");
+        expect(MockUrbanairshipModule.updateAndroidListeners).toHaveBeenCalledWith({ "foo": 1 });
         expect(MockNativeEventEmitter.prototype.addListener).toHaveBeenCalledWith("foo", listener, context);
     });
 
-    test('addListeneriOS', () => {
+    test('addListeneriOS', async () => {
         MockPlatform.OS = 'ios';
 
         var listener = () => { };
         var context = { "cool": "rad" };
 
         emitter.addListener("foo", listener, context);
+        await Promise.resolve();
 
-        expect(MockUrbanairshipModule.addAndroidListener).not.toHaveBeenCalled();
+        expect(MockUrbanairshipModule.updateAndroidListeners).not.toHaveBeenCalled();
         expect(MockNativeEventEmitter.prototype.addListener).toHaveBeenCalledWith("foo", listener, context);
     });
 
-    test('removeAllListenersAndroid', () => {
+    test('removeAllListenersAndroid', async () => {
         MockPlatform.OS = 'android';
 
         MockNativeEventEmitter.prototype.listeners = jest.fn().mockImplementation((eventType) => {
@@ -88,36 +90,225 @@ describe("UAEventEmitter Tests", () => {
         });
 
         emitter.removeAllListeners("foo");
+        await Promise.resolve();
 
-        expect(MockUrbanairshipModule.removeAndroidListeners).toHaveBeenCalledWith(2);
+        expect(MockUrbanairshipModule.updateAndroidListeners).toHaveBeenCalledWith({ "foo": -2 });
         expect(MockNativeEventEmitter.prototype.removeAllListeners).toHaveBeenCalledWith("foo");
     });
 
-    test('removeAllListenersiOS', () => {
+    test('removeAllListenersiOS', async () => {
         MockPlatform.OS = 'ios';
 
         emitter.removeAllListeners("foo");
+        await Promise.resolve();
 
-        expect(MockUrbanairshipModule.removeAndroidListeners).not.toHaveBeenCalled();
+        expect(MockUrbanairshipModule.updateAndroidListeners).not.toHaveBeenCalled();
         expect(MockNativeEventEmitter.prototype.removeAllListeners).toHaveBeenCalledWith("foo");
     });
-    test('removeSubscriptionAndroid', () => {
+    test('removeSubscriptionAndroid', async () => {
         MockPlatform.OS = 'android';
 
         const subscription = emitter.addListener("foo", () => { })
+        await Promise.resolve();
         emitter.removeSubscription(subscription);
+        await Promise.resolve();
 
-        expect(MockUrbanairshipModule.removeAndroidListeners).toHaveBeenCalledWith(1);
+        expect(MockUrbanairshipModule.updateAndroidListeners).toHaveBeenNthCalledWith(1, { "foo": 1 });
+        expect(MockUrbanairshipModule.updateAndroidListeners).toHaveBeenNthCalledWith(2, { "foo": -1 });
         expect(MockNativeEventEmitter.prototype.removeSubscription).toHaveBeenCalledWith(subscription);
     });
 
-    test('removeSubscriptioniOS', () => {
+    test('removeSubscriptioniOS', async () => {
         MockPlatform.OS = 'ios';
 
         const subscription = emitter.addListener("foo", () => { })
         emitter.removeSubscription(subscription);
+        await Promise.resolve();
 
-        expect(MockUrbanairshipModule.removeAndroidListeners).not.toHaveBeenCalled();
+        expect(MockUrbanairshipModule.updateAndroidListeners).not.toHaveBeenCalled();
         expect(MockNativeEventEmitter.prototype.removeSubscription).toHaveBeenCalledWith(subscription);
     });
+
+    test('batchListenerAndroid', () => {
+        MockPlatform.OS = 'android';
+
+        const UAEventEmitter = require("../UAEventEmitter");
+        new UAEventEmitter.UAEventEmitter();
+
+        expect(MockNativeEventEmitter.prototype.addListener).toHaveBeenCalledWith("com.urbanairship.event_batch", expect.any(Function));
+        expect(MockUrbanairshipModule.updateAndroidListeners).not.toHaveBeenCalled();
+    });
+
+    test('listenerUpdatesBatchedAndroid', async () => {
+        MockPlatform.OS = 'android';
+
+        emitter.addListener("foo", () => { });
+        emitter.addListener("foo", () => { });
+        const subscription = emitter.addListener("bar", () => { });
+        emitter.removeSubscription(subscription);
+        await Promise.resolve();
+
+        expect(MockUrbanairshipModule.updateAndroidListeners).toHaveBeenCalledTimes(1);
+        expect(MockUrbanairshipModule.updateAndroidListeners).toHaveBeenCalledWith({ "foo": 2 });
+    });
+
+    test('dispatchBatch', () => {
+        emitter.dispatchBatch({
+            events: [
+                { name: "foo", body: { "cool": "rad" } },
+                { name: "bar", body: { "neat": true } }
+            ]
+        });
+
+        expect(MockNativeEventEmitter.prototype.emit).toHaveBeenNthCalledWith(1, "foo", { "cool": "rad" });
+        expect(MockNativeEventEmitter.prototype.emit).toHaveBeenNthCalledWith(2, "bar", { "neat": true });
+    });
+
+    test('dispatchBatchListenerThrows', () => {
+        const error = new Error("listener failed");
+        jest.spyOn(MockNativeEventEmitter.prototype, 'emit')
+            .mockImplementationOnce(() => { })
+            .mockImplementationOnce(() => { throw error; });
+
+        expect(() => emitter.dispatchBatch({
+            events: [
+                { name: "foo", body: {} },
+                { name: "bar", body: {} },
+                { name: "baz", body: {} }
+            ]
+        })).toThrow(error);
+
+        expect(MockNativeEventEmitter.prototype.emit).toHaveBeenCalledWith("foo", {});
+        expect(MockNativeEventEmitter.prototype.emit).toHaveBeenCalledWith("bar", {});
+        expect(MockNativeEventEmitter.prototype.emit).toHaveBeenCalledWith("baz", {});
+    });
+
+    test('dispatchBatchWithAcksListenerThrows', async () => {
+        const error = new Error("listener failed");
+        jest.spyOn(MockNativeEventEmitter.prototype, 'emit')
+            .mockImplementationOnce(() => { throw error; });
+
+        expect(() => emitter.dispatchBatch({
+            baseSeq: 1,
+            events: [
+                { name: "foo", body: {}, seq: 1 },
+                { name: "bar", body: {}, seq: 2 }
+            ]
+        })).toThrow(error);
+        await Promise.resolve();
+
+        expect(MockNativeEventEmitter.prototype.emit).toHaveBeenCalledWith("bar", {});
+        expect(MockUrbanairshipModule.ackAndroidEvents).toHaveBeenCalledWith(2);
+    });
+
+    test('stickyReplayAndroid', async () => {
+        MockPlatform.OS = 'android';
+
+        MockNativeEventEmitter.prototype.listeners = jest.fn().mockImplementation((eventType) => {
+            return [() => { }];
+        });
+
+        emitter.dispatchBatch({
+            events: [
+                { name: "com.urbanairship.inbox_updated", body: { "messageCount": 1 } },
+                { name: "com.urbanairship.inbox_updated", body: { "messageCount": 2 } }
+            ]
+        });
+
+        const listener = jest.fn();
+        emitter.addListener("com.urbanairship.inbox_updated", listener);
+        await Promise.resolve();
+
+        expect(listener).toHaveBeenCalledTimes(1);
+        expect(listener).toHaveBeenCalledWith({ "messageCount": 2 });
+    });
+
+    test('noStickyReplayForFirstListener', async () => {
+        MockPlatform.OS = 'android';
+
+        MockNativeEventEmitter.prototype.listeners = jest.fn().mockImplementation((eventType) => {
+            return [];
+        });
+
+        emitter.dispatchBatch({
+            events: [{ name: "com.urbanairship.inbox_updated", body: { "messageCount": 1 } }]
+        });
+
+        const listener = jest.fn();
+        emitter.addListener("com.urbanairship.inbox_updated", listener);
+        await Promise.resolve();
+
+        expect(listener).not.toHaveBeenCalled();
+    });
+
+    test('dispatchBatchWithAcks', async () => {
+        emitter.dispatchBatch({
+            baseSeq: 1,
+            events: [
+                { name: "foo", body: { "cool": "rad" }, seq: 1 },
+                { name: "bar", body: { "neat": true }, seq: 2 }
+            ]
+        });
+
+        emitter.dispatchBatch({
+            baseSeq: 1,
+            events: [{ name: "baz", body: {}, seq: 3 }]
+        });
+        await Promise.resolve();
+
+        expect(MockNativeEventEmitter.prototype.emit).toHaveBeenCalledTimes(3);
+        expect(MockUrbanairshipModule.ackAndroidEvents).toHaveBeenCalledTimes(1);
+        expect(MockUrbanairshipModule.ackAndroidEvents).toHaveBeenCalledWith(3);
+    });
+
+    test('dispatchBatchSkipsRedeliveries', async () => {
+        emitter.dispatchBatch({
+            baseSeq: 1,
+            events: [{ name: "foo", body: {}, seq: 1 }]
+        });
+
+        emitter.dispatchBatch({
+            baseSeq: 1,
+            events: [
+                { name: "foo", body: {}, seq: 1 },
+                { name: "bar", body: {}, seq: 2 }
+            ]
+        });
+        await Promise.resolve();
+
+        expect(MockNativeEventEmitter.prototype.emit).toHaveBeenCalledTimes(2);
+        expect(MockNativeEventEmitter.prototype.emit).toHaveBeenNthCalledWith(2, "bar", {});
+        expect(MockUrbanairshipModule.ackAndroidEvents).toHaveBeenCalledWith(2);
+    });
+
+    test('dispatchBatchWaitsForMissingSequence', async () => {
+        emitter.dispatchBatch({
+            baseSeq: 1,
+            events: [{ name: "foo", body: {}, seq: 1 }]
+        });
+
+        emitter.dispatchBatch({
+            baseSeq: 1,
+            events: [{ name: "bar", body: {}, seq: 3 }]
+        });
+        await Promise.resolve();
+
+        expect(MockNativeEventEmitter.prototype.emit).toHaveBeenCalledTimes(1);
+        expect(MockUrbanairshipModule.ackAndroidEvents).toHaveBeenCalledWith(1);
+    });
+
+    test('dispatchBatchDeliveryGap', () => {
+        emitter.dispatchBatch({
+            baseSeq: 1,
+            events: [{ name: "foo", body: {}, seq: 1 }]
+        });
+
+        emitter.dispatchBatch({
+            baseSeq: 5,
+            events: [{ name: "bar", body: {}, seq: 5 }]
+        });
+
+        expect(MockNativeEventEmitter.prototype.emit).toHaveBeenNthCalledWith(2, "com.urbanairship.delivery_gap", { missedCount: 3 });
+        expect(MockNativeEventEmitter.prototype.emit).toHaveBeenNthCalledWith(3, "bar", {});
+    });
 });
@@ -11,3 +11,8 @@
  export * from './UrbanAirship';
  export * from './MessageView';
  export * from './Json';
+ export * from './InboxQuery';
+ export * from './InboxChanges';
+ export * from './InboxSearch';
+ export * from './InboxMutations';
+ export * from './Columnar';